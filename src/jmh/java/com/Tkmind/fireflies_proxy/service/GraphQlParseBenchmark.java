@@ -0,0 +1,127 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fireflies transcript response → content + speaker analytics.
+ *
+ *   mapBased  — what ingest does today: RestTemplate binds the whole body
+ *               to nested Maps, then {@link TranscriptService#buildContent}
+ *               walks data.transcript.sentences.
+ *   streaming — a single JsonParser pass over the same bytes that feeds
+ *               sentences straight into the builder, no intermediate tree.
+ *
+ * Both produce identical content; use -prof gc to compare allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphQlParseBenchmark {
+
+    @Param({"TEN_MINUTES", "ONE_HOUR", "THREE_HOURS"})
+    public SyntheticTranscripts.Length length;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonFactory  jsonFactory  = objectMapper.getFactory();
+
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        body = SyntheticTranscripts.graphQlResponse(length).getBytes(StandardCharsets.UTF_8);
+        if (!parseMapBased(new SpeakerStatsAccumulator()).equals(parseStreaming(new SpeakerStatsAccumulator()))) {
+            throw new IllegalStateException("map-based and streaming parsing disagree");
+        }
+    }
+
+    @Benchmark
+    public String mapBased(Blackhole bh) throws IOException {
+        SpeakerStatsAccumulator stats = new SpeakerStatsAccumulator();
+        String content = parseMapBased(stats);
+        bh.consume(stats);
+        return content;
+    }
+
+    @Benchmark
+    public String streaming(Blackhole bh) throws IOException {
+        SpeakerStatsAccumulator stats = new SpeakerStatsAccumulator();
+        String content = parseStreaming(stats);
+        bh.consume(stats);
+        return content;
+    }
+
+    @SuppressWarnings("unchecked")
+    private String parseMapBased(SpeakerStatsAccumulator stats) throws IOException {
+        Map<String, Object> response = objectMapper.readValue(body, Map.class);
+        Map<String, Object> data       = (Map<String, Object>) response.get("data");
+        Map<String, Object> transcript = (Map<String, Object>) data.get("transcript");
+        List<Map<String, Object>> sentences = (List<Map<String, Object>>) transcript.get("sentences");
+        return TranscriptService.buildContent(sentences, stats);
+    }
+
+    private String parseStreaming(SpeakerStatsAccumulator stats) throws IOException {
+        StringBuilder content = new StringBuilder(body.length / 2);
+
+        try (JsonParser p = jsonFactory.createParser(body)) {
+            if (!seekSentences(p)) return "";
+
+            while (p.nextToken() == JsonToken.START_OBJECT) {
+                String speaker = null;
+                String text    = null;
+                Object start   = null;
+                Object end     = null;
+
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = p.currentName();
+                    JsonToken value = p.nextToken();
+                    switch (field) {
+                        case "speaker_name" -> speaker = p.getValueAsString();
+                        case "text"         -> text    = p.getValueAsString();
+                        case "start_time"   -> start   = value.isNumeric() ? p.getNumberValue() : p.getValueAsString();
+                        case "end_time"     -> end     = value.isNumeric() ? p.getNumberValue() : p.getValueAsString();
+                        default             -> p.skipChildren();
+                    }
+                }
+
+                if (speaker != null && text != null) {
+                    if (start != null) {
+                        content.append("[").append(TranscriptService.formatTime(start)).append("] ");
+                    }
+                    content.append(speaker).append(": ").append(text).append("\n");
+                    stats.accept(speaker, text, start, end);
+                }
+            }
+        }
+        return content.toString();
+    }
+
+    /** Positions the parser on the START_ARRAY of data.transcript.sentences. */
+    private static boolean seekSentences(JsonParser p) throws IOException {
+        int depth = 0;
+        JsonToken token;
+        while ((token = p.nextToken()) != null) {
+            if (token == JsonToken.START_OBJECT) depth++;
+            else if (token == JsonToken.END_OBJECT) depth--;
+            else if (token == JsonToken.FIELD_NAME && depth == 3 && "sentences".equals(p.currentName())) {
+                return p.nextToken() == JsonToken.START_ARRAY;
+            } else if (token == JsonToken.START_ARRAY) {
+                p.skipChildren();
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,118 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Fireflies-shaped transcripts for the benchmarks, generated offline and
+ * deterministically (fixed seed) so runs are comparable.
+ *
+ * A sentence every 2–7 s, 5–30 words, 4 speakers with uneven share of the
+ * floor and ~10% overlapping turns — roughly what a real call looks like.
+ */
+public final class SyntheticTranscripts {
+
+    public enum Length {
+        TEN_MINUTES(10 * 60),
+        ONE_HOUR(60 * 60),
+        THREE_HOURS(3 * 60 * 60);
+
+        final int seconds;
+
+        Length(int seconds) {
+            this.seconds = seconds;
+        }
+    }
+
+    private static final String[] SPEAKERS = {"Alice Martin", "Bob Chen", "Carla Diaz", "Dev Patel"};
+    private static final double[]  SHARE    = {0.40, 0.30, 0.20, 0.10};
+
+    private static final String[] WORDS = (
+            "we need to ship the release by friday so let us review the open items "
+          + "the api latency went up after the last deploy and the dashboard shows "
+          + "more timeouts on the transcript endpoint I think the cache is not warm "
+          + "can you take the action item to check the webhook retries and follow up "
+          + "with the customer about their meeting recordings budget roadmap quarter").split(" ");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private SyntheticTranscripts() {
+    }
+
+    /** The {@code sentences} list as Jackson / RestTemplate hands it over. */
+    static List<Map<String, Object>> sentences(Length length) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Map<String, Object>> sentences = new ArrayList<>(length.seconds / 4);
+
+        double t = 0;
+        int index = 0;
+        while (t < length.seconds) {
+            double duration = 2 + random.nextDouble() * 5;
+            // Occasional overlap — exercises the interruption branch
+            double start = random.nextInt(10) == 0 ? Math.max(0, t - 1.5) : t;
+
+            Map<String, Object> sentence = new LinkedHashMap<>();
+            sentence.put("index", index++);
+            sentence.put("text", text(random, 5 + random.nextInt(26)));
+            sentence.put("speaker_name", speaker(random));
+            sentence.put("start_time", round(start));
+            sentence.put("end_time", round(start + duration));
+            sentences.add(sentence);
+
+            t = start + duration + random.nextDouble() * 0.8;
+        }
+        return sentences;
+    }
+
+    /** Full {@code transcript(id)} GraphQL response body, as received on the wire. */
+    static String graphQlResponse(Length length) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("overview", text(new SplittableRandom(7), 120));
+        summary.put("action_items", List.of("Check webhook retries", "Follow up with the customer"));
+        summary.put("keywords", List.of("release", "latency", "cache"));
+        summary.put("shorthand_bullet", List.of("Release Friday", "Latency regression", "Cache warm-up"));
+
+        Map<String, Object> transcript = new LinkedHashMap<>();
+        transcript.put("id", "01HBENCH" + length.name());
+        transcript.put("title", "Weekly sync");
+        transcript.put("date", 1_700_000_000_000L);
+        transcript.put("duration", length.seconds / 60.0);
+        transcript.put("meeting_link", "https://meet.google.com/abc-defg-hij");
+        transcript.put("summary", summary);
+        transcript.put("sentences", sentences(length));
+
+        try {
+            return MAPPER.writeValueAsString(Map.of("data", Map.of("transcript", transcript)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String speaker(SplittableRandom random) {
+        double r = random.nextDouble();
+        for (int i = 0; i < SHARE.length; i++) {
+            r -= SHARE[i];
+            if (r < 0) return SPEAKERS[i];
+        }
+        return SPEAKERS[SPEAKERS.length - 1];
+    }
+
+    private static String text(SplittableRandom random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.append('.').toString();
+    }
+
+    private static double round(double seconds) {
+        return Math.round(seconds * 100) / 100.0;
+    }
+}
@@ -0,0 +1,100 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access patterns for the Fireflies transcript cache under concurrent readers
+ * (4 threads, mostly hits, a skewed key distribution):
+ *
+ *   twoMaps   — what {@link FirefliesApiService} does: value map + expiry map,
+ *               containsKey / getOrDefault / get = three hash lookups per hit
+ *   oneMap    — value and expiry in one entry, a single lookup
+ *   caffeine  — bounded Caffeine cache with expireAfterWrite
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class TranscriptCacheBenchmark {
+
+    private static final long TTL_MS = 5 * 60_000L;
+
+    private record Entry(Map<String, Object> value, long expiresAt) {
+    }
+
+    @Param({"1000"})
+    public int keys;
+
+    private String[] ids;
+
+    private final Map<String, Map<String, Object>> values   = new ConcurrentHashMap<>();
+    private final Map<String, Long>                expiries = new ConcurrentHashMap<>();
+    private final Map<String, Entry>               entries  = new ConcurrentHashMap<>();
+    private Cache<String, Map<String, Object>>     caffeine;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        final SplittableRandom random = new SplittableRandom();
+
+        /** ~80% of lookups go to the hottest 20% of keys; ~5% miss. */
+        int next(int keys) {
+            int hot = Math.max(1, keys / 5);
+            int r = random.nextInt(100);
+            if (r < 80) return random.nextInt(hot);
+            if (r < 95) return hot + random.nextInt(keys - hot);
+            return keys + random.nextInt(keys);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        caffeine = Caffeine.newBuilder()
+                .maximumSize(keys * 2L)
+                .expireAfterWrite(Duration.ofMillis(TTL_MS))
+                .build();
+
+        ids = new String[keys * 2];
+        long expiresAt = System.currentTimeMillis() + TTL_MS;
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = "01HBENCH" + i;
+            if (i >= keys) continue;
+            Map<String, Object> value = Map.of("data", Map.of("transcript", Map.of("id", ids[i])));
+            values.put(ids[i], value);
+            expiries.put(ids[i], expiresAt);
+            entries.put(ids[i], new Entry(value, expiresAt));
+            caffeine.put(ids[i], value);
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> twoMaps(Cursor cursor) {
+        String id = ids[cursor.next(keys)];
+        long now = System.currentTimeMillis();
+        if (values.containsKey(id) && now < expiries.getOrDefault(id, 0L)) {
+            return values.get(id);
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Map<String, Object> oneMap(Cursor cursor) {
+        Entry entry = entries.get(ids[cursor.next(keys)]);
+        return entry != null && System.currentTimeMillis() < entry.expiresAt() ? entry.value() : null;
+    }
+
+    @Benchmark
+    public Map<String, Object> caffeine(Cursor cursor) {
+        return caffeine.getIfPresent(ids[cursor.next(keys)]);
+    }
+}
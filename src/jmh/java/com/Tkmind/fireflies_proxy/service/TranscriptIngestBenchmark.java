@@ -0,0 +1,72 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.Tkmind.fireflies_proxy.dto.response.TranscriptResponse;
+import com.Tkmind.fireflies_proxy.entity.Meeting;
+import com.Tkmind.fireflies_proxy.entity.Transcript;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transcript ingest and read hot paths of {@link TranscriptService}:
+ * content building (+ speaker analytics in the same pass), formatTime and
+ * the entity → response mapping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TranscriptIngestBenchmark {
+
+    @Param({"TEN_MINUTES", "ONE_HOUR", "THREE_HOURS"})
+    public SyntheticTranscripts.Length length;
+
+    private List<Map<String, Object>> sentences;
+    private Transcript transcript;
+
+    @Setup
+    public void setUp() {
+        sentences = SyntheticTranscripts.sentences(length);
+
+        SpeakerStatsAccumulator stats = new SpeakerStatsAccumulator();
+        Meeting meeting = Meeting.builder().id(1L).title("Weekly sync").build();
+        transcript = Transcript.builder()
+                .id(1L)
+                .meeting(meeting)
+                .content(TranscriptService.buildContent(sentences, stats))
+                .summary("## Overview\nRelease on Friday.\n")
+                .summaryStatus(Transcript.SummaryStatus.READY)
+                .actionItems("Check webhook retries\nFollow up with the customer")
+                .speakerLabels(SyntheticTranscripts.graphQlResponse(length))
+                .processedAt(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public String buildContent(Blackhole bh) {
+        SpeakerStatsAccumulator stats = new SpeakerStatsAccumulator();
+        String content = TranscriptService.buildContent(sentences, stats);
+        bh.consume(stats);
+        return content;
+    }
+
+    /** One call per sentence, as during ingest — average time is per transcript. */
+    @Benchmark
+    public void formatTime(Blackhole bh) {
+        for (Map<String, Object> sentence : sentences) {
+            bh.consume(TranscriptService.formatTime(sentence.get("start_time")));
+        }
+    }
+
+    @Benchmark
+    public TranscriptResponse mapToResponse() {
+        return TranscriptService.mapToResponse(transcript);
+    }
+}
@@ -0,0 +1,54 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.Tkmind.fireflies_proxy.config.FirefliesConfig;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HMAC-SHA256 verification of an inbound webhook — runs on every request
+ * thread before anything else. Payloads are the real ~80 byte event and a
+ * larger one for headroom.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebhookSignatureBenchmark {
+
+    private static final String SECRET = "whsec_benchmark_secret_0123456789";
+
+    @Param({"80", "4096"})
+    public int payloadBytes;
+
+    private WebhookService webhookService;
+    private String payload;
+    private String signature;
+
+    @Setup
+    public void setUp() throws Exception {
+        FirefliesConfig config = new FirefliesConfig();
+        config.getWebhook().setSecret(SECRET);
+        // Only the config is touched by verifyWebhookSignature
+        webhookService = new WebhookService(config, null, null, null, null, null);
+
+        StringBuilder body = new StringBuilder("{\"event_type\":\"Transcription completed\",\"meetingId\":\"01HBENCH\"");
+        while (body.length() < payloadBytes - 1) body.append(' ');
+        payload = body.append('}').toString();
+
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        signature = Base64.getEncoder().encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return webhookService.verifyWebhookSignature(payload, signature);
+    }
+}
@@ -0,0 +1,306 @@
+package com.Tkmind.fireflies_proxy.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load run against the real application on an embedded H2
+ * database, with Fireflies and Groq replaced by local stand-ins.
+ *
+ * Traffic, in phases:
+ *   register users → schedule meetings (half with a link, half without) and
+ *   list them → launch the link-less ones → wait for the bot invites →
+ *   "Transcription completed" webhook burst → poll transcripts until the AI
+ *   summary lands.
+ *
+ * Run: mvn -Ploadtest test
+ * Knobs (system properties, defaults in brackets):
+ *   loadtest.users [20]  loadtest.meetings-per-user [10]  loadtest.concurrency [32]
+ *   loadtest.webhook-concurrency [50]  loadtest.poll-interval [1s]  loadtest.poll-timeout [3m]
+ *   loadtest.min-ready-ratio [0.9]
+ *   loadtest.fireflies.{latency [150ms], jitter [100ms], rate-limit-ratio [0.02],
+ *                       retry-after [2s], transcript-minutes [30]}
+ *   loadtest.groq.{latency [800ms], jitter [400ms], rate-limit-ratio [0.02], retry-after [2s]}
+ *   fireflies.rate-limit.rpm [6000]  groq.rate-limit.rpm [6000]  quota.enabled [false]
+ *
+ * The report is printed and written to target/loadtest-report.txt.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class EndToEndLoadTest {
+
+    private static final int    USERS             = Integer.getInteger("loadtest.users", 20);
+    private static final int    MEETINGS_PER_USER = Integer.getInteger("loadtest.meetings-per-user", 10);
+    private static final int    CONCURRENCY       = Integer.getInteger("loadtest.concurrency", 32);
+    private static final int    WEBHOOK_BURST     = Integer.getInteger("loadtest.webhook-concurrency", 50);
+    private static final Duration POLL_INTERVAL   = StandInConfig.duration("loadtest.poll-interval", Duration.ofSeconds(1));
+    private static final Duration POLL_TIMEOUT    = StandInConfig.duration("loadtest.poll-timeout", Duration.ofMinutes(3));
+    private static final double MIN_READY_RATIO   =
+            Double.parseDouble(System.getProperty("loadtest.min-ready-ratio", "0.9"));
+
+    private static FirefliesStandIn fireflies;
+    private static GroqStandIn      groq;
+
+    private final ObjectMapper   objectMapper = new ObjectMapper();
+    private final LatencyRecorder recorder    = new LatencyRecorder();
+    private final HttpClient     http         = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @LocalServerPort
+    private int port;
+
+    private record PlannedMeeting(String email, String link, boolean linkAtSchedule) {
+    }
+
+    private record Call(int status, JsonNode body) {
+    }
+
+    @DynamicPropertySource
+    static void upstreams(DynamicPropertyRegistry registry) throws IOException {
+        fireflies = new FirefliesStandIn(StandInConfig.fromSystemProperties("fireflies",
+                new StandInConfig(Duration.ofMillis(150), Duration.ofMillis(100), 0.02, Duration.ofSeconds(2), 30)));
+        groq = new GroqStandIn(StandInConfig.fromSystemProperties("groq",
+                new StandInConfig(Duration.ofMillis(800), Duration.ofMillis(400), 0.02, Duration.ofSeconds(2), 0)));
+
+        registry.add("fireflies.api.base-url", fireflies::url);
+        registry.add("fireflies.api.api-key", () -> "loadtest");
+        registry.add("groq.api.url", groq::url);
+        registry.add("groq.api.key", () -> "loadtest");
+        registry.add("spring.datasource.url",
+                () -> "jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        registry.add("spring.datasource.username", () -> "sa");
+        registry.add("spring.datasource.password", () -> "");
+
+        // The proxy is under test, not its limiters — override from the command line to test those
+        passThrough(registry, "fireflies.rate-limit.rpm", "6000");
+        passThrough(registry, "groq.rate-limit.rpm", "6000");
+        passThrough(registry, "groq.rate-limit.tpm", "100000000");
+        passThrough(registry, "quota.enabled", "false");
+        passThrough(registry, "meetings.invite.poll-interval", "200ms");
+        passThrough(registry, "meetings.invite.base-backoff", "2s");
+        passThrough(registry, "summary.queue.workers", "8");
+        passThrough(registry, "summary.queue.base-backoff", "2s");
+    }
+
+    private static void passThrough(DynamicPropertyRegistry registry, String name, String fallback) {
+        String value = System.getProperty(name, fallback);
+        registry.add(name, () -> value);
+    }
+
+    @AfterAll
+    static void stopStandIns() {
+        if (fireflies != null) fireflies.close();
+        if (groq != null) groq.close();
+    }
+
+    @Test
+    void replayTraffic() throws Exception {
+        List<String> emails = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) emails.add("load" + u + "@example.com");
+
+        List<PlannedMeeting> plan = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            for (int m = 0; m < MEETINGS_PER_USER; m++) {
+                int n = u * MEETINGS_PER_USER + m;
+                plan.add(new PlannedMeeting(emails.get(u), "https://zoom.us/j/" + (9_000_000_000L + n), n % 2 == 0));
+            }
+        }
+        Map<PlannedMeeting, Long> meetingIds = new ConcurrentHashMap<>();
+        StringBuilder phases = new StringBuilder();
+
+        // ── 1. Register ──────────────────────────────────────────────────────
+        phase(phases, "register", () -> runAll(CONCURRENCY, emails, email ->
+                call("POST /auth/register", post("/auth/register", null, Map.of("email", email)))));
+
+        // ── 2. Schedule + list ───────────────────────────────────────────────
+        String scheduledDate = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS).toString();
+        phase(phases, "schedule", () -> runAll(CONCURRENCY, plan, meeting -> {
+            Map<String, Object> body = meeting.linkAtSchedule()
+                    ? Map.of("title", "Load test", "scheduledDate", scheduledDate, "meetingUrl", meeting.link())
+                    : Map.of("title", "Load test", "scheduledDate", scheduledDate);
+            Call created = call("POST /meetings/schedule", post("/meetings/schedule", meeting.email(), body));
+            if (created.body() != null && created.body().hasNonNull("id")) {
+                meetingIds.put(meeting, created.body().get("id").asLong());
+            }
+            call("GET /meetings", get("/meetings?limit=20", meeting.email()));
+        }));
+
+        // ── 3. Launch the meetings scheduled without a link ──────────────────
+        List<PlannedMeeting> deferred = plan.stream()
+                .filter(m -> !m.linkAtSchedule() && meetingIds.containsKey(m)).toList();
+        phase(phases, "launch", () -> runAll(CONCURRENCY, deferred, meeting ->
+                call("POST /meetings/launch", post("/meetings/launch", meeting.email(),
+                        Map.of("meetingId", meetingIds.get(meeting), "meetingUrl", meeting.link())))));
+
+        // ── 4. Bot invites go out through the outbox ─────────────────────────
+        phase(phases, "invites", () -> awaitUntil(Duration.ofMinutes(1),
+                () -> plan.stream().allMatch(m -> fireflies.meetingIdFor(m.link()).isPresent())));
+
+        // ── 5. Webhook burst ─────────────────────────────────────────────────
+        List<PlannedMeeting> invited = plan.stream()
+                .filter(m -> meetingIds.containsKey(m) && fireflies.meetingIdFor(m.link()).isPresent()).toList();
+        phase(phases, "webhooks", () -> runAll(WEBHOOK_BURST, invited, meeting ->
+                call("POST /webhooks/fireflies", post("/webhooks/fireflies", null, Map.of(
+                        "event_type", "Transcription completed",
+                        "meetingId", fireflies.meetingIdFor(meeting.link()).orElseThrow())))));
+
+        // ── 6. Poll transcripts until the AI summary lands ───────────────────
+        AtomicInteger ready = new AtomicInteger();
+        Instant deadline = Instant.now().plus(POLL_TIMEOUT);
+        phase(phases, "polling", () -> runAll(CONCURRENCY, invited, meeting -> {
+            String path = "/meetings/" + meetingIds.get(meeting) + "/transcript";
+            while (Instant.now().isBefore(deadline)) {
+                Call t = call("GET /meetings/{id}/transcript", get(path, meeting.email()));
+                String status = t.body() != null ? t.body().path("summaryStatus").asText("") : "";
+                if (status.equals("READY") || status.equals("FAILED") || status.equals("SKIPPED")) {
+                    if (status.equals("READY")) ready.incrementAndGet();
+                    return;
+                }
+                sleep(POLL_INTERVAL);
+            }
+        }));
+
+        // ── Report ───────────────────────────────────────────────────────────
+        String report = "Load test: " + USERS + " users x " + MEETINGS_PER_USER + " meetings, "
+                + meetingIds.size() + " scheduled, " + invited.size() + " invited, "
+                + ready.get() + " with AI summary\n\n"
+                + phases + "\n"
+                + recorder.report() + "\n"
+                + String.format("Fireflies stand-in: %d requests, %d rate limited%n", fireflies.requests(), fireflies.rateLimited())
+                + String.format("Groq stand-in:      %d requests, %d rate limited%n", groq.requests(), groq.rateLimited());
+        System.out.println(report);
+        Files.createDirectories(Path.of("target"));
+        Files.writeString(Path.of("target", "loadtest-report.txt"), report);
+
+        assertEquals(plan.size(), meetingIds.size(), "every meeting should be scheduled");
+        assertEquals(0, recorder.count("POST /webhooks/fireflies", "5xx"), "webhook endpoint returned 5xx");
+        assertTrue(ready.get() >= MIN_READY_RATIO * plan.size(),
+                "only " + ready.get() + "/" + plan.size() + " meetings reached an AI summary");
+    }
+
+    // ─────────────────────────────────────────────
+    // Driver helpers
+    // ─────────────────────────────────────────────
+
+    @FunctionalInterface
+    private interface Step<T> {
+        void run(T item) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface Phase {
+        void run() throws Exception;
+    }
+
+    private static void phase(StringBuilder phases, String name, Phase phase) throws Exception {
+        Instant start = Instant.now();
+        phase.run();
+        phases.append(String.format("phase %-9s %s%n", name, LatencyRecorder.elapsed(Duration.between(start, Instant.now()))));
+    }
+
+    /** Runs {@code step} for every item on virtual threads, at most {@code concurrency} at a time. */
+    private static <T> void runAll(int concurrency, List<T> items, Step<T> step) throws Exception {
+        Semaphore permits = new Semaphore(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>(items.size());
+            for (T item : items) {
+                permits.acquire();
+                futures.add(executor.submit(() -> {
+                    try {
+                        step.run(item);
+                        return null;
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+        }
+    }
+
+    private static void awaitUntil(Duration timeout, java.util.function.BooleanSupplier condition) {
+        Instant deadline = Instant.now().plus(timeout);
+        while (!condition.getAsBoolean() && Instant.now().isBefore(deadline)) {
+            sleep(Duration.ofMillis(200));
+        }
+    }
+
+    private static void sleep(Duration d) {
+        try {
+            Thread.sleep(d.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest post(String path, String email, Object body) throws IOException {
+        return request(path, email)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+    }
+
+    private HttpRequest get(String path, String email) {
+        return request(path, email).GET().build();
+    }
+
+    private HttpRequest.Builder request(String path, String email) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path))
+                .timeout(Duration.ofSeconds(60));
+        Optional.ofNullable(email).ifPresent(e -> builder.header("X-User-Email", e));
+        return builder;
+    }
+
+    private Call call(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        int status = -1;
+        JsonNode body = null;
+        try {
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            status = response.statusCode();
+            if (response.body().length > 0) {
+                body = objectMapper.readTree(response.body());
+            }
+        } catch (IOException e) {
+            // Counted as io_error
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            recorder.record(endpoint, status, start, System.nanoTime());
+        }
+        return new Call(status, body);
+    }
+}
@@ -0,0 +1,181 @@
+package com.Tkmind.fireflies_proxy.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the Fireflies GraphQL endpoint. Answers the four
+ * operations the proxy sends (addToLiveMeeting, transcript, transcripts,
+ * user) the way Fireflies does, including rate limiting: HTTP 200 with a
+ * too_many_requests error carrying extensions.metadata.retryAfter (epoch ms).
+ *
+ * A bot invite assigns a Fireflies meeting id to the link; the driver reads it
+ * back to send the "Transcription completed" webhook Fireflies would send.
+ */
+final class FirefliesStandIn implements AutoCloseable {
+
+    private static final String[] SPEAKERS = {"Alice Martin", "Bob Chen", "Carla Diaz", "Dev Patel"};
+    private static final String[] WORDS = ("we need to ship the release by friday so let us review the open "
+            + "items the api latency went up after the last deploy and the dashboard shows more timeouts on "
+            + "the transcript endpoint can you take the action item to check the webhook retries").split(" ");
+
+    private final StandInConfig config;
+    private final ObjectMapper  objectMapper = new ObjectMapper();
+    private final HttpServer    server;
+
+    private final Map<String, String> idByLink = new ConcurrentHashMap<>();
+    private final Map<String, String> linkById = new ConcurrentHashMap<>();
+    private final AtomicLong nextId       = new AtomicLong(1);
+    private final AtomicLong requests     = new AtomicLong();
+    private final AtomicLong rateLimited  = new AtomicLong();
+
+    FirefliesStandIn(StandInConfig config) throws IOException {
+        this.config = config;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/graphql", this::handle);
+        server.start();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/graphql";
+    }
+
+    /** Fireflies meeting id assigned when the bot was invited to {@code link}. */
+    Optional<String> meetingIdFor(String link) {
+        return Optional.ofNullable(idByLink.get(link));
+    }
+
+    long requests() {
+        return requests.get();
+    }
+
+    long rateLimited() {
+        return rateLimited.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    // ─────────────────────────────────────────────
+    // GraphQL
+    // ─────────────────────────────────────────────
+
+    @SuppressWarnings("unchecked")
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try (exchange; InputStream in = exchange.getRequestBody()) {
+            Map<String, Object> request = objectMapper.readValue(in, Map.class);
+            String query = String.valueOf(request.get("query"));
+            Map<String, Object> variables = request.get("variables") instanceof Map<?, ?> v
+                    ? (Map<String, Object>) v : Map.of();
+
+            config.simulateLatency();
+
+            Object body;
+            if (config.rateLimitNow()) {
+                rateLimited.incrementAndGet();
+                body = tooManyRequests();
+            } else if (query.contains("addToLiveMeeting")) {
+                body = addToLiveMeeting((String) variables.get("meeting_link"));
+            } else if (query.contains("transcript(id")) {
+                body = transcript((String) variables.get("id"));
+            } else if (query.contains("transcripts(")) {
+                body = Map.of("data", Map.of("transcripts", List.of()));
+            } else {
+                body = Map.of("data", Map.of("user", Map.of(
+                        "user_id", "standin", "email", "standin@example.com", "name", "Stand-in",
+                        "minutes_consumed", 0, "is_admin", false)));
+            }
+            reply(exchange, 200, body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Object addToLiveMeeting(String link) {
+        idByLink.computeIfAbsent(link, l -> {
+            String id = "01LOADTEST" + nextId.getAndIncrement();
+            linkById.put(id, l);
+            return id;
+        });
+        return Map.of("data", Map.of("addToLiveMeeting",
+                Map.of("success", true, "message", "Fireflies bot will join the meeting")));
+    }
+
+    private Object transcript(String id) {
+        String link = linkById.get(id);
+        if (link == null) {
+            return Map.of("data", Map.of(), "errors", List.of(Map.of(
+                    "message", "Transcript not found", "code", "object_not_found")));
+        }
+
+        Map<String, Object> transcript = new LinkedHashMap<>();
+        transcript.put("id", id);
+        transcript.put("title", "Load test " + id);
+        transcript.put("date", System.currentTimeMillis());
+        transcript.put("duration", config.transcriptMinutes());
+        transcript.put("meeting_link", link);
+        transcript.put("summary", Map.of(
+                "overview", "Release review and latency follow-ups.",
+                "action_items", List.of("Check webhook retries"),
+                "keywords", List.of("release", "latency"),
+                "shorthand_bullet", List.of("Release Friday")));
+        transcript.put("sentences", sentences(id.hashCode(), config.transcriptMinutes() * 60));
+        return Map.of("data", Map.of("transcript", transcript));
+    }
+
+    private Object tooManyRequests() {
+        long retryAt = System.currentTimeMillis() + config.retryAfter().toMillis();
+        return Map.of("data", Map.of(), "errors", List.of(Map.of(
+                "message", "Too many requests. Please retry after " + config.retryAfter().toSeconds() + "s",
+                "code", "too_many_requests",
+                "extensions", Map.of("metadata", Map.of("retryAfter", retryAt)))));
+    }
+
+    /** A sentence every 2–7 s, 5–30 words, four speakers. */
+    private static List<Map<String, Object>> sentences(long seed, int seconds) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Map<String, Object>> sentences = new ArrayList<>(seconds / 4);
+        double t = 0;
+        while (t < seconds) {
+            double duration = 2 + random.nextDouble() * 5;
+            StringBuilder text = new StringBuilder();
+            for (int w = 5 + random.nextInt(26); w > 0; w--) {
+                text.append(WORDS[random.nextInt(WORDS.length)]).append(w > 1 ? " " : ".");
+            }
+            Map<String, Object> sentence = new LinkedHashMap<>();
+            sentence.put("text", text.toString());
+            sentence.put("speaker_name", SPEAKERS[random.nextInt(SPEAKERS.length)]);
+            sentence.put("start_time", Math.round(t * 100) / 100.0);
+            sentence.put("end_time", Math.round((t + duration) * 100) / 100.0);
+            sentences.add(sentence);
+            t += duration + random.nextDouble() * 0.8;
+        }
+        return sentences;
+    }
+
+    private void reply(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsString(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+}
@@ -0,0 +1,129 @@
+package com.Tkmind.fireflies_proxy.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the Groq (OpenAI-compatible) chat completions endpoint.
+ * Plain and streamed ("stream": true → SSE with x_groq.usage on the last
+ * chunk) completions; rate limiting is HTTP 429 with a Retry-After header in
+ * seconds, like Groq.
+ */
+final class GroqStandIn implements AutoCloseable {
+
+    private static final String SUMMARY = """
+            ## Overview
+            The team reviewed the release and the latency regression.
+
+            ## Action Items
+            - Check webhook retries
+            - Follow up with the customer
+            """;
+
+    private final StandInConfig config;
+    private final ObjectMapper  objectMapper = new ObjectMapper();
+    private final HttpServer    server;
+
+    private final AtomicLong requests    = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+
+    GroqStandIn(StandInConfig config) throws IOException {
+        this.config = config;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/openai/v1/chat/completions", this::handle);
+        server.start();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/openai/v1/chat/completions";
+    }
+
+    long requests() {
+        return requests.get();
+    }
+
+    long rateLimited() {
+        return rateLimited.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try (exchange; InputStream in = exchange.getRequestBody()) {
+            Map<String, Object> request = objectMapper.readValue(in, Map.class);
+            List<Map<String, Object>> messages = (List<Map<String, Object>>) request.get("messages");
+            String prompt = messages != null && !messages.isEmpty()
+                    ? String.valueOf(messages.get(0).get("content")) : "";
+
+            if (config.rateLimitNow()) {
+                rateLimited.incrementAndGet();
+                byte[] bytes = objectMapper.writeValueAsBytes(Map.of("error", Map.of(
+                        "message", "Rate limit reached", "type", "tokens", "code", "rate_limit_exceeded")));
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf(config.retryAfter().toSeconds()));
+                exchange.sendResponseHeaders(429, bytes.length);
+                exchange.getResponseBody().write(bytes);
+                return;
+            }
+
+            config.simulateLatency();
+
+            Map<String, Object> usage = Map.of(
+                    "prompt_tokens", prompt.length() / 4,
+                    "completion_tokens", SUMMARY.length() / 4,
+                    "total_tokens", (prompt.length() + SUMMARY.length()) / 4);
+
+            if (Boolean.TRUE.equals(request.get("stream"))) {
+                stream(exchange, usage);
+            } else {
+                byte[] bytes = objectMapper.writeValueAsBytes(Map.of(
+                        "id", "chatcmpl-standin",
+                        "object", "chat.completion",
+                        "choices", List.of(Map.of(
+                                "index", 0,
+                                "message", Map.of("role", "assistant", "content", SUMMARY),
+                                "finish_reason", "stop")),
+                        "usage", usage));
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, bytes.length);
+                exchange.getResponseBody().write(bytes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void stream(HttpExchange exchange, Map<String, Object> usage) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+
+        String[] tokens = SUMMARY.split("(?<= )");
+        for (int i = 0; i < tokens.length; i++) {
+            Map<String, Object> chunk = i == tokens.length - 1
+                    ? Map.of("choices", List.of(Map.of("index", 0, "delta", Map.of("content", tokens[i]))),
+                             "x_groq", Map.of("usage", usage))
+                    : Map.of("choices", List.of(Map.of("index", 0, "delta", Map.of("content", tokens[i]))));
+            out.write(("data: " + objectMapper.writeValueAsString(chunk) + "\n\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+        out.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,77 @@
+package com.Tkmind.fireflies_proxy.loadtest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-endpoint latency samples and status classes. Endpoints are templated
+ * ("GET /meetings/{id}/transcript") so the report stays one line each.
+ */
+final class LatencyRecorder {
+
+    private static final class Endpoint {
+        final ConcurrentLinkedQueue<Long> nanos = new ConcurrentLinkedQueue<>();
+        final Map<String, AtomicLong> statuses  = new ConcurrentHashMap<>();
+        volatile long firstStart = Long.MAX_VALUE;
+        volatile long lastEnd    = Long.MIN_VALUE;
+    }
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, int status, long startNanos, long endNanos) {
+        Endpoint e = endpoints.computeIfAbsent(endpoint, k -> new Endpoint());
+        e.nanos.add(endNanos - startNanos);
+        e.statuses.computeIfAbsent(statusClass(status), k -> new AtomicLong()).incrementAndGet();
+        synchronized (e) {
+            e.firstStart = Math.min(e.firstStart, startNanos);
+            e.lastEnd    = Math.max(e.lastEnd, endNanos);
+        }
+    }
+
+    long count(String endpoint, String statusClass) {
+        Endpoint e = endpoints.get(endpoint);
+        AtomicLong n = e != null ? e.statuses.get(statusClass) : null;
+        return n != null ? n.get() : 0;
+    }
+
+    String report() {
+        StringBuilder sb = new StringBuilder(String.format(
+                "%-42s %7s %9s %9s %9s %9s %9s  %s%n",
+                "endpoint", "count", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "status"));
+
+        new TreeMap<>(endpoints).forEach((name, e) -> {
+            long[] samples = e.nanos.stream().mapToLong(Long::longValue).sorted().toArray();
+            double seconds = Math.max(1e-3, (e.lastEnd - e.firstStart) / 1e9);
+            sb.append(String.format("%-42s %7d %9.1f %9.1f %9.1f %9.1f %9.1f  %s%n",
+                    name, samples.length, samples.length / seconds,
+                    millis(percentile(samples, 0.50)), millis(percentile(samples, 0.90)),
+                    millis(percentile(samples, 0.99)), millis(samples.length > 0 ? samples[samples.length - 1] : 0),
+                    new TreeMap<>(e.statuses)));
+        });
+        return sb.toString();
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.clamp(index, 0, sorted.length - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static String statusClass(int status) {
+        if (status == 429) return "429";
+        if (status <= 0)   return "io_error";
+        return (status / 100) + "xx";
+    }
+
+    static String elapsed(Duration d) {
+        return String.format("%.1fs", d.toMillis() / 1000.0);
+    }
+}
@@ -0,0 +1,58 @@
+package com.Tkmind.fireflies_proxy.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Behaviour of a stand-in upstream, read from system properties so a run can
+ * be reshaped from the command line:
+ *
+ *   -Dloadtest.fireflies.latency=300ms -Dloadtest.fireflies.rate-limit-ratio=0.05
+ *   -Dloadtest.groq.latency=1500ms     -Dloadtest.groq.retry-after=5s
+ *
+ * @param latency          base response time
+ * @param jitter           uniform extra latency in [0, jitter)
+ * @param rateLimitRatio   share of requests answered with a 429 (0..1)
+ * @param retryAfter       retry delay advertised on those 429s
+ * @param transcriptMinutes length of generated transcripts (Fireflies only)
+ */
+record StandInConfig(Duration latency,
+                     Duration jitter,
+                     double rateLimitRatio,
+                     Duration retryAfter,
+                     int transcriptMinutes) {
+
+    static StandInConfig fromSystemProperties(String name, StandInConfig defaults) {
+        String prefix = "loadtest." + name + ".";
+        return new StandInConfig(
+                duration(prefix + "latency", defaults.latency()),
+                duration(prefix + "jitter", defaults.jitter()),
+                Double.parseDouble(System.getProperty(prefix + "rate-limit-ratio",
+                        String.valueOf(defaults.rateLimitRatio()))),
+                duration(prefix + "retry-after", defaults.retryAfter()),
+                Integer.getInteger(prefix + "transcript-minutes", defaults.transcriptMinutes()));
+    }
+
+    boolean rateLimitNow() {
+        return rateLimitRatio > 0 && ThreadLocalRandom.current().nextDouble() < rateLimitRatio;
+    }
+
+    void simulateLatency() throws InterruptedException {
+        long millis = latency.toMillis();
+        if (jitter.toMillis() > 0) {
+            millis += ThreadLocalRandom.current().nextLong(jitter.toMillis());
+        }
+        if (millis > 0) Thread.sleep(millis);
+    }
+
+    /** Accepts 250ms / 2s / 1m, or a bare number of milliseconds. */
+    static Duration duration(String property, Duration fallback) {
+        String value = System.getProperty(property);
+        if (value == null || value.isBlank()) return fallback;
+        value = value.trim();
+        if (value.endsWith("ms")) return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        if (value.endsWith("s"))  return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        if (value.endsWith("m"))  return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        return Duration.ofMillis(Long.parseLong(value));
+    }
+}
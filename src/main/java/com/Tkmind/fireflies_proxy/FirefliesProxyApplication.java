@@ -12,4 +12,3 @@ public class FirefliesProxyApplication {
 		SpringApplication.run(FirefliesProxyApplication.class, args);
 	}
 }
-
@@ -0,0 +1,56 @@
+package com.Tkmind.fireflies_proxy.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Bounded executors for the app's fan-out work. With
+ * spring.threads.virtual.enabled each task runs on its own virtual thread
+ * under the same concurrency / queue bounds (see ExecutionMode).
+ */
+@Configuration
+@RequiredArgsConstructor
+public class AsyncConfig {
+
+    private final ExecutionMode executionMode;
+
+    /**
+     * Fans out the per-chunk LLM calls of a long transcript. Throughput is
+     * capped by GroqRateLimiter, this only bounds how many wait at once.
+     */
+    @Bean(name = "llmChunkExecutor")
+    public Executor llmChunkExecutor() {
+        return executionMode.boundedExecutor("llm-chunk-", 4, 4, 1000);
+    }
+
+    /**
+     * Relays streamed summaries to SSE clients. Each stream holds a thread
+     * for the length of one LLM completion.
+     */
+    @Bean(name = "summaryStreamExecutor")
+    public Executor summaryStreamExecutor() {
+        return executionMode.boundedExecutor("summary-stream-", 4, 16, 50);
+    }
+
+    /**
+     * Runs primary and hedged LLM requests so the caller can wait on
+     * whichever answers first.
+     */
+    @Bean(name = "llmHedgeExecutor")
+    public Executor llmHedgeExecutor() {
+        return executionMode.boundedExecutor("llm-hedge-", 8, 32, 200);
+    }
+
+    /**
+     * Runs the DB work around queued Fireflies bot invites (MeetingInviteDispatcher).
+     * The calls themselves are async; their rate is capped by FirefliesRateLimiter.
+     */
+    @Bean(name = "firefliesInviteExecutor")
+    public Executor firefliesInviteExecutor(@Value("${fireflies.invite.concurrency:8}") int concurrency) {
+        return executionMode.boundedExecutor("ff-invite-", concurrency, concurrency, 1000);
+    }
+}
@@ -0,0 +1,70 @@
+package com.Tkmind.fireflies_proxy.config;
+
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Virtual-thread counterpart of a bounded ThreadPoolTaskExecutor: every task
+ * gets its own virtual thread, a semaphore caps how many run at once, and
+ * the number admitted (running + waiting) is capped so overload is rejected
+ * up front instead of piling up threads.
+ *
+ * {@code execute} never blocks — callers such as the timing-wheel tick
+ * thread rely on that.
+ */
+class BoundedVirtualThreadExecutor implements Executor, AutoCloseable {
+
+    private final Semaphore     permits;
+    private final int           maxAdmitted;
+    private final AtomicInteger admitted = new AtomicInteger();
+    private final ThreadFactory threadFactory;
+
+    private volatile boolean closed;
+
+    BoundedVirtualThreadExecutor(String threadNamePrefix, int maxConcurrency, int queueCapacity) {
+        if (maxConcurrency <= 0) throw new IllegalArgumentException("maxConcurrency must be > 0");
+        this.permits       = new Semaphore(maxConcurrency);
+        this.maxAdmitted   = maxConcurrency + Math.max(queueCapacity, 0);
+        this.threadFactory = Thread.ofVirtual().name(threadNamePrefix, 1).factory();
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (closed) {
+            throw new TaskRejectedException("Executor " + this + " is shut down");
+        }
+        if (admitted.incrementAndGet() > maxAdmitted) {
+            admitted.decrementAndGet();
+            throw new TaskRejectedException("Executor " + this + " is saturated");
+        }
+        threadFactory.newThread(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                admitted.decrementAndGet();
+                return;
+            }
+            try {
+                task.run();
+            } finally {
+                permits.release();
+                admitted.decrementAndGet();
+            }
+        }).start();
+    }
+
+    /** Stops accepting tasks; tasks already admitted run to completion. */
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedVirtualThreadExecutor[admitted=" + admitted.get() + "/" + maxAdmitted + "]";
+    }
+}
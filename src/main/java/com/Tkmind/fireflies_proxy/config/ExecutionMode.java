@@ -0,0 +1,56 @@
+package com.Tkmind.fireflies_proxy.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Platform or virtual threads for the app's own executors and workers.
+ *
+ * Follows Spring Boot's {@code spring.threads.virtual.enabled}, which also
+ * moves Tomcat request handling and Boot's task executors onto virtual
+ * threads. Tick / scheduler threads (timing wheel, retry scheduler) stay on
+ * platform threads either way — they only hand work off.
+ */
+@Component
+public class ExecutionMode {
+
+    private final boolean virtual;
+
+    public ExecutionMode(@Value("${spring.threads.virtual.enabled:false}") boolean virtual) {
+        this.virtual = virtual;
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /** Long-lived worker threads: {@code name} for platform threads, {@code name-N} for virtual ones. */
+    public ThreadFactory threadFactory(String name) {
+        return virtual
+                ? Thread.ofVirtual().name(name + "-", 0).factory()
+                : Thread.ofPlatform().name(name).factory();
+    }
+
+    /**
+     * At most {@code maxConcurrency} tasks run at once and at most
+     * {@code queueCapacity} wait; beyond that {@code execute} is rejected
+     * (TaskRejectedException) without blocking the submitter, in both modes.
+     */
+    public Executor boundedExecutor(String threadNamePrefix, int corePoolSize,
+                                    int maxConcurrency, int queueCapacity) {
+        if (virtual) {
+            return new BoundedVirtualThreadExecutor(threadNamePrefix, maxConcurrency, queueCapacity);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.initialize();
+        return executor;
+    }
+}
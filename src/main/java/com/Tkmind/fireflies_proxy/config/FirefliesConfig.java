@@ -1,5 +1,7 @@
 package com.Tkmind.fireflies_proxy.config;
 
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -7,6 +9,11 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 @Configuration
 @ConfigurationProperties(prefix = "fireflies")
 @Getter
@@ -16,6 +23,11 @@ public class FirefliesConfig {
     private Api api = new Api();
     private Webhook webhook = new Webhook();
 
+    // Owned here: HttpClient.close() does not shut down an executor it was given
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private ExecutorService firefliesHttpExecutor;
+
     @Getter
     @Setter
     public static class Api {
@@ -23,6 +35,12 @@ public class FirefliesConfig {
 
         private String apiKey;
 
+        /** Async client (FirefliesApiService *Async methods). */
+        private Duration connectTimeout = Duration.ofSeconds(10);
+        private Duration requestTimeout = Duration.ofSeconds(60);
+
+        /** Threads completing async responses — I/O itself needs none while in flight. */
+        private int asyncThreads = 2;
     }
 
     @Getter
@@ -35,4 +53,23 @@ public class FirefliesConfig {
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
+
+    @Bean(destroyMethod = "close")
+    public HttpClient firefliesHttpClient() {
+        firefliesHttpExecutor = Executors.newFixedThreadPool(api.getAsyncThreads(), r -> {
+            Thread t = new Thread(r, "fireflies-http");
+            t.setDaemon(true);
+            return t;
+        });
+        return HttpClient.newBuilder()
+                .connectTimeout(api.getConnectTimeout())
+                .executor(firefliesHttpExecutor)
+                .build();
+    }
+
+    /** Runs after the client is closed, so in-flight responses have completed. */
+    @PreDestroy
+    void shutdownHttpExecutor() {
+        if (firefliesHttpExecutor != null) firefliesHttpExecutor.shutdownNow();
+    }
 }
@@ -1,6 +1,8 @@
 package com.Tkmind.fireflies_proxy.config;
 
+import com.Tkmind.fireflies_proxy.security.QuotaExceededException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -41,6 +43,15 @@ public class GlobalExceptionHandler {
         return buildError(HttpStatus.FORBIDDEN, ex.getMessage());
     }
 
+    @ExceptionHandler(QuotaExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleQuota(QuotaExceededException ex) {
+        long seconds = Math.max((ex.getRetryAfter().toMillis() + 999) / 1000, 1);
+        ResponseEntity<Map<String, Object>> error = buildError(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage());
+        return ResponseEntity.status(error.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds))
+                .body(error.getBody());
+    }
+
     @ExceptionHandler(jakarta.persistence.EntityNotFoundException.class)
     public ResponseEntity<Map<String, Object>> handleNotFound(jakarta.persistence.EntityNotFoundException ex) {
         return buildError(HttpStatus.NOT_FOUND, ex.getMessage());
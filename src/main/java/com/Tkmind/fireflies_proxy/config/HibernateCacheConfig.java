@@ -0,0 +1,113 @@
+package com.Tkmind.fireflies_proxy.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level + query cache, backed by Caffeine through JCache.
+ *
+ * Every region is declared here with its own size bound and TTL — Hibernate is
+ * told to fail on unknown regions, so nothing ends up unbounded. Regions use
+ * READ_WRITE concurrency: a save soft-locks the entry until the transaction
+ * commits, then the fresh state is put back.
+ *
+ * The cache is per node. With several replicas, writes made on another node
+ * are only picked up once the entry expires, which is why the mutable regions
+ * keep short TTLs.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String USER_REGION       = "users";
+    public static final String MEETING_REGION    = "meetings";
+    public static final String TRANSCRIPT_REGION = "transcripts";
+
+    private static final String NATURAL_ID_SUFFIX  = "##NaturalId";
+    private static final String QUERY_REGION       = "default-query-results-region";
+    private static final String TIMESTAMPS_REGION  = "default-update-timestamps-region";
+
+    @Value("${cache.hibernate.users.max-size:10000}")
+    private long userMaxSize;
+
+    @Value("${cache.hibernate.users.ttl:60m}")
+    private Duration userTtl;
+
+    @Value("${cache.hibernate.meetings.max-size:20000}")
+    private long meetingMaxSize;
+
+    @Value("${cache.hibernate.meetings.ttl:5m}")
+    private Duration meetingTtl;
+
+    @Value("${cache.hibernate.transcripts.max-size:2000}")
+    private long transcriptMaxSize;
+
+    @Value("${cache.hibernate.transcripts.ttl:10m}")
+    private Duration transcriptTtl;
+
+    @Value("${cache.hibernate.queries.max-size:10000}")
+    private long queryMaxSize;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // Own URI per context — the default manager is JVM-wide and a second
+        // context (tests, devtools restart) would collide on region names
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("hibernate-l2-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        createRegion(cacheManager, USER_REGION,                     userMaxSize,       userTtl);
+        createRegion(cacheManager, USER_REGION + NATURAL_ID_SUFFIX, userMaxSize,       userTtl);
+        createRegion(cacheManager, MEETING_REGION,                  meetingMaxSize,    meetingTtl);
+        createRegion(cacheManager, TRANSCRIPT_REGION,               transcriptMaxSize, transcriptTtl);
+        createRegion(cacheManager, QUERY_REGION,                    queryMaxSize,      meetingTtl);
+        // Update timestamps must never be evicted before the query results they guard
+        createRegion(cacheManager, TIMESTAMPS_REGION,               null,              null);
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            // Feeds per-region hit/miss/put meters (hibernate-micrometer)
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            // Flushes of many rows go out as JDBC batches. Defaults only — the standard
+            // spring.jpa.properties.hibernate.jdbc.batch_size / order_inserts / order_updates win
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, 50);
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+        };
+    }
+
+    private void createRegion(CacheManager cacheManager, String name, Long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        if (maxSize != null) {
+            config.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttl != null) {
+            config.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        config.setStatisticsEnabled(true);
+        config.setManagementEnabled(true);
+        cacheManager.createCache(name, config);
+    }
+}
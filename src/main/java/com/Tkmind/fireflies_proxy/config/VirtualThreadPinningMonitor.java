@@ -0,0 +1,124 @@
+package com.Tkmind.fireflies_proxy.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that block while pinned to their carrier — on
+ * Java 21 that is blocking inside synchronized (older JDBC drivers, connection
+ * pools, legacy client code) or in native frames. Pinned threads hold a
+ * carrier, so a few of them can stall every other virtual thread.
+ *
+ * Streams the JFR jdk.VirtualThreadPinned event in-process (only pins longer
+ * than the threshold are recorded):
+ *  - jvm.threads.virtual.pinned timer, tagged with the first non-JDK frame
+ *  - one WARN with the stack per distinct site, DEBUG afterwards
+ *
+ * Active only with spring.threads.virtual.enabled. For ad-hoc runs
+ * -Djdk.tracePinnedThreads=short prints the same sites to stdout.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "threads.virtual.pinning-monitor.enabled", matchIfMissing = true)
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    private static final String EVENT        = "jdk.VirtualThreadPinned";
+    private static final int    LOGGED_FRAMES = 12;
+
+    private final MeterRegistry meterRegistry;
+    private final Duration      threshold;
+
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private RecordingStream   stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${threads.virtual.pinning-monitor.threshold:20ms}") Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold     = threshold;
+    }
+
+    @PostConstruct
+    void start() {
+        try {
+            stream = new RecordingStream();
+            stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+            stream.onEvent(EVENT, this::onPinned);
+            stream.startAsync();
+            log.info("Virtual thread pinning monitor started (threshold {} ms)", threshold.toMillis());
+        } catch (Exception | LinkageError e) {
+            // JFR unavailable (e.g. stripped runtime) — pinning just goes unreported
+            log.warn("Virtual thread pinning monitor not started: {}", e.getMessage());
+            stream = null;
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = frames(event.getStackTrace());
+        String site = site(frames);
+
+        Timer.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier")
+                .tag("site", site)
+                .register(meterRegistry)
+                .record(event.getDuration());
+
+        String thread = event.getThread() == null ? "?"
+                : event.getThread().getJavaName().isEmpty() ? "#" + event.getThread().getJavaThreadId()
+                : event.getThread().getJavaName();
+        if (reportedSites.add(site)) {
+            log.warn("Virtual thread {} pinned its carrier for {} ms at {}:\n{}",
+                    thread, event.getDuration().toMillis(), site, render(frames));
+        } else if (log.isDebugEnabled()) {
+            log.debug("Virtual thread {} pinned its carrier for {} ms at {}",
+                    thread, event.getDuration().toMillis(), site);
+        }
+    }
+
+    private static List<RecordedFrame> frames(RecordedStackTrace stackTrace) {
+        return stackTrace != null ? stackTrace.getFrames() : List.of();
+    }
+
+    /** Class of the first frame outside the JDK — the driver / library / app code that pinned. */
+    private static String site(List<RecordedFrame> frames) {
+        return frames.stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(f -> f.getMethod().getType().getName())
+                .filter(type -> !type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun."))
+                .findFirst()
+                .orElse("jdk");
+    }
+
+    private static String render(List<RecordedFrame> frames) {
+        return frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(f -> "\tat " + f.getMethod().getType().getName() + "." + f.getMethod().getName()
+                        + (f.getLineNumber() > 0 ? ":" + f.getLineNumber() : ""))
+                .collect(Collectors.joining("\n"));
+    }
+}
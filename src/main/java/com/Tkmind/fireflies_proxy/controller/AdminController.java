@@ -0,0 +1,51 @@
+package com.Tkmind.fireflies_proxy.controller;
+
+import com.Tkmind.fireflies_proxy.dto.response.SummaryRebuildJobResponse;
+import com.Tkmind.fireflies_proxy.service.AdminAuthService;
+import com.Tkmind.fireflies_proxy.service.SummaryRebuildService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Operator endpoints. Every call needs the X-Admin-Token header.
+ *
+ * POST /admin/summaries/rebuild               — start, or resume the unfinished run
+ * GET  /admin/summaries/rebuild/{jobId}       — progress (processed, failed, rows/s)
+ * POST /admin/summaries/rebuild/{jobId}/pause — stop after the current batch, on whichever node runs it
+ */
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final AdminAuthService adminAuthService;
+    private final SummaryRebuildService summaryRebuildService;
+
+    @PostMapping("/summaries/rebuild")
+    public ResponseEntity<SummaryRebuildJobResponse> startRebuild(
+            @RequestHeader("X-Admin-Token") String adminToken) {
+
+        adminAuthService.verify(adminToken);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(summaryRebuildService.start());
+    }
+
+    @GetMapping("/summaries/rebuild/{jobId}")
+    public ResponseEntity<SummaryRebuildJobResponse> getRebuild(
+            @RequestHeader("X-Admin-Token") String adminToken,
+            @PathVariable Long jobId) {
+
+        adminAuthService.verify(adminToken);
+        return ResponseEntity.ok(summaryRebuildService.getJob(jobId));
+    }
+
+    @PostMapping("/summaries/rebuild/{jobId}/pause")
+    public ResponseEntity<SummaryRebuildJobResponse> pauseRebuild(
+            @RequestHeader("X-Admin-Token") String adminToken,
+            @PathVariable Long jobId) {
+
+        adminAuthService.verify(adminToken);
+        return ResponseEntity.ok(summaryRebuildService.pause(jobId));
+    }
+}
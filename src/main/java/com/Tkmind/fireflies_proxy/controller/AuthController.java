@@ -3,6 +3,8 @@ package com.Tkmind.fireflies_proxy.controller;
 import com.Tkmind.fireflies_proxy.dto.response.AuthResponse;
 import com.Tkmind.fireflies_proxy.entity.User;
 import com.Tkmind.fireflies_proxy.repository.UserRepository;
+import com.Tkmind.fireflies_proxy.security.CurrentUser;
+import com.Tkmind.fireflies_proxy.security.CurrentUserService;
 import com.Tkmind.fireflies_proxy.service.FirefliesApiService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,6 +32,7 @@ public class AuthController {
 
     private final UserRepository userRepository;
     private final FirefliesApiService firefliesApiService;
+    private final CurrentUserService currentUserService;
 
     // ── Register ──────────────────────────────────────────────────────────────
 
@@ -41,40 +44,33 @@ public class AuthController {
             return ResponseEntity.badRequest().build();
         }
 
-        email = email.trim().toLowerCase();
+        email = CurrentUserService.normalize(email);
         final String normalizedEmail = email;
 
         User user = userRepository.findByEmail(normalizedEmail)
                 .orElseGet(() -> {
                     User newUser = User.builder().email(normalizedEmail).build();
                     log.info("Registering new user: {}", normalizedEmail);
-                    return userRepository.save(newUser);
+                    User saved = userRepository.save(newUser);
+                    currentUserService.registered(saved);
+                    return saved;
                 });
 
-        return ResponseEntity.ok(buildResponse(user));
+        return ResponseEntity.ok(buildResponse(user.getEmail()));
     }
 
     // ── Me ────────────────────────────────────────────────────────────────────
 
+    /** Unknown emails are rejected with 404 while resolving {@link CurrentUser}. */
     @GetMapping("/me")
-    public ResponseEntity<AuthResponse> me(
-            @RequestHeader("X-User-Email") String email) {
-
-        return userRepository.findByEmail(email.trim().toLowerCase())
-                .map(user -> ResponseEntity.ok(buildResponse(user)))
-                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    public ResponseEntity<AuthResponse> me(CurrentUser user) {
+        return ResponseEntity.ok(buildResponse(user.email()));
     }
 
     // ── Verify Fireflies connection ───────────────────────────────────────────
 
     @GetMapping("/fireflies")
-    public ResponseEntity<Map<String, Object>> verifyFireflies(
-            @RequestHeader("X-User-Email") String email) {
-
-        userRepository.findByEmail(email.trim().toLowerCase())
-                .orElseThrow(() -> new RuntimeException(
-                        "User not found. Register first via POST /api/auth/register"));
-
+    public ResponseEntity<Map<String, Object>> verifyFireflies(CurrentUser user) {
         try {
             Map<String, Object> result = firefliesApiService.getMe();
             return ResponseEntity.ok(result);
@@ -90,11 +86,11 @@ public class AuthController {
 
     // ── Helper ────────────────────────────────────────────────────────────────
 
-    private AuthResponse buildResponse(User user) {
+    private AuthResponse buildResponse(String email) {
         return AuthResponse.builder()
-                .email(user.getEmail())
+                .email(email)
                 .tokenType("ApiKey")
-                .message("Send header X-User-Email: " + user.getEmail() + " on all requests")
+                .message("Send header X-User-Email: " + email + " on all requests")
                 .build();
     }
 }
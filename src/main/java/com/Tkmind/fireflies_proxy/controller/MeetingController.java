@@ -1,26 +1,43 @@
 package com.Tkmind.fireflies_proxy.controller;
 
+import com.Tkmind.fireflies_proxy.dto.request.MeetingBatchScheduleRequest;
 import com.Tkmind.fireflies_proxy.dto.request.MeetingLaunchRequest;
 import com.Tkmind.fireflies_proxy.dto.request.MeetingScheduleRequest;
+import com.Tkmind.fireflies_proxy.dto.response.CursorPage;
+import com.Tkmind.fireflies_proxy.dto.response.MeetingBatchScheduleResponse;
 import com.Tkmind.fireflies_proxy.dto.response.MeetingResponse;
+import com.Tkmind.fireflies_proxy.repository.MeetingPageQuery;
+import com.Tkmind.fireflies_proxy.security.CurrentUser;
+import com.Tkmind.fireflies_proxy.service.MeetingBatchService;
 import com.Tkmind.fireflies_proxy.service.MeetingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.LocalDateTime;
+
 
 /**
  * Meeting endpoints.
  * All requests require header:  X-User-Email: user@example.com
  *
  * POST   /api/meetings/schedule    — create meeting (+ optional bot invite)
+ * POST   /api/meetings/schedule/batch — create up to 500 meetings at once
  * POST   /api/meetings/launch      — launch meeting + invite bot
- * GET    /api/meetings             — list user's meetings
+ * GET    /api/meetings             — list user's meetings (newest first)
  * GET    /api/meetings/{id}        — get single meeting
+ *
+ * Read endpoints accept ?fields=id,title,status to load only those columns.
+ *
+ * GET /meetings filters on ?status=SCHEDULED,COMPLETED and ?from= / ?to=
+ * (ISO date-time, to exclusive). Without ?limit= or ?cursor= it returns the
+ * full list, as it always has. With ?limit= (max 200) it is keyset-paginated:
+ * when more rows exist the response carries an X-Next-Cursor header; pass it
+ * back as ?cursor= for the next page (50 rows if no limit is given).
  */
 @RestController
 @RequestMapping("/meetings")
@@ -28,38 +45,76 @@ import java.util.List;
 @Slf4j
 public class MeetingController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final MeetingService meetingService;
+    private final MeetingBatchService meetingBatchService;
 
     @PostMapping("/schedule")
     public ResponseEntity<MeetingResponse> scheduleMeeting(
-            @RequestHeader("X-User-Email") String userEmail,
+            CurrentUser user,
             @Valid @RequestBody MeetingScheduleRequest request) {
 
-        MeetingResponse response = meetingService.scheduleMeeting(userEmail, request);
+        MeetingResponse response = meetingService.scheduleMeeting(user, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * Calendar sync: all items are validated first, inserted in one
+     * transaction, then bots are invited concurrently. The response has one
+     * result per item, in request order.
+     */
+    @PostMapping("/schedule/batch")
+    public ResponseEntity<MeetingBatchScheduleResponse> scheduleMeetings(
+            CurrentUser user,
+            @Valid @RequestBody MeetingBatchScheduleRequest request) {
+
+        MeetingBatchScheduleResponse response =
+                meetingBatchService.scheduleMeetings(user, request.getMeetings());
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     @PostMapping("/launch")
     public ResponseEntity<MeetingResponse> launchMeeting(
-            @RequestHeader("X-User-Email") String userEmail,
+            CurrentUser user,
             @Valid @RequestBody MeetingLaunchRequest request) {
 
-        MeetingResponse response = meetingService.launchMeeting(userEmail, request);
+        MeetingResponse response = meetingService.launchMeeting(user, request);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping
-    public ResponseEntity<List<MeetingResponse>> getUserMeetings(
-            @RequestHeader("X-User-Email") String userEmail) {
+    public ResponseEntity<?> getUserMeetings(
+            CurrentUser user,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+
+        MeetingPageQuery page = MeetingPageQuery.of(status, from, to, cursor, limit);
+
+        CursorPage<?> result = fields != null
+                ? meetingService.getUserMeetingFields(user, fields, page)
+                : meetingService.getUserMeetings(user, page);
 
-        return ResponseEntity.ok(meetingService.getUserMeetings(userEmail));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (result.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, result.getNextCursor());
+        }
+        return response.body(result.getItems());
     }
 
     @GetMapping("/{meetingId}")
-    public ResponseEntity<MeetingResponse> getMeetingById(
-            @RequestHeader("X-User-Email") String userEmail,
-            @PathVariable Long meetingId) {
+    public ResponseEntity<?> getMeetingById(
+            CurrentUser user,
+            @PathVariable Long meetingId,
+            @RequestParam(required = false) String fields) {
 
-        return ResponseEntity.ok(meetingService.getMeetingById(userEmail, meetingId));
+        if (fields != null) {
+            return ResponseEntity.ok(meetingService.getMeetingFields(user, meetingId, fields));
+        }
+        return ResponseEntity.ok(meetingService.getMeetingById(user, meetingId));
     }
 }
@@ -1,11 +1,24 @@
 package com.Tkmind.fireflies_proxy.controller;
 
+import com.Tkmind.fireflies_proxy.dto.response.SpeakerStatsResponse;
+import com.Tkmind.fireflies_proxy.dto.response.SummaryJobResponse;
 import com.Tkmind.fireflies_proxy.dto.response.TranscriptResponse;
+import com.Tkmind.fireflies_proxy.security.CurrentUser;
+import com.Tkmind.fireflies_proxy.service.SpeakerAnalyticsService;
+import com.Tkmind.fireflies_proxy.service.SummaryStreamService;
+import com.Tkmind.fireflies_proxy.service.TranscriptReadinessService;
 import com.Tkmind.fireflies_proxy.service.TranscriptService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/meetings")
@@ -14,14 +27,23 @@ import org.springframework.web.bind.annotation.*;
 public class TranscriptController {
 
     private final TranscriptService transcriptService;
+    private final SpeakerAnalyticsService speakerAnalyticsService;
+    private final SummaryStreamService summaryStreamService;
+    private final TranscriptReadinessService transcriptReadinessService;
 
     @GetMapping("/{meetingId}/transcript")
     public ResponseEntity<?> getTranscript(
-            @RequestHeader("X-User-Email") String userEmail,
-            @PathVariable Long meetingId) {
+            CurrentUser user,
+            @PathVariable Long meetingId,
+            @RequestParam(required = false) String fields) {
+
+        if (fields != null) {
+            return ResponseEntity.ok(
+                    transcriptService.getTranscriptFields(user, meetingId, fields));
+        }
 
         TranscriptResponse transcript =
-                transcriptService.getTranscriptByMeetingId(userEmail, meetingId);
+                transcriptService.getTranscriptByMeetingId(user, meetingId);
 
 
         if (transcript == null) {
@@ -32,4 +54,79 @@ public class TranscriptController {
 
         return ResponseEntity.ok(transcript);
     }
+
+    /**
+     * Long-poll variant: held open until the transcript is stored (or with
+     * until=summary, until its AI summary settles), at most {@code wait}
+     * seconds (capped at 60). Out of time it answers like the plain GET.
+     */
+    @GetMapping(value = "/{meetingId}/transcript", params = "wait")
+    public DeferredResult<ResponseEntity<?>> awaitTranscript(
+            CurrentUser user,
+            @PathVariable Long meetingId,
+            @RequestParam int wait,
+            @RequestParam(defaultValue = "transcript") String until) {
+
+        if (wait <= 0) {
+            throw new IllegalArgumentException("wait must be a positive number of seconds");
+        }
+        return transcriptReadinessService.awaitTranscript(
+                user, meetingId, Duration.ofSeconds(wait), "summary".equalsIgnoreCase(until));
+    }
+
+    /**
+     * Server-Sent Events for all of the caller's meetings: "transcript" when
+     * a transcript is stored, "summary" when its AI summary settles.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter transcriptEvents(CurrentUser user) {
+        return transcriptReadinessService.subscribe(user);
+    }
+
+    /**
+     * Regenerate the AI summary. Runs ahead of background summary jobs;
+     * poll GET /{meetingId}/transcript/summary-job for progress.
+     */
+    @PostMapping("/{meetingId}/transcript/summary")
+    public ResponseEntity<Map<String, Object>> regenerateSummary(
+            CurrentUser user,
+            @PathVariable Long meetingId) {
+
+        transcriptService.regenerateSummary(user, meetingId);
+        return ResponseEntity.accepted()
+                .body(Map.of("meetingId", meetingId, "summaryStatus", "PENDING"));
+    }
+
+    /**
+     * Server-Sent Events stream of the AI summary: tokens are relayed as the
+     * LLM produces them, and the final text is stored when it completes.
+     */
+    @GetMapping(value = "/{meetingId}/transcript/summary/stream",
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSummary(
+            CurrentUser user,
+            @PathVariable Long meetingId) {
+
+        return summaryStreamService.streamSummary(user, meetingId);
+    }
+
+    @GetMapping("/{meetingId}/transcript/summary-job")
+    public ResponseEntity<SummaryJobResponse> getSummaryJob(
+            CurrentUser user,
+            @PathVariable Long meetingId) {
+
+        return ResponseEntity.ok(transcriptService.getSummaryJob(user, meetingId));
+    }
+
+    /**
+     * Per-speaker talk time share, words per minute, interruptions and
+     * longest monologue — precomputed when the transcript was ingested.
+     */
+    @GetMapping("/{meetingId}/analytics")
+    public ResponseEntity<List<SpeakerStatsResponse>> getSpeakerAnalytics(
+            CurrentUser user,
+            @PathVariable Long meetingId) {
+
+        return ResponseEntity.ok(speakerAnalyticsService.getSpeakerStats(user, meetingId));
+    }
 }
\ No newline at end of file
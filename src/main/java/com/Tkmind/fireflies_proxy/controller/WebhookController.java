@@ -35,6 +35,7 @@ public class WebhookController {
             @RequestBody String payload,
             @RequestHeader(value = "X-Fireflies-Signature", required = false) String signature) {
 
+        long receivedAt = System.nanoTime();
         try {
             log.info("Fireflies webhook received ({} bytes)", payload.length());
 
@@ -49,7 +50,7 @@ public class WebhookController {
 
             @SuppressWarnings("unchecked")
             Map<String, Object> webhookData = objectMapper.readValue(payload, Map.class);
-            webhookService.processWebhook(webhookData);
+            webhookService.processWebhook(webhookData, receivedAt);
 
             return ResponseEntity.ok(Map.of("status", "success"));
 
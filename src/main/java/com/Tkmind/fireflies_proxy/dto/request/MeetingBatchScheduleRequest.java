@@ -0,0 +1,17 @@
+package com.Tkmind.fireflies_proxy.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class MeetingBatchScheduleRequest {
+
+    /** Validated as a whole before anything is written — one bad item rejects the batch. */
+    @NotEmpty(message = "meetings must not be empty")
+    @Size(max = 500, message = "at most 500 meetings per batch")
+    private List<@Valid MeetingScheduleRequest> meetings;
+}
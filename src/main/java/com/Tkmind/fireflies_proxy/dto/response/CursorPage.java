@@ -0,0 +1,18 @@
+package com.Tkmind.fireflies_proxy.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    /** Opaque cursor for the next page, or null on the last page. */
+    private String nextCursor;
+}
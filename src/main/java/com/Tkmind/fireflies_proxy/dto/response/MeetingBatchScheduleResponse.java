@@ -0,0 +1,34 @@
+package com.Tkmind.fireflies_proxy.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MeetingBatchScheduleResponse {
+    private int created;
+    /** Bot invites handed to the outbox; each meeting's inviteStatus shows their progress. */
+    private int invitesQueued;
+    /** Same order as the request items. */
+    private List<Item> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private int index;
+        private MeetingResponse meeting;
+        /**
+         * QUEUED, SKIPPED (no URL / inviteBot=false),
+         * ALREADY_INVITED (URL invited before), DUPLICATE_URL (earlier item has the same URL)
+         */
+        private String botInvite;
+    }
+}
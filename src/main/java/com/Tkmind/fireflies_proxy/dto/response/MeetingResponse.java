@@ -16,6 +16,9 @@ public class MeetingResponse {
     private String meetingUrl;
     private String firefliesMeetingId;
     private String status;
+    /** NONE, PENDING, INVITED or FAILED — the bot invite runs after the response. */
+    private String inviteStatus;
+    private String inviteError;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
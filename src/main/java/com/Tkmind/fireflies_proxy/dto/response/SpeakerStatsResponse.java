@@ -0,0 +1,21 @@
+package com.Tkmind.fireflies_proxy.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpeakerStatsResponse {
+    private String speakerName;
+    private int sentenceCount;
+    private int wordCount;
+    private double talkTimeSeconds;
+    private double talkShare;
+    private double wordsPerMinute;
+    private int interruptions;
+    private double longestMonologueSeconds;
+}
@@ -0,0 +1,25 @@
+package com.Tkmind.fireflies_proxy.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SummaryJobResponse {
+    private String jobId;
+    private Long meetingId;
+    private Long transcriptId;
+    private String priority;
+    private String status;
+    private int attempts;
+    private Instant enqueuedAt;
+    private Instant startedAt;
+    private Instant completedAt;
+    private String lastError;
+}
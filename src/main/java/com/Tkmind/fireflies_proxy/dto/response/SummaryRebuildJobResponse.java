@@ -0,0 +1,27 @@
+package com.Tkmind.fireflies_proxy.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SummaryRebuildJobResponse {
+    private Long jobId;
+    private String targetVersion;
+    private String status;
+    private Long lastTranscriptId;
+    private Long processed;
+    private Long failed;
+    private Double rowsPerSecond;
+    private String error;
+    private boolean pauseRequested;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+}
@@ -13,6 +13,7 @@ public class TranscriptResponse {
     private Long meetingId;
     private String content;
     private String summary;
+    private String summaryStatus;
     private String actionItems;
 
     private String speakerLabels;
@@ -1,12 +1,18 @@
 package com.Tkmind.fireflies_proxy.entity;
 
+import com.Tkmind.fireflies_proxy.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(MeetingKeyListener.class)
 @Table(name = "meetings")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.MEETING_REGION)
 @Getter
 @Setter
 @Builder
@@ -34,6 +40,10 @@ public class Meeting {
     @Column(name = "meeting_url", length = 1000)
     private String meetingUrl;
 
+    /** {@link MeetingUrlKey} of meetingUrl — kept in sync on every save. */
+    @Column(name = "meeting_key", length = MeetingUrlKey.MAX_LENGTH)
+    private String meetingKey;
+
     /**
      * Fireflies transcript/meeting ID — set by webhook or manual refresh.
      * Used to correlate incoming webhook events with local meetings.
@@ -46,6 +56,19 @@ public class Meeting {
     @Builder.Default
     private MeetingStatus status = MeetingStatus.SCHEDULED;
 
+    /**
+     * Progress of the Fireflies bot invite. The invite itself runs from the
+     * meeting_invite_outbox after commit — clients poll this field.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "invite_status", nullable = false, length = 20)
+    @Builder.Default
+    private InviteStatus inviteStatus = InviteStatus.NONE;
+
+    /** Last error of a FAILED invite. */
+    @Column(name = "invite_error", length = 500)
+    private String inviteError;
+
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
@@ -61,14 +84,20 @@ public class Meeting {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        meetingKey = MeetingUrlKey.of(meetingUrl);
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        meetingKey = MeetingUrlKey.of(meetingUrl);
     }
 
     public enum MeetingStatus {
         SCHEDULED, IN_PROGRESS, COMPLETED, CANCELLED
     }
+
+    public enum InviteStatus {
+        NONE, PENDING, INVITED, FAILED
+    }
 }
@@ -0,0 +1,32 @@
+package com.Tkmind.fireflies_proxy.entity;
+
+import com.Tkmind.fireflies_proxy.service.MeetingKeyIndex;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Mirrors every JPA save of a meeting into {@link MeetingKeyIndex}.
+ * Instantiated by Hibernate through Spring's bean container; the index is
+ * looked up lazily because it is built after the EntityManagerFactory.
+ */
+public class MeetingKeyListener {
+
+    private final ObjectProvider<MeetingKeyIndex> meetingKeyIndex;
+
+    public MeetingKeyListener(ObjectProvider<MeetingKeyIndex> meetingKeyIndex) {
+        this.meetingKeyIndex = meetingKeyIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void saved(Meeting meeting) {
+        meetingKeyIndex.ifAvailable(index -> index.put(meeting));
+    }
+
+    @PostRemove
+    void removed(Meeting meeting) {
+        meetingKeyIndex.ifAvailable(index -> index.remove(meeting));
+    }
+}
@@ -0,0 +1,108 @@
+package com.Tkmind.fireflies_proxy.entity;
+
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Canonical key of a meeting URL, stored in meetings.meeting_key.
+ *
+ * Links to the same meeting differ in case, query strings (pwd, context,
+ * utm_*), subdomains and trailing slashes. The key keeps only what
+ * identifies the meeting:
+ *
+ *   https://us02web.zoom.us/j/81234567890?pwd=abc   → zoom:81234567890
+ *   https://meet.google.com/ABC-defg-hij?authuser=1 → meet:abcdefghij
+ *   https://teams.microsoft.com/l/meetup-join/19%3ameeting_X%40thread.v2/0?context=…
+ *                                                   → teams:19:meeting_X@thread.v2
+ *   anything else                                   → url:host/path (lower-cased, no query)
+ */
+public final class MeetingUrlKey {
+
+    public static final int MAX_LENGTH = 255;
+
+    private static final Pattern ZOOM_ID      = Pattern.compile("^/(?:j|s|w|wc(?:/join)?)/(\\d{9,12})(?:/.*)?$");
+    private static final Pattern ZOOM_VANITY  = Pattern.compile("^/my/([^/]+)/?$");
+    private static final Pattern MEET_CODE    = Pattern.compile("^/([a-z]{3})-?([a-z]{4})-?([a-z]{3})/?$");
+    private static final Pattern TEAMS_JOIN   = Pattern.compile("^/l/meetup-join/([^/]+)(?:/.*)?$");
+    private static final Pattern TEAMS_LIVE   = Pattern.compile("^/meet/([^/]+)/?$");
+
+    private MeetingUrlKey() {
+    }
+
+    /** @return the key, or null for a blank or unparseable URL */
+    public static String of(String url) {
+        if (url == null || url.isBlank()) return null;
+
+        URI uri;
+        try {
+            String trimmed = url.trim();
+            uri = URI.create(trimmed.contains("://") ? trimmed : "https://" + trimmed);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (uri.getHost() == null) return null;
+
+        String host = uri.getHost().toLowerCase(Locale.ROOT);
+        if (host.startsWith("www.")) host = host.substring(4);
+        String rawPath = uri.getRawPath() == null ? "" : uri.getRawPath();
+
+        String key = null;
+        if (host.equals("zoom.us") || host.endsWith(".zoom.us")
+                || host.equals("zoom.com") || host.endsWith(".zoom.com")) {
+            key = zoom(rawPath.toLowerCase(Locale.ROOT));
+        } else if (host.equals("meet.google.com")) {
+            Matcher m = MEET_CODE.matcher(rawPath.toLowerCase(Locale.ROOT));
+            if (m.matches()) key = "meet:" + m.group(1) + m.group(2) + m.group(3);
+        } else if (host.equals("teams.microsoft.com") || host.equals("teams.live.com")) {
+            key = teams(rawPath);
+        }
+
+        if (key == null) {
+            String path = decode(rawPath).toLowerCase(Locale.ROOT);
+            while (path.endsWith("/")) path = path.substring(0, path.length() - 1);
+            key = "url:" + host + path;
+        }
+        return key.length() <= MAX_LENGTH ? key : "sha256:" + sha256(key);
+    }
+
+    private static String zoom(String path) {
+        Matcher m = ZOOM_ID.matcher(path);
+        if (m.matches()) return "zoom:" + m.group(1);
+        Matcher vanity = ZOOM_VANITY.matcher(path);
+        if (vanity.matches()) return "zoom:my:" + vanity.group(1);
+        return null;
+    }
+
+    /** Teams thread ids are case-sensitive — only the encoding is normalized. */
+    private static String teams(String rawPath) {
+        Matcher m = TEAMS_JOIN.matcher(rawPath);
+        if (m.matches()) return "teams:" + decode(m.group(1));
+        Matcher live = TEAMS_LIVE.matcher(rawPath);
+        if (live.matches()) return "teams:" + decode(live.group(1));
+        return null;
+    }
+
+    private static String decode(String s) {
+        try {
+            return URLDecoder.decode(s.replace("+", "%2B"), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return s;
+        }
+    }
+
+    private static String sha256(String s) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(s.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.Tkmind.fireflies_proxy.entity;
+
+import com.Tkmind.fireflies_proxy.event.TranscriptReadinessEvent;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A readiness event relayed through the database (JdbcReadinessEventBridge).
+ * Rows are short-lived: every node tails them by id and old ones are pruned.
+ */
+@Entity
+@Table(name = "readiness_events")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadinessEventRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Node that published the event — it has already delivered it locally. */
+    @Column(name = "node_id", nullable = false, length = 36)
+    private String nodeId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "meeting_id", nullable = false)
+    private Long meetingId;
+
+    @Column(name = "transcript_id")
+    private Long transcriptId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TranscriptReadinessEvent.Stage stage;
+
+    @Column(name = "summary_status", length = 20)
+    private String summaryStatus;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public TranscriptReadinessEvent toEvent() {
+        return new TranscriptReadinessEvent(userId, meetingId, transcriptId, stage, summaryStatus);
+    }
+}
@@ -0,0 +1,54 @@
+package com.Tkmind.fireflies_proxy.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Per-speaker analytics for one transcript, precomputed at ingest time so
+ * reads cost O(speakers) instead of re-parsing speaker_labels.
+ */
+@Entity
+@Table(name = "speaker_stats")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpeakerStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "transcript_id", nullable = false)
+    private Long transcriptId;
+
+    @Column(name = "meeting_id", nullable = false)
+    private Long meetingId;
+
+    @Column(name = "speaker_name", nullable = false)
+    private String speakerName;
+
+    @Column(name = "sentence_count", nullable = false)
+    private int sentenceCount;
+
+    @Column(name = "word_count", nullable = false)
+    private int wordCount;
+
+    @Column(name = "talk_time_sec", nullable = false)
+    private double talkTimeSec;
+
+    /** Fraction (0..1) of the total talk time in the meeting. */
+    @Column(name = "talk_share", nullable = false)
+    private double talkShare;
+
+    @Column(name = "words_per_minute", nullable = false)
+    private double wordsPerMinute;
+
+    /** Times this speaker started talking before the previous speaker had finished. */
+    @Column(name = "interruptions", nullable = false)
+    private int interruptions;
+
+    @Column(name = "longest_monologue_sec", nullable = false)
+    private double longestMonologueSec;
+}
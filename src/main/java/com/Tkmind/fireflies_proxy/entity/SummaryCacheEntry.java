@@ -0,0 +1,53 @@
+package com.Tkmind.fireflies_proxy.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "summary_cache")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SummaryCacheEntry {
+
+    /** Hex SHA-256 of (normalized content, prompt version, model). */
+    @Id
+    @Column(name = "cache_key", columnDefinition = "CHAR(64)")
+    private String cacheKey;
+
+    @Column(name = "prompt_version", nullable = false, length = 20)
+    private String promptVersion;
+
+    @Column(nullable = false, length = 100)
+    private String model;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(columnDefinition = "TEXT")
+    private String summary;
+
+    @Column(length = 500)
+    private String error;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    /** Only set on FAILED entries — the negative cache TTL. */
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public enum Status {
+        READY, FAILED
+    }
+}
@@ -0,0 +1,74 @@
+package com.Tkmind.fireflies_proxy.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bulk re-summarization run. Progress is checkpointed in the same transaction
+ * as each batch of summaries, so a restarted run continues after
+ * {@link #lastTranscriptId} without redoing committed work.
+ */
+@Entity
+@Table(name = "summary_rebuild_jobs")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SummaryRebuildJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** summary_prompt_version every processed row is brought up to. */
+    @Column(name = "target_version", nullable = false, length = 128)
+    private String targetVersion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "last_transcript_id", nullable = false)
+    @Builder.Default
+    private Long lastTranscriptId = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long processed = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long failed = 0L;
+
+    /** Throughput of the current (or last) run. */
+    @Column(name = "rows_per_second")
+    private Double rowsPerSecond;
+
+    @Column(length = 500)
+    private String error;
+
+    /**
+     * Pause asked for on any node. Written only by
+     * {@code SummaryRebuildJobRepository.updatePauseRequested}, so a
+     * checkpoint flushing this entity never overwrites a concurrent request.
+     */
+    @Column(name = "pause_requested", nullable = false, updatable = false)
+    @Builder.Default
+    private boolean pauseRequested = false;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public enum Status {
+        RUNNING, PAUSED, COMPLETED, FAILED
+    }
+}
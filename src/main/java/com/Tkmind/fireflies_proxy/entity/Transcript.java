@@ -1,12 +1,21 @@
 package com.Tkmind.fireflies_proxy.entity;
 
+import com.Tkmind.fireflies_proxy.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "transcripts")
+@Cacheable
+// Lazy content / speaker labels stay out of the cache — entries are small and the size bound stays meaningful
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.TRANSCRIPT_REGION,
+        includeLazy = false)
+@DynamicUpdate
 @Getter
 @Setter
 @Builder
@@ -27,15 +36,38 @@ public class Transcript {
     @Column(name = "fireflies_transcript_id", unique = true)
     private String firefliesTranscriptId;
 
+    /**
+     * Full transcript text — lazily fetched so summary-only reads never pull
+     * the LONGTEXT column (requires bytecode enhancement, see pom.xml).
+     */
+    @Basic(fetch = FetchType.LAZY)
     @Column(columnDefinition = "LONGTEXT")
     private String content;
 
     @Column(columnDefinition = "TEXT")
     private String summary;
 
+    /**
+     * AI summary lifecycle. While PENDING, {@link #summary} holds the
+     * Fireflies fallback summary; the AI summary replaces it once READY.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "summary_status", length = 20, nullable = false)
+    @Builder.Default
+    private SummaryStatus summaryStatus = SummaryStatus.PENDING;
+
+    /** When the AI summary was last queued — used to retry lost / failed jobs. */
+    @Column(name = "summary_requested_at")
+    private LocalDateTime summaryRequestedAt;
+
+    /** "{prompt version}/{model}" that produced the AI summary; null = stale. */
+    @Column(name = "summary_prompt_version", length = 128)
+    private String summaryPromptVersion;
+
     @Column(name = "action_items", columnDefinition = "TEXT")
     private String actionItems;
 
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "speaker_labels", columnDefinition = "JSON")
     private String speakerLabels;
 
@@ -49,4 +81,8 @@ public class Transcript {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
     }
+
+    public enum SummaryStatus {
+        PENDING, READY, FAILED, SKIPPED
+    }
 }
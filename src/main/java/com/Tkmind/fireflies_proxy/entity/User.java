@@ -1,12 +1,21 @@
 package com.Tkmind.fireflies_proxy.entity;
 
+import com.Tkmind.fireflies_proxy.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.USER_REGION)
+@NaturalIdCache
 @Getter
 @Setter
 @Builder
@@ -18,6 +27,8 @@ public class User {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Stored normalized (see normalizeEmail) — the natural-id cache compares keys exactly
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String email;
 
@@ -27,8 +38,18 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    public void setEmail(String email) {
+        this.email = normalizeEmail(email);
+    }
+
+    // Locale.ROOT like V13's LOWER(): the default locale would fold "I" to a dotless i in Turkish
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
     @PrePersist
     protected void onCreate() {
+        email     = normalizeEmail(email);
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
     }
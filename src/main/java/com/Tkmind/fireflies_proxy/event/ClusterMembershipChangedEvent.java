@@ -0,0 +1,12 @@
+package com.Tkmind.fireflies_proxy.event;
+
+import com.Tkmind.fireflies_proxy.service.ClusterLeaseService;
+
+import java.util.List;
+
+/**
+ * Published on the heartbeat thread when a node joins or leaves. Listeners
+ * that keep shard-filtered state reload it; listeners must not block.
+ */
+public record ClusterMembershipChangedEvent(ClusterLeaseService.Shard shard, List<String> liveNodes) {
+}
@@ -0,0 +1,11 @@
+package com.Tkmind.fireflies_proxy.event;
+
+import java.util.List;
+
+/**
+ * Published inside the transaction that queues bot invites in
+ * meeting_invite_outbox. The dispatcher wakes up after commit instead of
+ * waiting for its next poll.
+ */
+public record MeetingInviteQueuedEvent(List<Long> meetingIds) {
+}
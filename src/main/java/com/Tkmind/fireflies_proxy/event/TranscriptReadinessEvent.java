@@ -0,0 +1,21 @@
+package com.Tkmind.fireflies_proxy.event;
+
+/**
+ * A transcript became readable (TRANSCRIPT) or its AI summary settled
+ * (SUMMARY). Published inside the writing transaction; TranscriptReadinessService
+ * pushes it to the owner's SSE streams and long-polls after commit, and to
+ * other nodes through a ReadinessEventBridge when one is configured.
+ */
+public record TranscriptReadinessEvent(Long userId,
+                                       Long meetingId,
+                                       Long transcriptId,
+                                       Stage stage,
+                                       String summaryStatus) {
+
+    public enum Stage { TRANSCRIPT, SUMMARY }
+
+    /** Nothing more will happen to the summary without a new request. */
+    public boolean summarySettled() {
+        return !"PENDING".equals(summaryStatus);
+    }
+}
@@ -0,0 +1,15 @@
+package com.Tkmind.fireflies_proxy.event;
+
+/**
+ * Published inside the transaction that stores a transcript (or re-queues
+ * its summary). Listeners run after commit, so the row is visible to them.
+ *
+ * {@code userRequested} marks an explicit regeneration, which is summarized
+ * ahead of background ingest work.
+ */
+public record TranscriptSavedEvent(Long transcriptId,
+                                   Long meetingId,
+                                   String meetingTitle,
+                                   String content,
+                                   boolean userRequested) {
+}
@@ -0,0 +1,23 @@
+package com.Tkmind.fireflies_proxy.repository;
+
+import com.Tkmind.fireflies_proxy.entity.Meeting;
+
+import java.time.LocalDateTime;
+
+/** The columns the auto-launch scheduler needs to (re)schedule or drop a meeting. */
+public record AutoLaunchRow(Long id,
+                            LocalDateTime scheduledDate,
+                            Meeting.MeetingStatus status,
+                            Meeting.InviteStatus inviteStatus,
+                            String meetingUrl,
+                            String firefliesMeetingId,
+                            LocalDateTime updatedAt) {
+
+    /** Still waiting for a bot: SCHEDULED, has a URL, not invited yet. */
+    public boolean launchable() {
+        return status == Meeting.MeetingStatus.SCHEDULED
+                && meetingUrl != null && !meetingUrl.isBlank()
+                && firefliesMeetingId == null
+                && inviteStatus != Meeting.InviteStatus.INVITED;
+    }
+}
@@ -0,0 +1,5 @@
+package com.Tkmind.fireflies_proxy.repository;
+
+/** An outbox row claimed by this node; {@code attempt} already counts the claim. */
+public record ClaimedInviteRow(Long id, Long meetingId, int attempt) {
+}
@@ -0,0 +1,63 @@
+package com.Tkmind.fireflies_proxy.repository;
+
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parses the {@code fields=} selector of the read endpoints and turns it into
+ * a constructor (DTO) projection onto a fields record.
+ *
+ * Only whitelisted names are accepted, so the selector maps 1:1 onto entity
+ * attributes and nothing that was not asked for leaves the database.
+ */
+public final class FieldSelection {
+
+    private FieldSelection() {
+    }
+
+    public static Set<String> parse(String raw, Set<String> allowed) {
+        Set<String> fields = new LinkedHashSet<>();
+
+        for (String part : raw.split(",")) {
+            String field = part.trim();
+            if (field.isEmpty()) continue;
+            if (!allowed.contains(field)) {
+                throw new IllegalArgumentException(
+                        "Unknown field '" + field + "'. Allowed fields: " + String.join(",", allowed));
+            }
+            fields.add(field);
+        }
+
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one attribute");
+        }
+        return fields;
+    }
+
+    // ── Criteria helper used by the repository fragments ─────────────────────
+
+    /**
+     * {@code new type(...)} over every entry of {@code paths}, in order — the
+     * record's component order. Fields not in {@code fields} are NULL literals.
+     */
+    static <T> CompoundSelection<T> construct(CriteriaBuilder cb, Class<T> type, Root<?> root,
+                                              Map<String, String> paths, Set<String> fields) {
+        Selection<?>[] arguments = new Selection<?>[paths.size()];
+        int i = 0;
+        for (Map.Entry<String, String> entry : paths.entrySet()) {
+            Path<?> path = root;
+            for (String attribute : entry.getValue().split("\\.")) {
+                path = path.get(attribute);
+            }
+            arguments[i++] = fields.contains(entry.getKey()) ? path : cb.nullLiteral(path.getJavaType());
+        }
+        return cb.construct(type, arguments);
+    }
+}
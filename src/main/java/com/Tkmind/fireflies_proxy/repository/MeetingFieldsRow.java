@@ -0,0 +1,24 @@
+package com.Tkmind.fireflies_proxy.repository;
+
+import com.Tkmind.fireflies_proxy.entity.Meeting;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO projection behind {@code fields=} on meeting reads. Components follow
+ * {@link MeetingRepositoryCustom#PROJECTABLE_FIELDS}; those not asked for are
+ * selected as NULL literals, so their columns are never read. Page reads
+ * always fill id and scheduledDate, the keyset cursor.
+ */
+public record MeetingFieldsRow(Long id,
+                               String title,
+                               String participants,
+                               LocalDateTime scheduledDate,
+                               String meetingUrl,
+                               String firefliesMeetingId,
+                               Meeting.MeetingStatus status,
+                               Meeting.InviteStatus inviteStatus,
+                               String inviteError,
+                               LocalDateTime createdAt,
+                               LocalDateTime updatedAt) {
+}
@@ -0,0 +1,14 @@
+package com.Tkmind.fireflies_proxy.repository;
+
+import com.Tkmind.fireflies_proxy.entity.MeetingInviteOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface MeetingInviteOutboxRepository extends JpaRepository<MeetingInviteOutbox, Long>,
+        MeetingInviteOutboxRepositoryCustom {
+
+    Optional<MeetingInviteOutbox> findByMeetingId(Long meetingId);
+}
@@ -0,0 +1,41 @@
+package com.Tkmind.fireflies_proxy.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface MeetingInviteOutboxRepositoryCustom {
+
+    /**
+     * Queues an invite for each of these new meetings with one JDBC batch.
+     * Must run in the transaction that inserted the meetings.
+     */
+    void insertPending(List<Long> meetingIds);
+
+    /**
+     * Claims up to {@code limit} due rows (PENDING past their retry time,
+     * PROCESSING past their lease) for this node: PROCESSING, attempts + 1,
+     * leased until {@code leaseUntil}. Rows locked by another node's claim
+     * are skipped, so concurrent pollers take disjoint rows.
+     */
+    List<ClaimedInviteRow> claimDue(LocalDateTime now, LocalDateTime leaseUntil, int limit);
+
+    /**
+     * Hands claimed rows back unsent (no rate-limit permit for them): PENDING,
+     * due at {@code now}, the claim's attempt undone. Rows whose claim is no
+     * longer current are left alone.
+     */
+    void unclaim(List<ClaimedInviteRow> rows, LocalDateTime now);
+
+    // The writes below are fenced on the claim: they apply only while the row
+    // is still PROCESSING with the claim's attempt count, so a node whose lease
+    // expired (and was re-claimed elsewhere) cannot overwrite the newer claim.
+
+    /** Deletes a sent invite; false if the claim is no longer current. */
+    boolean deleteClaimed(ClaimedInviteRow row);
+
+    /** Puts the row back to PENDING until {@code nextAttemptAt}; false if the claim is no longer current. */
+    boolean reschedule(ClaimedInviteRow row, LocalDateTime nextAttemptAt, String error);
+
+    /** Marks the row FAILED; false if the claim is no longer current. */
+    boolean markFailed(ClaimedInviteRow row, String error);
+}
@@ -0,0 +1,124 @@
+package com.Tkmind.fireflies_proxy.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+class MeetingInviteOutboxRepositoryImpl implements MeetingInviteOutboxRepositoryCustom {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO meeting_invite_outbox (meeting_id, status, attempts, next_attempt_at,
+                                               created_at, updated_at)
+            VALUES (?, 'PENDING', 0, ?, ?, ?)""";
+
+    private static final String SELECT_DUE_SQL = """
+            SELECT id, meeting_id, attempts
+            FROM meeting_invite_outbox
+            WHERE status IN ('PENDING', 'PROCESSING')
+              AND next_attempt_at <= ?
+            ORDER BY next_attempt_at
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED""";
+
+    private static final String CLAIM_SQL = """
+            UPDATE meeting_invite_outbox
+            SET status = 'PROCESSING', attempts = attempts + 1, next_attempt_at = ?, updated_at = ?
+            WHERE id = ?""";
+
+    private static final String UNCLAIM_SQL = """
+            UPDATE meeting_invite_outbox
+            SET status = 'PENDING', attempts = attempts - 1, next_attempt_at = ?, updated_at = ?
+            WHERE id = ? AND status = 'PROCESSING' AND attempts = ?""";
+
+    private static final String DELETE_CLAIMED_SQL = """
+            DELETE FROM meeting_invite_outbox
+            WHERE id = ? AND status = 'PROCESSING' AND attempts = ?""";
+
+    private static final String RESCHEDULE_SQL = """
+            UPDATE meeting_invite_outbox
+            SET status = 'PENDING', next_attempt_at = ?, last_error = ?, updated_at = ?
+            WHERE id = ? AND status = 'PROCESSING' AND attempts = ?""";
+
+    private static final String MARK_FAILED_SQL = """
+            UPDATE meeting_invite_outbox
+            SET status = 'FAILED', last_error = ?, updated_at = ?
+            WHERE id = ? AND status = 'PROCESSING' AND attempts = ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    MeetingInviteOutboxRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void insertPending(List<Long> meetingIds) {
+        if (meetingIds.isEmpty()) return;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, meetingIds, meetingIds.size(), (ps, id) -> {
+            ps.setLong(1, id);
+            ps.setTimestamp(2, now);
+            ps.setTimestamp(3, now);
+            ps.setTimestamp(4, now);
+        });
+    }
+
+    @Override
+    @Transactional
+    public List<ClaimedInviteRow> claimDue(LocalDateTime now, LocalDateTime leaseUntil, int limit) {
+        if (limit <= 0) return List.of();
+        Timestamp at = Timestamp.valueOf(now);
+
+        // Row locks last until commit; by then the rows are leased and no longer due
+        List<ClaimedInviteRow> rows = jdbcTemplate.query(SELECT_DUE_SQL,
+                (rs, i) -> new ClaimedInviteRow(rs.getLong("id"), rs.getLong("meeting_id"), rs.getInt("attempts") + 1),
+                at, limit);
+        if (rows.isEmpty()) return rows;
+
+        Timestamp until = Timestamp.valueOf(leaseUntil);
+        jdbcTemplate.batchUpdate(CLAIM_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setTimestamp(1, until);
+            ps.setTimestamp(2, at);
+            ps.setLong(3, row.id());
+        });
+        return rows;
+    }
+
+    @Override
+    @Transactional
+    public void unclaim(List<ClaimedInviteRow> rows, LocalDateTime now) {
+        if (rows.isEmpty()) return;
+        Timestamp at = Timestamp.valueOf(now);
+
+        jdbcTemplate.batchUpdate(UNCLAIM_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setTimestamp(1, at);
+            ps.setTimestamp(2, at);
+            ps.setLong(3, row.id());
+            ps.setInt(4, row.attempt());
+        });
+    }
+
+    @Override
+    @Transactional
+    public boolean deleteClaimed(ClaimedInviteRow row) {
+        return jdbcTemplate.update(DELETE_CLAIMED_SQL, row.id(), row.attempt()) == 1;
+    }
+
+    @Override
+    @Transactional
+    public boolean reschedule(ClaimedInviteRow row, LocalDateTime nextAttemptAt, String error) {
+        return jdbcTemplate.update(RESCHEDULE_SQL, Timestamp.valueOf(nextAttemptAt), error,
+                Timestamp.valueOf(LocalDateTime.now()), row.id(), row.attempt()) == 1;
+    }
+
+    @Override
+    @Transactional
+    public boolean markFailed(ClaimedInviteRow row, String error) {
+        return jdbcTemplate.update(MARK_FAILED_SQL, error, Timestamp.valueOf(LocalDateTime.now()),
+                row.id(), row.attempt()) == 1;
+    }
+}
@@ -0,0 +1,92 @@
+package com.Tkmind.fireflies_proxy.repository;
+
+import com.Tkmind.fireflies_proxy.entity.Meeting;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * One page of GET /meetings: optional filters, the keyset position to continue
+ * after, and the page size.
+ *
+ * Pages are ordered by (scheduled_date DESC, id DESC) — id breaks ties between
+ * meetings at the same time. The cursor is the (scheduledDate, id) of the last
+ * row of the previous page, encoded opaquely; with the
+ * (user_id, scheduled_date, id) index each page is a range scan of
+ * {@code limit} rows no matter how deep it is.
+ *
+ * Without ?limit= and ?cursor= the query is unpaged ({@link #UNPAGED}): the
+ * whole list, as GET /meetings returned before pagination existed.
+ *
+ * @param statuses empty = any status
+ * @param from     inclusive lower bound on scheduledDate, or null
+ * @param to       exclusive upper bound on scheduledDate, or null
+ */
+public record MeetingPageQuery(Set<Meeting.MeetingStatus> statuses,
+                               LocalDateTime from,
+                               LocalDateTime to,
+                               LocalDateTime afterScheduledDate,
+                               Long afterId,
+                               int limit) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT     = 200;
+    /** {@code limit} of an unpaged query — every matching row, no cursor. */
+    public static final int UNPAGED       = 0;
+
+    /** Builds a query from raw request parameters; bad input → IllegalArgumentException (400). */
+    public static MeetingPageQuery of(String status, LocalDateTime from, LocalDateTime to,
+                                      String cursor, Integer limit) {
+
+        if (limit != null && (limit < 1 || limit > MAX_LIMIT)) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        boolean hasCursor = cursor != null && !cursor.isBlank();
+        int size = limit != null ? limit : hasCursor ? DEFAULT_LIMIT : UNPAGED;
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+
+        Set<Meeting.MeetingStatus> statuses = EnumSet.noneOf(Meeting.MeetingStatus.class);
+        if (status != null) {
+            for (String part : status.split(",")) {
+                if (part.isBlank()) continue;
+                try {
+                    statuses.add(Meeting.MeetingStatus.valueOf(part.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown meeting status '" + part.trim() + "'");
+                }
+            }
+        }
+
+        LocalDateTime afterScheduledDate = null;
+        Long afterId = null;
+        if (hasCursor) {
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int sep = decoded.lastIndexOf('|');
+                afterScheduledDate = LocalDateTime.parse(decoded.substring(0, sep));
+                afterId = Long.parseLong(decoded.substring(sep + 1));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        return new MeetingPageQuery(statuses, from, to, afterScheduledDate, afterId, size);
+    }
+
+    /** False for the legacy full list: no row cap and no next cursor. */
+    public boolean paged() {
+        return limit != UNPAGED;
+    }
+
+    public static String cursorOf(LocalDateTime scheduledDate, Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((scheduledDate + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
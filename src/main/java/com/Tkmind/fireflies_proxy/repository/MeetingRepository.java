@@ -1,17 +1,65 @@
 package com.Tkmind.fireflies_proxy.repository;
 
 import com.Tkmind.fireflies_proxy.entity.Meeting;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface MeetingRepository extends JpaRepository<Meeting, Long> {
-    List<Meeting> findByUserIdOrderByScheduledDateDesc(Long userId);
+public interface MeetingRepository extends JpaRepository<Meeting, Long>, MeetingRepositoryCustom {
     Optional<Meeting> findByFirefliesMeetingId(String firefliesMeetingId);
 
-    // ✅ NEW: fallback match when firefliesMeetingId was stored as URL
-    Optional<Meeting> findByMeetingUrl(String meetingUrl);
+    /** Newest meeting with this canonical URL key (MeetingKeyIndex fallback). */
+    Optional<Meeting> findFirstByMeetingKeyOrderByIdDesc(String meetingKey);
+
+    /** Meetings with a URL but no meeting_key yet, keyset-paged by id. */
+    @Query("""
+            select m from Meeting m
+            where m.meetingKey is null and m.meetingUrl is not null and m.id > :afterId
+            order by m.id""")
+    List<Meeting> findMissingMeetingKey(@Param("afterId") Long afterId, Limit limit);
+
+    /** Which of these ids are already taken (fireflies_meeting_id is unique). */
+    @Query("select m.firefliesMeetingId from Meeting m where m.firefliesMeetingId in :ids")
+    List<String> findExistingFirefliesMeetingIds(@Param("ids") Collection<String> ids);
+
+    // ── Auto-launch scheduler ───────────────────────────────────────────────
+
+    /** Launchable meetings starting in [from, to], keyset-paged by id. */
+    @Query("""
+            select new com.Tkmind.fireflies_proxy.repository.AutoLaunchRow(
+                m.id, m.scheduledDate, m.status, m.inviteStatus, m.meetingUrl, m.firefliesMeetingId,
+                m.updatedAt)
+            from Meeting m
+            where m.status = com.Tkmind.fireflies_proxy.entity.Meeting.MeetingStatus.SCHEDULED
+              and m.meetingUrl is not null
+              and m.firefliesMeetingId is null
+              and m.inviteStatus <> com.Tkmind.fireflies_proxy.entity.Meeting.InviteStatus.INVITED
+              and m.scheduledDate between :from and :to
+              and m.id > :afterId
+            order by m.id""")
+    List<AutoLaunchRow> findLaunchable(@Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to,
+                                       @Param("afterId") Long afterId,
+                                       Limit limit);
+
+    /** Meetings changed since {@code since} (any status), ordered for keyset paging. */
+    @Query("""
+            select new com.Tkmind.fireflies_proxy.repository.AutoLaunchRow(
+                m.id, m.scheduledDate, m.status, m.inviteStatus, m.meetingUrl, m.firefliesMeetingId,
+                m.updatedAt)
+            from Meeting m
+            where m.updatedAt > :since
+               or (m.updatedAt = :since and m.id > :afterId)
+            order by m.updatedAt, m.id""")
+    List<AutoLaunchRow> findChangedSince(@Param("since") LocalDateTime since,
+                                         @Param("afterId") Long afterId,
+                                         Limit limit);
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.Tkmind.fireflies_proxy.repository;
+
+import com.Tkmind.fireflies_proxy.entity.Meeting;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface MeetingRepositoryCustom {
+
+    /** Field names accepted by {@code fields=} — same names as MeetingResponse. */
+    Set<String> PROJECTABLE_FIELDS = MeetingRepositoryImpl.PATHS.keySet();
+
+    /**
+     * One keyset page of a user's meetings, newest first. Returns up to
+     * {@code limit + 1} rows — the extra row only signals that a next page
+     * exists — or every matching row when the query is unpaged.
+     */
+    List<Meeting> findPageByUserId(Long userId, MeetingPageQuery page);
+
+    /**
+     * Same page, loading only the requested columns plus the cursor columns
+     * (id, scheduledDate); the other components are null.
+     */
+    List<MeetingFieldsRow> findFieldsPageByUserId(Long userId, MeetingPageQuery page, Set<String> fields);
+
+    /**
+     * Inserts new meetings with one JDBC batch (IDENTITY ids rule out Hibernate
+     * insert batching) and sets the generated ids on the given objects.
+     */
+    void insertAll(List<Meeting> meetings);
+
+    /**
+     * Conditional claim for auto-launch: flips SCHEDULED → IN_PROGRESS only
+     * if the meeting is still launchable and still at {@code scheduledDate}.
+     * Exactly one node wins; false means someone else did (or it changed).
+     */
+    boolean claimForAutoLaunch(Long meetingId, LocalDateTime scheduledDate);
+
+    /**
+     * Loads only the requested columns of a meeting, scoped to its owner.
+     * Empty when the meeting does not exist or belongs to someone else.
+     */
+    Optional<MeetingFieldsRow> findFieldsByIdAndUserId(Long meetingId, Long userId, Set<String> fields);
+}
@@ -0,0 +1,202 @@
+package com.Tkmind.fireflies_proxy.repository;
+
+import com.Tkmind.fireflies_proxy.entity.Meeting;
+import com.Tkmind.fireflies_proxy.entity.MeetingUrlKey;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+class MeetingRepositoryImpl implements MeetingRepositoryCustom {
+
+    static final Map<String, String> PATHS;
+
+    static {
+        Map<String, String> paths = new LinkedHashMap<>();
+        paths.put("id",                 "id");
+        paths.put("title",              "title");
+        paths.put("participants",       "participants");
+        paths.put("scheduledDate",      "scheduledDate");
+        paths.put("meetingUrl",         "meetingUrl");
+        paths.put("firefliesMeetingId", "firefliesMeetingId");
+        paths.put("status",             "status");
+        paths.put("inviteStatus",       "inviteStatus");
+        paths.put("inviteError",        "inviteError");
+        paths.put("createdAt",          "createdAt");
+        paths.put("updatedAt",          "updatedAt");
+        PATHS = Collections.unmodifiableMap(paths);
+    }
+
+    private static final String INSERT_SQL = """
+            INSERT INTO meetings (user_id, title, participants, scheduled_date, meeting_url, meeting_key,
+                                  status, invite_status, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    private static final String CLAIM_SQL = """
+            UPDATE meetings SET status = 'IN_PROGRESS', updated_at = ?
+            WHERE id = ? AND status = 'SCHEDULED' AND scheduled_date = ?
+              AND meeting_url IS NOT NULL AND fireflies_meeting_id IS NULL
+              AND invite_status <> 'INVITED'""";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    MeetingRepositoryImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    @Transactional
+    public void insertAll(List<Meeting> meetings) {
+        LocalDateTime now = LocalDateTime.now();
+        KeyHolder keys = new GeneratedKeyHolder();
+        // No entity callbacks on this path — derive the key here
+        meetings.forEach(m -> m.setMeetingKey(MeetingUrlKey.of(m.getMeetingUrl())));
+
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Meeting m = meetings.get(i);
+                        ps.setLong(1, m.getUser().getId());
+                        ps.setString(2, m.getTitle());
+                        ps.setString(3, m.getParticipants());
+                        ps.setTimestamp(4, Timestamp.valueOf(m.getScheduledDate()));
+                        ps.setString(5, m.getMeetingUrl());
+                        ps.setString(6, m.getMeetingKey());
+                        ps.setString(7, m.getStatus().name());
+                        ps.setString(8, m.getInviteStatus().name());
+                        ps.setTimestamp(9, Timestamp.valueOf(now));
+                        ps.setTimestamp(10, Timestamp.valueOf(now));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return meetings.size();
+                    }
+                },
+                keys);
+
+        List<Map<String, Object>> generated = keys.getKeyList();
+        for (int i = 0; i < meetings.size(); i++) {
+            Meeting m = meetings.get(i);
+            m.setId(((Number) generated.get(i).values().iterator().next()).longValue());
+            m.setCreatedAt(now);
+            m.setUpdatedAt(now);
+        }
+    }
+
+    @Override
+    @Transactional
+    public boolean claimForAutoLaunch(Long meetingId, LocalDateTime scheduledDate) {
+        int updated = jdbcTemplate.update(CLAIM_SQL,
+                Timestamp.valueOf(LocalDateTime.now()), meetingId, Timestamp.valueOf(scheduledDate));
+        if (updated == 1) {
+            entityManagerFactory.getCache().evict(Meeting.class, meetingId);
+        }
+        return updated == 1;
+    }
+
+    @Override
+    public List<Meeting> findPageByUserId(Long userId, MeetingPageQuery page) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Meeting> query = cb.createQuery(Meeting.class);
+        Root<Meeting> root = query.from(Meeting.class);
+
+        query.select(root)
+                .where(pagePredicates(cb, root, userId, page))
+                .orderBy(cb.desc(root.get("scheduledDate")), cb.desc(root.get("id")));
+
+        TypedQuery<Meeting> typed = entityManager.createQuery(query);
+        if (page.paged()) typed.setMaxResults(page.limit() + 1);
+        return typed.getResultList();
+    }
+
+    @Override
+    public List<MeetingFieldsRow> findFieldsPageByUserId(Long userId, MeetingPageQuery page, Set<String> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<MeetingFieldsRow> query = cb.createQuery(MeetingFieldsRow.class);
+        Root<Meeting> root = query.from(Meeting.class);
+
+        // The cursor columns ride along whether asked for or not
+        Set<String> selected = new LinkedHashSet<>(fields);
+        selected.add("id");
+        selected.add("scheduledDate");
+
+        query.select(FieldSelection.construct(cb, MeetingFieldsRow.class, root, PATHS, selected))
+                .where(pagePredicates(cb, root, userId, page))
+                .orderBy(cb.desc(root.get("scheduledDate")), cb.desc(root.get("id")));
+
+        TypedQuery<MeetingFieldsRow> typed = entityManager.createQuery(query);
+        if (page.paged()) typed.setMaxResults(page.limit() + 1);
+        return typed.getResultList();
+    }
+
+    private Predicate[] pagePredicates(CriteriaBuilder cb, Root<Meeting> root, Long userId,
+                                       MeetingPageQuery page) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(root.get("user").get("id"), userId));
+
+        if (!page.statuses().isEmpty()) {
+            predicates.add(root.get("status").in(page.statuses()));
+        }
+        if (page.from() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("scheduledDate"), page.from()));
+        }
+        if (page.to() != null) {
+            predicates.add(cb.lessThan(root.get("scheduledDate"), page.to()));
+        }
+        if (page.afterScheduledDate() != null) {
+            // (scheduled_date, id) < (:date, :id) — spelled out, row-value comparison isn't portable JPQL
+            LocalDateTime date = page.afterScheduledDate();
+            predicates.add(cb.or(
+                    cb.lessThan(root.get("scheduledDate"), date),
+                    cb.and(cb.equal(root.get("scheduledDate"), date),
+                            cb.lessThan(root.get("id"), page.afterId()))));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    @Override
+    public Optional<MeetingFieldsRow> findFieldsByIdAndUserId(Long meetingId, Long userId, Set<String> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<MeetingFieldsRow> query = cb.createQuery(MeetingFieldsRow.class);
+        Root<Meeting> root = query.from(Meeting.class);
+
+        query.select(FieldSelection.construct(cb, MeetingFieldsRow.class, root, PATHS, fields))
+                .where(cb.equal(root.get("id"), meetingId),
+                        cb.equal(root.get("user").get("id"), userId));
+
+        return entityManager.createQuery(query)
+                .getResultStream()
+                .findFirst();
+    }
+}
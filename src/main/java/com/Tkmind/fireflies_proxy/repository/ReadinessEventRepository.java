@@ -0,0 +1,28 @@
+package com.Tkmind.fireflies_proxy.repository;
+
+import com.Tkmind.fireflies_proxy.entity.ReadinessEventRecord;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReadinessEventRepository extends JpaRepository<ReadinessEventRecord, Long> {
+
+    List<ReadinessEventRecord> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @Query("select max(r.id) from ReadinessEventRecord r")
+    Optional<Long> findMaxId();
+
+    @Modifying
+    @Transactional
+    @Query("delete from ReadinessEventRecord r where r.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,5 @@
+package com.Tkmind.fireflies_proxy.repository;
+
+/** A re-generated summary and the summary_prompt_version of the model that wrote it. */
+public record RebuiltSummary(String summary, String version) {
+}
@@ -0,0 +1,12 @@
+package com.Tkmind.fireflies_proxy.repository;
+
+import com.Tkmind.fireflies_proxy.entity.SpeakerStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SpeakerStatsRepository extends JpaRepository<SpeakerStats, Long> {
+    List<SpeakerStats> findByMeetingIdOrderByTalkTimeSecDesc(Long meetingId);
+}
@@ -0,0 +1,8 @@
+package com.Tkmind.fireflies_proxy.repository;
+
+/**
+ * Input row for bulk re-summarization — only what the LLM call needs, plus
+ * the version it was read at so the write-back can tell if it was superseded.
+ */
+public record StaleSummaryRow(Long id, String meetingTitle, String content, String summaryPromptVersion) {
+}
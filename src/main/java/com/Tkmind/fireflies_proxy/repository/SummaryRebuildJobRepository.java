@@ -0,0 +1,27 @@
+package com.Tkmind.fireflies_proxy.repository;
+
+import com.Tkmind.fireflies_proxy.entity.SummaryRebuildJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface SummaryRebuildJobRepository extends JpaRepository<SummaryRebuildJob, Long> {
+    Optional<SummaryRebuildJob> findFirstByTargetVersionAndStatusInOrderByIdDesc(
+            String targetVersion, Collection<SummaryRebuildJob.Status> statuses);
+    Optional<SummaryRebuildJob> findFirstByStatusOrderByIdDesc(SummaryRebuildJob.Status status);
+
+    @Modifying
+    @Transactional
+    @Query("update SummaryRebuildJob j set j.pauseRequested = :requested where j.id = :id")
+    int updatePauseRequested(@Param("id") Long id, @Param("requested") boolean requested);
+
+    @Query("select j.pauseRequested from SummaryRebuildJob j where j.id = :id")
+    boolean isPauseRequested(@Param("id") Long id);
+}
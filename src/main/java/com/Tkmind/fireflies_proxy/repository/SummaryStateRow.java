@@ -0,0 +1,11 @@
+package com.Tkmind.fireflies_proxy.repository;
+
+import com.Tkmind.fireflies_proxy.entity.Transcript;
+
+import java.time.LocalDateTime;
+
+/** A transcript's AI summary state, without loading the transcript itself. */
+public record SummaryStateRow(Long transcriptId,
+                              Transcript.SummaryStatus summaryStatus,
+                              LocalDateTime summaryRequestedAt) {
+}
@@ -0,0 +1,21 @@
+package com.Tkmind.fireflies_proxy.repository;
+
+import com.Tkmind.fireflies_proxy.entity.Transcript;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO projection behind {@code fields=} on transcript reads. Components follow
+ * {@link TranscriptRepositoryCustom#PROJECTABLE_FIELDS}; those not asked for
+ * are selected as NULL literals, so their columns are never read.
+ */
+public record TranscriptFieldsRow(Long id,
+                                  Long meetingId,
+                                  String content,
+                                  String summary,
+                                  Transcript.SummaryStatus summaryStatus,
+                                  String actionItems,
+                                  String speakerLabels,
+                                  LocalDateTime processedAt,
+                                  LocalDateTime createdAt) {
+}
@@ -1,11 +1,62 @@
 package com.Tkmind.fireflies_proxy.repository;
 import com.Tkmind.fireflies_proxy.entity.Transcript;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 import java.util.Optional;
 @Repository
 
-public interface TranscriptRepository extends JpaRepository<Transcript, Long> {
+public interface TranscriptRepository extends JpaRepository<Transcript, Long>, TranscriptRepositoryCustom {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Transcript> findByMeetingId(Long meetingId);
     Optional<Transcript> findByFirefliesTranscriptId(String firefliesTranscriptId);
+
+    // ── Owner-scoped reads: empty when missing OR owned by someone else ─────
+
+    /** Full read — meeting and the lazy LONGTEXT / JSON columns in one round trip. */
+    @EntityGraph(attributePaths = {"meeting", "content", "speakerLabels"})
+    @Query("""
+            select t from Transcript t
+            where t.meeting.id = :meetingId and t.meeting.user.id = :userId""")
+    Optional<Transcript> findFullByMeetingIdAndUserId(@Param("meetingId") Long meetingId,
+                                                      @Param("userId") Long userId);
+
+    @Query("""
+            select t.id from Transcript t
+            where t.meeting.id = :meetingId and t.meeting.user.id = :userId""")
+    Optional<Long> findIdByMeetingIdAndUserId(@Param("meetingId") Long meetingId,
+                                              @Param("userId") Long userId);
+
+    /** Persisted summary state — what other replicas know about a summary job. */
+    @Query("""
+            select new com.Tkmind.fireflies_proxy.repository.SummaryStateRow(t.id, t.summaryStatus, t.summaryRequestedAt)
+            from Transcript t where t.id = :id""")
+    Optional<SummaryStateRow> findSummaryState(@Param("id") Long id);
+
+    /** Keyset page of transcripts without speaker_stats rows (ingested before analytics existed). */
+    @Query("""
+            select t from Transcript t
+            where t.id > :afterId
+              and not exists (select 1 from SpeakerStats s where s.transcriptId = t.id)
+            order by t.id""")
+    List<Transcript> findMissingSpeakerStats(@Param("afterId") Long afterId, Limit limit);
+
+    /** Keyset page of transcripts whose AI summary was not produced by {@code version}. */
+    @Query("""
+            select new com.Tkmind.fireflies_proxy.repository.StaleSummaryRow(t.id, m.title, t.content, t.summaryPromptVersion)
+            from Transcript t join t.meeting m
+            where t.id > :afterId
+              and t.summaryStatus <> com.Tkmind.fireflies_proxy.entity.Transcript.SummaryStatus.SKIPPED
+              and (t.summaryPromptVersion is null or t.summaryPromptVersion <> :version)
+            order by t.id""")
+    List<StaleSummaryRow> findStaleSummaries(@Param("afterId") Long afterId,
+                                             @Param("version") String version,
+                                             Limit limit);
 }
@@ -0,0 +1,29 @@
+package com.Tkmind.fireflies_proxy.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public interface TranscriptRepositoryCustom {
+
+    /** Field names accepted by {@code fields=} — same names as TranscriptResponse. */
+    Set<String> PROJECTABLE_FIELDS = TranscriptRepositoryImpl.PATHS.keySet();
+
+    /**
+     * Loads only the requested columns of the transcript belonging to a
+     * meeting, scoped to the meeting's owner; the other components are null.
+     * Empty when there is no stored transcript or the meeting belongs to
+     * someone else.
+     */
+    Optional<TranscriptFieldsRow> findFieldsByMeetingIdAndUserId(Long meetingId, Long userId, Set<String> fields);
+
+    /**
+     * Writes rebuilt summaries (READY, stamped with each one's version) as
+     * one JDBC batch. A row is only updated while its summary_prompt_version is still
+     * the one it was read at, so a summary written meanwhile (a newer ingest
+     * or regenerate) is never overwritten. Rows without an entry in
+     * {@code summaries} are skipped. Returns the number of rows updated.
+     */
+    int updateRebuiltSummaries(List<StaleSummaryRow> rows, Map<Long, RebuiltSummary> summaries);
+}
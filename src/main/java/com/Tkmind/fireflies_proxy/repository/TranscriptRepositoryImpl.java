@@ -0,0 +1,96 @@
+package com.Tkmind.fireflies_proxy.repository;
+
+import com.Tkmind.fireflies_proxy.entity.Transcript;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+class TranscriptRepositoryImpl implements TranscriptRepositoryCustom {
+
+    static final Map<String, String> PATHS;
+
+    static {
+        Map<String, String> paths = new LinkedHashMap<>();
+        paths.put("id",            "id");
+        paths.put("meetingId",     "meeting.id");
+        paths.put("content",       "content");
+        paths.put("summary",       "summary");
+        paths.put("summaryStatus", "summaryStatus");
+        paths.put("actionItems",   "actionItems");
+        paths.put("speakerLabels", "speakerLabels");
+        paths.put("processedAt",   "processedAt");
+        paths.put("createdAt",     "createdAt");
+        PATHS = Collections.unmodifiableMap(paths);
+    }
+
+    // COALESCE: rows never summarized by the LLM have a NULL version
+    private static final String UPDATE_REBUILT_SQL = """
+            UPDATE transcripts SET summary = ?, summary_status = 'READY', summary_prompt_version = ?
+            WHERE id = ? AND COALESCE(summary_prompt_version, '') = ?""";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    TranscriptRepositoryImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public Optional<TranscriptFieldsRow> findFieldsByMeetingIdAndUserId(Long meetingId, Long userId,
+                                                                        Set<String> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TranscriptFieldsRow> query = cb.createQuery(TranscriptFieldsRow.class);
+        Root<Transcript> root = query.from(Transcript.class);
+
+        query.select(FieldSelection.construct(cb, TranscriptFieldsRow.class, root, PATHS, fields))
+                .where(cb.equal(root.get("meeting").get("id"), meetingId),
+                        cb.equal(root.get("meeting").get("user").get("id"), userId));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst();
+    }
+
+    @Override
+    @Transactional
+    public int updateRebuiltSummaries(List<StaleSummaryRow> rows, Map<Long, RebuiltSummary> summaries) {
+        List<StaleSummaryRow> rebuilt = rows.stream().filter(r -> summaries.containsKey(r.id())).toList();
+        if (rebuilt.isEmpty()) return 0;
+
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_REBUILT_SQL, rebuilt, rebuilt.size(), (ps, row) -> {
+            RebuiltSummary summary = summaries.get(row.id());
+            ps.setString(1, summary.summary());
+            ps.setString(2, summary.version());
+            ps.setLong(3, row.id());
+            ps.setString(4, row.summaryPromptVersion() != null ? row.summaryPromptVersion() : "");
+        });
+
+        int updated = 0;
+        for (int i = 0; i < rebuilt.size(); i++) {
+            // SUCCESS_NO_INFO (-2) when the driver does not report per-statement counts
+            if (counts[0][i] != 0) {
+                updated++;
+                entityManagerFactory.getCache().evict(Transcript.class, rebuilt.get(i).id());
+            }
+        }
+        return updated;
+    }
+}
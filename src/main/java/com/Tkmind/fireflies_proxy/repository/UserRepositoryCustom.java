@@ -0,0 +1,15 @@
+package com.Tkmind.fireflies_proxy.repository;
+
+import com.Tkmind.fireflies_proxy.entity.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Looks the user up by natural id (email), so repeat lookups are served
+     * from the second-level natural-id + entity caches instead of MySQL.
+     * The email is normalized first, so lookups are case-insensitive.
+     */
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,9 @@
+package com.Tkmind.fireflies_proxy.security;
+
+/**
+ * The caller named by the X-User-Email header, resolved once per request by
+ * {@link CurrentUserArgumentResolver}. Declare it as a controller parameter
+ * instead of reading the header.
+ */
+public record CurrentUser(Long id, String email) {
+}
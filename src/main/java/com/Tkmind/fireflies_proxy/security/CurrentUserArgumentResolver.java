@@ -0,0 +1,53 @@
+package com.Tkmind.fireflies_proxy.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.MissingRequestHeaderException;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Supplies {@link CurrentUser} controller parameters from X-User-Email.
+ * The result is kept as a request attribute, so a request resolves its user
+ * at most once — and usually from {@link CurrentUserService}'s cache. The
+ * per-user request quota is charged at the same point, once per request.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    public static final String HEADER = "X-User-Email";
+
+    private static final String ATTRIBUTE = CurrentUser.class.getName();
+
+    private final CurrentUserService currentUserService;
+    private final UserQuotaService   userQuotaService;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.getParameterType() == CurrentUser.class;
+    }
+
+    @Override
+    public CurrentUser resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                       NativeWebRequest webRequest, WebDataBinderFactory binderFactory)
+            throws MissingRequestHeaderException {
+
+        Object resolved = webRequest.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (resolved instanceof CurrentUser user) return user;
+
+        String email = webRequest.getHeader(HEADER);
+        if (email == null || email.isBlank()) {
+            throw new MissingRequestHeaderException(HEADER, parameter);
+        }
+
+        CurrentUser user = currentUserService.resolve(email);
+        userQuotaService.acquire(user, UserQuotaService.Quota.REQUESTS);
+        webRequest.setAttribute(ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        return user;
+    }
+}
@@ -0,0 +1,80 @@
+package com.Tkmind.fireflies_proxy.security;
+
+import com.Tkmind.fireflies_proxy.entity.User;
+import com.Tkmind.fireflies_proxy.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * email → user id, in a bounded TTL cache in front of the natural-id lookup.
+ *
+ *  - Known emails are kept for {@code auth.user-cache.ttl}; users are never
+ *    deleted or renamed, so the TTL only bounds memory.
+ *  - Unknown emails are remembered in a separate small cache for only
+ *    {@code auth.user-cache.negative-ttl}, so a client hammering with an
+ *    unregistered email does not hit the database on every request, while
+ *    a user registered through another replica is recognised here within
+ *    that TTL (immediately on the replica that registered them).
+ *  - Concurrent misses on one email share a single lookup.
+ */
+@Service
+public class CurrentUserService {
+
+    private final UserRepository userRepository;
+    private final Cache<String, Long> userIds;
+    private final Cache<String, Boolean> unknownEmails;
+
+    public CurrentUserService(UserRepository userRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${auth.user-cache.max-size:50000}") long maxSize,
+                              @Value("${auth.user-cache.ttl:30m}") Duration ttl,
+                              @Value("${auth.user-cache.negative-max-size:10000}") long negativeMaxSize,
+                              @Value("${auth.user-cache.negative-ttl:5s}") Duration negativeTtl) {
+        this.userRepository = userRepository;
+        this.userIds = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.unknownEmails = Caffeine.newBuilder()
+                .maximumSize(negativeMaxSize)
+                .expireAfterWrite(negativeTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userIds, "auth.users");
+        CaffeineCacheMetrics.monitor(meterRegistry, unknownEmails, "auth.users.unknown");
+    }
+
+    /** @throws EntityNotFoundException when no user is registered with this email */
+    public CurrentUser resolve(String rawEmail) {
+        String email = normalize(rawEmail);
+        Long id = null;
+        if (unknownEmails.getIfPresent(email) == null) {
+            // A null from the loader is not cached in userIds …
+            id = userIds.get(email, e -> userRepository.findByEmail(e).map(User::getId).orElse(null));
+        }
+        if (id == null) {
+            unknownEmails.put(email, Boolean.TRUE);   // … but briefly here
+            throw new EntityNotFoundException(
+                    "User not found: " + rawEmail + ". Please register first via /api/auth/register");
+        }
+        return new CurrentUser(id, email);
+    }
+
+    /** Called after a user is created — their first request skips the lookup. */
+    public void registered(User user) {
+        unknownEmails.invalidate(user.getEmail());
+        userIds.put(user.getEmail(), user.getId());
+    }
+
+    public static String normalize(String email) {
+        return User.normalizeEmail(email);
+    }
+}
@@ -0,0 +1,22 @@
+package com.Tkmind.fireflies_proxy.security;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * A per-user quota is used up. Mapped to 429 with Retry-After by
+ * GlobalExceptionHandler.
+ */
+@Getter
+public class QuotaExceededException extends RuntimeException {
+
+    private final UserQuotaService.Quota quota;
+    private final Duration retryAfter;
+
+    public QuotaExceededException(UserQuotaService.Quota quota, Duration retryAfter) {
+        super("Quota exceeded: " + quota.key() + " — retry in " + Math.max(retryAfter.toSeconds(), 1) + "s");
+        this.quota      = quota;
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,85 @@
+package com.Tkmind.fireflies_proxy.security;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free sliding-window rate counter.
+ *
+ * Keeps the count of the current fixed window and the total of the previous
+ * one; the rate over the last {@code window} is estimated as
+ * {@code previous × (unelapsed share of the current window) + current}.
+ * Two ints per key instead of a timestamp log, and every operation is a
+ * handful of CAS steps — no locks on the request path.
+ */
+final class SlidingWindowCounter {
+
+    private final int  limit;
+    private final long windowNanos;
+
+    private final AtomicReference<Slot> slot;
+
+    private record Slot(long index, int previous, AtomicInteger count) {
+    }
+
+    SlidingWindowCounter(int limit, long windowNanos, long nowNanos) {
+        this.limit       = limit;
+        this.windowNanos = windowNanos;
+        this.slot        = new AtomicReference<>(new Slot(nowNanos / windowNanos, 0, new AtomicInteger()));
+    }
+
+    /**
+     * Takes {@code permits} if they fit under the limit.
+     *
+     * @return 0 when granted, otherwise nanos until they would fit
+     */
+    long tryAcquire(int permits, long nowNanos) {
+        Slot s = current(nowNanos);
+        double weight = 1.0 - (double) (nowNanos % windowNanos) / windowNanos;
+
+        while (true) {
+            int count = s.count().get();
+            if (s.previous() * weight + count + permits > limit) {
+                return waitNanos(s, count, permits, nowNanos);
+            }
+            if (s.count().compareAndSet(count, count + permits)) {
+                return 0;
+            }
+        }
+    }
+
+    /** Rolls the window forward; the thread that wins the CAS carries the count over. */
+    private Slot current(long nowNanos) {
+        long index = nowNanos / windowNanos;
+        while (true) {
+            Slot s = slot.get();
+            if (s.index() == index) return s;
+
+            int previous = s.index() == index - 1 ? s.count().get() : 0;
+            Slot next = new Slot(index, previous, new AtomicInteger());
+            if (slot.compareAndSet(s, next)) return next;
+        }
+    }
+
+    /**
+     * Time until previous × weight + count + permits ≤ limit, assuming no
+     * further traffic. Past the window end the current count becomes the
+     * previous one and decays the same way.
+     */
+    private long waitNanos(Slot s, int count, int permits, long nowNanos) {
+        long elapsed = nowNanos % windowNanos;
+        long room    = limit - permits;
+        if (room < 0) return Long.MAX_VALUE;   // can never fit
+
+        if (count <= room && s.previous() > 0) {
+            // Wait inside this window for the previous share to decay enough
+            double needWeight = (double) (room - count) / s.previous();
+            long   at         = (long) Math.ceil((1.0 - needWeight) * windowNanos);
+            return Math.max(at - elapsed, 1);
+        }
+        // Current count alone is over — wait for the next window and its decay
+        double needWeight = count == 0 ? 1.0 : (double) room / count;
+        long   into       = (long) Math.ceil((1.0 - needWeight) * windowNanos);
+        return windowNanos - elapsed + Math.max(into, 0);
+    }
+}
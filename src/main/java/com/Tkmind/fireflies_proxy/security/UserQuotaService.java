@@ -0,0 +1,105 @@
+package com.Tkmind.fireflies_proxy.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Per-user quotas, so one client cannot drain the Fireflies / Groq quotas
+ * shared by every tenant.
+ *
+ *  - REQUESTS  — every request that resolves a {@link CurrentUser}
+ *  - FIREFLIES — calls we make to Fireflies on the user's behalf
+ *                (transcript fetches, bot invites)
+ *  - LLM       — summaries the user triggers explicitly
+ *  - STREAMS   — open readiness event streams; a concurrency cap enforced
+ *                by TranscriptReadinessService, not a window counted here
+ *
+ * Each (quota, user) pair is a {@link SlidingWindowCounter}; the counters sit
+ * in a bounded Caffeine map and are dropped once idle for a full window.
+ * Over-quota calls throw {@link QuotaExceededException} → 429 + Retry-After.
+ */
+@Service
+@Slf4j
+public class UserQuotaService {
+
+    public enum Quota {
+        REQUESTS("requests"), FIREFLIES("fireflies"), LLM("llm"), STREAMS("streams");
+
+        private final String key;
+
+        Quota(String key) {
+            this.key = key;
+        }
+
+        public String key() {
+            return key;
+        }
+    }
+
+    private record Limit(int permits, Duration window) {
+    }
+
+    private final boolean                 enabled;
+    private final long                    origin = System.nanoTime();
+    private final Map<Quota, Limit>       limits   = new EnumMap<>(Quota.class);
+    private final Map<Quota, Cache<Long, SlidingWindowCounter>> counters = new EnumMap<>(Quota.class);
+    private final Map<Quota, Counter>     rejected = new EnumMap<>(Quota.class);
+
+    public UserQuotaService(MeterRegistry meterRegistry,
+                            @Value("${quota.enabled:true}") boolean enabled,
+                            @Value("${quota.max-users:100000}") long maxUsers,
+                            @Value("${quota.requests.limit:600}") int requestLimit,
+                            @Value("${quota.requests.window:1m}") Duration requestWindow,
+                            @Value("${quota.fireflies.limit:120}") int firefliesLimit,
+                            @Value("${quota.fireflies.window:1h}") Duration firefliesWindow,
+                            @Value("${quota.llm.limit:60}") int llmLimit,
+                            @Value("${quota.llm.window:1h}") Duration llmWindow) {
+        this.enabled = enabled;
+        limits.put(Quota.REQUESTS,  new Limit(requestLimit,   requestWindow));
+        limits.put(Quota.FIREFLIES, new Limit(firefliesLimit, firefliesWindow));
+        limits.put(Quota.LLM,       new Limit(llmLimit,       llmWindow));
+
+        limits.forEach((quota, limit) -> {
+            // Idle for two windows → the estimate is 0 anyway
+            counters.put(quota, Caffeine.newBuilder()
+                    .maximumSize(maxUsers)
+                    .expireAfterAccess(limit.window().multipliedBy(2))
+                    .build());
+            rejected.put(quota, Counter.builder("quota.rejected")
+                    .description("Calls refused because a per-user quota was used up")
+                    .tag("quota", quota.key())
+                    .register(meterRegistry));
+        });
+    }
+
+    public void acquire(CurrentUser user, Quota quota) {
+        acquire(user, quota, 1);
+    }
+
+    /** @throws QuotaExceededException when the permits do not fit in the user's window */
+    public void acquire(CurrentUser user, Quota quota, int permits) {
+        if (!enabled || permits <= 0) return;
+
+        Limit limit = limits.get(quota);
+        long now = System.nanoTime() - origin;   // non-negative, for window arithmetic
+        SlidingWindowCounter counter = counters.get(quota).get(user.id(),
+                id -> new SlidingWindowCounter(limit.permits(), limit.window().toNanos(), now));
+
+        long waitNanos = counter.tryAcquire(permits, now);
+        if (waitNanos == 0) return;
+
+        rejected.get(quota).increment();
+        Duration retryAfter = waitNanos == Long.MAX_VALUE ? limit.window() : Duration.ofNanos(waitNanos);
+        log.debug("Quota {} exceeded by user {} — retry in {}ms", quota.key(), user.id(), retryAfter.toMillis());
+        throw new QuotaExceededException(quota, retryAfter);
+    }
+}
@@ -0,0 +1,28 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Guards the /admin endpoints with a shared token (X-Admin-Token header).
+ * With ADMIN_API_TOKEN unset the admin API is disabled.
+ */
+@Service
+public class AdminAuthService {
+
+    @Value("${admin.api.token:}")
+    private String adminToken;
+
+    public void verify(String token) {
+        if (adminToken == null || adminToken.isBlank()) {
+            throw new SecurityException("Admin API disabled — set ADMIN_API_TOKEN");
+        }
+        if (token == null || !MessageDigest.isEqual(
+                adminToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8))) {
+            throw new SecurityException("Unauthorized");
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.Tkmind.fireflies_proxy.event.ClusterMembershipChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Which replica does which background work, coordinated through the shared
+ * database (cluster_nodes / cluster_leases, V12) — no extra infrastructure.
+ *
+ *  - Membership: every node heartbeats its cluster_nodes row; nodes seen
+ *    within {@code cluster.node-timeout} are live. {@link #shard()} is this
+ *    node's position among them, for splitting id-keyed work
+ *    ({@code id mod count == index}). A change is published as
+ *    {@link ClusterMembershipChangedEvent}.
+ *  - Leases: {@link #tryAcquire} takes a named lease for
+ *    {@code cluster.lease-ttl}; held leases are renewed by the heartbeat and
+ *    lapse when a node dies. {@link #isLeader()} is the "leader" lease, for
+ *    housekeeping that should run once per cluster.
+ *
+ * Leases and shards decide who tries a piece of work; the work itself is
+ * still claimed with a conditional UPDATE or SKIP LOCKED, so a node acting
+ * on a stale view (GC pause, lost heartbeat) wastes a query, not a
+ * Fireflies or Groq call.
+ */
+@Service
+@Slf4j
+public class ClusterLeaseService {
+
+    public static final String LEADER = "leader";
+
+    private final JdbcTemplate              jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${cluster.heartbeat-interval:5s}")
+    private Duration heartbeatInterval;
+
+    @Value("${cluster.node-timeout:20s}")
+    private Duration nodeTimeout;
+
+    @Value("${cluster.lease-ttl:15s}")
+    private Duration leaseTtl;
+
+    // lease name → System.nanoTime() of the last successful acquire / renewal
+    private final Map<String, Long> held = new ConcurrentHashMap<>();
+
+    private volatile Shard        shard     = new Shard(0, 1);
+    private volatile List<String> liveNodes = List.of();
+
+    private ScheduledExecutorService heartbeat;
+
+    public ClusterLeaseService(JdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate   = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /** This node's slice of id-keyed work. */
+    public record Shard(int index, int count) {
+
+        public boolean owns(long id) {
+            return Math.floorMod(id, count) == index;
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        // Joined before the workers start, so their first load already uses the right shard
+        heartbeatSafely();
+        heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "cluster-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        heartbeat.scheduleWithFixedDelay(this::heartbeatSafely,
+                heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Cluster node {} joined as shard {}/{}", nodeId, shard.index(), shard.count());
+    }
+
+    /** Leaves right away instead of after node-timeout, so the others rebalance sooner. */
+    @PreDestroy
+    void stop() {
+        if (heartbeat != null) heartbeat.shutdownNow();
+        try {
+            held.keySet().forEach(this::release);
+            jdbcTemplate.update("DELETE FROM cluster_nodes WHERE node_id = ?", nodeId);
+        } catch (Exception e) {
+            log.debug("Could not leave the cluster cleanly: {}", e.getMessage());
+        }
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public Shard shard() {
+        return shard;
+    }
+
+    public List<String> liveNodes() {
+        return liveNodes;
+    }
+
+    public boolean isLeader() {
+        return holds(LEADER);
+    }
+
+    // ─────────────────────────────────────────────
+    // Leases
+    // ─────────────────────────────────────────────
+
+    /** Takes (or renews) the lease; false while another live node holds it. */
+    public boolean tryAcquire(String name) {
+        // Taken before the UPDATE: the row's expiry is counted from no earlier than this
+        long attemptedAt = System.nanoTime();
+        long seconds = Math.max(leaseTtl.toSeconds(), 1);
+        int updated = jdbcTemplate.update("""
+                UPDATE cluster_leases
+                SET acquired_at = CASE WHEN owner_id = ? THEN acquired_at ELSE CURRENT_TIMESTAMP END,
+                    owner_id    = ?,
+                    expires_at  = TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP)
+                WHERE name = ?
+                  AND (owner_id = ? OR expires_at < CURRENT_TIMESTAMP)""",
+                nodeId, nodeId, seconds, name, nodeId);
+        if (updated == 0) {
+            try {
+                jdbcTemplate.update("""
+                        INSERT INTO cluster_leases (name, owner_id, acquired_at, expires_at)
+                        VALUES (?, ?, CURRENT_TIMESTAMP, TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP))""",
+                        name, nodeId, seconds);
+            } catch (DuplicateKeyException e) {
+                held.remove(name);
+                return false;   // exists and is held by someone else
+            }
+        }
+
+        if (held.put(name, attemptedAt) == null) {
+            log.info("Node {} acquired lease '{}'", nodeId, name);
+        }
+        return true;
+    }
+
+    /**
+     * Whether this node still holds the lease — renewed within
+     * {@code lease-ttl - heartbeat-interval}. Judged locally: a node that
+     * cannot reach the database gives its leases up a heartbeat before
+     * another node may take them, even though it cannot release them.
+     */
+    public boolean holds(String name) {
+        Long renewed = held.get(name);
+        return renewed != null && System.nanoTime() - renewed < trustedFor().toNanos();
+    }
+
+    /** How long after a renewal the lease is trusted; half the TTL if the heartbeat leaves no margin. */
+    private Duration trustedFor() {
+        Duration safe = leaseTtl.minus(heartbeatInterval);
+        return safe.isNegative() || safe.isZero() ? leaseTtl.dividedBy(2) : safe;
+    }
+
+    public void release(String name) {
+        if (held.remove(name) == null) return;
+        jdbcTemplate.update("DELETE FROM cluster_leases WHERE name = ? AND owner_id = ?", name, nodeId);
+        log.info("Node {} released lease '{}'", nodeId, name);
+    }
+
+    // ─────────────────────────────────────────────
+    // Heartbeat
+    // ─────────────────────────────────────────────
+
+    private void heartbeatSafely() {
+        try {
+            heartbeat();
+        } catch (Exception e) {
+            log.warn("Cluster heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    void heartbeat() {
+        if (jdbcTemplate.update("UPDATE cluster_nodes SET heartbeat_at = CURRENT_TIMESTAMP WHERE node_id = ?",
+                nodeId) == 0) {
+            jdbcTemplate.update("""
+                    INSERT INTO cluster_nodes (node_id, started_at, heartbeat_at)
+                    VALUES (?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)""", nodeId);
+        }
+
+        List<String> live = jdbcTemplate.queryForList("""
+                SELECT node_id FROM cluster_nodes
+                WHERE heartbeat_at >= TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP)
+                ORDER BY node_id""", String.class, -Math.max(nodeTimeout.toSeconds(), 1));
+        int index = live.indexOf(nodeId);
+        Shard next = index < 0 ? new Shard(0, 1) : new Shard(index, live.size());
+        if (!live.equals(liveNodes)) {
+            liveNodes = List.copyOf(live);
+            shard     = next;
+            log.info("Cluster membership: {} live node(s), this node is shard {}/{}",
+                    live.size(), next.index(), next.count());
+            eventPublisher.publishEvent(new ClusterMembershipChangedEvent(next, liveNodes));
+        }
+
+        for (String name : List.copyOf(held.keySet())) {
+            if (!LEADER.equals(name) && !tryAcquire(name)) {
+                log.warn("Node {} lost lease '{}'", nodeId, name);
+            }
+        }
+
+        boolean wasLeader = held.containsKey(LEADER);
+        if (tryAcquire(LEADER)) {
+            // Nodes gone for a while; recently silent ones are only left out of the shard count
+            jdbcTemplate.update("DELETE FROM cluster_nodes WHERE heartbeat_at < TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP)",
+                    -Math.max(nodeTimeout.toSeconds(), 1) * 3);
+        } else if (wasLeader) {
+            log.warn("Node {} is no longer the leader", nodeId);
+        }
+    }
+}
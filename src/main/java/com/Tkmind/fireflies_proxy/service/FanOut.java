@@ -0,0 +1,123 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Structured fan-out of independent calls, shaped like
+ * StructuredTaskScope.ShutdownOnFailure (still a preview API on Java 21):
+ *
+ * <pre>
+ * try (FanOut scope = new FanOut(executor)) {
+ *     Supplier&lt;A&gt; a = scope.fork(() -> callA());
+ *     Supplier&lt;B&gt; b = scope.fork(() -> callB());
+ *     scope.join();                 // first failure is rethrown
+ *     return combine(a.get(), b.get());
+ * }
+ * </pre>
+ *
+ *  - The first failing fork cancels (interrupts) the others.
+ *  - {@code close()} cancels whatever is still running and waits for every
+ *    fork to exit, so no subtask outlives the block.
+ *  - Forks run on the given executor, so its concurrency bound still holds;
+ *    a rejected fork fails the scope like any other failure.
+ */
+public final class FanOut implements AutoCloseable {
+
+    private final Executor executor;
+    private final Phaser   running = new Phaser(1);     // owner + one party per live fork
+    private final List<FutureTask<?>>        forks   = new CopyOnWriteArrayList<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private boolean closed;
+
+    public FanOut(Executor executor) {
+        this.executor = executor;
+    }
+
+    public <T> Supplier<T> fork(Callable<T> task) {
+        if (closed) throw new IllegalStateException("FanOut already closed");
+
+        FutureTask<T> future = new FutureTask<>(task) {
+            @Override
+            protected void setException(Throwable t) {
+                super.setException(t);
+                fail(t);
+            }
+        };
+        forks.add(future);
+        if (failure.get() != null) {
+            future.cancel(false);
+        }
+
+        running.register();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.run();
+                } finally {
+                    running.arriveAndDeregister();
+                }
+            });
+        } catch (RuntimeException rejected) {
+            running.arriveAndDeregister();
+            future.cancel(false);
+            fail(rejected);
+        }
+        return future::resultNow;
+    }
+
+    /**
+     * Waits until every fork has succeeded or one has failed. The first
+     * failure is rethrown (unchecked as-is, checked wrapped in
+     * CompletionException); the remaining forks are cancelled.
+     */
+    public void join() {
+        try {
+            for (FutureTask<?> future : forks) {
+                if (failure.get() != null) break;
+                try {
+                    future.get();
+                } catch (ExecutionException | CancellationException ignored) {
+                    // recorded in failure
+                }
+            }
+        } catch (InterruptedException e) {
+            cancelAll();
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for forked calls");
+        }
+
+        Throwable t = failure.get();
+        if (t instanceof RuntimeException re) throw re;
+        if (t instanceof Error err) throw err;
+        if (t != null) throw new CompletionException(t);
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        cancelAll();
+        running.arriveAndAwaitAdvance();
+    }
+
+    private void fail(Throwable t) {
+        if (failure.compareAndSet(null, t)) {
+            cancelAll();
+        }
+    }
+
+    private void cancelAll() {
+        forks.forEach(f -> f.cancel(true));
+    }
+}
@@ -1,6 +1,13 @@
 package com.Tkmind.fireflies_proxy.service;
 
 import com.Tkmind.fireflies_proxy.config.FirefliesConfig;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
@@ -8,26 +15,60 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fireflies GraphQL client.
+ *
+ * Every call has a blocking form (RestTemplate) and an *Async form that
+ * returns a CompletableFuture on the JDK HttpClient: the rate-limit wait and
+ * the HTTP round trip hold no thread, so one caller thread can keep many
+ * requests in flight. Both share the rate limiter, caches and meters.
+ * Async futures complete on the client's small "fireflies-http" pool — move
+ * blocking continuations (JDBC) to another executor.
+ *
+ * Meters (tags are bounded — operation names are the four queries below):
+ *   fireflies.graphql.latency{operation,outcome}   HTTP round trip
+ *   fireflies.graphql.rate_limited{operation}      429s, HTTP or GraphQL too_many_requests
+ *   fireflies.ratelimit.wait{operation}            time queued in the local limiter
+ *   fireflies.cache.requests{cache,result}         transcript / me cache hit, miss, stale
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class FirefliesApiService {
 
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {};
+
     private final RestTemplate restTemplate;
+    private final HttpClient firefliesHttpClient;
+    private final ObjectMapper objectMapper;
     private final FirefliesConfig firefliesConfig;
+    private final FirefliesRateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
 
     // ─────────────────────────────────────────────
     // Cache — getMe (5 min TTL + 429 backoff)
     // ─────────────────────────────────────────────
-    private Map<String, Object> cachedMe      = null;
-    private long meCacheExpiry                = 0L;
-    private long meBackoffUntil               = 0L;
+    private volatile Map<String, Object> cachedMe = null;
+    private volatile long meCacheExpiry           = 0L;
+    private volatile long meBackoffUntil          = 0L;
     private static final long ME_CACHE_TTL_MS   = 5 * 60_000L;
     private static final long ME_BACKOFF_TTL_MS = 5 * 60_000L;
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(60);
 
     // ─────────────────────────────────────────────
     // Cache — getTranscript (5 min TTL)
@@ -36,141 +77,223 @@ public class FirefliesApiService {
     private final Map<String, Long>                transcriptCacheExpiry = new ConcurrentHashMap<>();
     private static final long TRANSCRIPT_CACHE_TTL_MS = 5 * 60_000L;
 
+    @PostConstruct
+    void registerMeters() {
+        Gauge.builder("fireflies.cache.size", transcriptCache, Map::size)
+                .description("Fireflies transcripts held in the local cache")
+                .tag("cache", "transcript")
+                .register(meterRegistry);
+    }
+
     // ─────────────────────────────────────────────
     // Invite Fireflies Bot
     // ─────────────────────────────────────────────
 
+    private static final String ADD_TO_LIVE_MEETING = """
+            mutation AddToLiveMeeting($meeting_link: String!) {
+              addToLiveMeeting(meeting_link: $meeting_link) {
+                success
+                message
+              }
+            }
+            """;
+
     public Map<String, Object> addBotToMeeting(String meetingUrl, String title) {
-        String mutation = """
-                mutation AddToLiveMeeting($meeting_link: String!) {
-                  addToLiveMeeting(meeting_link: $meeting_link) {
-                    success
-                    message
-                  }
-                }
-                """;
+        return executeGraphQL("addToLiveMeeting", ADD_TO_LIVE_MEETING, inviteVariables(meetingUrl));
+    }
+
+    /**
+     * Sends right away: the caller already holds a permit from
+     * {@link FirefliesRateLimiter#tryAcquire()} (the invite outbox takes one
+     * per claimed row, so a claimed row never waits on the limiter).
+     */
+    public CompletableFuture<Map<String, Object>> addBotToMeetingAsync(String meetingUrl, String title) {
+        return executeGraphQLAsync("addToLiveMeeting", ADD_TO_LIVE_MEETING, inviteVariables(meetingUrl), true);
+    }
+
+    private static Map<String, Object> inviteVariables(String meetingUrl) {
         Map<String, Object> variables = new HashMap<>();
         variables.put("meeting_link", meetingUrl);
-        return executeGraphQL(mutation, variables);
+        return variables;
     }
 
     // ─────────────────────────────────────────────
     // Get Transcript (with 5-min cache)
     // ─────────────────────────────────────────────
 
+    private static final String TRANSCRIPT_QUERY = """
+            query Transcript($id: String!) {
+              transcript(id: $id) {
+                id
+                title
+                date
+                duration
+                meeting_link
+                summary {
+                  overview
+                  action_items
+                  keywords
+                  shorthand_bullet
+                }
+                sentences {
+                  text
+                  speaker_name
+                  start_time
+                  end_time
+                }
+              }
+            }
+            """;
+
     public Map<String, Object> getTranscript(String transcriptId) {
+        Map<String, Object> cached = cachedTranscript(transcriptId);
+        if (cached != null) return cached;
+
+        long now = System.currentTimeMillis();
+        Map<String, Object> result = executeGraphQL("transcript", TRANSCRIPT_QUERY, Map.of("id", transcriptId));
+        cacheTranscript(transcriptId, result, now);
+        return result;
+    }
+
+    public CompletableFuture<Map<String, Object>> getTranscriptAsync(String transcriptId) {
+        Map<String, Object> cached = cachedTranscript(transcriptId);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+
+        long now = System.currentTimeMillis();
+        return executeGraphQLAsync("transcript", TRANSCRIPT_QUERY, Map.of("id", transcriptId))
+                .thenApply(result -> {
+                    cacheTranscript(transcriptId, result, now);
+                    return result;
+                });
+    }
+
+    private Map<String, Object> cachedTranscript(String transcriptId) {
         long now = System.currentTimeMillis();
 
         if (transcriptCache.containsKey(transcriptId)
                 && now < transcriptCacheExpiry.getOrDefault(transcriptId, 0L)) {
             log.debug("Cache HIT — transcript id={}", transcriptId);
+            cacheRequest("transcript", "hit");
             return transcriptCache.get(transcriptId);
         }
 
+        cacheRequest("transcript", "miss");
         log.debug("Cache MISS — fetching transcript id={} from Fireflies", transcriptId);
+        return null;
+    }
 
-        String query = """
-                query Transcript($id: String!) {
-                  transcript(id: $id) {
-                    id
-                    title
-                    date
-                    duration
-                    meeting_link
-                    summary {
-                      overview
-                      action_items
-                      keywords
-                      shorthand_bullet
-                    }
-                    sentences {
-                      text
-                      speaker_name
-                      start_time
-                      end_time
-                    }
-                  }
-                }
-                """;
-        Map<String, Object> variables = new HashMap<>();
-        variables.put("id", transcriptId);
-
-        Map<String, Object> result = executeGraphQL(query, variables);
-
+    private void cacheTranscript(String transcriptId, Map<String, Object> result, long now) {
         if (result != null && !result.containsKey("errors")) {
             transcriptCache.put(transcriptId, result);
             transcriptCacheExpiry.put(transcriptId, now + TRANSCRIPT_CACHE_TTL_MS);
             log.debug("Cached transcript id={} for {} min", transcriptId, TRANSCRIPT_CACHE_TTL_MS / 60_000);
         }
-
-        return result;
     }
 
     // ─────────────────────────────────────────────
     // List Transcripts
     // ─────────────────────────────────────────────
 
+    private static final String TRANSCRIPTS_QUERY = """
+            query Transcripts($limit: Int, $skip: Int) {
+              transcripts(limit: $limit, skip: $skip) {
+                id
+                title
+                date
+                duration
+                meeting_link
+                organizer_email
+                participants
+              }
+            }
+            """;
+
     public Map<String, Object> listTranscripts(int limit, int skip) {
-        String query = """
-                query Transcripts($limit: Int, $skip: Int) {
-                  transcripts(limit: $limit, skip: $skip) {
-                    id
-                    title
-                    date
-                    duration
-                    meeting_link
-                    organizer_email
-                    participants
-                  }
-                }
-                """;
-        Map<String, Object> variables = new HashMap<>();
-        variables.put("limit", limit);
-        variables.put("skip", skip);
-        return executeGraphQL(query, variables);
+        return executeGraphQL("transcripts", TRANSCRIPTS_QUERY, Map.of("limit", limit, "skip", skip));
+    }
+
+    public CompletableFuture<Map<String, Object>> listTranscriptsAsync(int limit, int skip) {
+        return executeGraphQLAsync("transcripts", TRANSCRIPTS_QUERY, Map.of("limit", limit, "skip", skip));
     }
 
     // ─────────────────────────────────────────────
     // Verify API Key (5-min cache + 429 backoff)
     // ─────────────────────────────────────────────
 
+    private static final String USER_QUERY = """
+            query {
+              user {
+                user_id
+                email
+                name
+                minutes_consumed
+                is_admin
+              }
+            }
+            """;
+
     public Map<String, Object> getMe() {
+        Map<String, Object> cached = cachedMe();
+        if (cached != null) return cached;
+
+        long now = System.currentTimeMillis();
+        return cacheMe(executeGraphQL("user", USER_QUERY, null), now);
+    }
+
+    public CompletableFuture<Map<String, Object>> getMeAsync() {
+        Map<String, Object> cached;
+        try {
+            cached = cachedMe();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+
+        long now = System.currentTimeMillis();
+        return executeGraphQLAsync("user", USER_QUERY, null).thenApply(result -> cacheMe(result, now));
+    }
+
+    /** Cached user, null on a miss; throws while a 429 backoff is active and nothing is cached. */
+    private Map<String, Object> cachedMe() {
         long now = System.currentTimeMillis();
 
         // Still in 429 backoff — return stale cache or throw friendly error
         if (now < meBackoffUntil) {
-            long waitSec = (meBackoffUntil - now) / 1000;
-            log.warn("getMe() blocked — 429 backoff active for {}s more", waitSec);
-            if (cachedMe != null) {
-                log.debug("Returning stale cached user during 429 backoff");
-                return cachedMe;
-            }
-            throw new RuntimeException(
-                    "Fireflies API rate limit active. Please wait " + waitSec + " seconds.");
+            return backedOffMe(now, meBackoffUntil);
         }
 
         // Fresh cache hit
         if (cachedMe != null && now < meCacheExpiry) {
             log.debug("Cache HIT — Fireflies user (expires in {}s)", (meCacheExpiry - now) / 1000);
+            cacheRequest("me", "hit");
             return cachedMe;
         }
 
-        log.debug("Cache MISS — fetching Fireflies user");
+        // About to call Fireflies — honour a 429 pause hit by another call or another node
+        long pausedMillis = rateLimiter.pausedFor().toMillis();
+        if (pausedMillis > 0) {
+            return backedOffMe(now, now + pausedMillis);
+        }
 
-        String query = """
-                query {
-                  user {
-                    user_id
-                    email
-                    name
-                    minutes_consumed
-                    is_admin
-                  }
-                }
-                """;
+        cacheRequest("me", "miss");
+        log.debug("Cache MISS — fetching Fireflies user");
+        return null;
+    }
 
-        Map<String, Object> result = executeGraphQL(query, null);
+    private Map<String, Object> backedOffMe(long now, long backoffUntil) {
+        long waitSec = (backoffUntil - now) / 1000;
+        log.warn("getMe() blocked — 429 backoff active for {}s more", waitSec);
+        if (cachedMe != null) {
+            log.debug("Returning stale cached user during 429 backoff");
+            cacheRequest("me", "stale");
+            return cachedMe;
+        }
+        cacheRequest("me", "miss");
+        throw new RuntimeException(
+                "Fireflies API rate limit active. Please wait " + waitSec + " seconds.");
+    }
 
+    private Map<String, Object> cacheMe(Map<String, Object> result, long now) {
         if (result != null && result.containsKey("errors")) {
             extractRetryAfterAndSetBackoff(result, now);
             return result;
@@ -219,30 +342,51 @@ public class FirefliesApiService {
         }
     }
 
+    /** Retry delay of a GraphQL too_many_requests error, or null for other errors. */
+    @SuppressWarnings("unchecked")
+    private Duration rateLimitRetryAfter(Map<String, Object> body) {
+        try {
+            var errors = (List<Map<String, Object>>) body.get("errors");
+            if (errors == null || errors.isEmpty()
+                    || !"too_many_requests".equals(errors.get(0).get("code"))) {
+                return null;
+            }
+            var ext  = (Map<String, Object>) errors.get(0).get("extensions");
+            var meta = ext != null ? (Map<String, Object>) ext.get("metadata") : null;
+            if (meta != null && meta.get("retryAfter") instanceof Number retryAfter) {
+                long millis = retryAfter.longValue() - System.currentTimeMillis();
+                if (millis > 0) return Duration.ofMillis(millis);
+            }
+        } catch (Exception e) {
+            log.debug("Could not parse retryAfter from 429: {}", e.getMessage());
+        }
+        return DEFAULT_RETRY_AFTER;
+    }
+
     // ─────────────────────────────────────────────
     // Core GraphQL Executor
     // ─────────────────────────────────────────────
 
     @SuppressWarnings("unchecked")
-    private Map<String, Object> executeGraphQL(String query, Map<String, Object> variables) {
-        String apiKey = firefliesConfig.getApi().getApiKey();
-
-        if (apiKey == null || apiKey.isBlank() || apiKey.equals("your-api-key-here")) {
-            throw new RuntimeException("Fireflies API key not configured. Set FIREFLIES_API_KEY.");
-        }
-
+    private Map<String, Object> executeGraphQL(String operation, String query, Map<String, Object> variables) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(apiKey);
+        headers.setBearerAuth(apiKey());
 
-        Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("query", query);
-        if (variables != null && !variables.isEmpty()) {
-            requestBody.put("variables", variables);
-        }
+        HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody(query, variables), headers);
 
-        HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
+        long queued = System.nanoTime();
+        try {
+            rateLimiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for Fireflies rate limit");
+        } finally {
+            recordRateLimitWait(operation, queued);
+        }
 
+        long start = System.nanoTime();
+        String outcome = "failure";
         try {
             ResponseEntity<Map> response = restTemplate.exchange(
                     firefliesConfig.getApi().getBaseUrl(),
@@ -254,13 +398,18 @@ public class FirefliesApiService {
             Map<String, Object> body = response.getBody();
             log.debug("Fireflies API response: {}", body);
 
-            if (body != null && body.containsKey("errors")) {
-                log.error("Fireflies GraphQL errors: {}", body.get("errors"));
-            }
-
+            outcome = checkErrors(operation, body);
             return body;
 
+        } catch (HttpClientErrorException.TooManyRequests e) {
+            outcome = "rate_limited";
+            rateLimited(operation);
+            rateLimiter.backOff(DEFAULT_RETRY_AFTER);
+            log.error("Fireflies HTTP error {}: {}", e.getStatusCode(), e.getResponseBodyAsString());
+            throw new RuntimeException("Fireflies API error " + e.getStatusCode()
+                    + ": " + e.getResponseBodyAsString());
         } catch (HttpClientErrorException e) {
+            outcome = "http_error";
             log.error("Fireflies HTTP error {}: {}", e.getStatusCode(), e.getResponseBodyAsString());
             throw new RuntimeException("Fireflies API error " + e.getStatusCode()
                     + ": " + e.getResponseBodyAsString());
@@ -269,6 +418,159 @@ public class FirefliesApiService {
         } catch (Exception e) {
             log.error("Unexpected error calling Fireflies API", e);
             throw new RuntimeException("Failed to call Fireflies API: " + e.getMessage());
+        } finally {
+            recordLatency(operation, outcome, start);
         }
     }
+
+    /**
+     * Non-blocking counterpart of {@link #executeGraphQL}: same request, error
+     * handling and meters. Failures complete the future exceptionally with the
+     * same RuntimeExceptions the blocking call throws.
+     */
+    private CompletableFuture<Map<String, Object>> executeGraphQLAsync(String operation, String query,
+                                                                       Map<String, Object> variables) {
+        return executeGraphQLAsync(operation, query, variables, false);
+    }
+
+    private CompletableFuture<Map<String, Object>> executeGraphQLAsync(String operation, String query,
+                                                                       Map<String, Object> variables,
+                                                                       boolean permitHeld) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(firefliesConfig.getApi().getBaseUrl()))
+                    .timeout(firefliesConfig.getApi().getRequestTimeout())
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey())
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(
+                            objectMapper.writeValueAsBytes(requestBody(query, variables))))
+                    .build();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(
+                    new RuntimeException("Failed to call Fireflies API: " + e.getMessage()));
+        }
+
+        long queued = System.nanoTime();
+        CompletableFuture<Void> permit = permitHeld ? CompletableFuture.completedFuture(null) : rateLimiter.acquireAsync();
+        return permit.thenCompose(ignored -> {
+            recordRateLimitWait(operation, queued);
+            long start = System.nanoTime();
+            return firefliesHttpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                    .handle((response, error) -> readResponse(operation, response, error, start));
+        });
+    }
+
+    private Map<String, Object> readResponse(String operation, HttpResponse<byte[]> response,
+                                             Throwable error, long start) {
+        String outcome = "failure";
+        try {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                log.error("Unexpected error calling Fireflies API", cause);
+                throw new RuntimeException("Failed to call Fireflies API: " + cause.getMessage());
+            }
+
+            int status = response.statusCode();
+            if (status >= 400) {
+                String text = new String(response.body(), StandardCharsets.UTF_8);
+                log.error("Fireflies HTTP error {}: {}", status, text);
+                if (status == 429) {
+                    outcome = "rate_limited";
+                    rateLimited(operation);
+                    rateLimiter.backOff(DEFAULT_RETRY_AFTER);
+                } else if (status < 500) {
+                    outcome = "http_error";
+                }
+                throw new RuntimeException("Fireflies API error " + status + ": " + text);
+            }
+
+            Map<String, Object> body = response.body().length == 0
+                    ? null : objectMapper.readValue(response.body(), JSON_OBJECT);
+            log.debug("Fireflies API response: {}", body);
+
+            outcome = checkErrors(operation, body);
+            return body;
+
+        } catch (IOException e) {
+            log.error("Unreadable Fireflies API response", e);
+            throw new RuntimeException("Failed to call Fireflies API: " + e.getMessage());
+        } finally {
+            recordLatency(operation, outcome, start);
+        }
+    }
+
+    private String apiKey() {
+        String apiKey = firefliesConfig.getApi().getApiKey();
+
+        if (apiKey == null || apiKey.isBlank() || apiKey.equals("your-api-key-here")) {
+            throw new RuntimeException("Fireflies API key not configured. Set FIREFLIES_API_KEY.");
+        }
+        return apiKey;
+    }
+
+    private static Map<String, Object> requestBody(String query, Map<String, Object> variables) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("query", query);
+        if (variables != null && !variables.isEmpty()) {
+            requestBody.put("variables", variables);
+        }
+        return requestBody;
+    }
+
+    /** Outcome tag for a 200 response; a GraphQL too_many_requests pauses the limiter. */
+    private String checkErrors(String operation, Map<String, Object> body) {
+        if (body == null || !body.containsKey("errors")) {
+            return "success";
+        }
+        log.error("Fireflies GraphQL errors: {}", body.get("errors"));
+        Duration retryAfter = rateLimitRetryAfter(body);
+        if (retryAfter == null) {
+            return "graphql_error";
+        }
+        rateLimited(operation);
+        rateLimiter.backOff(retryAfter);
+        return "rate_limited";
+    }
+
+    // ─────────────────────────────────────────────
+    // Metrics
+    // ─────────────────────────────────────────────
+
+    private void recordRateLimitWait(String operation, long queuedNanos) {
+        Timer.builder("fireflies.ratelimit.wait")
+                .description("Time a Fireflies call waited for the local rate limiter")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(System.nanoTime() - queuedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void recordLatency(String operation, String outcome, long startNanos) {
+        Timer.builder("fireflies.graphql.latency")
+                .description("Fireflies GraphQL round trip per operation and outcome")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void rateLimited(String operation) {
+        Counter.builder("fireflies.graphql.rate_limited")
+                .description("Fireflies calls answered with 429 / too_many_requests")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void cacheRequest(String cache, String result) {
+        Counter.builder("fireflies.cache.requests")
+                .description("Fireflies client cache lookups by result (hit, miss, stale)")
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import java.time.Duration;
+
+/**
+ * Fireflies quota shared by every replica using the same API key: one token
+ * bucket ({@code fireflies.rate-limit.rpm}) and one 429 pause for the whole
+ * cluster. Selected with {@code fireflies.cluster.quota=jdbc|redis}; without
+ * a store each node only enforces its own budget.
+ *
+ * {@link FirefliesRateLimiter} treats a failing store as absent (fail-open
+ * to the node-local budget), so implementations may simply throw.
+ */
+public interface FirefliesQuotaStore {
+
+    /** Takes one permit and returns {@link Duration#ZERO}, or returns how long to wait before asking again. */
+    Duration tryAcquire();
+
+    /** Pauses the whole cluster for at least {@code duration} and empties the shared bucket. */
+    void pauseFor(Duration duration);
+
+    /** Remaining cluster-wide pause, {@link Duration#ZERO} when none. */
+    Duration pausedFor();
+}
@@ -0,0 +1,184 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side view of the Fireflies API quota. Every GraphQL call goes
+ * through {@link #acquire} (or {@link #acquireAsync}), so concurrent bot
+ * invites (batch scheduling) and transcript fetches share one budget instead
+ * of tripping 429s.
+ *
+ * With a {@link FirefliesQuotaStore} (fireflies.cluster.quota) the budget and
+ * the 429 pause are shared by every replica: a permit needs a local token and
+ * a cluster one, and one node's 429 stops the others at their next acquire.
+ * If the store is unreachable the node carries on with its local budget.
+ */
+@Component
+@Slf4j
+public class FirefliesRateLimiter {
+
+    private static final long MIN_WAIT_NANOS        = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long CLUSTER_WARN_INTERVAL = TimeUnit.SECONDS.toNanos(30);
+
+    private final TokenBucket         requests;
+    private final FirefliesQuotaStore cluster;   // null → node-local budget only
+    private final Counter             clusterFailures;
+
+    private volatile long lastClusterWarning = System.nanoTime() - CLUSTER_WARN_INTERVAL;
+
+    // Wakes waiting async acquires; never calls the cluster store itself
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "fireflies-ratelimit");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Re-checks that need a cluster-store round trip, so a slow store cannot stall the timer
+    private final ExecutorService clusterChecks = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("fireflies-ratelimit-check-", 0).factory());
+
+    public FirefliesRateLimiter(@Value("${fireflies.rate-limit.rpm:50}") int requestsPerMinute,
+                                ObjectProvider<FirefliesQuotaStore> clusterStore,
+                                MeterRegistry meterRegistry) {
+        this.requests        = new TokenBucket(requestsPerMinute, Duration.ofMinutes(1));
+        this.cluster         = clusterStore.getIfAvailable();
+        this.clusterFailures = Counter.builder("fireflies.ratelimit.cluster.failures")
+                .description("Cluster quota store calls that failed (the node fell back to its local budget)")
+                .register(meterRegistry);
+        if (cluster != null) {
+            log.info("Fireflies quota shared through {}", cluster.getClass().getSimpleName());
+        }
+    }
+
+    public void acquire() throws InterruptedException {
+        long waitNanos;
+        while ((waitNanos = tryAcquireOrDelay()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /** Takes a permit if one is free right now (locally and in the cluster), without waiting. */
+    public boolean tryAcquire() {
+        return tryAcquireOrDelay() == 0;
+    }
+
+    /**
+     * Permits this node could take right now without waiting — an upper bound,
+     * the cluster budget may still say no. For callers that reserve work per
+     * permit (the invite outbox) rather than wait for one.
+     */
+    public int availableNow() {
+        return requests.pausedFor().isZero() ? (int) requests.available() : 0;
+    }
+
+    /** Completes once a permit is taken, without holding a thread while it waits. */
+    public CompletableFuture<Void> acquireAsync() {
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        tryAcquire(permit);
+        return permit;
+    }
+
+    private void tryAcquire(CompletableFuture<Void> permit) {
+        if (permit.isDone()) return;   // caller gave up
+        long waitNanos = tryAcquireOrDelay();
+        if (waitNanos == 0) {
+            permit.complete(null);
+            return;
+        }
+        try {
+            timer.schedule(() -> recheck(permit), waitNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            shutDown(permit);
+        }
+    }
+
+    private void recheck(CompletableFuture<Void> permit) {
+        if (cluster == null) {
+            tryAcquire(permit);
+            return;
+        }
+        try {
+            clusterChecks.execute(() -> tryAcquire(permit));
+        } catch (RejectedExecutionException e) {
+            shutDown(permit);
+        }
+    }
+
+    private static void shutDown(CompletableFuture<Void> permit) {
+        permit.completeExceptionally(new IllegalStateException("Fireflies rate limiter is shut down"));
+    }
+
+    /** Local token first (no round trip while this node is over budget), then the cluster's. */
+    private long tryAcquireOrDelay() {
+        long waitNanos = requests.tryAcquireOrDelay(1);
+        if (waitNanos > 0 || cluster == null) return waitNanos;
+
+        Duration shared;
+        try {
+            shared = cluster.tryAcquire();
+        } catch (RuntimeException e) {
+            clusterUnavailable("acquire", e);
+            return 0;
+        }
+        if (shared.isZero()) return 0;
+
+        requests.release(1);
+        return Math.max(shared.toNanos(), MIN_WAIT_NANOS);
+    }
+
+    /** Called on a 429 so every caller waits, not just the one that got rejected. */
+    public void backOff(Duration retryAfter) {
+        log.warn("Fireflies 429 — pausing all Fireflies calls{} for {}s",
+                cluster != null ? " cluster-wide" : "", retryAfter.toSeconds());
+        requests.pauseFor(retryAfter);
+        if (cluster != null) {
+            try {
+                cluster.pauseFor(retryAfter);
+            } catch (RuntimeException e) {
+                clusterUnavailable("pause", e);
+            }
+        }
+    }
+
+    /** Remaining 429 pause, including one set by another node. */
+    public Duration pausedFor() {
+        Duration local = requests.pausedFor();
+        if (cluster == null) return local;
+        try {
+            Duration shared = cluster.pausedFor();
+            return shared.compareTo(local) > 0 ? shared : local;
+        } catch (RuntimeException e) {
+            clusterUnavailable("read pause", e);
+            return local;
+        }
+    }
+
+    private void clusterUnavailable(String operation, RuntimeException e) {
+        clusterFailures.increment();
+        long now = System.nanoTime();
+        if (now - lastClusterWarning >= CLUSTER_WARN_INTERVAL) {
+            lastClusterWarning = now;
+            log.warn("Fireflies cluster quota {} failed, using the local budget: {}", operation, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        timer.shutdownNow();
+        clusterChecks.shutdownNow();
+    }
+}
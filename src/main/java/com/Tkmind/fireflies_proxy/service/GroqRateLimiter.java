@@ -0,0 +1,47 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Client-side view of the Groq quota: one bucket for requests per minute and
+ * one for tokens per minute. Every Groq call goes through {@link #acquire},
+ * so parallel chunk summaries and queued jobs share the same budget.
+ *
+ * Free tier defaults: 30 RPM, 12k TPM.
+ */
+@Component
+@Slf4j
+public class GroqRateLimiter {
+
+    /** ~4 characters per token for English transcripts. */
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private final TokenBucket requests;
+    private final TokenBucket tokens;
+
+    public GroqRateLimiter(@Value("${groq.rate-limit.rpm:30}") int requestsPerMinute,
+                           @Value("${groq.rate-limit.tpm:12000}") int tokensPerMinute) {
+        this.requests = new TokenBucket(requestsPerMinute, Duration.ofMinutes(1));
+        this.tokens   = new TokenBucket(tokensPerMinute, Duration.ofMinutes(1));
+    }
+
+    public void acquire(int estimatedTokens) throws InterruptedException {
+        requests.acquire(1);
+        tokens.acquire(estimatedTokens);
+    }
+
+    /** Called on a 429 so every caller waits, not just the one that got rejected. */
+    public void backOff(Duration retryAfter) {
+        log.warn("Groq 429 — pausing all LLM calls for {}s", retryAfter.toSeconds());
+        requests.pauseFor(retryAfter);
+        tokens.pauseFor(retryAfter);
+    }
+
+    public static int estimateTokens(String text) {
+        return text == null ? 0 : text.length() / CHARS_PER_TOKEN + 1;
+    }
+}
@@ -0,0 +1,235 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel (Varghese &amp; Lauck) keyed by an id: {@code wheelSize}
+ * buckets of {@code tick} each. A timeout lands in bucket
+ * {@code deadlineTick % wheelSize} with a round counter for deadlines more
+ * than one revolution away.
+ *
+ *  - schedule / reschedule / cancel are O(1): callers only touch a map and a
+ *    lock-free queue; the worker thread links / unlinks bucket entries.
+ *  - each tick only walks one bucket, so cost does not grow with the number
+ *    of pending timeouts (100k+ is fine).
+ *  - precision is one tick — plenty for "a minute before the meeting".
+ *
+ * Expired keys are handed to {@code executor}, never run on the wheel thread.
+ * A key the executor rejects (saturated) is not lost: it is scheduled again
+ * {@value #REDISPATCH_TICKS} ticks later, unless rescheduled meanwhile.
+ */
+@Slf4j
+final class HashedTimingWheel<K> {
+
+    private static final int ST_PENDING   = 0;
+    private static final int ST_CANCELLED = 1;
+    private static final int ST_EXPIRED   = 2;
+
+    private static final int REDISPATCH_TICKS = 5;
+
+    private final long        tickNanos;
+    private final Bucket<K>[] wheel;
+    private final int         mask;
+    private final Consumer<K> onExpire;
+    private final Executor    executor;
+
+    private final Map<K, Timeout<K>>    byKey     = new ConcurrentHashMap<>();
+    private final Queue<Timeout<K>>     additions = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout<K>>     removals  = new ConcurrentLinkedQueue<>();
+
+    private final Thread   worker;
+    private volatile boolean running = true;
+    private final long     startNanos;
+    private long           tick;
+
+    @SuppressWarnings("unchecked")
+    HashedTimingWheel(String name, Duration tick, int wheelSize, Consumer<K> onExpire, Executor executor) {
+        int size = Integer.highestOneBit(Math.max(wheelSize - 1, 1)) << 1;   // next power of two
+        this.tickNanos  = tick.toNanos();
+        this.wheel      = new Bucket[size];
+        this.mask       = size - 1;
+        this.onExpire   = onExpire;
+        this.executor   = executor;
+        for (int i = 0; i < size; i++) wheel[i] = new Bucket<>();
+
+        this.startNanos = System.nanoTime();
+        this.worker     = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /** Schedules {@code key} to expire after {@code delay}, replacing any earlier deadline. */
+    void schedule(K key, Duration delay) {
+        Timeout<K> timeout = new Timeout<>(key, deadlineAfter(delay.toNanos()));
+        Timeout<K> previous = byKey.put(key, timeout);
+        if (previous != null) cancel(previous);
+        additions.add(timeout);
+    }
+
+    boolean cancel(K key) {
+        Timeout<K> timeout = byKey.remove(key);
+        if (timeout == null) return false;
+        cancel(timeout);
+        return true;
+    }
+
+    boolean contains(K key) {
+        return byKey.containsKey(key);
+    }
+
+    int size() {
+        return byKey.size();
+    }
+
+    void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private long deadlineAfter(long delayNanos) {
+        return System.nanoTime() - startNanos + Math.max(delayNanos, 0);
+    }
+
+    private void cancel(Timeout<K> timeout) {
+        if (timeout.state.compareAndSet(ST_PENDING, ST_CANCELLED)) {
+            removals.add(timeout);
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Worker
+    // ─────────────────────────────────────────────
+
+    private void run() {
+        while (running) {
+            if (!waitForNextTick()) continue;
+
+            processRemovals();
+            transferAdditions();
+            wheel[(int) (tick & mask)].expire(this::fire);
+            tick++;
+        }
+    }
+
+    /** @return false when stopped while waiting */
+    private boolean waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long sleepNanos = deadline - (System.nanoTime() - startNanos);
+            if (sleepNanos <= 0) return true;
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (InterruptedException e) {
+                if (!running) return false;
+            }
+        }
+    }
+
+    private void transferAdditions() {
+        // Bounded per tick so a bulk load cannot stall expiry
+        for (int i = 0; i < 100_000; i++) {
+            Timeout<K> timeout = additions.poll();
+            if (timeout == null) return;
+            if (timeout.state.get() != ST_PENDING) continue;
+
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            long ticks = Math.max(calculated, tick);       // already due → this tick
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void processRemovals() {
+        Timeout<K> timeout;
+        while ((timeout = removals.poll()) != null) {
+            if (timeout.bucket != null) timeout.bucket.remove(timeout);
+        }
+    }
+
+    private void fire(Timeout<K> timeout) {
+        if (!timeout.state.compareAndSet(ST_PENDING, ST_EXPIRED)) return;
+        byKey.remove(timeout.key, timeout);
+        try {
+            executor.execute(() -> onExpire.accept(timeout.key));
+        } catch (RejectedExecutionException e) {
+            // Executor saturated — try again shortly; a newer schedule() for the key wins
+            Timeout<K> retry = new Timeout<>(timeout.key, deadlineAfter(tickNanos * REDISPATCH_TICKS));
+            if (byKey.putIfAbsent(timeout.key, retry) == null) {
+                additions.add(retry);
+                log.warn("Timing wheel executor busy — retrying {} in {} ticks", timeout.key, REDISPATCH_TICKS);
+            }
+        } catch (Exception e) {
+            log.error("Timing wheel could not dispatch {}: {}", timeout.key, e.getMessage());
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Buckets: intrusive doubly-linked lists, worker-thread only
+    // ─────────────────────────────────────────────
+
+    private static final class Timeout<K> {
+        final K             key;
+        final long          deadline;
+        final AtomicInteger state = new AtomicInteger(ST_PENDING);
+        long                remainingRounds;
+        Bucket<K>           bucket;
+        Timeout<K>          prev;
+        Timeout<K>          next;
+
+        Timeout(K key, long deadline) {
+            this.key      = key;
+            this.deadline = deadline;
+        }
+    }
+
+    private static final class Bucket<K> {
+        private Timeout<K> head;
+        private Timeout<K> tail;
+
+        void add(Timeout<K> timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next    = timeout;
+                timeout.prev = tail;
+                tail         = timeout;
+            }
+        }
+
+        void expire(Consumer<Timeout<K>> fire) {
+            Timeout<K> timeout = head;
+            while (timeout != null) {
+                Timeout<K> next = timeout.next;
+                if (timeout.remainingRounds <= 0 || timeout.state.get() == ST_CANCELLED) {
+                    remove(timeout);
+                    fire.accept(timeout);              // no-op unless still pending
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout<K> timeout) {
+            if (timeout.bucket != this) return;
+            if (timeout.prev != null) timeout.prev.next = timeout.next;
+            if (timeout.next != null) timeout.next.prev = timeout.prev;
+            if (timeout == head) head = timeout.next;
+            if (timeout == tail) tail = timeout.prev;
+            timeout.prev = timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
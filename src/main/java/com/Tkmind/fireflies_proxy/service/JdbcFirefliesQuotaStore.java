@@ -0,0 +1,125 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * Cluster quota in the shared database: the bucket is the single
+ * fireflies_quota row, updated under SELECT ... FOR UPDATE in a short
+ * transaction of its own, so the lock is held for one round trip.
+ *
+ * Callers are often inside a transaction that already holds a connection
+ * (e.g. TranscriptService.fetchAndSaveFromApi). The store therefore uses a
+ * small pool of its own ({@code fireflies.cluster.jdbc.pool-size}) instead
+ * of a second connection from the main pool — enough callers doing that at
+ * once would exhaust it and wait on each other for good.
+ *
+ * Times are the nodes' wall clocks; skew between nodes only shifts refills
+ * and pauses by the skew.
+ */
+@Service
+@ConditionalOnProperty(name = "fireflies.cluster.quota", havingValue = "jdbc")
+public class JdbcFirefliesQuotaStore implements FirefliesQuotaStore {
+
+    private static final String KEY = "fireflies";
+
+    private static final String SELECT_FOR_UPDATE = """
+            SELECT tokens, refilled_at, paused_until
+            FROM fireflies_quota
+            WHERE quota_key = ?
+            FOR UPDATE""";
+
+    private static final Duration CONNECTION_TIMEOUT = Duration.ofSeconds(2);
+
+    private final HikariDataSource    dataSource;
+    private final JdbcTemplate        jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long                capacity;
+    private final double              permitsPerMilli;
+
+    public JdbcFirefliesQuotaStore(DataSourceProperties dataSourceProperties,
+                                   @Value("${fireflies.cluster.jdbc.pool-size:2}") int poolSize,
+                                   @Value("${fireflies.rate-limit.rpm:50}") int requestsPerMinute) {
+        this.dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        this.dataSource.setPoolName("fireflies-quota");
+        this.dataSource.setMaximumPoolSize(poolSize);
+        this.dataSource.setMinimumIdle(1);
+        // Waiting longer than this is worse than falling back to the local budget
+        this.dataSource.setConnectionTimeout(CONNECTION_TIMEOUT.toMillis());
+
+        this.jdbcTemplate        = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.capacity            = requestsPerMinute;
+        this.permitsPerMilli     = (double) requestsPerMinute / Duration.ofMinutes(1).toMillis();
+    }
+
+    @PreDestroy
+    void close() {
+        dataSource.close();
+    }
+
+    private record Bucket(double tokens, long refilledAt, long pausedUntil) {
+    }
+
+    @Override
+    public Duration tryAcquire() {
+        return transactionTemplate.execute(status -> {
+            long now = System.currentTimeMillis();
+            Bucket bucket = lock();
+
+            // A node with a slower clock must not move refilled_at backwards
+            long refilledAt = Math.max(bucket.refilledAt(), now);
+            double tokens = Math.min(capacity,
+                    bucket.tokens() + Math.max(now - bucket.refilledAt(), 0) * permitsPerMilli);
+
+            long waitMillis;
+            if (now < bucket.pausedUntil()) {
+                waitMillis = bucket.pausedUntil() - now;
+            } else if (tokens >= 1) {
+                tokens -= 1;
+                waitMillis = 0;
+            } else {
+                waitMillis = (long) Math.ceil((1 - tokens) / permitsPerMilli);
+            }
+
+            jdbcTemplate.update("UPDATE fireflies_quota SET tokens = ?, refilled_at = ? WHERE quota_key = ?",
+                    tokens, refilledAt, KEY);
+            return Duration.ofMillis(waitMillis);
+        });
+    }
+
+    @Override
+    public void pauseFor(Duration duration) {
+        long now   = System.currentTimeMillis();
+        long until = now + duration.toMillis();
+        // Refill restarts from now, not from the last acquire
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update("""
+                UPDATE fireflies_quota
+                SET paused_until = CASE WHEN paused_until < ? THEN ? ELSE paused_until END,
+                    refilled_at  = CASE WHEN refilled_at < ? THEN ? ELSE refilled_at END,
+                    tokens       = 0
+                WHERE quota_key = ?""", until, until, now, now, KEY));
+    }
+
+    @Override
+    public Duration pausedFor() {
+        Long pausedUntil = jdbcTemplate.queryForObject(
+                "SELECT paused_until FROM fireflies_quota WHERE quota_key = ?", Long.class, KEY);
+        long remaining = pausedUntil == null ? 0 : pausedUntil - System.currentTimeMillis();
+        return remaining > 0 ? Duration.ofMillis(remaining) : Duration.ZERO;
+    }
+
+    private Bucket lock() {
+        return jdbcTemplate.queryForObject(SELECT_FOR_UPDATE, (rs, i) -> new Bucket(
+                rs.getDouble("tokens"), rs.getLong("refilled_at"), rs.getLong("paused_until")), KEY);
+    }
+}
@@ -0,0 +1,166 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.Tkmind.fireflies_proxy.entity.ReadinessEventRecord;
+import com.Tkmind.fireflies_proxy.event.TranscriptReadinessEvent;
+import com.Tkmind.fireflies_proxy.repository.ReadinessEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cross-node readiness relay over the shared database — no broker needed.
+ * Each node inserts the events it commits into readiness_events and tails
+ * the table by id every {@code readiness.bridge.jdbc.poll-interval}, waking
+ * its own clients for rows written by other nodes.
+ *
+ * Ids are assigned at insert but become visible at commit, so a row can
+ * appear below one already read. Ids skipped while tailing are remembered
+ * as gaps and looked up again on every poll until they show up or
+ * {@code readiness.bridge.jdbc.late-commit-window} passes (a rolled-back
+ * insert leaves a gap for good).
+ *
+ * Rows older than {@code readiness.bridge.jdbc.retention} are pruned by the
+ * cluster leader only.
+ *
+ * Delivery is at-most-once and best-effort: a node that is down misses
+ * events, and its clients fall back to the long-poll timeout / a reconnect.
+ */
+@Service
+@ConditionalOnProperty(name = "readiness.bridge.jdbc.enabled", havingValue = "true")
+@Slf4j
+public class JdbcReadinessEventBridge implements ReadinessEventBridge {
+
+    private static final int BATCH    = 500;
+    private static final int MAX_GAPS = 1_000;
+
+    private final ReadinessEventRepository   repository;
+    private final TranscriptReadinessService readinessService;
+    private final ClusterLeaseService        clusterLeaseService;
+    private final String                     nodeId;
+
+    @Value("${readiness.bridge.jdbc.poll-interval:1s}")
+    private Duration pollInterval;
+
+    @Value("${readiness.bridge.jdbc.retention:10m}")
+    private Duration retention;
+
+    @Value("${readiness.bridge.jdbc.late-commit-window:30s}")
+    private Duration lateCommitWindow;
+
+    private ScheduledExecutorService poller;
+    private volatile long lastSeenId;
+    // Skipped id → System.nanoTime() after which it is given up; poll thread only
+    private final Map<Long, Long> gaps = new LinkedHashMap<>();
+    private long lastPruneNanos = System.nanoTime();
+
+    public JdbcReadinessEventBridge(ReadinessEventRepository repository,
+                                    TranscriptReadinessService readinessService,
+                                    ClusterLeaseService clusterLeaseService) {
+        this.repository          = repository;
+        this.readinessService    = readinessService;
+        this.clusterLeaseService = clusterLeaseService;
+        this.nodeId              = clusterLeaseService.nodeId();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        lastSeenId = repository.findMaxId().orElse(0L);
+        poller = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "readiness-bridge"));
+        poller.scheduleWithFixedDelay(this::pollSafely,
+                pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Readiness bridge started (node {}, poll every {} ms)", nodeId, pollInterval.toMillis());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (poller != null) poller.shutdownNow();
+    }
+
+    /**
+     * Runs after the writing transaction committed (TranscriptReadinessService.onReadiness),
+     * so it needs a transaction of its own.
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void publish(TranscriptReadinessEvent event) {
+        try {
+            repository.save(ReadinessEventRecord.builder()
+                    .nodeId(nodeId)
+                    .userId(event.userId())
+                    .meetingId(event.meetingId())
+                    .transcriptId(event.transcriptId())
+                    .stage(event.stage())
+                    .summaryStatus(event.summaryStatus())
+                    .build());
+        } catch (Exception e) {
+            // Other nodes' clients fall back to their long-poll timeout
+            log.warn("Could not relay readiness event for meeting {}: {}", event.meetingId(), e.getMessage());
+        }
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (Exception e) {
+            log.warn("Readiness bridge poll failed: {}", e.getMessage());
+        }
+    }
+
+    void poll() {
+        recheckGaps();
+
+        List<ReadinessEventRecord> rows;
+        do {
+            rows = repository.findByIdGreaterThanOrderByIdAsc(lastSeenId, Limit.of(BATCH));
+            long giveUpAt = System.nanoTime() + lateCommitWindow.toNanos();
+            for (ReadinessEventRecord row : rows) {
+                for (long missing = lastSeenId + 1; missing < row.getId() && gaps.size() < MAX_GAPS; missing++) {
+                    gaps.put(missing, giveUpAt);
+                }
+                lastSeenId = row.getId();
+                deliver(row);
+            }
+        } while (rows.size() == BATCH);
+
+        if (clusterLeaseService.isLeader() && System.nanoTime() - lastPruneNanos > retention.toNanos()) {
+            lastPruneNanos = System.nanoTime();
+            int pruned = repository.deleteOlderThan(LocalDateTime.now().minus(retention));
+            if (pruned > 0) log.debug("Pruned {} readiness event(s)", pruned);
+        }
+    }
+
+    /** Delivers rows that committed after a higher id was read. */
+    private void recheckGaps() {
+        if (gaps.isEmpty()) return;
+        long now = System.nanoTime();
+        gaps.values().removeIf(giveUpAt -> now - giveUpAt > 0);
+        if (gaps.isEmpty()) return;
+
+        for (ReadinessEventRecord row : repository.findAllById(List.copyOf(gaps.keySet()))) {
+            gaps.remove(row.getId());
+            deliver(row);
+        }
+    }
+
+    private void deliver(ReadinessEventRecord row) {
+        if (!nodeId.equals(row.getNodeId())) {
+            readinessService.deliver(row.toEvent());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * The LLM provider answered 429. Carries the provider's Retry-After so the
+ * summary queue can back off instead of failing the job.
+ */
+@Getter
+public class LlmRateLimitException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public LlmRateLimitException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
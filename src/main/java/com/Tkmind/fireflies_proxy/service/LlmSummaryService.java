@@ -1,43 +1,78 @@
 package com.Tkmind.fireflies_proxy.service;
 
+import com.Tkmind.fireflies_proxy.service.llm.HedgingLlmClient;
+import com.Tkmind.fireflies_proxy.service.llm.HedgingLlmClient.Completion;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
- * hhh
- * Calls Groq API (free tier) to generate AI summary from meeting transcript.
+ * Generates the AI summary of a meeting transcript. The actual completion
+ * calls go through {@link HedgingLlmClient} (Groq by default — see
+ * {@code llm.provider.*}).
  *
- * Get your FREE API key at: https://console.groq.com
- * Free tier: 14,400 requests/day, 30 requests/min — no credit card needed.
+ * Long transcripts are summarized map-reduce style: split on speaker
+ * boundaries into token-budgeted chunks, chunk notes produced in parallel
+ * (under {@link GroqRateLimiter}), then reduced into the usual sections.
  *
- * Model used: llama-3.3-70b-versatile (free, fast, high quality)
+ * {@link #streamSummary} uses the provider's streamed completion for the final call
+ * so callers can relay tokens as they arrive.
  */
 @Service
 @Slf4j
 public class LlmSummaryService {
 
-    private static final String GROQ_URL   = "https://api.groq.com/openai/v1/chat/completions";
-    private static final String GROQ_MODEL = "llama-3.3-70b-versatile";
+    /** Bump whenever the prompts change — it is part of the summary cache key. */
+    public static final String PROMPT_VERSION = "2";
 
-    @Value("${groq.api.key:}")
-    private String groqApiKey;
+    private static final int SUMMARY_MAX_TOKENS = 1024;
+    private static final int CHUNK_MAX_TOKENS   = 512;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    /** Prompt-side token budget per chunk (transcript text only). */
+    @Value("${groq.summary.chunk-tokens:6000}")
+    private int chunkTokenBudget;
+
+    private final HedgingLlmClient llmClient;
+    private final Executor         llmChunkExecutor;
+
+    public LlmSummaryService(HedgingLlmClient llmClient,
+                             @Qualifier("llmChunkExecutor") Executor llmChunkExecutor) {
+        this.llmClient        = llmClient;
+        this.llmChunkExecutor = llmChunkExecutor;
+    }
 
     // ─────────────────────────────────────────────
     // Main entry point
     // ─────────────────────────────────────────────
 
     public String summarize(String transcriptContent, String meetingTitle) {
+        try {
+            Completion summary = summarizeOrThrow(transcriptContent, meetingTitle);
+            return summary != null ? summary.text() : null;
+        } catch (Exception e) {
+            log.error("AI summarization failed: {}", e.getMessage());
+            return null;
+        }
+    }
 
-        if (groqApiKey == null || groqApiKey.isBlank()) {
-            log.warn("Groq API key not configured — skipping AI summary. Set GROQ_API_KEY.");
+    /**
+     * Same as {@link #summarize} but lets {@link LlmRateLimitException} and
+     * other failures through, so callers can retry with backoff.
+     * Returns null only when there is nothing to do (no key / empty content);
+     * otherwise the summary and the model that wrote it (the final call's —
+     * a hedged call may be answered by the secondary provider).
+     */
+    public Completion summarizeOrThrow(String transcriptContent, String meetingTitle) {
+
+        if (!llmClient.isConfigured()) {
+            log.warn("LLM provider not configured — skipping AI summary. Set GROQ_API_KEY.");
             return null;
         }
 
@@ -46,120 +81,236 @@ public class LlmSummaryService {
             return null;
         }
 
-        String content = truncate(transcriptContent, 30_000);
-        String prompt  = buildPrompt(meetingTitle, content);
+        List<String> chunks = chunk(transcriptContent, chunkTokenBudget);
 
-        try {
-            log.info("Calling Groq AI to summarize transcript for meeting: {}", meetingTitle);
-            String result = callGroq(prompt);
-            log.info("Groq AI summary generated successfully ({} chars)",
-                    result != null ? result.length() : 0);
-            return result;
-        } catch (Exception e) {
-            log.error("Groq AI summarization failed: {}", e.getMessage());
+        log.info("Calling LLM to summarize transcript for meeting: {} ({} chunk(s))",
+                meetingTitle, chunks.size());
+
+        Completion result = chunks.size() == 1
+                ? complete(buildPrompt(meetingTitle, transcriptContent), SUMMARY_MAX_TOKENS)
+                : reduce(meetingTitle, mapChunks(meetingTitle, chunks));
+
+        log.info("AI summary generated successfully ({} chars)",
+                result.text().length());
+        return result;
+    }
+
+    /**
+     * Streaming variant: long transcripts still go through the (non-streamed)
+     * map phase, then the final summary call is streamed token by token.
+     *
+     * @param onToken    receives each content delta as it arrives
+     * @param onProgress receives short status lines while chunks are mapped
+     * @return the complete summary and its model, or null when there is nothing to do
+     */
+    public Completion streamSummary(String transcriptContent, String meetingTitle,
+                                Consumer<String> onToken, Consumer<String> onProgress) {
+
+        if (!llmClient.isConfigured()) {
+            log.warn("LLM provider not configured — skipping AI summary. Set GROQ_API_KEY.");
             return null;
         }
+
+        if (transcriptContent == null || transcriptContent.isBlank()) {
+            return null;
+        }
+
+        List<String> chunks = chunk(transcriptContent, chunkTokenBudget);
+
+        String prompt;
+        if (chunks.size() == 1) {
+            prompt = buildPrompt(meetingTitle, transcriptContent);
+        } else {
+            onProgress.accept("Summarizing " + chunks.size() + " parts");
+            String notes = condense(meetingTitle, mapChunks(meetingTitle, chunks));
+            onProgress.accept("Combining parts");
+            prompt = buildReducePrompt(meetingTitle, notes);
+        }
+
+        log.info("Streaming AI summary for meeting: {} ({} chunk(s))", meetingTitle, chunks.size());
+        return llmClient.stream(prompt, SUMMARY_MAX_TOKENS, onToken);
     }
 
-    // ─────────────────────────────────────────────
-    // Prompt
-    // ─────────────────────────────────────────────
+    public String getModel() {
+        return llmClient.model();
+    }
 
-    private String buildPrompt(String meetingTitle, String transcript) {
-        return """
-                You are an expert meeting assistant. Analyze the following meeting transcript and provide a structured summary.
+    /** Every model that may write a summary, primary first. */
+    public List<String> models() {
+        return llmClient.models();
+    }
 
-                Meeting Title: %s
+    public boolean isConfigured() {
+        return llmClient.isConfigured();
+    }
 
-                Transcript:
-                %s
+    /** Stamped on transcripts as summary_prompt_version — a change marks rows stale. */
+    public String summaryVersion() {
+        return summaryVersion(getModel());
+    }
+
+    /** Version of a summary written by {@code model} — a hedged call may not be the primary's. */
+    public static String summaryVersion(String model) {
+        return PROMPT_VERSION + "/" + model;
+    }
 
-                Please provide a summary in the following exact markdown format:
+    // ─────────────────────────────────────────────
+    // Map-reduce
+    // ─────────────────────────────────────────────
 
-                ## Overview
-                [2-3 sentence summary of what the meeting was about and key outcomes]
+    private List<String> mapChunks(String meetingTitle, List<String> chunks) {
+        try (FanOut scope = new FanOut(llmChunkExecutor)) {
+            List<Supplier<String>> partials = new ArrayList<>(chunks.size());
+            for (int i = 0; i < chunks.size(); i++) {
+                String prompt = buildChunkPrompt(meetingTitle, chunks.get(i), i + 1, chunks.size());
+                partials.add(scope.fork(() -> complete(prompt, CHUNK_MAX_TOKENS).text()));
+            }
+            scope.join();
+            return partials.stream().map(Supplier::get).toList();
+        }
+    }
 
-                ## Key Discussion Points
-                [bullet points of the main topics discussed]
+    private Completion reduce(String meetingTitle, List<String> partials) {
+        return complete(buildReducePrompt(meetingTitle, condense(meetingTitle, partials)),
+                SUMMARY_MAX_TOKENS);
+    }
 
-                ## Decisions Made
-                [bullet points of any decisions or conclusions reached, write "None identified" if none]
+    /** Very long meetings: condense the notes again until they fit one call. */
+    private String condense(String meetingTitle, List<String> partials) {
+        String notes = joinPartials(partials);
+        while (GroqRateLimiter.estimateTokens(notes) > chunkTokenBudget && partials.size() > 1) {
+            partials = mapChunks(meetingTitle, chunk(notes, chunkTokenBudget));
+            notes    = joinPartials(partials);
+        }
+        return notes;
+    }
 
-                ## Action Items
-                [bullet points of action items with owner if mentioned, write "None identified" if none]
+    private String joinPartials(List<String> partials) {
+        StringBuilder notes = new StringBuilder();
+        for (int i = 0; i < partials.size(); i++) {
+            notes.append("### Part ").append(i + 1).append('/').append(partials.size()).append('\n')
+                    .append(partials.get(i)).append("\n\n");
+        }
+        return notes.toString();
+    }
 
-                ## Keywords
-                [comma-separated list of 5-10 relevant keywords from the meeting]
+    /**
+     * Splits on line (sentence) boundaries. Once a chunk is 80% full it is
+     * closed at the next speaker change; a chunk never exceeds the budget.
+     */
+    List<String> chunk(String text, int tokenBudget) {
+        int maxChars = tokenBudget * 4;
+        if (text.length() <= maxChars) return List.of(text);
+
+        int softChars = maxChars * 4 / 5;
+        List<String> chunks = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        String currentSpeaker = null;
+
+        for (String line : text.split("\n")) {
+            String  speaker       = speakerOf(line);
+            boolean speakerChange = speaker != null && !speaker.equals(currentSpeaker);
+
+            if (current.length() > 0
+                    && (current.length() + line.length() + 1 > maxChars
+                    || (current.length() >= softChars && speakerChange))) {
+                chunks.add(current.toString());
+                current.setLength(0);
+            }
+
+            // A single line longer than the whole budget — hard split
+            while (line.length() > maxChars) {
+                chunks.add(line.substring(0, maxChars));
+                line = line.substring(maxChars);
+            }
+
+            current.append(line).append('\n');
+            if (speaker != null) currentSpeaker = speaker;
+        }
 
-                Keep the summary concise, professional, and focused on what matters most.
-                """.formatted(meetingTitle != null ? meetingTitle : "Meeting", transcript);
+        if (!current.isEmpty()) chunks.add(current.toString());
+        return chunks;
+    }
+
+    /** "[01:23] Alice: text" → "Alice"; null when the line has no speaker prefix. */
+    static String speakerOf(String line) {
+        int start = 0;
+        if (line.startsWith("[")) {
+            int close = line.indexOf("] ");
+            if (close < 0) return null;
+            start = close + 2;
+        }
+        int colon = line.indexOf(": ", start);
+        return colon > start ? line.substring(start, colon) : null;
     }
 
     // ─────────────────────────────────────────────
-    // Call Groq REST API (OpenAI-compatible)
+    // Prompt
     // ─────────────────────────────────────────────
 
-    @SuppressWarnings("unchecked")
-    private String callGroq(String prompt) {
+    private static final String SUMMARY_FORMAT = """
+            Please provide a summary in the following exact markdown format:
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(groqApiKey);
+            ## Overview
+            [2-3 sentence summary of what the meeting was about and key outcomes]
 
-        Map<String, Object> message = Map.of(
-                "role",    "user",
-                "content", prompt
-        );
+            ## Key Discussion Points
+            [bullet points of the main topics discussed]
 
-        Map<String, Object> body = Map.of(
-                "model",       GROQ_MODEL,
-                "messages",    List.of(message),
-                "max_tokens",  1024,
-                "temperature", 0.3
-        );
+            ## Decisions Made
+            [bullet points of any decisions or conclusions reached, write "None identified" if none]
 
-        HttpEntity<Map<String, Object>> request = new HttpEntity<>(body, headers);
+            ## Action Items
+            [bullet points of action items with owner if mentioned, write "None identified" if none]
 
-        ResponseEntity<Map> response = restTemplate.exchange(
-                GROQ_URL,
-                HttpMethod.POST,
-                request,
-                Map.class
-        );
+            ## Keywords
+            [comma-separated list of 5-10 relevant keywords from the meeting]
 
-        Map<String, Object> responseBody = response.getBody();
+            Keep the summary concise, professional, and focused on what matters most.
+            """;
 
-        if (responseBody == null) {
-            throw new RuntimeException("Empty response from Groq API");
-        }
+    private String buildPrompt(String meetingTitle, String transcript) {
+        return """
+                You are an expert meeting assistant. Analyze the following meeting transcript and provide a structured summary.
 
-        // Parse: response.choices[0].message.content
-        List<Map<String, Object>> choices =
-                (List<Map<String, Object>>) responseBody.get("choices");
+                Meeting Title: %s
 
-        if (choices == null || choices.isEmpty()) {
-            throw new RuntimeException("No choices in Groq response: " + responseBody);
-        }
+                Transcript:
+                %s
 
-        Map<String, Object> messageResponse =
-                (Map<String, Object>) choices.get(0).get("message");
+                %s""".formatted(meetingTitle != null ? meetingTitle : "Meeting", transcript, SUMMARY_FORMAT);
+    }
 
-        String text = (String) messageResponse.get("content");
+    private String buildChunkPrompt(String meetingTitle, String chunk, int part, int parts) {
+        return """
+                You are an expert meeting assistant. Below is part %d of %d of a meeting transcript.
 
-        if (text == null || text.isBlank()) {
-            throw new RuntimeException("Empty content in Groq response");
-        }
+                Meeting Title: %s
+
+                Transcript (part %d/%d):
+                %s
 
-        return text.trim();
+                Write concise bullet-point notes for this part only, under these headings:
+                Discussion, Decisions, Action Items (with owner if mentioned), Keywords.
+                Skip a heading if nothing applies. Do not write an overview.
+                """.formatted(part, parts, meetingTitle != null ? meetingTitle : "Meeting",
+                part, parts, chunk);
     }
 
-    // ─────────────────────────────────────────────
-    // Truncate to avoid token limits
-    // ─────────────────────────────────────────────
+    private String buildReducePrompt(String meetingTitle, String notes) {
+        return """
+                You are an expert meeting assistant. The notes below were taken from consecutive parts of one meeting transcript, in order.
+                Combine them into one structured summary of the whole meeting, merging duplicates.
+
+                Meeting Title: %s
+
+                Notes:
+                %s
+
+                %s""".formatted(meetingTitle != null ? meetingTitle : "Meeting", notes, SUMMARY_FORMAT);
+    }
 
-    private String truncate(String text, int maxChars) {
-        if (text.length() <= maxChars) return text;
-        log.warn("Transcript truncated from {} to {} chars for Groq", text.length(), maxChars);
-        return text.substring(0, maxChars) + "\n\n[... transcript truncated ...]";
+    private Completion complete(String prompt, int maxTokens) {
+        return llmClient.complete(prompt, maxTokens);
     }
-}
\ No newline at end of file
+}
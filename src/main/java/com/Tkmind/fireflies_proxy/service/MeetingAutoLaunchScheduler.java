@@ -0,0 +1,271 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.Tkmind.fireflies_proxy.event.ClusterMembershipChangedEvent;
+import com.Tkmind.fireflies_proxy.repository.AutoLaunchRow;
+import com.Tkmind.fireflies_proxy.repository.MeetingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invites the Fireflies bot {@code lead-time} before a meeting's scheduledDate,
+ * without anyone calling POST /meetings/launch.
+ *
+ *  - Launchable meetings (SCHEDULED, URL, no bot yet) starting within
+ *    {@code horizon} sit in a {@link HashedTimingWheel}: O(1) insert and
+ *    cancel, one bucket walked per tick.
+ *  - Every {@code reload-interval} only rows with updated_at past the last
+ *    watermark are re-read (plus meetings that just entered the horizon);
+ *    each is rescheduled or dropped.
+ *  - Meetings are sharded by id across the live nodes
+ *    ({@link ClusterLeaseService#shard()}): each wheel holds only this node's
+ *    shard, and a membership change reloads the window so a departed node's
+ *    meetings are picked up.
+ *  - On expiry the node claims the meeting with a conditional UPDATE
+ *    (SCHEDULED → IN_PROGRESS at the same scheduledDate); only the winner
+ *    queues the invite, in the same transaction — a meeting two nodes hold
+ *    during a rebalance is still launched once.
+ */
+@Service
+@Slf4j
+public class MeetingAutoLaunchScheduler {
+
+    private static final int PAGE_SIZE = 5_000;
+
+    private final MeetingRepository       meetingRepository;
+    private final MeetingInviteDispatcher meetingInviteDispatcher;
+    private final ClusterLeaseService     clusterLeaseService;
+    private final TransactionTemplate     transactionTemplate;
+    private final Executor                firefliesInviteExecutor;
+    private final MeterRegistry           meterRegistry;
+
+    @Value("${meetings.auto-launch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${meetings.auto-launch.lead-time:2m}")
+    private Duration leadTime;
+
+    /** Meetings further out than this are loaded later, as the horizon moves. */
+    @Value("${meetings.auto-launch.horizon:24h}")
+    private Duration horizon;
+
+    /** Meetings that started longer ago than this are not launched any more. */
+    @Value("${meetings.auto-launch.late-grace:15m}")
+    private Duration lateGrace;
+
+    @Value("${meetings.auto-launch.reload-interval:30s}")
+    private Duration reloadInterval;
+
+    /** Re-read this much before the watermark — tolerates clock skew between nodes. */
+    @Value("${meetings.auto-launch.reload-overlap:10s}")
+    private Duration reloadOverlap;
+
+    private HashedTimingWheel<Long>  wheel;
+    private ScheduledExecutorService reloader;
+
+    // meetingId → scheduledDate the timeout was set for (needed for the claim)
+    private final Map<Long, LocalDateTime> scheduledFor = new ConcurrentHashMap<>();
+
+    private volatile LocalDateTime watermark;
+    private volatile LocalDateTime loadedUntil;
+
+    private Counter launched;
+    private Counter claimLost;
+
+    public MeetingAutoLaunchScheduler(MeetingRepository meetingRepository,
+                                      MeetingInviteDispatcher meetingInviteDispatcher,
+                                      ClusterLeaseService clusterLeaseService,
+                                      TransactionTemplate transactionTemplate,
+                                      @Qualifier("firefliesInviteExecutor") Executor firefliesInviteExecutor,
+                                      MeterRegistry meterRegistry) {
+        this.meetingRepository       = meetingRepository;
+        this.meetingInviteDispatcher = meetingInviteDispatcher;
+        this.clusterLeaseService     = clusterLeaseService;
+        this.transactionTemplate     = transactionTemplate;
+        this.firefliesInviteExecutor = firefliesInviteExecutor;
+        this.meterRegistry           = meterRegistry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Meeting auto-launch disabled");
+            return;
+        }
+
+        wheel = new HashedTimingWheel<>("auto-launch-wheel", Duration.ofSeconds(1), 4096,
+                this::launch, firefliesInviteExecutor);
+
+        Gauge.builder("meetings.autolaunch.pending", wheel, HashedTimingWheel::size)
+                .description("Meetings waiting in the auto-launch timing wheel")
+                .register(meterRegistry);
+        launched = Counter.builder("meetings.autolaunch.launched")
+                .description("Meetings auto-launched by this node")
+                .register(meterRegistry);
+        claimLost = Counter.builder("meetings.autolaunch.claim.lost")
+                .description("Auto-launch claims won by another node or invalidated by a change")
+                .register(meterRegistry);
+
+        LocalDateTime now = LocalDateTime.now();
+        watermark = now.minus(reloadOverlap);
+        loadWindow(now.minus(lateGrace), now.plus(horizon));
+        loadedUntil = now.plus(horizon);
+        log.info("Meeting auto-launch started: {} meeting(s) in the next {}h, shard {}/{}", wheel.size(),
+                horizon.toHours(), clusterLeaseService.shard().index(), clusterLeaseService.shard().count());
+
+        reloader = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "auto-launch-reload"));
+        reloader.scheduleWithFixedDelay(this::reloadSafely,
+                reloadInterval.toMillis(), reloadInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (reloader != null) reloader.shutdownNow();
+        if (wheel != null) wheel.stop();
+    }
+
+    // ─────────────────────────────────────────────
+    // Loading
+    // ─────────────────────────────────────────────
+
+    private int loadWindow(LocalDateTime from, LocalDateTime to) {
+        int count = 0;
+        long afterId = 0;
+        while (true) {
+            List<AutoLaunchRow> rows = meetingRepository.findLaunchable(from, to, afterId, Limit.of(PAGE_SIZE));
+            rows.forEach(this::apply);
+            count += rows.size();
+            if (rows.size() < PAGE_SIZE) return count;
+            afterId = rows.get(rows.size() - 1).id();
+        }
+    }
+
+    /** Re-applies the whole window under the new shard: takes on new meetings, drops handed-off ones. */
+    @EventListener
+    public void onMembershipChanged(ClusterMembershipChangedEvent event) {
+        if (reloader == null) return;
+        reloader.execute(() -> {
+            try {
+                LocalDateTime now = LocalDateTime.now();
+                int loaded = loadWindow(now.minus(lateGrace), loadedUntil);
+                log.info("Auto-launch rebalanced to shard {}/{}: {} launchable meeting(s) re-checked, {} pending",
+                        event.shard().index(), event.shard().count(), loaded, wheel.size());
+            } catch (Exception e) {
+                log.error("Auto-launch rebalance failed: {}", e.getMessage(), e);
+            }
+        });
+    }
+
+    private void reloadSafely() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("Auto-launch reload failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /** Incremental: changed rows since the watermark + meetings that entered the horizon. */
+    void reload() {
+        LocalDateTime now = LocalDateTime.now();
+
+        LocalDateTime since = watermark;
+        LocalDateTime newest = since;
+        long afterId = 0;
+        int changed = 0;
+        while (true) {
+            List<AutoLaunchRow> rows = meetingRepository.findChangedSince(since, afterId, Limit.of(PAGE_SIZE));
+            rows.forEach(this::apply);
+            changed += rows.size();
+            if (!rows.isEmpty()) {
+                AutoLaunchRow last = rows.get(rows.size() - 1);
+                if (last.updatedAt() != null && last.updatedAt().isAfter(newest)) newest = last.updatedAt();
+                since   = last.updatedAt();
+                afterId = last.id();
+            }
+            if (rows.size() < PAGE_SIZE) break;
+        }
+        // Never moves backwards; with no changes it catches up to now
+        LocalDateTime next = (changed == 0 ? now : min(newest, now)).minus(reloadOverlap);
+        if (next.isAfter(watermark)) watermark = next;
+
+        LocalDateTime horizonEnd = now.plus(horizon);
+        int entered = loadWindow(loadedUntil, horizonEnd);
+        loadedUntil = horizonEnd;
+
+        if (changed > 0 || entered > 0) {
+            log.debug("Auto-launch reload: {} changed, {} entered horizon, {} pending",
+                    changed, entered, wheel.size());
+        }
+    }
+
+    private void apply(AutoLaunchRow row) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean inWindow = row.scheduledDate() != null
+                && row.scheduledDate().isAfter(now.minus(lateGrace))
+                && !row.scheduledDate().isAfter(now.plus(horizon));
+
+        if (!row.launchable() || !inWindow || !clusterLeaseService.shard().owns(row.id())) {
+            if (wheel.cancel(row.id())) scheduledFor.remove(row.id());
+            return;
+        }
+        if (row.scheduledDate().equals(scheduledFor.get(row.id())) && wheel.contains(row.id())) {
+            return;   // unchanged
+        }
+
+        Duration delay = Duration.between(now, row.scheduledDate().minus(leadTime));
+        scheduledFor.put(row.id(), row.scheduledDate());
+        wheel.schedule(row.id(), delay.isNegative() ? Duration.ZERO : delay);
+    }
+
+    // ─────────────────────────────────────────────
+    // Expiry
+    // ─────────────────────────────────────────────
+
+    private void launch(Long meetingId) {
+        LocalDateTime scheduledDate = scheduledFor.remove(meetingId);
+        if (scheduledDate == null) return;
+
+        try {
+            // Claim and outbox row commit together — a won claim always has its invite queued
+            Boolean claimed = transactionTemplate.execute(status -> {
+                if (!meetingRepository.claimForAutoLaunch(meetingId, scheduledDate)) return false;
+                meetingRepository.findById(meetingId).ifPresent(meetingInviteDispatcher::enqueue);
+                return true;
+            });
+            if (!Boolean.TRUE.equals(claimed)) {
+                claimLost.increment();
+                log.debug("Auto-launch of meeting {} claimed elsewhere or changed", meetingId);
+                return;
+            }
+
+            log.info("Auto-launched meeting {} (starts {})", meetingId, scheduledDate);
+            launched.increment();
+
+        } catch (Exception e) {
+            log.error("Auto-launch of meeting {} failed: {}", meetingId, e.getMessage(), e);
+        }
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -0,0 +1,126 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.Tkmind.fireflies_proxy.dto.request.MeetingScheduleRequest;
+import com.Tkmind.fireflies_proxy.dto.response.MeetingBatchScheduleResponse;
+import com.Tkmind.fireflies_proxy.entity.Meeting;
+import com.Tkmind.fireflies_proxy.entity.User;
+import com.Tkmind.fireflies_proxy.repository.MeetingRepository;
+import com.Tkmind.fireflies_proxy.security.CurrentUser;
+import com.Tkmind.fireflies_proxy.security.UserQuotaService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk variant of {@link MeetingService#scheduleMeeting} for calendar sync.
+ *
+ *  1. The request is validated as a whole before this runs (bean validation).
+ *  2. All meetings and their outbox rows are
+ *     inserted with JDBC batches in one transaction — all or nothing.
+ *  3. Bot invites are sent after commit by {@link MeetingInviteDispatcher};
+ *     each item's meeting reports its progress in inviteStatus.
+ *
+ * An invite failure never undoes the meeting; a FAILED invite can be retried
+ * through /launch.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MeetingBatchService {
+
+    private static final String QUEUED = "QUEUED";
+
+    private final MeetingService          meetingService;
+    private final MeetingRepository       meetingRepository;
+    private final MeetingInviteDispatcher meetingInviteDispatcher;
+    private final TransactionTemplate     transactionTemplate;
+    private final UserQuotaService        userQuotaService;
+
+    public MeetingBatchScheduleResponse scheduleMeetings(CurrentUser user, List<MeetingScheduleRequest> items) {
+
+        User owner = meetingService.userReference(user);
+
+        String[] inviteStatus = planInvites(items);
+        int invites = (int) Arrays.stream(inviteStatus).filter(QUEUED::equals).count();
+        userQuotaService.acquire(user, UserQuotaService.Quota.FIREFLIES, invites);
+
+        List<Meeting> meetings = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            MeetingScheduleRequest request = items.get(i);
+            meetings.add(Meeting.builder()
+                    .user(owner)
+                    .title(request.getTitle())
+                    .scheduledDate(request.getScheduledDate())
+                    .participants(request.getParticipants() != null
+                            ? String.join(",", request.getParticipants())
+                            : null)
+                    .meetingUrl(request.getMeetingUrl())
+                    .status(Meeting.MeetingStatus.SCHEDULED)
+                    .inviteStatus(QUEUED.equals(inviteStatus[i])
+                            ? Meeting.InviteStatus.PENDING
+                            : Meeting.InviteStatus.NONE)
+                    .build());
+        }
+
+        long start = System.nanoTime();
+        List<Long> queued = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            meetingRepository.insertAll(meetings);
+            for (int i = 0; i < meetings.size(); i++) {
+                if (QUEUED.equals(inviteStatus[i])) queued.add(meetings.get(i).getId());
+            }
+            meetingInviteDispatcher.enqueueNew(queued);
+        });
+        log.info("Batch: {} meetings scheduled by {} ({} invites queued) in {} ms", meetings.size(),
+                user.email(), queued.size(), (System.nanoTime() - start) / 1_000_000);
+
+        List<MeetingBatchScheduleResponse.Item> results = new ArrayList<>(items.size());
+        for (int i = 0; i < meetings.size(); i++) {
+            results.add(MeetingBatchScheduleResponse.Item.builder()
+                    .index(i)
+                    .meeting(meetingService.mapToResponse(meetings.get(i)))
+                    .botInvite(inviteStatus[i])
+                    .build());
+        }
+
+        return MeetingBatchScheduleResponse.builder()
+                .created(meetings.size())
+                .invitesQueued(queued.size())
+                .results(results)
+                .build();
+    }
+
+    // ─────────────────────────────────────────────
+    // Bot invites
+    // ─────────────────────────────────────────────
+
+    /** Decides per item whether an invite is queued, before anything is written. */
+    private String[] planInvites(List<MeetingScheduleRequest> items) {
+        String[] status = new String[items.size()];
+
+        // One invite per meeting URL — fireflies_meeting_id (= URL) is unique
+        Map<String, Integer> firstByUrl = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            String url = items.get(i).getMeetingUrl();
+            if (!items.get(i).isInviteBot() || url == null || url.isBlank()) {
+                status[i] = "SKIPPED";
+            } else if (firstByUrl.putIfAbsent(url, i) != null) {
+                status[i] = "DUPLICATE_URL";
+            }
+        }
+        if (firstByUrl.isEmpty()) return status;
+
+        Set<String> taken = new HashSet<>(meetingRepository.findExistingFirefliesMeetingIds(firstByUrl.keySet()));
+        firstByUrl.forEach((url, i) -> status[i] = taken.contains(url) ? "ALREADY_INVITED" : QUEUED);
+        return status;
+    }
+}
@@ -0,0 +1,421 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.Tkmind.fireflies_proxy.entity.Meeting;
+import com.Tkmind.fireflies_proxy.entity.MeetingInviteOutbox;
+import com.Tkmind.fireflies_proxy.event.MeetingInviteQueuedEvent;
+import com.Tkmind.fireflies_proxy.repository.ClaimedInviteRow;
+import com.Tkmind.fireflies_proxy.repository.MeetingInviteOutboxRepository;
+import com.Tkmind.fireflies_proxy.repository.MeetingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fireflies bot invites as a transactional outbox.
+ *
+ *  - {@link #enqueue} writes a meeting_invite_outbox row and sets the
+ *    meeting's invite_status to PENDING, inside the caller's transaction —
+ *    schedule / launch never wait on Fireflies.
+ *  - After commit (or at the next poll) due rows are claimed with
+ *    SELECT ... FOR UPDATE SKIP LOCKED, so replicas polling at once take
+ *    disjoint rows and throughput grows with the node count. A claim is a
+ *    lease: a row whose node died mid-call becomes due again when it expires.
+ *  - A node claims only as many rows as it can take Fireflies rate-limit
+ *    permits for right now, and takes the permit without waiting right
+ *    before the call, so a claimed row is sent at once instead of waiting out
+ *    its lease on the limiter (and being re-claimed and sent twice by
+ *    another node). Rows settled without a call (meeting deleted, already
+ *    invited, no URL) spend no permit. The writes that settle a row are
+ *    fenced on the claim's attempt count.
+ *  - Invites are pipelined: the DB reads / writes around a call run on
+ *    firefliesInviteExecutor, the addToLiveMeeting call itself is async and
+ *    holds no thread, so up to {@code meetings.invite.batch-size} calls are in
+ *    flight from a few threads.
+ *  - Failures are retried with exponential backoff up to
+ *    {@code meetings.invite.max-attempts}; then invite_status becomes FAILED.
+ *    A successful invite deletes the row and sets invite_status INVITED.
+ */
+@Service
+@Slf4j
+public class MeetingInviteDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final MeetingInviteOutboxRepository outboxRepository;
+    private final MeetingRepository             meetingRepository;
+    private final FirefliesApiService           firefliesApiService;
+    private final FirefliesRateLimiter          rateLimiter;
+    private final TransactionTemplate           transactionTemplate;
+    private final ApplicationEventPublisher     eventPublisher;
+    private final Executor                      firefliesInviteExecutor;
+
+    @Value("${meetings.invite.dispatcher.enabled:true}")
+    private boolean enabled;
+
+    @Value("${meetings.invite.poll-interval:5s}")
+    private Duration pollInterval;
+
+    /** Upper bound of invites in flight on this node. */
+    @Value("${meetings.invite.batch-size:50}")
+    private int batchSize;
+
+    @Value("${meetings.invite.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${meetings.invite.base-backoff:30s}")
+    private Duration baseBackoff;
+
+    @Value("${meetings.invite.max-backoff:30m}")
+    private Duration maxBackoff;
+
+    /** How long a claimed row stays with one node before others may retry it. */
+    @Value("${meetings.invite.lease:2m}")
+    private Duration lease;
+
+    private ScheduledExecutorService poller;
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+    private final AtomicInteger inFlight      = new AtomicInteger();
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+
+    public MeetingInviteDispatcher(MeetingInviteOutboxRepository outboxRepository,
+                                   MeetingRepository meetingRepository,
+                                   FirefliesApiService firefliesApiService,
+                                   FirefliesRateLimiter rateLimiter,
+                                   TransactionTemplate transactionTemplate,
+                                   ApplicationEventPublisher eventPublisher,
+                                   @Qualifier("firefliesInviteExecutor") Executor firefliesInviteExecutor,
+                                   MeterRegistry meterRegistry) {
+        this.outboxRepository        = outboxRepository;
+        this.meetingRepository       = meetingRepository;
+        this.firefliesApiService     = firefliesApiService;
+        this.rateLimiter             = rateLimiter;
+        this.transactionTemplate     = transactionTemplate;
+        this.eventPublisher          = eventPublisher;
+        this.firefliesInviteExecutor = firefliesInviteExecutor;
+
+        Gauge.builder("meetings.invite.inflight", inFlight, AtomicInteger::get)
+                .description("Fireflies bot invites being sent by this node")
+                .register(meterRegistry);
+        sent = Counter.builder("meetings.invite.sent")
+                .description("Fireflies bot invites that succeeded")
+                .register(meterRegistry);
+        retried = Counter.builder("meetings.invite.retried")
+                .description("Fireflies bot invites re-queued after a failure")
+                .register(meterRegistry);
+        failed = Counter.builder("meetings.invite.failed")
+                .description("Fireflies bot invites that ran out of attempts")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Meeting invite dispatcher disabled");
+            return;
+        }
+
+        poller = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "invite-dispatcher"));
+        poller.scheduleWithFixedDelay(this::pollSafely, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Meeting invite dispatcher started (poll every {}s)", pollInterval.toSeconds());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (poller != null) poller.shutdownNow();
+    }
+
+    // ─────────────────────────────────────────────
+    // Enqueue (caller's transaction)
+    // ─────────────────────────────────────────────
+
+    /**
+     * Queues a bot invite for a managed meeting. A row that is already
+     * pending or in flight is left alone; a FAILED one is restarted.
+     */
+    @Transactional
+    public void enqueue(Meeting meeting) {
+        if (meeting.getFirefliesMeetingId() != null) {
+            log.info("Bot already invited for meeting {}", meeting.getId());
+            return;
+        }
+
+        MeetingInviteOutbox row = outboxRepository.findByMeetingId(meeting.getId()).orElse(null);
+        if (row != null && row.getStatus() != MeetingInviteOutbox.Status.FAILED) {
+            log.info("Bot invite for meeting {} already queued", meeting.getId());
+            return;
+        }
+        if (row == null) {
+            row = MeetingInviteOutbox.builder().meetingId(meeting.getId()).build();
+        }
+        row.setStatus(MeetingInviteOutbox.Status.PENDING);
+        row.setAttempts(0);
+        row.setNextAttemptAt(LocalDateTime.now());
+        row.setLastError(null);
+        outboxRepository.save(row);
+
+        meeting.setInviteStatus(Meeting.InviteStatus.PENDING);
+        meeting.setInviteError(null);
+
+        eventPublisher.publishEvent(new MeetingInviteQueuedEvent(List.of(meeting.getId())));
+    }
+
+    /**
+     * Queues invites for meetings inserted in the current transaction with
+     * invite_status already PENDING (batch schedule).
+     */
+    @Transactional
+    public void enqueueNew(List<Long> meetingIds) {
+        if (meetingIds.isEmpty()) return;
+        outboxRepository.insertPending(meetingIds);
+        eventPublisher.publishEvent(new MeetingInviteQueuedEvent(meetingIds));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInviteQueued(MeetingInviteQueuedEvent event) {
+        if (poller == null || !wakeUpPending.compareAndSet(false, true)) return;
+        poller.execute(() -> {
+            wakeUpPending.set(false);
+            pollSafely();
+        });
+    }
+
+    // ─────────────────────────────────────────────
+    // Dispatch
+    // ─────────────────────────────────────────────
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (Exception e) {
+            log.error("Invite outbox poll failed: {}", e.getMessage(), e);
+        }
+    }
+
+    void poll() {
+        // One permit per claimed row: rows the limiter could not serve now stay unclaimed
+        int capacity = Math.min(batchSize - inFlight.get(), rateLimiter.availableNow());
+        if (capacity <= 0) return;
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ClaimedInviteRow> rows = outboxRepository.claimDue(now, now.plus(lease), capacity);
+        for (int i = 0; i < rows.size(); i++) {
+            ClaimedInviteRow row = rows.get(i);
+            inFlight.incrementAndGet();
+            try {
+                firefliesInviteExecutor.execute(() -> {
+                    CompletableFuture<Void> settled;
+                    try {
+                        settled = dispatch(row);
+                    } catch (RuntimeException e) {
+                        settled = CompletableFuture.failedFuture(e);
+                    }
+                    settled.whenComplete((ignored, error) -> {
+                        inFlight.decrementAndGet();
+                        if (error != null) {
+                            // e.g. executor saturated — the lease expires and the row is retried
+                            log.warn("Bot invite for meeting {} not settled: {}",
+                                    row.meetingId(), unwrap(error).getMessage());
+                        }
+                    });
+                });
+            } catch (RuntimeException e) {
+                // Executor saturated — hand the rest back for the next poll
+                inFlight.decrementAndGet();
+                log.warn("Invite executor rejected meeting {}: {}", row.meetingId(), e.getMessage());
+                outboxRepository.unclaim(rows.subList(i, rows.size()), now);
+                return;
+            }
+        }
+    }
+
+    /** Completes once the outcome of the invite is written back. */
+    private CompletableFuture<Void> dispatch(ClaimedInviteRow row) {
+        Long meetingId = row.meetingId();
+        int  attempt   = row.attempt();
+        Meeting meeting = meetingRepository.findById(meetingId).orElse(null);
+        if (meeting == null) {
+            return CompletableFuture.completedFuture(null);   // deleted — the outbox row went with it
+        }
+
+        if (meeting.getFirefliesMeetingId() != null) {
+            complete(row);
+            return CompletableFuture.completedFuture(null);
+        }
+        if (meeting.getMeetingUrl() == null || meeting.getMeetingUrl().isBlank()) {
+            giveUp(row, "No meeting URL available");
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!rateLimiter.tryAcquire()) {
+            // Taken meanwhile by other Fireflies calls or by the rest of the cluster
+            outboxRepository.unclaim(List.of(row), LocalDateTime.now());
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return requestBotInviteAsync(meeting).handleAsync((invite, error) -> {
+            if (error != null) {
+                String message = unwrap(error).getMessage();
+                log.error("Bot invite failed for meeting {} (attempt {}/{}): {}",
+                        meetingId, attempt, maxAttempts, message);
+                retryOrGiveUp(row, message);
+            } else if (invite.success()) {
+                log.info("Fireflies bot invited to meeting {}: {}", meetingId, invite.message());
+                complete(row);
+            } else {
+                retryOrGiveUp(row, invite.message());
+            }
+            return null;
+        }, firefliesInviteExecutor);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Stores the meeting URL as the lookup key — addToLiveMeeting does not
+     * return Fireflies' meetingId. WebhookService overwrites it with the real
+     * id when the webhook arrives.
+     */
+    private void complete(ClaimedInviteRow row) {
+        Long meetingId = row.meetingId();
+        Boolean settled = transactionTemplate.execute(status -> {
+            if (!outboxRepository.deleteClaimed(row)) return false;
+            meetingRepository.findById(meetingId).ifPresent(meeting -> {
+                if (meeting.getFirefliesMeetingId() == null) {
+                    String url = meeting.getMeetingUrl();
+                    // fireflies_meeting_id is unique — another meeting may already own this URL
+                    boolean taken = !meetingRepository.findExistingFirefliesMeetingIds(List.of(url)).isEmpty();
+                    if (taken) {
+                        log.warn("Meeting URL of meeting {} is already tracked by another meeting", meetingId);
+                    } else {
+                        meeting.setFirefliesMeetingId(url);
+                    }
+                }
+                meeting.setInviteStatus(Meeting.InviteStatus.INVITED);
+                meeting.setInviteError(null);
+            });
+            return true;
+        });
+        if (Boolean.TRUE.equals(settled)) {
+            sent.increment();
+        } else {
+            claimLost(row);
+        }
+    }
+
+    private void retryOrGiveUp(ClaimedInviteRow row, String error) {
+        int attempt = row.attempt();
+        if (attempt >= maxAttempts) {
+            giveUp(row, error);
+            return;
+        }
+
+        long exponential = baseBackoff.toMillis() << Math.min(attempt - 1, 16);
+        long delay = Math.min(exponential, maxBackoff.toMillis());
+        delay += ThreadLocalRandom.current().nextLong(delay / 5 + 1);   // jitter
+        LocalDateTime next = LocalDateTime.now().plus(Duration.ofMillis(delay));
+
+        Boolean settled = transactionTemplate.execute(status -> {
+            if (!outboxRepository.reschedule(row, next, truncate(error))) return false;
+            // Still PENDING; the error tells the client why it is taking a while
+            meetingRepository.findById(row.meetingId()).ifPresent(m -> m.setInviteError(truncate(error)));
+            return true;
+        });
+        if (!Boolean.TRUE.equals(settled)) {
+            claimLost(row);
+            return;
+        }
+        retried.increment();
+        log.warn("Bot invite for meeting {} failed (attempt {}/{}) — retrying in {}s: {}",
+                row.meetingId(), attempt, maxAttempts, delay / 1000, error);
+    }
+
+    private void giveUp(ClaimedInviteRow row, String error) {
+        Boolean settled = transactionTemplate.execute(status -> {
+            if (!outboxRepository.markFailed(row, truncate(error))) return false;
+            meetingRepository.findById(row.meetingId()).ifPresent(m -> {
+                m.setInviteStatus(Meeting.InviteStatus.FAILED);
+                m.setInviteError(truncate(error));
+            });
+            return true;
+        });
+        if (!Boolean.TRUE.equals(settled)) {
+            claimLost(row);
+            return;
+        }
+        failed.increment();
+        log.warn("Bot invite for meeting {} failed permanently: {}", row.meetingId(), error);
+    }
+
+    /** The lease ran out and the row was re-claimed (or re-queued) — its current owner settles it. */
+    private static void claimLost(ClaimedInviteRow row) {
+        log.warn("Claim {} of the bot invite for meeting {} expired before it settled — result not written",
+                row.attempt(), row.meetingId());
+    }
+
+    private static String truncate(String error) {
+        if (error == null) return null;
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    // ─────────────────────────────────────────────
+    // Fireflies call
+    // ─────────────────────────────────────────────
+
+    record BotInvite(boolean success, String message) {
+    }
+
+    /**
+     * Calls addToLiveMeeting without touching the database.
+     * Transport / API errors complete the future exceptionally.
+     */
+    CompletableFuture<BotInvite> requestBotInviteAsync(Meeting meeting) {
+        return firefliesApiService.addBotToMeetingAsync(meeting.getMeetingUrl(), meeting.getTitle())
+                .thenApply(MeetingInviteDispatcher::toBotInvite);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BotInvite toBotInvite(Map<String, Object> response) {
+        if (response != null && response.containsKey("data")) {
+            Map<String, Object> data = (Map<String, Object>) response.get("data");
+
+            if (data != null && data.containsKey("addToLiveMeeting")) {
+                Map<String, Object> result = (Map<String, Object>) data.get("addToLiveMeeting");
+                Boolean success = result != null ? (Boolean) result.get("success") : null;
+                String message = result != null ? (String) result.get("message") : null;
+                return new BotInvite(Boolean.TRUE.equals(success), message);
+            }
+        }
+        return new BotInvite(false, response != null && response.containsKey("errors")
+                ? String.valueOf(response.get("errors"))
+                : "No addToLiveMeeting result");
+    }
+}
@@ -0,0 +1,157 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.Tkmind.fireflies_proxy.entity.Meeting;
+import com.Tkmind.fireflies_proxy.entity.MeetingUrlKey;
+import com.Tkmind.fireflies_proxy.repository.MeetingRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Webhook correlation index: Fireflies meeting id / canonical meeting URL →
+ * local meeting id.
+ *
+ *  - A bounded Caffeine map, filled on every JPA save (MeetingKeyListener)
+ *    and on every database fallback.
+ *  - A hit is one hash lookup plus a second-level-cache read of the meeting.
+ *    The meeting is re-checked against the key, so an entry left behind by a
+ *    rolled-back save or another node's change is dropped, never trusted.
+ *  - A miss is one indexed query (fireflies_meeting_id or meeting_key).
+ *
+ * When several meetings share a URL (recurring personal rooms) the most
+ * recently saved one wins — the same one the DB fallback returns.
+ */
+@Service
+@Slf4j
+public class MeetingKeyIndex {
+
+    private static final String FIREFLIES_PREFIX = "ff:";
+    private static final String URL_PREFIX       = "key:";
+    private static final int    BACKFILL_PAGE    = 500;
+
+    private final MeetingRepository   meetingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<String, Long> index;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public MeetingKeyIndex(MeetingRepository meetingRepository,
+                           TransactionTemplate transactionTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${meetings.key-index.max-size:100000}") long maxSize) {
+        this.meetingRepository   = meetingRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.index = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+
+        Gauge.builder("meetings.keyindex.size", index, Cache::estimatedSize)
+                .description("Entries in the webhook correlation index")
+                .register(meterRegistry);
+        hits = Counter.builder("meetings.keyindex.lookups").tag("result", "hit")
+                .description("Webhook correlation lookups")
+                .register(meterRegistry);
+        misses = Counter.builder("meetings.keyindex.lookups").tag("result", "miss")
+                .description("Webhook correlation lookups")
+                .register(meterRegistry);
+    }
+
+    // ─────────────────────────────────────────────
+    // Lookups
+    // ─────────────────────────────────────────────
+
+    public Optional<Meeting> findByFirefliesMeetingId(String firefliesMeetingId) {
+        if (firefliesMeetingId == null || firefliesMeetingId.isBlank()) return Optional.empty();
+        return lookup(FIREFLIES_PREFIX + firefliesMeetingId,
+                m -> firefliesMeetingId.equals(m.getFirefliesMeetingId()),
+                () -> meetingRepository.findByFirefliesMeetingId(firefliesMeetingId));
+    }
+
+    /** Any link to the meeting — matched on its {@link MeetingUrlKey}. */
+    public Optional<Meeting> findByUrl(String meetingUrl) {
+        String key = MeetingUrlKey.of(meetingUrl);
+        if (key == null) return Optional.empty();
+        return lookup(URL_PREFIX + key,
+                m -> key.equals(m.getMeetingKey()),
+                () -> meetingRepository.findFirstByMeetingKeyOrderByIdDesc(key));
+    }
+
+    private Optional<Meeting> lookup(String indexKey, Predicate<Meeting> stillMatches,
+                                     Supplier<Optional<Meeting>> fromDatabase) {
+        Long id = index.getIfPresent(indexKey);
+        if (id != null) {
+            Optional<Meeting> hit = meetingRepository.findById(id).filter(stillMatches);
+            if (hit.isPresent()) {
+                hits.increment();
+                return hit;
+            }
+            index.invalidate(indexKey);
+        }
+
+        misses.increment();
+        Optional<Meeting> found = fromDatabase.get();
+        found.ifPresent(m -> index.put(indexKey, m.getId()));
+        return found;
+    }
+
+    // ─────────────────────────────────────────────
+    // Maintenance (MeetingKeyListener)
+    // ─────────────────────────────────────────────
+
+    public void put(Meeting meeting) {
+        if (meeting.getId() == null) return;
+        if (meeting.getFirefliesMeetingId() != null) {
+            index.put(FIREFLIES_PREFIX + meeting.getFirefliesMeetingId(), meeting.getId());
+        }
+        if (meeting.getMeetingKey() != null) {
+            index.put(URL_PREFIX + meeting.getMeetingKey(), meeting.getId());
+        }
+    }
+
+    public void remove(Meeting meeting) {
+        if (meeting.getFirefliesMeetingId() != null) {
+            index.asMap().remove(FIREFLIES_PREFIX + meeting.getFirefliesMeetingId(), meeting.getId());
+        }
+        if (meeting.getMeetingKey() != null) {
+            index.asMap().remove(URL_PREFIX + meeting.getMeetingKey(), meeting.getId());
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Backfill — rows written before meeting_key existed
+    // ─────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMeetingKeys() {
+        long afterId = 0;
+        int updated = 0;
+        while (true) {
+            long from = afterId;
+            List<Meeting> rows = transactionTemplate.execute(status -> {
+                List<Meeting> page = meetingRepository.findMissingMeetingKey(from, Limit.of(BACKFILL_PAGE));
+                page.forEach(m -> m.setMeetingKey(MeetingUrlKey.of(m.getMeetingUrl())));
+                return page;
+            });
+            if (rows == null || rows.isEmpty()) break;
+            updated += (int) rows.stream().filter(m -> m.getMeetingKey() != null).count();
+            afterId = rows.get(rows.size() - 1).getId();
+            if (rows.size() < BACKFILL_PAGE) break;
+        }
+        if (updated > 0) log.info("Backfilled meeting_key for {} meeting(s)", updated);
+    }
+}
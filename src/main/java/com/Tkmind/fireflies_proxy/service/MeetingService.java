@@ -2,11 +2,20 @@ package com.Tkmind.fireflies_proxy.service;
 
 import com.Tkmind.fireflies_proxy.dto.request.MeetingLaunchRequest;
 import com.Tkmind.fireflies_proxy.dto.request.MeetingScheduleRequest;
+import com.Tkmind.fireflies_proxy.dto.response.CursorPage;
 import com.Tkmind.fireflies_proxy.dto.response.MeetingResponse;
 import com.Tkmind.fireflies_proxy.entity.Meeting;
 import com.Tkmind.fireflies_proxy.entity.User;
+import com.Tkmind.fireflies_proxy.repository.FieldSelection;
+import com.Tkmind.fireflies_proxy.repository.MeetingFieldsRow;
 import com.Tkmind.fireflies_proxy.repository.MeetingRepository;
+import com.Tkmind.fireflies_proxy.repository.MeetingPageQuery;
+import com.Tkmind.fireflies_proxy.repository.MeetingRepositoryCustom;
 import com.Tkmind.fireflies_proxy.repository.UserRepository;
+import com.Tkmind.fireflies_proxy.security.CurrentUser;
+import com.Tkmind.fireflies_proxy.security.UserQuotaService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,6 +24,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,19 +34,19 @@ public class MeetingService {
 
     private final MeetingRepository meetingRepository;
     private final UserRepository userRepository;
-    private final FirefliesApiService firefliesApiService;
+    private final MeetingInviteDispatcher meetingInviteDispatcher;
+    private final UserQuotaService userQuotaService;
+    private final ObjectMapper objectMapper;
 
     // ─────────────────────────────────────────────
     // Schedule Meeting
     // ─────────────────────────────────────────────
 
     @Transactional
-    public MeetingResponse scheduleMeeting(String userEmail, MeetingScheduleRequest request) {
-
-        User user = findUserOrThrow(userEmail);
+    public MeetingResponse scheduleMeeting(CurrentUser user, MeetingScheduleRequest request) {
 
         Meeting meeting = Meeting.builder()
-                .user(user)
+                .user(userReference(user))
                 .title(request.getTitle())
                 .scheduledDate(request.getScheduledDate())
                 .participants(request.getParticipants() != null
@@ -48,14 +58,15 @@ public class MeetingService {
 
         meeting = meetingRepository.save(meeting);
 
-        log.info("Meeting {} scheduled by {}", meeting.getId(), userEmail);
+        log.info("Meeting {} scheduled by {}", meeting.getId(), user.email());
 
-        // Auto invite bot if URL exists
+        // Auto invite bot if URL exists — queued, sent after commit
         if (request.isInviteBot()
                 && request.getMeetingUrl() != null
                 && !request.getMeetingUrl().isBlank()) {
 
-            meeting = inviteBotSafely(meeting);
+            userQuotaService.acquire(user, UserQuotaService.Quota.FIREFLIES);
+            meetingInviteDispatcher.enqueue(meeting);
         }
 
         return mapToResponse(meeting);
@@ -66,18 +77,24 @@ public class MeetingService {
     // ─────────────────────────────────────────────
 
     @Transactional
-    public MeetingResponse launchMeeting(String userEmail, MeetingLaunchRequest request) {
+    public MeetingResponse launchMeeting(CurrentUser user, MeetingLaunchRequest request) {
 
         Meeting meeting = meetingRepository.findById(request.getMeetingId())
                 .orElseThrow(() ->
                         new EntityNotFoundException("Meeting not found: " + request.getMeetingId()));
 
-        if (!meeting.getUser().getEmail().equalsIgnoreCase(userEmail)) {
+        if (!meeting.getUser().getId().equals(user.id())) {
             throw new SecurityException("Unauthorized: meeting belongs to another user");
         }
 
         if (meeting.getStatus() == Meeting.MeetingStatus.IN_PROGRESS) {
-            log.info("Meeting {} already launched", meeting.getId());
+            if (meeting.getInviteStatus() == Meeting.InviteStatus.FAILED) {
+                log.info("Meeting {} already launched — re-queueing failed bot invite", meeting.getId());
+                userQuotaService.acquire(user, UserQuotaService.Quota.FIREFLIES);
+                meetingInviteDispatcher.enqueue(meeting);
+            } else {
+                log.info("Meeting {} already launched", meeting.getId());
+            }
             return mapToResponse(meeting);
         }
 
@@ -89,12 +106,15 @@ public class MeetingService {
             throw new IllegalArgumentException("No meeting URL available. Provide meetingUrl.");
         }
 
+        if (meeting.getFirefliesMeetingId() == null) {
+            userQuotaService.acquire(user, UserQuotaService.Quota.FIREFLIES);
+        }
         meeting.setStatus(Meeting.MeetingStatus.IN_PROGRESS);
         meeting = meetingRepository.save(meeting);
 
-        log.info("Meeting {} launched by {}", meeting.getId(), userEmail);
+        log.info("Meeting {} launched by {}", meeting.getId(), user.email());
 
-        meeting = inviteBotSafely(meeting);
+        meetingInviteDispatcher.enqueue(meeting);
 
         return mapToResponse(meeting);
     }
@@ -104,22 +124,26 @@ public class MeetingService {
     // ─────────────────────────────────────────────
 
     @Transactional(readOnly = true)
-    public List<MeetingResponse> getUserMeetings(String userEmail) {
-        User user = findUserOrThrow(userEmail);
-        return meetingRepository
-                .findByUserIdOrderByScheduledDateDesc(user.getId())
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public CursorPage<MeetingResponse> getUserMeetings(CurrentUser user, MeetingPageQuery page) {
+        List<Meeting> rows = meetingRepository.findPageByUserId(user.id(), page);
+
+        boolean hasNext = page.paged() && rows.size() > page.limit();
+        List<Meeting> items = hasNext ? rows.subList(0, page.limit()) : rows;
+        Meeting last = hasNext ? items.get(items.size() - 1) : null;
+
+        return CursorPage.<MeetingResponse>builder()
+                .items(items.stream().map(this::mapToResponse).collect(Collectors.toList()))
+                .nextCursor(last != null ? MeetingPageQuery.cursorOf(last.getScheduledDate(), last.getId()) : null)
+                .build();
     }
 
     @Transactional(readOnly = true)
-    public MeetingResponse getMeetingById(String userEmail, Long meetingId) {
+    public MeetingResponse getMeetingById(CurrentUser user, Long meetingId) {
         Meeting meeting = meetingRepository.findById(meetingId)
                 .orElseThrow(() ->
                         new EntityNotFoundException("Meeting not found: " + meetingId));
 
-        if (!meeting.getUser().getEmail().equalsIgnoreCase(userEmail)) {
+        if (!meeting.getUser().getId().equals(user.id())) {
             throw new SecurityException("Unauthorized access");
         }
 
@@ -127,75 +151,58 @@ public class MeetingService {
     }
 
     // ─────────────────────────────────────────────
-    // Fireflies Bot Invite
+    // Projected Reads (?fields=title,status,...)
     // ─────────────────────────────────────────────
 
-    /**
-     * Invite Fireflies bot and store the meeting URL as the lookup key.
-     *
-     * ⚠️  The addToLiveMeeting mutation returns only {success, message} —
-     * Fireflies does NOT return their internal meetingId at invite time.
-     * We store the meeting URL as firefliesMeetingId so that:
-     *   - the WebhookService can later update it with the real Fireflies meetingId
-     *   - GET /transcript can fall back to fetching by URL match
-     */
-    @SuppressWarnings("unchecked")
-    public Meeting inviteBotSafely(Meeting meeting) {
-
-        // Prevent duplicate invite
-        if (meeting.getFirefliesMeetingId() != null) {
-            log.info("Bot already invited for meeting {}", meeting.getId());
-            return meeting;
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> getUserMeetingFields(CurrentUser user, String fields,
+                                                                MeetingPageQuery page) {
+        Set<String> selected = FieldSelection.parse(fields, MeetingRepositoryCustom.PROJECTABLE_FIELDS);
+        List<MeetingFieldsRow> rows = meetingRepository.findFieldsPageByUserId(user.id(), page, selected);
+
+        boolean hasNext = page.paged() && rows.size() > page.limit();
+        List<MeetingFieldsRow> items = hasNext ? rows.subList(0, page.limit()) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            MeetingFieldsRow last = items.get(items.size() - 1);
+            nextCursor = MeetingPageQuery.cursorOf(last.scheduledDate(), last.id());
         }
 
-        try {
-            Map<String, Object> response =
-                    firefliesApiService.addBotToMeeting(
-                            meeting.getMeetingUrl(),
-                            meeting.getTitle());
-
-            if (response != null && response.containsKey("data")) {
-                Map<String, Object> data = (Map<String, Object>) response.get("data");
-
-                if (data != null && data.containsKey("addToLiveMeeting")) {
-                    Map<String, Object> result = (Map<String, Object>) data.get("addToLiveMeeting");
-                    Boolean success = result != null ? (Boolean) result.get("success") : null;
-                    String message = result != null ? (String) result.get("message") : null;
-
-                    if (Boolean.TRUE.equals(success)) {
-                        // ✅ Store meeting URL as the lookup key.
-                        // WebhookService will overwrite this with the real Fireflies meetingId
-                        // when the webhook arrives.
-                        meeting.setFirefliesMeetingId(meeting.getMeetingUrl());
-                        meeting = meetingRepository.save(meeting);
-                        log.info("Fireflies bot invited to meeting {}: {}", meeting.getId(), message);
-                    } else {
-                        log.warn("Fireflies bot invite returned success=false for meeting {}: {}",
-                                meeting.getId(), message);
-                    }
-                }
-            }
+        return CursorPage.<Map<String, Object>>builder()
+                .items(items.stream().map(row -> selectFields(row, selected)).toList())
+                .nextCursor(nextCursor)
+                .build();
+    }
 
-        } catch (Exception e) {
-            log.error("Bot invite failed for meeting {}: {}", meeting.getId(), e.getMessage());
-        }
+    @Transactional(readOnly = true)
+    public Map<String, Object> getMeetingFields(CurrentUser user, Long meetingId, String fields) {
+        Set<String> selected = FieldSelection.parse(fields, MeetingRepositoryCustom.PROJECTABLE_FIELDS);
 
-        return meeting;
+        return meetingRepository
+                .findFieldsByIdAndUserId(meetingId, user.id(), selected)
+                .map(row -> selectFields(row, selected))
+                // Not found or not owned — the full read raises the matching error
+                .orElseGet(() -> selectFields(getMeetingById(user, meetingId), selected));
+    }
+
+    /** The requested fields of a projection or response, under their JSON names. */
+    private Map<String, Object> selectFields(Object source, Set<String> selected) {
+        Map<String, Object> row = objectMapper.convertValue(source, new TypeReference<>() {});
+        row.keySet().retainAll(selected);
+        return row;
     }
 
     // ─────────────────────────────────────────────
     // Helpers
     // ─────────────────────────────────────────────
 
-    private User findUserOrThrow(String email) {
-        return userRepository.findByEmail(email.trim().toLowerCase())
-                .orElseThrow(() ->
-                        new EntityNotFoundException(
-                                "User not found: " + email +
-                                        ". Please register first via /api/auth/register"));
+    /** The caller is already resolved — a proxy is enough to set the foreign key. */
+    User userReference(CurrentUser user) {
+        return userRepository.getReferenceById(user.id());
     }
 
-    private MeetingResponse mapToResponse(Meeting m) {
+    MeetingResponse mapToResponse(Meeting m) {
         return MeetingResponse.builder()
                 .id(m.getId())
                 .title(m.getTitle())
@@ -204,6 +211,8 @@ public class MeetingService {
                 .meetingUrl(m.getMeetingUrl())
                 .firefliesMeetingId(m.getFirefliesMeetingId())
                 .status(m.getStatus().name())
+                .inviteStatus(m.getInviteStatus().name())
+                .inviteError(m.getInviteError())
                 .createdAt(m.getCreatedAt())
                 .updatedAt(m.getUpdatedAt())
                 .build();
@@ -0,0 +1,16 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.Tkmind.fireflies_proxy.event.TranscriptReadinessEvent;
+
+/**
+ * Relays readiness events between nodes. {@link #publish} is called with
+ * every event committed on this node; events from other nodes are handed to
+ * {@link TranscriptReadinessService#deliver}.
+ *
+ * Without a bridge a client is only woken by writes on the node it is
+ * connected to (its long-poll still answers when the wait runs out).
+ */
+public interface ReadinessEventBridge {
+
+    void publish(TranscriptReadinessEvent event);
+}
@@ -0,0 +1,109 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Cluster quota in Redis (or anything speaking its protocol — Valkey,
+ * KeyDB, a local {@code docker run redis}). Each operation is one Lua script,
+ * so the bucket is updated atomically and timed by the server clock.
+ * Needs Redis 5+ (scripts that write after reading TIME).
+ *
+ * Goes through Spring Data Redis (Lettuce, one shared connection that
+ * reconnects on its own); the server is configured with
+ * {@code fireflies.cluster.redis.*}, mapped onto {@code spring.data.redis.*}
+ * in application.properties. Scripts are sent by SHA once loaded.
+ */
+@Service
+@ConditionalOnProperty(name = "fireflies.cluster.quota", havingValue = "redis")
+@Slf4j
+public class RedisFirefliesQuotaStore implements FirefliesQuotaStore {
+
+    // KEYS[1] bucket hash; ARGV[1] capacity, ARGV[2] period (ms). Returns the wait in ms.
+    private static final RedisScript<Long> ACQUIRE = RedisScript.of("""
+            local t = redis.call('TIME')
+            local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)
+            local capacity = tonumber(ARGV[1])
+            local period = tonumber(ARGV[2])
+            local s = redis.call('HMGET', KEYS[1], 'tokens', 'refilled_at', 'paused_until')
+            local tokens = tonumber(s[1]) or capacity
+            local refilled = tonumber(s[2]) or now
+            local paused = tonumber(s[3]) or 0
+            if now > refilled then
+              tokens = math.min(capacity, tokens + (now - refilled) * capacity / period)
+              refilled = now
+            end
+            local wait = 0
+            if now < paused then
+              wait = paused - now
+            elseif tokens >= 1 then
+              tokens = tokens - 1
+            else
+              wait = math.ceil((1 - tokens) * period / capacity)
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'refilled_at', refilled, 'paused_until', paused)
+            redis.call('PEXPIRE', KEYS[1], math.max(period, paused - now) * 2)
+            return wait
+            """, Long.class);
+
+    // KEYS[1] bucket hash; ARGV[1] pause (ms), ARGV[2] period (ms).
+    private static final RedisScript<Long> PAUSE = RedisScript.of("""
+            local t = redis.call('TIME')
+            local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)
+            local paused = math.max(tonumber(redis.call('HGET', KEYS[1], 'paused_until') or 0), now + tonumber(ARGV[1]))
+            redis.call('HSET', KEYS[1], 'tokens', '0', 'refilled_at', now, 'paused_until', paused)
+            redis.call('PEXPIRE', KEYS[1], math.max(tonumber(ARGV[2]), paused - now) * 2)
+            return paused - now
+            """, Long.class);
+
+    // KEYS[1] bucket hash. Returns the remaining pause in ms (<= 0 when none).
+    private static final RedisScript<Long> PAUSED_FOR = RedisScript.of("""
+            local t = redis.call('TIME')
+            local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)
+            return tonumber(redis.call('HGET', KEYS[1], 'paused_until') or 0) - now
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+    private final List<String>        keys;
+    private final long                capacity;
+    private final long                periodMillis = Duration.ofMinutes(1).toMillis();
+
+    public RedisFirefliesQuotaStore(StringRedisTemplate redis,
+                                    @Value("${fireflies.cluster.redis.key:fireflies:quota}") String key,
+                                    @Value("${fireflies.rate-limit.rpm:50}") int requestsPerMinute) {
+        this.redis    = redis;
+        this.keys     = List.of(key);
+        this.capacity = requestsPerMinute;
+        log.info("Fireflies cluster quota kept in Redis under '{}'", key);
+    }
+
+    @Override
+    public Duration tryAcquire() {
+        long waitMillis = eval(ACQUIRE, String.valueOf(capacity), String.valueOf(periodMillis));
+        return Duration.ofMillis(Math.max(waitMillis, 0));
+    }
+
+    @Override
+    public void pauseFor(Duration duration) {
+        eval(PAUSE, String.valueOf(duration.toMillis()), String.valueOf(periodMillis));
+    }
+
+    @Override
+    public Duration pausedFor() {
+        return Duration.ofMillis(Math.max(eval(PAUSED_FOR), 0));
+    }
+
+    /** Connection and script errors surface as Spring DataAccessExceptions — the limiter falls back. */
+    private long eval(RedisScript<Long> script, String... args) {
+        Long result = redis.execute(script, keys, (Object[]) args);
+        if (result == null) throw new IllegalStateException("Redis returned no result");
+        return result;
+    }
+}
@@ -0,0 +1,180 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.Tkmind.fireflies_proxy.dto.response.SpeakerStatsResponse;
+import com.Tkmind.fireflies_proxy.entity.Meeting;
+import com.Tkmind.fireflies_proxy.entity.SpeakerStats;
+import com.Tkmind.fireflies_proxy.entity.Transcript;
+import com.Tkmind.fireflies_proxy.repository.MeetingRepository;
+import com.Tkmind.fireflies_proxy.repository.SpeakerStatsRepository;
+import com.Tkmind.fireflies_proxy.repository.TranscriptRepository;
+import com.Tkmind.fireflies_proxy.security.CurrentUser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Per-speaker analytics. Rows are written once per transcript — at ingest,
+ * or by the startup backfill for transcripts ingested before analytics
+ * existed — so reads never write. speaker_stats is unique per
+ * (transcript, speaker); a backfill racing another node loses on that
+ * constraint and moves on.
+ *
+ * The backfill runs on its own thread, so startup does not wait for the
+ * scan, under the "speaker-stats-backfill" lease; it stops between pages
+ * once the lease is lost.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SpeakerAnalyticsService {
+
+    private final SpeakerStatsRepository speakerStatsRepository;
+    private final TranscriptRepository   transcriptRepository;
+    private final MeetingRepository      meetingRepository;
+    private final ObjectMapper           objectMapper;
+    private final TransactionTemplate    transactionTemplate;
+    private final ClusterLeaseService    clusterLeaseService;
+
+    private static final int    BACKFILL_PAGE  = 200;
+    private static final String BACKFILL_LEASE = "speaker-stats-backfill";
+
+    private final ExecutorService backfillDriver =
+            Executors.newSingleThreadExecutor(r -> new Thread(r, "speaker-stats-backfill"));
+
+    @PreDestroy
+    void stop() {
+        backfillDriver.shutdownNow();
+    }
+
+    // ── GET per-speaker analytics ─────────────────────────────────────────────
+
+    @Transactional(readOnly = true)
+    public List<SpeakerStatsResponse> getSpeakerStats(CurrentUser user, Long meetingId) {
+
+        Meeting meeting = meetingRepository.findById(meetingId)
+                .orElseThrow(() -> new RuntimeException("Meeting not found: " + meetingId));
+
+        if (!meeting.getUser().getId().equals(user.id())) {
+            throw new SecurityException("Unauthorized");
+        }
+
+        List<SpeakerStats> stats = speakerStatsRepository.findByMeetingIdOrderByTalkTimeSecDesc(meetingId);
+
+        if (stats.isEmpty() && transcriptRepository.findByMeetingId(meetingId).isEmpty()) {
+            throw new RuntimeException("Transcript not ready yet for meeting " + meetingId);
+        }
+
+        return stats.stream().map(this::mapToResponse).toList();
+    }
+
+    // ── Called by TranscriptService at ingest ─────────────────────────────────
+
+    void store(Long transcriptId, Long meetingId, SpeakerStatsAccumulator accumulator) {
+        speakerStatsRepository.saveAll(accumulator.build(transcriptId, meetingId));
+    }
+
+    // ── Transcripts ingested before analytics existed ─────────────────────────
+
+    /**
+     * One O(sentences) pass per transcript that has no rows yet. Runs on one
+     * node at a time. Transcripts whose labels yield no speakers stay without
+     * rows and are looked at again on the next startup, never on a read.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startBackfill() {
+        backfillDriver.submit(this::backfillSpeakerStats);
+    }
+
+    void backfillSpeakerStats() {
+        if (!clusterLeaseService.tryAcquire(BACKFILL_LEASE)) return;
+        try {
+            long afterId = 0;
+            int filled = 0;
+            while (true) {
+                if (!clusterLeaseService.holds(BACKFILL_LEASE) || Thread.currentThread().isInterrupted()) {
+                    // Whoever takes the lease over starts from the beginning; filled rows are skipped
+                    log.warn("Speaker analytics backfill stopped after transcript {} — lease lost or shutting down",
+                            afterId);
+                    break;
+                }
+                List<Transcript> page = transcriptRepository.findMissingSpeakerStats(afterId, Limit.of(BACKFILL_PAGE));
+                for (Transcript transcript : page) {
+                    if (backfill(transcript.getId())) filled++;
+                }
+                if (page.size() < BACKFILL_PAGE) break;
+                afterId = page.get(page.size() - 1).getId();
+            }
+            if (filled > 0) log.info("Backfilled speaker analytics for {} transcript(s)", filled);
+        } catch (Exception e) {
+            log.error("Speaker analytics backfill failed: {}", e.getMessage(), e);
+        } finally {
+            clusterLeaseService.release(BACKFILL_LEASE);
+        }
+    }
+
+    private boolean backfill(Long transcriptId) {
+        try {
+            Integer speakers = transactionTemplate.execute(status -> transcriptRepository.findById(transcriptId)
+                    .map(transcript -> {
+                        List<SpeakerStats> rows = parseSpeakerLabels(transcript)
+                                .build(transcript.getId(), transcript.getMeeting().getId());
+                        speakerStatsRepository.saveAll(rows);
+                        return rows.size();
+                    })
+                    .orElse(0));
+            return speakers != null && speakers > 0;
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Speaker analytics for transcript {} written concurrently", transcriptId);
+            return false;
+        }
+    }
+
+    private SpeakerStatsAccumulator parseSpeakerLabels(Transcript transcript) {
+        SpeakerStatsAccumulator accumulator = new SpeakerStatsAccumulator();
+        try {
+            String json = transcript.getSpeakerLabels();
+            List<Map<String, Object>> sentences = json != null
+                    ? objectMapper.readValue(json, new TypeReference<>() {})
+                    : List.of();
+
+            for (Map<String, Object> sentence : sentences) {
+                String speaker = (String) sentence.get("speaker_name");
+                String text    = (String) sentence.get("text");
+                if (speaker != null && text != null) {
+                    accumulator.accept(speaker, text, sentence.get("start_time"), sentence.get("end_time"));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Could not parse speaker labels for transcript {}: {}", transcript.getId(), e.getMessage());
+            return new SpeakerStatsAccumulator();
+        }
+        return accumulator;
+    }
+
+    private SpeakerStatsResponse mapToResponse(SpeakerStats s) {
+        return SpeakerStatsResponse.builder()
+                .speakerName(s.getSpeakerName())
+                .sentenceCount(s.getSentenceCount())
+                .wordCount(s.getWordCount())
+                .talkTimeSeconds(s.getTalkTimeSec())
+                .talkShare(s.getTalkShare())
+                .wordsPerMinute(s.getWordsPerMinute())
+                .interruptions(s.getInterruptions())
+                .longestMonologueSeconds(s.getLongestMonologueSec())
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.Tkmind.fireflies_proxy.entity.SpeakerStats;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects per-speaker metrics in the same single pass that builds the
+ * transcript content. Sentences must be fed in transcript order.
+ */
+class SpeakerStatsAccumulator {
+
+    private static final class Tally {
+        int    sentences;
+        int    words;
+        double talkTime;
+        int    interruptions;
+        double longestMonologue;
+    }
+
+    private final Map<String, Tally> tallies = new LinkedHashMap<>();
+
+    private String previousSpeaker;
+    private double previousEnd = -1;
+    private double runStart    = -1;
+
+    void accept(String speaker, String text, Object startTime, Object endTime) {
+        Tally tally = tallies.computeIfAbsent(speaker, k -> new Tally());
+        tally.sentences++;
+        tally.words += countWords(text);
+
+        double start = toSeconds(startTime);
+        double end   = toSeconds(endTime);
+        boolean timed = start >= 0 && end >= start;
+
+        if (timed) {
+            tally.talkTime += end - start;
+        }
+
+        boolean sameSpeaker = speaker.equals(previousSpeaker);
+
+        // Started before the previous (other) speaker had finished
+        if (!sameSpeaker && previousSpeaker != null && timed && start < previousEnd) {
+            tally.interruptions++;
+        }
+
+        // Consecutive sentences by one speaker form a monologue
+        if (!sameSpeaker || runStart < 0) {
+            runStart = timed ? start : -1;
+        }
+        if (timed && runStart >= 0) {
+            tally.longestMonologue = Math.max(tally.longestMonologue, end - runStart);
+        }
+
+        previousSpeaker = speaker;
+        if (timed) previousEnd = end;
+    }
+
+    List<SpeakerStats> build(Long transcriptId, Long meetingId) {
+        double totalTalk = tallies.values().stream().mapToDouble(t -> t.talkTime).sum();
+
+        List<SpeakerStats> stats = new ArrayList<>(tallies.size());
+        tallies.forEach((speaker, t) -> stats.add(SpeakerStats.builder()
+                .transcriptId(transcriptId)
+                .meetingId(meetingId)
+                .speakerName(speaker)
+                .sentenceCount(t.sentences)
+                .wordCount(t.words)
+                .talkTimeSec(round(t.talkTime))
+                .talkShare(totalTalk > 0 ? round(t.talkTime / totalTalk) : 0)
+                .wordsPerMinute(t.talkTime > 0 ? round(t.words / (t.talkTime / 60)) : 0)
+                .interruptions(t.interruptions)
+                .longestMonologueSec(round(t.longestMonologue))
+                .build()));
+        return stats;
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private static int countWords(String text) {
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); i++) {
+            boolean ws = Character.isWhitespace(text.charAt(i));
+            if (!ws && !inWord) words++;
+            inWord = !ws;
+        }
+        return words;
+    }
+
+    private static double toSeconds(Object value) {
+        if (value == null) return -1;
+        if (value instanceof Number n) return n.doubleValue();
+        try {
+            return Double.parseDouble(value.toString());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,214 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.Tkmind.fireflies_proxy.entity.SummaryCacheEntry;
+import com.Tkmind.fireflies_proxy.repository.SummaryCacheRepository;
+import com.Tkmind.fireflies_proxy.service.llm.HedgingLlmClient.Completion;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Persistent summary cache in front of {@link LlmSummaryService}.
+ *
+ *  - Keyed by SHA-256 of (normalized content, prompt version, model), so the
+ *    same text is never summarized twice and a prompt/model change misses.
+ *    The model is the one that answered: a hedged summary written by the
+ *    secondary provider is stored under its model, and served while that
+ *    model is still configured. Every answer carries the model that wrote
+ *    it, so callers stamp the transcript with the right version.
+ *  - Failures are cached for a short TTL — a broken provider is not hammered
+ *    by every transcript read that re-queues the summary.
+ *  - Concurrent requests for the same key share one in-flight LLM call,
+ *    whether it was started by a summary job or a streaming client.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SummaryCacheService {
+
+    private final LlmSummaryService      llmSummaryService;
+    private final SummaryCacheRepository summaryCacheRepository;
+
+    @Value("${summary.cache.negative-ttl:10m}")
+    private Duration negativeTtl;
+
+    private final Map<String, CompletableFuture<Completion>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Same contract as {@link LlmSummaryService#summarizeOrThrow}: null when
+     * nothing can be produced, rate limits and errors are thrown.
+     */
+    public Completion summarize(String content, String meetingTitle) {
+        return summarize(content, () -> llmSummaryService.summarizeOrThrow(content, meetingTitle));
+    }
+
+    /**
+     * {@link #summarize} for a client watching the summary being written: the
+     * LLM output is streamed through the callbacks only on a true miss. A
+     * cached or negatively cached key, or one already being generated (by a
+     * summary job or another stream), is answered without a second LLM call
+     * and without invoking {@code onToken}.
+     */
+    public Completion stream(String content, String meetingTitle,
+                         Consumer<String> onToken, Consumer<String> onProgress) {
+        return summarize(content,
+                () -> llmSummaryService.streamSummary(content, meetingTitle, onToken, onProgress));
+    }
+
+    /** Cached READY summary for this content, or null. Never calls the LLM. */
+    public Completion getCached(String content) {
+        if (content == null || content.isBlank()) return null;
+        return findReady(content, summaryCacheRepository.findAllById(candidateKeys(content)));
+    }
+
+    private Completion summarize(String content, Supplier<Completion> generator) {
+
+        if (content == null || content.isBlank()) return null;
+
+        String key = cacheKey(content);
+
+        CompletableFuture<Completion> mine     = new CompletableFuture<>();
+        CompletableFuture<Completion> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            log.debug("Joining in-flight summary for key {}", key.substring(0, 12));
+            return await(existing);
+        }
+
+        try {
+            Completion summary = lookupOrGenerate(key, content, generator);
+            mine.complete(summary);
+            return summary;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private Completion lookupOrGenerate(String key, String content, Supplier<Completion> generator) {
+
+        List<SummaryCacheEntry> entries = summaryCacheRepository.findAllById(candidateKeys(content));
+
+        Completion ready = findReady(content, entries);
+        if (ready != null) {
+            log.info("Summary cache HIT for key {}", key.substring(0, 12));
+            return ready;
+        }
+        // Failures are recorded under the primary model's key
+        SummaryCacheEntry failed = entries.stream()
+                .filter(e -> e.getCacheKey().equals(key))
+                .findFirst().orElse(null);
+        if (failed != null && failed.getExpiresAt() != null
+                && failed.getExpiresAt().isAfter(LocalDateTime.now())) {
+            log.info("Summary cache NEGATIVE hit for key {} (until {})",
+                    key.substring(0, 12), failed.getExpiresAt());
+            return null;
+        }
+
+        try {
+            Completion summary = generator.get();
+            if (summary == null || summary.text() == null) return null;
+            if (!summary.text().isBlank()) {
+                store(cacheKey(content, summary.model()), summary.model(),
+                        SummaryCacheEntry.Status.READY, summary.text(), null, null);
+            }
+            return summary;
+        } catch (LlmRateLimitException e) {
+            // Transient and already retried by the job queue — not a negative entry
+            throw e;
+        } catch (RuntimeException e) {
+            store(key, llmSummaryService.getModel(), SummaryCacheEntry.Status.FAILED, null, e.getMessage(),
+                    LocalDateTime.now().plus(negativeTtl));
+            throw e;
+        }
+    }
+
+    /** READY summary among {@code entries}, preferring the primary model's. */
+    private Completion findReady(String content, List<SummaryCacheEntry> entries) {
+        for (String model : llmSummaryService.models()) {
+            String key = cacheKey(content, model);
+            for (SummaryCacheEntry e : entries) {
+                if (e.getCacheKey().equals(key) && e.getStatus() == SummaryCacheEntry.Status.READY) {
+                    return new Completion(e.getSummary(), model);
+                }
+            }
+        }
+        return null;
+    }
+
+    private void store(String key, String model, SummaryCacheEntry.Status status, String summary,
+                       String error, LocalDateTime expiresAt) {
+        try {
+            summaryCacheRepository.save(SummaryCacheEntry.builder()
+                    .cacheKey(key)
+                    .promptVersion(LlmSummaryService.PROMPT_VERSION)
+                    .model(model)
+                    .status(status)
+                    .summary(summary)
+                    .error(error != null && error.length() > 500 ? error.substring(0, 500) : error)
+                    .expiresAt(expiresAt)
+                    .build());
+        } catch (Exception e) {
+            log.warn("Could not write summary cache entry {}: {}", key.substring(0, 12), e.getMessage());
+        }
+    }
+
+    private Completion await(CompletableFuture<Completion> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    // ── Key ───────────────────────────────────────────────────────────────────
+
+    /** Key under the primary model — in-flight calls and failures are tracked by it. */
+    String cacheKey(String content) {
+        return cacheKey(content, llmSummaryService.getModel());
+    }
+
+    /** A summary is stored under the model that wrote it, which a hedged call may not be the primary. */
+    String cacheKey(String content, String model) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            sha.update(normalize(content).getBytes(StandardCharsets.UTF_8));
+            sha.update((byte) 0);
+            sha.update(LlmSummaryService.PROMPT_VERSION.getBytes(StandardCharsets.UTF_8));
+            sha.update((byte) 0);
+            sha.update(model.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(sha.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private List<String> candidateKeys(String content) {
+        return llmSummaryService.models().stream().map(model -> cacheKey(content, model)).toList();
+    }
+
+    /** Whitespace-insensitive: CRLF vs LF, trailing spaces and blank lines don't change the key. */
+    private String normalize(String content) {
+        return content.strip()
+                .replace("\r\n", "\n")
+                .replaceAll("[ \\t]+", " ")
+                .replaceAll(" ?\\n[\\s]*", "\n");
+    }
+}
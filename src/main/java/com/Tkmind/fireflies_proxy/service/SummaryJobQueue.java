@@ -0,0 +1,300 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.Tkmind.fireflies_proxy.config.ExecutionMode;
+import com.Tkmind.fireflies_proxy.service.llm.HedgingLlmClient.Completion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Queue of AI summary jobs in front of the LLM provider.
+ *
+ *  - USER jobs (explicit regeneration) are always taken before BACKGROUND
+ *    jobs (ingest); FIFO within a priority.
+ *  - One active job per transcript — re-submits join the existing job and
+ *    can only raise its priority.
+ *  - 429s are retried with exponential backoff (never shorter than the
+ *    provider's Retry-After); other failures end the job.
+ *  - Throughput is bounded by GroqRateLimiter, not by the worker count.
+ */
+@Service
+@Slf4j
+public class SummaryJobQueue {
+
+    public enum Priority { USER, BACKGROUND }
+
+    public enum Status { QUEUED, RUNNING, RETRY_WAIT, SUCCEEDED, FAILED }
+
+    private static final int      RECENT_JOBS_KEPT = 1000;
+    private static final Duration MAX_BACKOFF      = Duration.ofMinutes(5);
+
+    private final SummaryCacheService summaryCacheService;
+    private final MeterRegistry       meterRegistry;
+    private final ExecutionMode       executionMode;
+
+    @Value("${summary.queue.workers:2}")
+    private int workers;
+
+    @Value("${summary.queue.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${summary.queue.base-backoff:10s}")
+    private Duration baseBackoff;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final PriorityBlockingQueue<SummaryJob> queue = new PriorityBlockingQueue<>(64,
+            Comparator.comparing((SummaryJob j) -> j.priority).thenComparingLong(j -> j.sequence));
+
+    // transcriptId → job not yet finished
+    private final Map<Long, SummaryJob> active = new ConcurrentHashMap<>();
+
+    // transcriptId → latest job, for status lookups after completion
+    private final Map<Long, SummaryJob> recent = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, SummaryJob> eldest) {
+                    return size() > RECENT_JOBS_KEPT;
+                }
+            });
+
+    private ExecutorService          workerPool;
+    private ScheduledExecutorService retryScheduler;
+    private volatile boolean         running;
+
+    private Counter retried;
+
+    public SummaryJobQueue(SummaryCacheService summaryCacheService, MeterRegistry meterRegistry,
+                           ExecutionMode executionMode) {
+        this.summaryCacheService = summaryCacheService;
+        this.meterRegistry       = meterRegistry;
+        this.executionMode       = executionMode;
+    }
+
+    @PostConstruct
+    void start() {
+        Gauge.builder("summary.queue.depth", queue, PriorityBlockingQueue::size)
+                .description("Summary jobs waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("summary.queue.oldest.age", this, SummaryJobQueue::oldestQueuedAgeSeconds)
+                .description("Age of the oldest waiting summary job")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        retried = Counter.builder("summary.jobs.retried")
+                .description("Summary jobs re-queued after a provider 429")
+                .register(meterRegistry);
+
+        running        = true;
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "summary-retry"));
+        workerPool     = Executors.newFixedThreadPool(workers, executionMode.threadFactory("summary-worker"));
+        for (int i = 0; i < workers; i++) {
+            workerPool.submit(this::workLoop);
+        }
+        log.info("Summary job queue started with {} worker(s)", workers);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        workerPool.shutdownNow();
+        retryScheduler.shutdownNow();
+    }
+
+    // ─────────────────────────────────────────────
+    // Submit / lookup
+    // ─────────────────────────────────────────────
+
+    /**
+     * @param onComplete receives the summary and the model that wrote it, or
+     *                   null when none could be produced
+     */
+    public SummaryJob submit(Long transcriptId, Long meetingId, String meetingTitle, String content,
+                             Priority priority, Consumer<Completion> onComplete) {
+
+        SummaryJob job = active.compute(transcriptId, (id, existing) -> {
+            if (existing != null) {
+                // Joined an existing job; a user request jumps the background queue
+                if (priority.compareTo(existing.priority) < 0) {
+                    boolean waiting = queue.remove(existing);
+                    existing.priority = priority;
+                    if (waiting) queue.offer(existing);
+                }
+                return existing;
+            }
+            SummaryJob created = new SummaryJob(transcriptId, meetingId, meetingTitle, content,
+                    priority, sequence.incrementAndGet(), onComplete);
+            queue.offer(created);
+            return created;
+        });
+
+        recent.put(transcriptId, job);
+        log.debug("Summary job {} for transcript {} — {} / {}",
+                job.id, transcriptId, job.priority, job.status);
+        return job;
+    }
+
+    public Optional<SummaryJob> findLatestForTranscript(Long transcriptId) {
+        return Optional.ofNullable(recent.get(transcriptId));
+    }
+
+    // ─────────────────────────────────────────────
+    // Workers
+    // ─────────────────────────────────────────────
+
+    private void workLoop() {
+        while (running) {
+            try {
+                SummaryJob job = queue.poll(1, TimeUnit.SECONDS);
+                if (job != null) run(job);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Summary worker error: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void run(SummaryJob job) {
+        Instant started = Instant.now();
+        Timer.builder("summary.job.queue.wait")
+                .tag("priority", job.priority.name())
+                .register(meterRegistry)
+                .record(Duration.between(job.queuedAt, started));
+
+        job.status    = Status.RUNNING;
+        job.startedAt = started;
+        job.attempts++;
+
+        try {
+            Completion summary = summaryCacheService.summarize(job.content, job.meetingTitle);
+            if (summary != null && !summary.text().isBlank()) {
+                finish(job, Status.SUCCEEDED, summary, null);
+            } else {
+                finish(job, Status.FAILED, null,
+                        "No summary produced (LLM not configured, empty transcript or recent failure)");
+            }
+        } catch (LlmRateLimitException e) {
+            if (job.attempts < maxAttempts) {
+                scheduleRetry(job, e);
+            } else {
+                finish(job, Status.FAILED, null, "Rate limited after " + job.attempts + " attempts");
+            }
+        } catch (Exception e) {
+            finish(job, Status.FAILED, null, e.getMessage());
+        }
+    }
+
+    private void scheduleRetry(SummaryJob job, LlmRateLimitException e) {
+        long exponential = baseBackoff.toMillis() << Math.min(job.attempts - 1, 10);
+        long delay = Math.max(exponential, e.getRetryAfter().toMillis());
+        delay = Math.min(delay, MAX_BACKOFF.toMillis());
+        delay += ThreadLocalRandom.current().nextLong(delay / 5 + 1);   // jitter
+
+        job.status    = Status.RETRY_WAIT;
+        job.lastError = e.getMessage();
+        retried.increment();
+        log.warn("Summary job {} rate limited (attempt {}/{}) — retrying in {}ms",
+                job.id, job.attempts, maxAttempts, delay);
+
+        retryScheduler.schedule(() -> {
+            job.status   = Status.QUEUED;
+            job.queuedAt = Instant.now();
+            queue.offer(job);
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void finish(SummaryJob job, Status status, Completion summary, String error) {
+        job.status      = status;
+        job.lastError   = error;
+        job.completedAt = Instant.now();
+        job.content     = null;   // release the transcript text
+        active.remove(job.transcriptId, job);
+
+        Timer.builder("summary.job.duration")
+                .description("Time from first enqueue to completion")
+                .tag("outcome", status.name())
+                .register(meterRegistry)
+                .record(Duration.between(job.enqueuedAt, job.completedAt));
+
+        if (status == Status.FAILED) {
+            log.warn("Summary job {} for transcript {} failed: {}", job.id, job.transcriptId, error);
+        }
+
+        try {
+            job.onComplete.accept(summary);
+        } catch (Exception e) {
+            log.error("Summary write-back failed for transcript {}: {}", job.transcriptId, e.getMessage());
+        }
+    }
+
+    private double oldestQueuedAgeSeconds() {
+        Instant now = Instant.now();
+        return queue.stream()
+                .mapToLong(j -> Duration.between(j.queuedAt, now).toMillis())
+                .max()
+                .orElse(0L) / 1000.0;
+    }
+
+    // ─────────────────────────────────────────────
+    // Job
+    // ─────────────────────────────────────────────
+
+    @Getter
+    public static class SummaryJob {
+        private final String  id = UUID.randomUUID().toString();
+        private final Long    transcriptId;
+        private final Long    meetingId;
+        private final String  meetingTitle;
+        private final Instant enqueuedAt = Instant.now();
+        private final long    sequence;
+
+        private volatile Priority priority;
+        private volatile Status   status = Status.QUEUED;
+        private volatile int      attempts;
+        private volatile Instant  queuedAt = enqueuedAt;
+        private volatile Instant  startedAt;
+        private volatile Instant  completedAt;
+        private volatile String   lastError;
+
+        @Getter(lombok.AccessLevel.NONE)
+        private volatile String content;
+        @Getter(lombok.AccessLevel.NONE)
+        private final Consumer<Completion> onComplete;
+
+        SummaryJob(Long transcriptId, Long meetingId, String meetingTitle, String content,
+                   Priority priority, long sequence, Consumer<Completion> onComplete) {
+            this.transcriptId = transcriptId;
+            this.meetingId    = meetingId;
+            this.meetingTitle = meetingTitle;
+            this.content      = content;
+            this.priority     = priority;
+            this.sequence     = sequence;
+            this.onComplete   = onComplete;
+        }
+    }
+}
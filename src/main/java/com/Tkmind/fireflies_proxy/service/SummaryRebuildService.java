@@ -0,0 +1,396 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.Tkmind.fireflies_proxy.config.ExecutionMode;
+import com.Tkmind.fireflies_proxy.dto.response.SummaryRebuildJobResponse;
+import com.Tkmind.fireflies_proxy.entity.SummaryRebuildJob;
+import com.Tkmind.fireflies_proxy.event.ClusterMembershipChangedEvent;
+import com.Tkmind.fireflies_proxy.repository.RebuiltSummary;
+import com.Tkmind.fireflies_proxy.repository.StaleSummaryRow;
+import com.Tkmind.fireflies_proxy.repository.SummaryRebuildJobRepository;
+import com.Tkmind.fireflies_proxy.repository.TranscriptRepository;
+import com.Tkmind.fireflies_proxy.service.llm.HedgingLlmClient.Completion;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Admin-triggered re-summarization of every transcript whose
+ * summary_prompt_version differs from the current prompt version/model.
+ *
+ *  - Keyset scan by id (no OFFSET), one batch at a time.
+ *  - Rows of a batch are summarized with bounded concurrency; the LLM rate
+ *    limit still applies (and identical content is served by the summary
+ *    cache).
+ *  - Each batch's summaries and the job checkpoint are written in one
+ *    transaction (JDBC-batched updates), so a crash loses at most a batch.
+ *  - Rows that fail keep their old summary and version; the next run
+ *    picks them up again. Rows whose version changed while their batch was
+ *    being summarized are not overwritten.
+ *
+ * Only one run at a time in the cluster: the run holds the "summary-rebuild"
+ * lease ({@link ClusterLeaseService}), so replicas never summarize the same
+ * rows twice. The lease is checked before every LLM call: once it is lost
+ * the batch in flight is cancelled and not written, and the run stops at
+ * the last checkpoint. Pause is a flag on the job row, so it reaches the run
+ * whichever replica the admin call lands on; the run reads it between
+ * batches. A run left RUNNING by a restart or a dead node is resumed on
+ * startup or when cluster membership changes, by whichever node gets the lease. start/pause serialize on a ReentrantLock rather than
+ * synchronized: start() does JDBC work and must not pin a virtual thread.
+ */
+@Service
+@Slf4j
+public class SummaryRebuildService {
+
+    private static final int    MAX_RATE_LIMIT_RETRIES = 3;
+    private static final String LEASE                  = "summary-rebuild";
+
+    private final TranscriptRepository        transcriptRepository;
+    private final SummaryRebuildJobRepository jobRepository;
+    private final SummaryCacheService         summaryCacheService;
+    private final LlmSummaryService           llmSummaryService;
+    private final TransactionTemplate         transactionTemplate;
+    private final ExecutionMode               executionMode;
+    private final ClusterLeaseService         clusterLeaseService;
+
+    @Value("${summary.rebuild.batch-size:50}")
+    private int batchSize;
+
+    @Value("${summary.rebuild.concurrency:4}")
+    private int concurrency;
+
+    @Value("${summary.rebuild.resume-on-startup:true}")
+    private boolean resumeOnStartup;
+
+    private final ExecutorService driver =
+            Executors.newSingleThreadExecutor(r -> new Thread(r, "summary-rebuild"));
+
+    private final ReentrantLock adminLock = new ReentrantLock();
+
+    private volatile Long    runningJobId;
+    private volatile boolean stopRequested;
+
+    public SummaryRebuildService(TranscriptRepository transcriptRepository,
+                                 SummaryRebuildJobRepository jobRepository,
+                                 SummaryCacheService summaryCacheService,
+                                 LlmSummaryService llmSummaryService,
+                                 TransactionTemplate transactionTemplate,
+                                 ExecutionMode executionMode,
+                                 ClusterLeaseService clusterLeaseService) {
+        this.transcriptRepository = transcriptRepository;
+        this.jobRepository        = jobRepository;
+        this.summaryCacheService  = summaryCacheService;
+        this.llmSummaryService    = llmSummaryService;
+        this.transactionTemplate  = transactionTemplate;
+        this.executionMode        = executionMode;
+        this.clusterLeaseService  = clusterLeaseService;
+    }
+
+    @PreDestroy
+    void stop() {
+        stopRequested = true;
+        driver.shutdownNow();
+    }
+
+    // ─────────────────────────────────────────────
+    // Admin operations
+    // ─────────────────────────────────────────────
+
+    /** Starts a run for the current prompt version, or resumes the unfinished one. */
+    public SummaryRebuildJobResponse start() {
+        adminLock.lock();
+        try {
+            if (runningJobId != null) {
+                return getJob(runningJobId);
+            }
+            if (!llmSummaryService.isConfigured()) {
+                throw new IllegalStateException("LLM provider not configured — nothing to rebuild with");
+            }
+
+            if (!clusterLeaseService.tryAcquire(LEASE)) {
+                // Running (or being resumed) on another node
+                return jobRepository.findFirstByStatusOrderByIdDesc(SummaryRebuildJob.Status.RUNNING)
+                        .map(this::toResponse)
+                        .orElseThrow(() -> new IllegalStateException("Summary rebuild is running on another node"));
+            }
+
+            String version = llmSummaryService.summaryVersion();
+
+            SummaryRebuildJob job = jobRepository.findFirstByTargetVersionAndStatusInOrderByIdDesc(
+                            version, EnumSet.of(SummaryRebuildJob.Status.RUNNING, SummaryRebuildJob.Status.PAUSED))
+                    .orElseGet(() -> SummaryRebuildJob.builder().targetVersion(version).build());
+
+            if (job.getId() != null) {
+                log.info("Resuming summary rebuild job {} after transcript {}", job.getId(), job.getLastTranscriptId());
+            }
+
+            job.setStatus(SummaryRebuildJob.Status.RUNNING);
+            job.setError(null);
+            job.setStartedAt(LocalDateTime.now());
+            job.setUpdatedAt(LocalDateTime.now());
+            job.setFinishedAt(null);
+            try {
+                job = jobRepository.save(job);
+                jobRepository.updatePauseRequested(job.getId(), false);
+                launch(job);
+            } catch (RuntimeException e) {
+                clusterLeaseService.release(LEASE);
+                throw e;
+            }
+            return toResponse(job);
+        } finally {
+            adminLock.unlock();
+        }
+    }
+
+    /**
+     * Stops after the current batch; the job stays resumable (PAUSED). Works
+     * from any node: the request is stored on the job row.
+     */
+    public SummaryRebuildJobResponse pause(Long jobId) {
+        adminLock.lock();
+        try {
+            SummaryRebuildJobResponse job = getJob(jobId);
+            if (SummaryRebuildJob.Status.RUNNING.name().equals(job.getStatus())) {
+                jobRepository.updatePauseRequested(jobId, true);
+                job.setPauseRequested(true);
+            }
+            if (jobId.equals(runningJobId)) {
+                stopRequested = true;
+            }
+            return job;
+        } finally {
+            adminLock.unlock();
+        }
+    }
+
+    public SummaryRebuildJobResponse getJob(Long jobId) {
+        return jobRepository.findById(jobId)
+                .map(this::toResponse)
+                .orElseThrow(() -> new EntityNotFoundException("Summary rebuild job not found: " + jobId));
+    }
+
+    @EventListener({ApplicationReadyEvent.class, ClusterMembershipChangedEvent.class})
+    public void resumeInterrupted() {
+        if (!resumeOnStartup || !llmSummaryService.isConfigured()) return;
+
+        jobRepository.findFirstByStatusOrderByIdDesc(SummaryRebuildJob.Status.RUNNING)
+                .filter(job -> job.getTargetVersion().equals(llmSummaryService.summaryVersion()))
+                .filter(job -> runningJobId == null)
+                .ifPresent(job -> {
+                    if (job.isPauseRequested()) {
+                        // Paused while its node was gone: settle it rather than resume it
+                        if (clusterLeaseService.tryAcquire(LEASE)) {
+                            try {
+                                finish(job.getId(), SummaryRebuildJob.Status.PAUSED, null);
+                            } finally {
+                                clusterLeaseService.release(LEASE);
+                            }
+                        }
+                        return;
+                    }
+                    log.info("Summary rebuild job {} is not running on this node — resuming unless another node has it",
+                            job.getId());
+                    start();
+                });
+    }
+
+    // ─────────────────────────────────────────────
+    // Run loop
+    // ─────────────────────────────────────────────
+
+    private void launch(SummaryRebuildJob job) {
+        runningJobId  = job.getId();
+        stopRequested = false;
+        Long   jobId   = job.getId();
+        String version = job.getTargetVersion();
+        long   afterId = job.getLastTranscriptId();
+
+        driver.submit(() -> {
+            try {
+                run(jobId, version, afterId);
+            } catch (Exception e) {
+                log.error("Summary rebuild job {} failed: {}", jobId, e.getMessage(), e);
+                finish(jobId, SummaryRebuildJob.Status.FAILED, e.getMessage());
+            } finally {
+                runningJobId = null;
+                clusterLeaseService.release(LEASE);
+            }
+        });
+    }
+
+    private void run(Long jobId, String version, long afterId) {
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency,
+                executionMode.threadFactory("summary-rebuild-worker"));
+        long startNanos = System.nanoTime();
+        long rows       = 0;
+
+        try {
+            while (!pauseRequested(jobId) && clusterLeaseService.holds(LEASE)) {
+                List<StaleSummaryRow> batch =
+                        transcriptRepository.findStaleSummaries(afterId, version, Limit.of(batchSize));
+                if (batch.isEmpty()) {
+                    finish(jobId, SummaryRebuildJob.Status.COMPLETED, null);
+                    return;
+                }
+
+                Map<Long, RebuiltSummary> summaries;
+                try {
+                    summaries = summarizeBatch(batch, pool);
+                } catch (LeaseLostException e) {
+                    break;
+                }
+                if (!clusterLeaseService.holds(LEASE)) {
+                    break;      // the batch may already be redone by the node that took over
+                }
+                afterId = batch.get(batch.size() - 1).id();
+                rows   += batch.size();
+
+                double rowsPerSecond = rows / Math.max((System.nanoTime() - startNanos) / 1e9, 0.001);
+                checkpoint(jobId, batch, summaries, afterId,
+                        batch.size() - summaries.size(), rowsPerSecond);
+
+                log.info("Summary rebuild job {}: {} rows this run, checkpoint id {}, {} rows/s",
+                        jobId, rows, afterId, String.format("%.2f", rowsPerSecond));
+            }
+            if (pauseRequested(jobId)) {
+                finish(jobId, SummaryRebuildJob.Status.PAUSED, null);
+            } else {
+                // Stays RUNNING for whichever node takes the lease over
+                log.warn("Summary rebuild job {} lost its lease — stopping at checkpoint {}", jobId, afterId);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** Paused on this node (or shutting down), or asked to on any node. */
+    private boolean pauseRequested(Long jobId) {
+        return stopRequested || jobRepository.isPauseRequested(jobId);
+    }
+
+    /**
+     * Rows never fail the batch (summarize returns null) — except a lost
+     * lease, which cancels the rest; so does an interrupt.
+     */
+    private Map<Long, RebuiltSummary> summarizeBatch(List<StaleSummaryRow> batch, ExecutorService pool) {
+        List<Supplier<Completion>> results = new ArrayList<>(batch.size());
+        try (FanOut scope = new FanOut(pool)) {
+            for (StaleSummaryRow row : batch) {
+                results.add(scope.fork(() -> summarize(row)));
+            }
+            scope.join();
+        }
+
+        Map<Long, RebuiltSummary> summaries = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Completion summary = results.get(i).get();
+            if (summary != null && !summary.text().isBlank()) {
+                // Stamped with the model that answered: a hedged summary stays stale for the primary
+                summaries.put(batch.get(i).id(),
+                        new RebuiltSummary(summary.text(), LlmSummaryService.summaryVersion(summary.model())));
+            }
+        }
+        return summaries;
+    }
+
+    /** Null on failure — the row is skipped and stays stale. */
+    private Completion summarize(StaleSummaryRow row) {
+        for (int attempt = 0; ; attempt++) {
+            if (!clusterLeaseService.holds(LEASE)) {
+                throw new LeaseLostException();
+            }
+            try {
+                return summaryCacheService.summarize(row.content(), row.meetingTitle());
+            } catch (LlmRateLimitException e) {
+                // The limiter is already paused for everyone; just wait our turn again
+                if (attempt >= MAX_RATE_LIMIT_RETRIES) return null;
+                try {
+                    Thread.sleep(e.getRetryAfter().toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            } catch (Exception e) {
+                log.warn("Rebuild: summary failed for transcript {}: {}", row.id(), e.getMessage());
+                return null;
+            }
+        }
+    }
+
+    /** Thrown by a worker that finds the lease gone; stops the batch it belongs to. */
+    private static final class LeaseLostException extends RuntimeException {
+
+        LeaseLostException() {
+            super("summary-rebuild lease lost", null, false, false);
+        }
+    }
+
+    // ── Batch write + checkpoint, one transaction ───────────────────────────
+
+    private void checkpoint(Long jobId, List<StaleSummaryRow> batch, Map<Long, RebuiltSummary> summaries,
+                            long lastTranscriptId, int failed, double rowsPerSecond) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Guarded on the version each row was read at: one re-summarized
+            // meanwhile (ingest, regenerate) keeps its newer summary
+            int updated = transcriptRepository.updateRebuiltSummaries(batch, summaries);
+            if (updated < summaries.size()) {
+                log.info("Summary rebuild job {}: {} row(s) changed since read — left as they are",
+                        jobId, summaries.size() - updated);
+            }
+
+            SummaryRebuildJob job = jobRepository.findById(jobId).orElseThrow();
+            job.setLastTranscriptId(lastTranscriptId);
+            job.setProcessed(job.getProcessed() + summaries.size());
+            job.setFailed(job.getFailed() + failed);
+            job.setRowsPerSecond(rowsPerSecond);
+            job.setUpdatedAt(LocalDateTime.now());
+        });
+    }
+
+    private void finish(Long jobId, SummaryRebuildJob.Status status, String error) {
+        transactionTemplate.executeWithoutResult(tx ->
+                jobRepository.findById(jobId).ifPresent(job -> {
+                    job.setStatus(status);
+                    job.setError(error != null && error.length() > 500 ? error.substring(0, 500) : error);
+                    job.setUpdatedAt(LocalDateTime.now());
+                    if (status != SummaryRebuildJob.Status.PAUSED) {
+                        job.setFinishedAt(LocalDateTime.now());
+                    }
+                }));
+        log.info("Summary rebuild job {} → {}", jobId, status);
+    }
+
+    private SummaryRebuildJobResponse toResponse(SummaryRebuildJob job) {
+        return SummaryRebuildJobResponse.builder()
+                .jobId(job.getId())
+                .targetVersion(job.getTargetVersion())
+                .status(job.getStatus().name())
+                .lastTranscriptId(job.getLastTranscriptId())
+                .processed(job.getProcessed())
+                .failed(job.getFailed())
+                .rowsPerSecond(job.getRowsPerSecond())
+                .error(job.getError())
+                .pauseRequested(job.isPauseRequested())
+                .startedAt(job.getStartedAt())
+                .updatedAt(job.getUpdatedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
@@ -0,0 +1,212 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.Tkmind.fireflies_proxy.entity.Meeting;
+import com.Tkmind.fireflies_proxy.entity.Transcript;
+import com.Tkmind.fireflies_proxy.repository.MeetingRepository;
+import com.Tkmind.fireflies_proxy.repository.TranscriptRepository;
+import com.Tkmind.fireflies_proxy.security.CurrentUser;
+import com.Tkmind.fireflies_proxy.security.UserQuotaService;
+import com.Tkmind.fireflies_proxy.service.llm.HedgingLlmClient.Completion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * On-demand AI summary delivered over Server-Sent Events.
+ *
+ * Events:
+ *   status   — "READY" (stored summary follows) or "GENERATING"
+ *   progress — map phase updates for long transcripts
+ *   token    — one streamed content delta, as JSON {"t": "..."}
+ *   summary  — a complete summary (stored, cached, or produced by a
+ *              generation this stream joined instead of starting its own)
+ *   done     — final summary_status; the stream closes after it
+ *   error    — generation failed; the stream closes after it
+ *
+ * Text is sent with one leading space per data line, and tokens as JSON:
+ * Spring writes "data:" with no space, and an EventSource strips one leading
+ * space from each data line — a delta like " the" would lose the space
+ * between words.
+ *
+ * Generation goes through {@link SummaryCacheService}, so a stream shares
+ * the in-flight call, result cache and negative cache with the summary jobs.
+ * The final text is persisted (summary cache + transcript) when the stream
+ * completes, whether or not the client is still connected.
+ */
+@Service
+@Slf4j
+public class SummaryStreamService {
+
+    private static final long STREAM_TIMEOUT_MS = 5 * 60_000L;
+
+    private final TranscriptRepository transcriptRepository;
+    private final MeetingRepository    meetingRepository;
+    private final SummaryCacheService  summaryCacheService;
+    private final SummaryWorker        summaryWorker;
+    private final TransactionTemplate  transactionTemplate;
+    private final Executor             summaryStreamExecutor;
+    private final UserQuotaService     userQuotaService;
+
+    public SummaryStreamService(TranscriptRepository transcriptRepository,
+                                MeetingRepository meetingRepository,
+                                SummaryCacheService summaryCacheService,
+                                SummaryWorker summaryWorker,
+                                TransactionTemplate transactionTemplate,
+                                @Qualifier("summaryStreamExecutor") Executor summaryStreamExecutor,
+                                UserQuotaService userQuotaService) {
+        this.transcriptRepository  = transcriptRepository;
+        this.meetingRepository     = meetingRepository;
+        this.summaryCacheService   = summaryCacheService;
+        this.summaryWorker         = summaryWorker;
+        this.transactionTemplate   = transactionTemplate;
+        this.summaryStreamExecutor = summaryStreamExecutor;
+        this.userQuotaService      = userQuotaService;
+    }
+
+    private record StreamInput(Long transcriptId, String meetingTitle, String content,
+                               String summary, boolean ready) {
+    }
+
+    public SseEmitter streamSummary(CurrentUser user, Long meetingId) {
+
+        // Ownership / not-ready errors surface as normal JSON errors, before the stream opens
+        StreamInput input = transactionTemplate.execute(status -> load(user, meetingId));
+        if (!input.ready()) {
+            userQuotaService.acquire(user, UserQuotaService.Quota.LLM);
+        }
+
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        summaryStreamExecutor.execute(() -> relay(input, emitter));
+        return emitter;
+    }
+
+    private StreamInput load(CurrentUser user, Long meetingId) {
+        Transcript t = transcriptRepository.findFullByMeetingIdAndUserId(meetingId, user.id())
+                .orElseThrow(() -> {
+                    // Nothing owned by this user — work out which error applies
+                    Meeting meeting = meetingRepository.findById(meetingId)
+                            .orElseThrow(() -> new RuntimeException("Meeting not found: " + meetingId));
+                    if (!meeting.getUser().getId().equals(user.id())) {
+                        return new SecurityException("Unauthorized");
+                    }
+                    return new RuntimeException("Transcript not ready yet for meeting " + meetingId);
+                });
+
+        boolean ready = t.getSummaryStatus() == Transcript.SummaryStatus.READY;
+        return new StreamInput(t.getId(), t.getMeeting().getTitle(),
+                ready ? null : t.getContent(), t.getSummary(), ready);
+    }
+
+    private void relay(StreamInput input, SseEmitter emitter) {
+        try {
+            if (input.ready()) {
+                send(emitter, "status", "READY");
+                send(emitter, "summary", input.summary());
+                send(emitter, "done", Transcript.SummaryStatus.READY.name());
+                emitter.complete();
+                return;
+            }
+
+            Completion cached = summaryCacheService.getCached(input.content());
+            if (cached != null) {
+                summaryWorker.writeBack(input.transcriptId(), cached);
+                send(emitter, "status", "READY");
+                send(emitter, "summary", cached.text());
+                send(emitter, "done", Transcript.SummaryStatus.READY.name());
+                emitter.complete();
+                return;
+            }
+
+            send(emitter, "status", "GENERATING");
+
+            // Streams only on a true miss; otherwise joins the job already
+            // generating this summary (or hits the cache written meanwhile)
+            ClientSink sink = new ClientSink(emitter);
+            AtomicBoolean streamed = new AtomicBoolean();
+            Completion summary = summaryCacheService.stream(input.content(), input.meetingTitle(),
+                    token -> {
+                        streamed.set(true);
+                        sink.sendToken(token);
+                    },
+                    progress -> sink.send("progress", progress));
+
+            if (summary != null) {
+                summaryWorker.writeBack(input.transcriptId(), summary);
+                if (!streamed.get()) sink.send("summary", summary.text());
+            }
+
+            sink.send("done", summary != null
+                    ? Transcript.SummaryStatus.READY.name()
+                    : Transcript.SummaryStatus.FAILED.name());
+            emitter.complete();
+
+        } catch (LlmRateLimitException e) {
+            sendErrorAndClose(emitter, "LLM rate limit reached — retry in "
+                    + e.getRetryAfter().toSeconds() + "s");
+        } catch (Exception e) {
+            log.error("Summary stream failed for transcript {}: {}", input.transcriptId(), e.getMessage());
+            sendErrorAndClose(emitter, e.getMessage());
+        }
+    }
+
+    /**
+     * Keeps generating after the client goes away, so the summary is still
+     * stored — it just stops trying to write to the closed connection.
+     */
+    private static final class ClientSink {
+        private final SseEmitter emitter;
+        private volatile boolean connected = true;
+
+        ClientSink(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void send(String event, String data) {
+            send(textEvent(event, data));
+        }
+
+        void sendToken(String token) {
+            send(SseEmitter.event().name("token").data(Map.of("t", token), MediaType.APPLICATION_JSON));
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) {
+            if (!connected) return;
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                connected = false;
+            }
+        }
+    }
+
+    private void send(SseEmitter emitter, String event, String data) {
+        try {
+            emitter.send(textEvent(event, data));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** One space after every "data:" Spring writes, for the client to strip. */
+    private static SseEmitter.SseEventBuilder textEvent(String event, String data) {
+        return SseEmitter.event().name(event).data(" " + data.replace("\n", "\n "));
+    }
+
+    private void sendErrorAndClose(SseEmitter emitter, String message) {
+        try {
+            emitter.send(textEvent("error", message != null ? message : "error"));
+            emitter.complete();
+        } catch (Exception ignored) {
+            emitter.completeWithError(new IllegalStateException(message));
+        }
+    }
+}
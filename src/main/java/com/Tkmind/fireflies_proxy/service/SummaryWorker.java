@@ -0,0 +1,65 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.Tkmind.fireflies_proxy.entity.Transcript;
+import com.Tkmind.fireflies_proxy.event.TranscriptReadinessEvent;
+import com.Tkmind.fireflies_proxy.event.TranscriptSavedEvent;
+import com.Tkmind.fireflies_proxy.repository.TranscriptRepository;
+import com.Tkmind.fireflies_proxy.service.llm.HedgingLlmClient.Completion;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Second stage of transcript ingest: produces the AI summary.
+ *
+ * The transcript is already committed with the Fireflies fallback summary and
+ * summary_status=PENDING. After commit the work is handed to
+ * {@link SummaryJobQueue}; the LLM call runs there with no transaction and no
+ * DB connection held. Only the final write-back opens a short transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SummaryWorker {
+
+    private final SummaryJobQueue      summaryJobQueue;
+    private final TranscriptRepository transcriptRepository;
+    private final TransactionTemplate  transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTranscriptSaved(TranscriptSavedEvent event) {
+        SummaryJobQueue.Priority priority = event.userRequested()
+                ? SummaryJobQueue.Priority.USER
+                : SummaryJobQueue.Priority.BACKGROUND;
+
+        summaryJobQueue.submit(event.transcriptId(), event.meetingId(), event.meetingTitle(),
+                event.content(), priority, summary -> writeBack(event.transcriptId(), summary));
+    }
+
+    // ── Small update: only summary + summary_status are written ─────────────
+
+    /** Stamps the version of the model that wrote the summary, so the rebuild sees hedged ones as stale. */
+    void writeBack(Long transcriptId, Completion summary) {
+        transactionTemplate.executeWithoutResult(status ->
+                transcriptRepository.findById(transcriptId).ifPresent(t -> {
+                    if (summary != null && summary.text() != null && !summary.text().isBlank()) {
+                        t.setSummary(summary.text());
+                        t.setSummaryStatus(Transcript.SummaryStatus.READY);
+                        t.setSummaryPromptVersion(LlmSummaryService.summaryVersion(summary.model()));
+                        log.info("AI summary saved for transcript {}", transcriptId);
+                    } else {
+                        // Keep the Fireflies fallback summary readers already see
+                        t.setSummaryStatus(Transcript.SummaryStatus.FAILED);
+                        log.info("No AI summary for transcript {} — keeping Fireflies summary",
+                                transcriptId);
+                    }
+                    eventPublisher.publishEvent(new TranscriptReadinessEvent(
+                            t.getMeeting().getUser().getId(), t.getMeeting().getId(), transcriptId,
+                            TranscriptReadinessEvent.Stage.SUMMARY, t.getSummaryStatus().name()));
+                }));
+    }
+}
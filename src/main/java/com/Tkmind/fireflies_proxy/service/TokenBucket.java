@@ -0,0 +1,128 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Blocking token bucket: {@code capacity} permits, refilled continuously over
+ * {@code period}. Callers asking for more than the capacity are clamped to it,
+ * so an oversized request waits for a full bucket instead of forever.
+ *
+ * The lock is held only for the arithmetic; {@link #acquire} sleeps outside
+ * it, so a waiting caller stays interruptible and never blocks the others.
+ */
+public class TokenBucket {
+
+    private final long   capacity;
+    private final double permitsPerNano;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double tokens;
+    private long   lastRefillNanos;
+    private long   pausedUntilNanos;
+
+    public TokenBucket(long capacity, Duration period) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be > 0");
+        this.capacity        = capacity;
+        this.permitsPerNano  = (double) capacity / period.toNanos();
+        this.tokens          = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    public void acquire(long permits) throws InterruptedException {
+        long waitNanos;
+        while ((waitNanos = tryAcquireOrDelay(permits)) > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Takes the permits and returns 0, or returns how long to wait (at least
+     * 5 ms) before asking again. For callers that must not block a thread.
+     */
+    public long tryAcquireOrDelay(long permits) {
+        long needed = Math.min(Math.max(permits, 1), capacity);
+        long waitNanos;
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            refill(now);
+            if (now < pausedUntilNanos) {
+                waitNanos = pausedUntilNanos - now;
+            } else if (tokens >= needed) {
+                tokens -= needed;
+                return 0;
+            } else {
+                waitNanos = (long) Math.ceil((needed - tokens) / permitsPerNano);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return Math.max(waitNanos, TimeUnit.MILLISECONDS.toNanos(5));
+    }
+
+    public boolean tryAcquire(long permits) {
+        long needed = Math.min(Math.max(permits, 1), capacity);
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            refill(now);
+            if (now < pausedUntilNanos || tokens < needed) return false;
+            tokens -= needed;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Stops handing out permits for {@code duration} (e.g. after a 429) and empties the bucket. */
+    public void pauseFor(Duration duration) {
+        lock.lock();
+        try {
+            long until = System.nanoTime() + duration.toNanos();
+            pausedUntilNanos = Math.max(pausedUntilNanos, until);
+            tokens = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Puts back permits taken by {@link #tryAcquireOrDelay} that ended up unused. */
+    public void release(long permits) {
+        lock.lock();
+        try {
+            tokens = Math.min(capacity, tokens + Math.max(permits, 0));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Remaining pause from {@link #pauseFor}, zero when none. */
+    public Duration pausedFor() {
+        lock.lock();
+        try {
+            return Duration.ofNanos(Math.max(pausedUntilNanos - System.nanoTime(), 0));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double available() {
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            return tokens;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill(long now) {
+        long elapsed = now - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * permitsPerNano);
+            lastRefillNanos = now;
+        }
+    }
+}
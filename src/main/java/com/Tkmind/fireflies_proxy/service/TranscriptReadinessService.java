@@ -0,0 +1,255 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.Tkmind.fireflies_proxy.dto.response.TranscriptResponse;
+import com.Tkmind.fireflies_proxy.event.TranscriptReadinessEvent;
+import com.Tkmind.fireflies_proxy.security.CurrentUser;
+import com.Tkmind.fireflies_proxy.security.QuotaExceededException;
+import com.Tkmind.fireflies_proxy.security.UserQuotaService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes transcript readiness to clients instead of having them poll
+ * GET /meetings/{id}/transcript (each poll may fetch from Fireflies).
+ *
+ *  - SSE: one stream per connection, all of the user's meetings. Events
+ *    "transcript" and "summary" carry {meetingId, transcriptId, summaryStatus}.
+ *  - Long-poll: GET /meetings/{id}/transcript?wait=30 answers as soon as the
+ *    transcript (or with until=summary, a settled summary) is stored. Waiting
+ *    only reads the database; the Fireflies fallback fetch of the plain GET
+ *    runs at most once per wait, when it runs out.
+ *
+ * Events come from the Spring event bus after the writing transaction
+ * commits. With a {@link ReadinessEventBridge} they are also relayed to the
+ * other nodes, whose clients are woken through {@link #deliver}.
+ */
+@Service
+@Slf4j
+public class TranscriptReadinessService {
+
+    private static final Duration MAX_WAIT = Duration.ofSeconds(60);
+
+    private final TranscriptService                     transcriptService;
+    private final ObjectProvider<ReadinessEventBridge>  bridge;
+
+    @Value("${readiness.sse.timeout:30m}")
+    private Duration streamTimeout;
+
+    @Value("${readiness.sse.heartbeat:25s}")
+    private Duration heartbeatInterval;
+
+    @Value("${readiness.sse.max-streams-per-user:5}")
+    private int maxStreamsPerUser;
+
+    // userId → open SSE streams
+    private final Map<Long, Set<SseEmitter>> streams = new ConcurrentHashMap<>();
+
+    // meetingId → parked long-polls
+    private final Map<Long, Set<Waiter>> waiters = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService heartbeat;
+
+    public TranscriptReadinessService(TranscriptService transcriptService,
+                                      ObjectProvider<ReadinessEventBridge> bridge) {
+        this.transcriptService = transcriptService;
+        this.bridge            = bridge;
+    }
+
+    /** A parked long-poll; {@code result} is completed at most once. */
+    private record Waiter(CurrentUser user, Long meetingId, boolean untilSummary,
+                          DeferredResult<ResponseEntity<?>> result) {
+    }
+
+    @PostConstruct
+    void start() {
+        // Keeps idle streams alive through proxies and finds dead connections
+        heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "readiness-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        heartbeat.scheduleWithFixedDelay(this::sendHeartbeats,
+                heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        heartbeat.shutdownNow();
+        streams.values().forEach(set -> set.forEach(SseEmitter::complete));
+    }
+
+    // ─────────────────────────────────────────────
+    // SSE
+    // ─────────────────────────────────────────────
+
+    /**
+     * @throws QuotaExceededException (429) when the user already has
+     *         {@code readiness.sse.max-streams-per-user} streams open; dead
+     *         ones are found by the next heartbeat, hence the Retry-After
+     */
+    public SseEmitter subscribe(CurrentUser user) {
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        // Checked and added under the map's lock: concurrent subscribes cannot overshoot the cap,
+        // and a concurrent remove cannot drop the set the stream goes into
+        streams.compute(user.id(), (id, set) -> {
+            Set<SseEmitter> s = set != null ? set : ConcurrentHashMap.newKeySet();
+            if (s.size() >= maxStreamsPerUser) {
+                throw new QuotaExceededException(UserQuotaService.Quota.STREAMS, heartbeatInterval);
+            }
+            s.add(emitter);
+            return s;
+        });
+        Runnable remove = () -> removeStream(user.id(), emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        try {
+            emitter.send(SseEmitter.event().comment("connected"));
+        } catch (Exception e) {
+            removeStream(user.id(), emitter);
+        }
+        return emitter;
+    }
+
+    private void removeStream(Long userId, SseEmitter emitter) {
+        streams.computeIfPresent(userId, (id, set) -> {
+            set.remove(emitter);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private void sendHeartbeats() {
+        streams.forEach((userId, set) -> set.forEach(emitter -> {
+            try {
+                emitter.send(SseEmitter.event().comment("ping"));
+            } catch (Exception e) {
+                removeStream(userId, emitter);
+            }
+        }));
+    }
+
+    // ─────────────────────────────────────────────
+    // Long-poll
+    // ─────────────────────────────────────────────
+
+    /**
+     * Ownership / not-found errors are thrown right away. The waiter is parked
+     * before the first read, so a commit between the read and parking cannot
+     * be missed.
+     */
+    public DeferredResult<ResponseEntity<?>> awaitTranscript(CurrentUser user, Long meetingId,
+                                                             Duration wait, boolean untilSummary) {
+        Duration timeout = wait.compareTo(MAX_WAIT) > 0 ? MAX_WAIT : wait;
+        DeferredResult<ResponseEntity<?>> result = new DeferredResult<>(timeout.toMillis());
+        Waiter waiter = new Waiter(user, meetingId, untilSummary, result);
+
+        waiters.compute(meetingId, (id, set) -> {
+            Set<Waiter> s = set != null ? set : ConcurrentHashMap.newKeySet();
+            s.add(waiter);
+            return s;
+        });
+        result.onCompletion(() -> removeWaiter(waiter));
+        result.onTimeout(() -> answerOnTimeout(waiter));
+
+        TranscriptResponse stored;
+        try {
+            stored = transcriptService.findStoredTranscript(user, meetingId).orElse(null);
+        } catch (RuntimeException e) {
+            removeWaiter(waiter);
+            throw e;
+        }
+        if (stored != null && (!untilSummary || !"PENDING".equals(stored.getSummaryStatus()))) {
+            result.setResult(ResponseEntity.ok(stored));
+        }
+        return result;
+    }
+
+    private void removeWaiter(Waiter waiter) {
+        waiters.computeIfPresent(waiter.meetingId(), (id, set) -> {
+            set.remove(waiter);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private void answer(Waiter waiter) {
+        if (waiter.result().isSetOrExpired()) return;
+        try {
+            waiter.result().setResult(transcriptService.findStoredTranscript(waiter.user(), waiter.meetingId())
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.accepted().build()));
+        } catch (RuntimeException e) {
+            waiter.result().setErrorResult(e);
+        }
+    }
+
+    /** Out of time — answer like the plain GET, which may fetch from Fireflies once. */
+    private void answerOnTimeout(Waiter waiter) {
+        try {
+            TranscriptResponse transcript = transcriptService.getTranscriptByMeetingId(waiter.user(), waiter.meetingId());
+            waiter.result().setResult(transcript != null
+                    ? ResponseEntity.ok(transcript)
+                    : ResponseEntity.accepted().build());
+        } catch (RuntimeException e) {
+            waiter.result().setErrorResult(e);
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Event bus
+    // ─────────────────────────────────────────────
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReadiness(TranscriptReadinessEvent event) {
+        deliver(event);
+        bridge.ifAvailable(b -> b.publish(event));
+    }
+
+    /** Wakes this node's clients; also the entry point for events relayed from other nodes. */
+    public void deliver(TranscriptReadinessEvent event) {
+        Set<SseEmitter> userStreams = streams.get(event.userId());
+        if (userStreams != null) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("meetingId", event.meetingId());
+            data.put("transcriptId", event.transcriptId());
+            data.put("summaryStatus", event.summaryStatus());
+            String name = event.stage() == TranscriptReadinessEvent.Stage.TRANSCRIPT ? "transcript" : "summary";
+
+            userStreams.forEach(emitter -> {
+                try {
+                    emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+                } catch (Exception e) {
+                    removeStream(event.userId(), emitter);
+                }
+            });
+        }
+
+        Set<Waiter> parked = waiters.get(event.meetingId());
+        if (parked != null) {
+            for (Waiter waiter : parked) {
+                if (!waiter.user().id().equals(event.userId())) continue;
+                if (waiter.untilSummary() && !event.summarySettled()) continue;
+                removeWaiter(waiter);
+                answer(waiter);
+            }
+        }
+    }
+}
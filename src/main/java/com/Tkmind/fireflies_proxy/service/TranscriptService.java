@@ -1,19 +1,39 @@
 package com.Tkmind.fireflies_proxy.service;
 
+import com.Tkmind.fireflies_proxy.dto.response.SummaryJobResponse;
 import com.Tkmind.fireflies_proxy.dto.response.TranscriptResponse;
 import com.Tkmind.fireflies_proxy.entity.Meeting;
 import com.Tkmind.fireflies_proxy.entity.Transcript;
+import com.Tkmind.fireflies_proxy.event.TranscriptReadinessEvent;
+import com.Tkmind.fireflies_proxy.event.TranscriptSavedEvent;
+import com.Tkmind.fireflies_proxy.repository.FieldSelection;
 import com.Tkmind.fireflies_proxy.repository.MeetingRepository;
+import com.Tkmind.fireflies_proxy.repository.SummaryStateRow;
+import com.Tkmind.fireflies_proxy.repository.TranscriptFieldsRow;
 import com.Tkmind.fireflies_proxy.repository.TranscriptRepository;
+import com.Tkmind.fireflies_proxy.repository.TranscriptRepositoryCustom;
+import com.Tkmind.fireflies_proxy.security.CurrentUser;
+import com.Tkmind.fireflies_proxy.security.UserQuotaService;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -23,33 +43,120 @@ public class TranscriptService {
     private final TranscriptRepository transcriptRepository;
     private final MeetingRepository    meetingRepository;
     private final FirefliesApiService  firefliesApiService;
-    private final LlmSummaryService    llmSummaryService;       // ← NEW
+    private final SpeakerAnalyticsService speakerAnalyticsService;
+    private final SummaryJobQueue      summaryJobQueue;
+    private final ApplicationEventPublisher eventPublisher;
     private final ObjectMapper         objectMapper;
+    private final UserQuotaService     userQuotaService;
+    private final MeterRegistry        meterRegistry;
+
+    // A PENDING / FAILED summary is queued again once it is this old
+    private static final Duration SUMMARY_RETRY_AFTER = Duration.ofMinutes(5);
+
+    // Size of each ingested transcript — sizes the LLM prompt and the LONGTEXT / JSON rows
+    private DistributionSummary contentSize;
+    private DistributionSummary speakerLabelsSize;
+    private DistributionSummary sentenceCount;
+
+    @PostConstruct
+    void registerMeters() {
+        contentSize = DistributionSummary.builder("transcript.content.size")
+                .description("Characters of formatted transcript text per ingested transcript")
+                .baseUnit("characters")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1_000d)
+                .maximumExpectedValue(2_000_000d)
+                .register(meterRegistry);
+        speakerLabelsSize = DistributionSummary.builder("transcript.speaker_labels.size")
+                .description("Characters of speaker_labels JSON per ingested transcript")
+                .baseUnit("characters")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1_000d)
+                .maximumExpectedValue(10_000_000d)
+                .register(meterRegistry);
+        sentenceCount = DistributionSummary.builder("transcript.sentences")
+                .description("Sentences per ingested transcript")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1d)
+                .maximumExpectedValue(50_000d)
+                .register(meterRegistry);
+    }
 
     // ── GET by meeting ID (cached → API fallback) ff ─────────────────────────────
 
+    /**
+     * The common case — a stored transcript read by its owner — is a single
+     * owner-scoped query that fetches the meeting and the lazy columns
+     * together. The meeting is only loaded separately when that query comes
+     * back empty, to tell "not found" from "not yours" from "not fetched yet".
+     */
     @Transactional
-    public TranscriptResponse getTranscriptByMeetingId(String userEmail, Long meetingId) {
-
-        Meeting meeting = meetingRepository.findById(meetingId)
-                .orElseThrow(() -> new RuntimeException("Meeting not found: " + meetingId));
+    public TranscriptResponse getTranscriptByMeetingId(CurrentUser user, Long meetingId) {
 
-        if (!meeting.getUser().getEmail().equalsIgnoreCase(userEmail)) {
-            throw new SecurityException("Unauthorized");
-        }
-
-        return transcriptRepository.findByMeetingId(meetingId)
+        return transcriptRepository.findFullByMeetingIdAndUserId(meetingId, user.id())
                 .map(existing -> {
 
-                    // If transcript exists but has no AI summary yet — generate it now
-                    if (existing.getSummary() == null || existing.getSummary().isBlank()) {
-                        log.info("Transcript exists but has no summary — generating AI summary");
-                        return fetchAndSaveFromApi(meeting);
+                    // AI summary failed or its job was lost — queue it again
+                    if (needsSummaryRetry(existing)) {
+                        log.info("Transcript exists but has no AI summary — re-queuing it");
+                        return fetchAndSaveFromApi(existing.getMeeting());
                     }
 
                     return mapToResponse(existing);
                 })
-                .orElseGet(() -> fetchAndSaveFromApi(meeting));
+                .orElseGet(() -> {
+                    Meeting meeting = findOwnedMeeting(user, meetingId);
+                    userQuotaService.acquire(user, UserQuotaService.Quota.FIREFLIES);
+                    return fetchAndSaveFromApi(meeting);
+                });
+    }
+
+    /**
+     * Stored transcript only — never calls Fireflies or queues work. Empty
+     * while it is not stored yet; "not found" / "Unauthorized" as usual.
+     */
+    @Transactional(readOnly = true)
+    public Optional<TranscriptResponse> findStoredTranscript(CurrentUser user, Long meetingId) {
+        Optional<Transcript> stored = transcriptRepository.findFullByMeetingIdAndUserId(meetingId, user.id());
+        if (stored.isEmpty()) {
+            findOwnedMeeting(user, meetingId);
+        }
+        return stored.map(TranscriptService::mapToResponse);
+    }
+
+    // ── GET by meeting ID, projected (?fields=summary,actionItems) ───────────
+
+    /**
+     * Reads only the requested transcript columns. Falls back to the full
+     * read path (Fireflies fetch / summary generation) when the transcript is
+     * not stored yet, or when a summary was asked for and is still missing.
+     */
+    @Transactional
+    public Map<String, Object> getTranscriptFields(CurrentUser user, Long meetingId, String fields) {
+
+        Set<String> selected = FieldSelection.parse(fields, TranscriptRepositoryCustom.PROJECTABLE_FIELDS);
+
+        Optional<TranscriptFieldsRow> projected =
+                transcriptRepository.findFieldsByMeetingIdAndUserId(meetingId, user.id(), selected);
+
+        // The projection, or the full response when the read has to go further
+        Object source;
+        if (projected.isPresent()) {
+            String summary = projected.get().summary();
+            boolean summaryMissing = selected.contains("summary") && (summary == null || summary.isBlank());
+            source = summaryMissing
+                    // Stored and owned — the full read re-queues the summary if it is due
+                    ? getTranscriptByMeetingId(user, meetingId)
+                    : projected.get();
+        } else {
+            Meeting meeting = findOwnedMeeting(user, meetingId);
+            userQuotaService.acquire(user, UserQuotaService.Quota.FIREFLIES);
+            source = fetchAndSaveFromApi(meeting);
+        }
+
+        Map<String, Object> row = objectMapper.convertValue(source, new TypeReference<>() {});
+        row.keySet().retainAll(selected);
+        return row;
     }
 
     // ── Fetch from Fireflies API (manual / fallback) ──────────────────────────
@@ -61,17 +168,12 @@ public class TranscriptService {
         return transcriptRepository.findByMeetingId(meeting.getId())
                 .map(existing -> {
 
-                    // Transcript in DB but no AI summary — regenerate
-                    if (existing.getSummary() == null || existing.getSummary().isBlank()) {
-                        log.info("Regenerating AI summary for existing transcript, meeting={}",
+                    // Transcript in DB but no AI summary — queue regeneration.
+                    // The reader gets the stored (fallback) summary right away.
+                    if (needsSummaryRetry(existing)) {
+                        log.info("Re-queuing AI summary for existing transcript, meeting={}",
                                 meeting.getId());
-                        String aiSummary = llmSummaryService.summarize(
-                                existing.getContent(), meeting.getTitle());
-                        if (aiSummary != null) {
-                            existing.setSummary(aiSummary);
-                            transcriptRepository.save(existing);
-                            log.info("AI summary saved for meeting {}", meeting.getId());
-                        }
+                        queueSummary(existing, meeting, false);
                     }
 
                     return mapToResponse(existing);
@@ -129,24 +231,12 @@ public class TranscriptService {
                 })
                 .orElseGet(() -> {
 
-                    // ── Build full-text content from sentences ────────────────
+                    // ── Build full-text content + speaker analytics (one pass) ─
                     List<Map<String, Object>> sentences =
                             (List<Map<String, Object>>) transcriptData.get("sentences");
 
-                    StringBuilder content = new StringBuilder();
-                    if (sentences != null) {
-                        for (Map<String, Object> sentence : sentences) {
-                            String speaker   = (String) sentence.get("speaker_name");
-                            String text      = (String) sentence.get("text");
-                            Object startTime = sentence.get("start_time");
-                            if (speaker != null && text != null) {
-                                if (startTime != null) {
-                                    content.append("[").append(formatTime(startTime)).append("] ");
-                                }
-                                content.append(speaker).append(": ").append(text).append("\n");
-                            }
-                        }
-                    }
+                    SpeakerStatsAccumulator speakerStats = new SpeakerStatsAccumulator();
+                    String contentStr = buildContent(sentences, speakerStats);
 
                     // ── Extract Fireflies summary (fallback if LLM fails) ─────
                     String firefliesSummary  = null;
@@ -206,53 +296,182 @@ public class TranscriptService {
                         log.warn("Could not serialize speaker labels: {}", e.getMessage());
                     }
 
-                    // ── Call Gemini AI for summary ────────────────────────────
-                    String finalSummary = null;
-                    String contentStr   = content.toString();
-
-                    if (!contentStr.isBlank()) {
-                        log.info("Calling Gemini AI for transcript summary, meeting={}",
-                                meeting.getId());
-                        finalSummary = llmSummaryService.summarize(contentStr, meeting.getTitle());
-                    }
-
-                    // Fallback: use Fireflies summary if Gemini fails/not configured
-                    if (finalSummary == null || finalSummary.isBlank()) {
-                        log.info("Using Fireflies summary as fallback for meeting {}",
-                                meeting.getId());
-                        finalSummary = firefliesFallback.length() > 0
-                                ? firefliesFallback.toString()
-                                : firefliesSummary;
-                    }
+                    // ── Fireflies summary is served until the AI summary lands ──
+                    String finalSummary = firefliesFallback.length() > 0
+                            ? firefliesFallback.toString()
+                            : firefliesSummary;
 
-                    // ── Persist transcript ────────────────────────────────────
+                    // ── Persist transcript (AI summary is produced after commit) ──
                     Transcript transcript = Transcript.builder()
                             .meeting(meeting)
                             .firefliesTranscriptId((String) transcriptData.get("id"))
                             .content(contentStr)
-                            .summary(finalSummary)                  // ← AI summary here
+                            .summary(finalSummary)
+                            .summaryStatus(contentStr.isBlank()
+                                    ? Transcript.SummaryStatus.SKIPPED
+                                    : Transcript.SummaryStatus.PENDING)
                             .actionItems(actionItemsText)
                             .speakerLabels(speakerLabelsJson)
                             .processedAt(LocalDateTime.now())
                             .build();
 
                     Transcript saved = transcriptRepository.save(transcript);
+                    contentSize.record(contentStr.length());
+                    speakerLabelsSize.record(speakerLabelsJson.length());
+                    sentenceCount.record(sentences != null ? sentences.size() : 0);
+                    speakerAnalyticsService.store(saved.getId(), meeting.getId(), speakerStats);
 
                     // Update meeting status to COMPLETED
                     meeting.setStatus(Meeting.MeetingStatus.COMPLETED);
                     meetingRepository.save(meeting);
 
-                    log.info("Transcript saved for meeting {} with {} summary",
-                            meeting.getId(),
-                            finalSummary != null ? "AI-generated" : "no");
+                    if (saved.getSummaryStatus() == Transcript.SummaryStatus.PENDING) {
+                        queueSummary(saved, meeting, false);
+                    }
+
+                    // Pushed to waiting clients after commit
+                    eventPublisher.publishEvent(new TranscriptReadinessEvent(
+                            meeting.getUser().getId(), meeting.getId(), saved.getId(),
+                            TranscriptReadinessEvent.Stage.TRANSCRIPT, saved.getSummaryStatus().name()));
+
+                    log.info("Transcript saved for meeting {} — AI summary {}",
+                            meeting.getId(), saved.getSummaryStatus());
 
                     return mapToResponse(saved);
                 });
     }
 
-    // ── Helpers ───────────────────────────────────────────────────────────────
+    // ── Regenerate AI summary (user-triggered, jumps the queue) ──────────────
+
+    @Transactional
+    public void regenerateSummary(CurrentUser user, Long meetingId) {
+
+        Transcript transcript = transcriptRepository.findFullByMeetingIdAndUserId(meetingId, user.id())
+                .orElseThrow(() -> transcriptNotReady(user, meetingId));
+
+        userQuotaService.acquire(user, UserQuotaService.Quota.LLM);
+        log.info("User {} requested AI summary regeneration for meeting {}", user.email(), meetingId);
+        queueSummary(transcript, transcript.getMeeting(), true);
+    }
+
+    /**
+     * The job as this node's {@link SummaryJobQueue} knows it. Jobs live in
+     * the memory of the replica that queued them, so any other replica
+     * answers from the transcript's persisted summary state instead.
+     */
+    @Transactional(readOnly = true)
+    public SummaryJobResponse getSummaryJob(CurrentUser user, Long meetingId) {
+
+        Long transcriptId = transcriptRepository.findIdByMeetingIdAndUserId(meetingId, user.id())
+                .orElseThrow(() -> transcriptNotReady(user, meetingId));
+
+        Optional<SummaryJobQueue.SummaryJob> local = summaryJobQueue.findLatestForTranscript(transcriptId);
+        if (local.isEmpty()) {
+            return transcriptRepository.findSummaryState(transcriptId)
+                    .map(state -> toJobResponse(meetingId, state))
+                    .orElseThrow(() -> new EntityNotFoundException("No summary job for meeting " + meetingId));
+        }
+
+        SummaryJobQueue.SummaryJob job = local.get();
+        return SummaryJobResponse.builder()
+                .jobId(job.getId())
+                .meetingId(job.getMeetingId())
+                .transcriptId(job.getTranscriptId())
+                .priority(job.getPriority().name())
+                .status(job.getStatus().name())
+                .attempts(job.getAttempts())
+                .enqueuedAt(job.getEnqueuedAt())
+                .startedAt(job.getStartedAt())
+                .completedAt(job.getCompletedAt())
+                .lastError(job.getLastError())
+                .build();
+    }
+
+    private SummaryJobResponse toJobResponse(Long meetingId, SummaryStateRow state) {
+        SummaryJobQueue.Status status = switch (state.summaryStatus()) {
+            case READY, SKIPPED -> SummaryJobQueue.Status.SUCCEEDED;
+            case FAILED         -> SummaryJobQueue.Status.FAILED;
+            case PENDING        -> SummaryJobQueue.Status.QUEUED;
+        };
+        return SummaryJobResponse.builder()
+                .meetingId(meetingId)
+                .transcriptId(state.transcriptId())
+                .status(status.name())
+                .enqueuedAt(toInstant(state.summaryRequestedAt()))
+                .build();
+    }
+
+    private static Instant toInstant(LocalDateTime time) {
+        return time == null ? null : time.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    // ── AI summary queueing ───────────────────────────────────────────────────
+
+    private boolean needsSummaryRetry(Transcript t) {
+        Transcript.SummaryStatus status = t.getSummaryStatus();
+        if (status == Transcript.SummaryStatus.READY || status == Transcript.SummaryStatus.SKIPPED) {
+            return false;
+        }
+        LocalDateTime requestedAt = t.getSummaryRequestedAt();
+        return requestedAt == null
+                || requestedAt.isBefore(LocalDateTime.now().minus(SUMMARY_RETRY_AFTER));
+    }
+
+    /**
+     * Marks the summary PENDING and hands it to {@link SummaryWorker}, which
+     * picks it up only after the surrounding transaction commits.
+     */
+    private void queueSummary(Transcript t, Meeting meeting, boolean userRequested) {
+        t.setSummaryStatus(Transcript.SummaryStatus.PENDING);
+        t.setSummaryRequestedAt(LocalDateTime.now());
+        transcriptRepository.save(t);
+
+        eventPublisher.publishEvent(new TranscriptSavedEvent(
+                t.getId(), meeting.getId(), meeting.getTitle(), t.getContent(), userRequested));
+    }
+
+    private Meeting findOwnedMeeting(CurrentUser user, Long meetingId) {
+        Meeting meeting = meetingRepository.findById(meetingId)
+                .orElseThrow(() -> new RuntimeException("Meeting not found: " + meetingId));
+
+        if (!meeting.getUser().getId().equals(user.id())) {
+            throw new SecurityException("Unauthorized");
+        }
+        return meeting;
+    }
+
+    /**
+     * Owner-scoped lookup came back empty — re-check the meeting so the
+     * caller still gets "not found" / "Unauthorized" before "not ready".
+     */
+    private RuntimeException transcriptNotReady(CurrentUser user, Long meetingId) {
+        findOwnedMeeting(user, meetingId);
+        return new RuntimeException("Transcript not ready yet for meeting " + meetingId);
+    }
+
+    // ── Helpers (package-private + static so src/jmh can benchmark them) ─────
+
+    /** "[mm:ss] Speaker: text" lines; feeds the speaker analytics in the same pass. */
+    static String buildContent(List<Map<String, Object>> sentences, SpeakerStatsAccumulator speakerStats) {
+        StringBuilder content = new StringBuilder();
+        if (sentences != null) {
+            for (Map<String, Object> sentence : sentences) {
+                String speaker   = (String) sentence.get("speaker_name");
+                String text      = (String) sentence.get("text");
+                Object startTime = sentence.get("start_time");
+                if (speaker != null && text != null) {
+                    if (startTime != null) {
+                        content.append("[").append(formatTime(startTime)).append("] ");
+                    }
+                    content.append(speaker).append(": ").append(text).append("\n");
+                    speakerStats.accept(speaker, text, startTime, sentence.get("end_time"));
+                }
+            }
+        }
+        return content.toString();
+    }
 
-    private String formatTime(Object timeObj) {
+    static String formatTime(Object timeObj) {
         try {
             double secs    = Double.parseDouble(timeObj.toString());
             int    minutes = (int) (secs / 60);
@@ -263,12 +482,13 @@ public class TranscriptService {
         }
     }
 
-    private TranscriptResponse mapToResponse(Transcript t) {
+    static TranscriptResponse mapToResponse(Transcript t) {
         return TranscriptResponse.builder()
                 .id(t.getId())
                 .meetingId(t.getMeeting().getId())
                 .content(t.getContent())
                 .summary(t.getSummary())
+                .summaryStatus(t.getSummaryStatus() != null ? t.getSummaryStatus().name() : null)
                 .actionItems(t.getActionItems())
                 .speakerLabels(t.getSpeakerLabels())
                 .processedAt(t.getProcessedAt())
@@ -3,6 +3,8 @@ package com.Tkmind.fireflies_proxy.service;
 import com.Tkmind.fireflies_proxy.config.FirefliesConfig;
 import com.Tkmind.fireflies_proxy.entity.Meeting;
 import com.Tkmind.fireflies_proxy.repository.MeetingRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -13,7 +15,16 @@ import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.Map;
 import java.util.Optional;
-
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters:
+ *   webhook.latency{event,outcome}  receipt → transcript persisted (or given up)
+ *   webhook.stage.latency{stage}    receive, resolve, fetch, persist
+ *
+ * The AI summary is produced after the webhook returns; its queue wait and
+ * run time are summary.job.queue.wait / summary.job.duration.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -23,6 +34,8 @@ public class WebhookService {
     private final TranscriptService transcriptService;
     private final MeetingRepository meetingRepository;
     private final FirefliesApiService firefliesApiService;
+    private final MeetingKeyIndex meetingKeyIndex;
+    private final MeterRegistry meterRegistry;
 
     // ─────────────────────────────────────────────
     // Signature Verification
@@ -57,25 +70,38 @@ public class WebhookService {
     // Event Router
     // ─────────────────────────────────────────────
 
-    public void processWebhook(Map<String, Object> payload) {
+    /**
+     * @param receivedAt {@link System#nanoTime()} when the request reached the
+     *                   controller, before signature check and parsing
+     */
+    public void processWebhook(Map<String, Object> payload, long receivedAt) {
+        recordStage("receive", System.nanoTime() - receivedAt);
+
         String eventType = extractString(payload, "event_type", "event", "eventType");
 
         log.info("Fireflies webhook event: {}", eventType);
 
         if (eventType == null) {
             log.warn("Webhook received without event type: {}", payload);
+            recordWebhook("unknown", "ignored", receivedAt);
             return;
         }
 
         switch (eventType) {
             case "Transcription completed", "transcript.completed" ->
-                    processTranscriptCompleted(payload);
-            case "meeting.started", "Meeting started" ->
-                    log.info("Meeting started — no action needed");
-            case "meeting.ended", "Meeting ended" ->
-                    log.info("Meeting ended — no action needed");
-            default ->
-                    log.info("Unhandled Fireflies event: {}", eventType);
+                    recordWebhook("transcript_completed", processTranscriptCompleted(payload), receivedAt);
+            case "meeting.started", "Meeting started" -> {
+                log.info("Meeting started — no action needed");
+                recordWebhook("meeting_started", "ignored", receivedAt);
+            }
+            case "meeting.ended", "Meeting ended" -> {
+                log.info("Meeting ended — no action needed");
+                recordWebhook("meeting_ended", "ignored", receivedAt);
+            }
+            default -> {
+                log.info("Unhandled Fireflies event: {}", eventType);
+                recordWebhook("other", "ignored", receivedAt);
+            }
         }
     }
 
@@ -94,9 +120,13 @@ public class WebhookService {
      *     extract the meeting_url from it, then retry local lookup by URL
      *  4. Update local meeting.firefliesMeetingId to the real Fireflies ID
      *  5. Save transcript to DB
+     *
+     * @return outcome tag: persisted, not_ready, unmatched, missing_id or error
      */
     @SuppressWarnings("unchecked")
-    private void processTranscriptCompleted(Map<String, Object> payload) {
+    private String processTranscriptCompleted(Map<String, Object> payload) {
+        long resolveNanos = 0;
+        long fetchNanos   = 0;
         try {
 
             // ── 1. Extract meetingId ──────────────────────────────────────────
@@ -107,11 +137,13 @@ public class WebhookService {
 
             if (firefliesMeetingId == null) {
                 log.warn("Webhook has no meetingId — cannot process");
-                return;
+                return "missing_id";
             }
 
             // ── 2. Cheap local lookup ─────────────────────────────────────────
+            long t = System.nanoTime();
             Meeting meeting = resolveMeetingLocally(firefliesMeetingId, null);
+            resolveNanos += System.nanoTime() - t;
 
             // ── 3. No local match → fetch from API, extract URL, retry ────────
             Map<String, Object> transcriptData = null;
@@ -120,13 +152,15 @@ public class WebhookService {
                 log.info("No local meeting found by ID. Fetching full transcript from " +
                         "Fireflies API to extract meeting URL...");
 
+                t = System.nanoTime();
                 transcriptData = fetchTranscriptData(firefliesMeetingId);
+                fetchNanos += System.nanoTime() - t;
 
                 if (transcriptData == null) {
                     log.warn("Fireflies transcript not ready yet for meetingId={}. " +
                             "The meeting will be fetchable once the client calls " +
                             "GET /meetings/{id}/transcript.", firefliesMeetingId);
-                    return;
+                    return "not_ready";
                 }
 
                 // Log full transcript keys so you can see what Fireflies returns
@@ -137,6 +171,7 @@ public class WebhookService {
                         "meeting_url", "meetingUrl", "meeting_link", "url", "video_url");
                 log.info("meeting_url from transcript API response: '{}'", urlFromTranscript);
 
+                t = System.nanoTime();
                 if (urlFromTranscript != null) {
                     meeting = resolveMeetingLocally(null, urlFromTranscript);
                 }
@@ -152,6 +187,7 @@ public class WebhookService {
                                 .orElse(null);
                     }
                 }
+                resolveNanos += System.nanoTime() - t;
 
                 if (meeting == null) {
                     log.warn("Could not associate Fireflies meetingId='{}' to any local meeting. " +
@@ -159,7 +195,7 @@ public class WebhookService {
                                     "Transcript title was: '{}'",
                             firefliesMeetingId,
                             transcriptData.get("title"));
-                    return;
+                    return "unmatched";
                 }
             }
 
@@ -173,21 +209,30 @@ public class WebhookService {
 
             // ── 5. Fetch transcript data if not already fetched in step 3 ─────
             if (transcriptData == null) {
+                t = System.nanoTime();
                 transcriptData = fetchTranscriptData(firefliesMeetingId);
+                fetchNanos += System.nanoTime() - t;
                 if (transcriptData == null) {
                     log.warn("Transcript still not ready for meetingId={}.", firefliesMeetingId);
-                    return;
+                    return "not_ready";
                 }
             }
 
             // ── 6. Persist transcript ─────────────────────────────────────────
+            t = System.nanoTime();
             transcriptService.buildAndSaveFromWebhook(meeting, transcriptData);
+            recordStage("persist", System.nanoTime() - t);
 
             log.info("✅ Transcript saved for local meeting {} (Fireflies meetingId='{}')",
                     meeting.getId(), firefliesMeetingId);
+            return "persisted";
 
         } catch (Exception e) {
             log.error("Error processing transcript webhook: {}", e.getMessage(), e);
+            return "error";
+        } finally {
+            if (resolveNanos > 0) recordStage("resolve", resolveNanos);
+            if (fetchNanos > 0) recordStage("fetch", fetchNanos);
         }
     }
 
@@ -215,14 +260,16 @@ public class WebhookService {
     // ─────────────────────────────────────────────
 
     /**
-     * Strategy 1 — exact firefliesMeetingId column match
-     * Strategy 2 — firefliesMeetingId column holds meeting URL (set at invite time)
-     * Strategy 3 — meetingUrl column match
+     * Strategy 1 — firefliesMeetingId
+     * Strategy 2 — canonical meeting URL key; also covers meetings whose
+     *              firefliesMeetingId still holds the URL set at invite time
+     *
+     * Both go through {@link MeetingKeyIndex} — one hash lookup when warm.
      */
     private Meeting resolveMeetingLocally(String firefliesMeetingId, String meetingUrl) {
 
         if (firefliesMeetingId != null) {
-            Optional<Meeting> m = meetingRepository.findByFirefliesMeetingId(firefliesMeetingId);
+            Optional<Meeting> m = meetingKeyIndex.findByFirefliesMeetingId(firefliesMeetingId);
             if (m.isPresent()) {
                 log.debug("Resolved via firefliesMeetingId='{}'", firefliesMeetingId);
                 return m.get();
@@ -230,23 +277,40 @@ public class WebhookService {
         }
 
         if (meetingUrl != null && !meetingUrl.isBlank()) {
-            // firefliesMeetingId column might hold the URL
-            Optional<Meeting> m = meetingRepository.findByFirefliesMeetingId(meetingUrl);
+            Optional<Meeting> m = meetingKeyIndex.findByUrl(meetingUrl);
             if (m.isPresent()) {
-                log.debug("Resolved via firefliesMeetingId=URL '{}'", meetingUrl);
+                log.debug("Resolved via meeting key of '{}'", meetingUrl);
                 return m.get();
             }
-            // meetingUrl column
-            Optional<Meeting> m2 = meetingRepository.findByMeetingUrl(meetingUrl);
-            if (m2.isPresent()) {
-                log.debug("Resolved via meetingUrl='{}'", meetingUrl);
-                return m2.get();
-            }
         }
 
         return null;
     }
 
+    // ─────────────────────────────────────────────
+    // Metrics
+    // ─────────────────────────────────────────────
+
+    private void recordStage(String stage, long nanos) {
+        Timer.builder("webhook.stage.latency")
+                .description("Time spent in each stage of webhook processing")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** {@code event} and {@code outcome} come from fixed sets — never the raw payload. */
+    private void recordWebhook(String event, String outcome, long receivedAt) {
+        Timer.builder("webhook.latency")
+                .description("Webhook receipt to completion, per event and outcome")
+                .tag("event", event)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - receivedAt, TimeUnit.NANOSECONDS);
+    }
+
     // ─────────────────────────────────────────────
     // Util
     // ─────────────────────────────────────────────
@@ -0,0 +1,242 @@
+package com.Tkmind.fireflies_proxy.service.llm;
+
+import com.Tkmind.fireflies_proxy.service.GroqRateLimiter;
+import com.Tkmind.fireflies_proxy.service.LlmRateLimitException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.*;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Groq REST API (OpenAI-compatible chat completions).
+ *
+ * Get your FREE API key at: https://console.groq.com
+ * Free tier: 14,400 requests/day, 30 requests/min — no credit card needed.
+ *
+ * Latency is measured by {@link HedgingLlmClient} (llm.provider.latency);
+ * this class adds llm.tokens{provider,type} from the usage Groq reports.
+ */
+@Component
+@RequiredArgsConstructor
+public class GroqLlmProvider implements LlmProvider {
+
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(20);
+
+    @Value("${groq.api.key:}")
+    private String groqApiKey;
+
+    @Value("${groq.api.url:https://api.groq.com/openai/v1/chat/completions}")
+    private String groqUrl;
+
+    @Value("${groq.model:llama-3.3-70b-versatile}")
+    private String groqModel;
+
+    // JDK HttpClient transport: an interrupt (a cancelled hedge) aborts the in-flight request
+    private final RestTemplate    restTemplate = new RestTemplate(new JdkClientHttpRequestFactory());
+    private final GroqRateLimiter rateLimiter;
+    private final ObjectMapper    objectMapper;
+    private final MeterRegistry   meterRegistry;
+
+    @Override
+    public String name() {
+        return "groq";
+    }
+
+    @Override
+    public String model() {
+        return groqModel;
+    }
+
+    @Override
+    public boolean isConfigured() {
+        return groqApiKey != null && !groqApiKey.isBlank();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public String complete(String prompt, int maxTokens) {
+
+        acquireRateLimit(prompt, maxTokens);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(groqApiKey);
+
+        HttpEntity<Map<String, Object>> request =
+                new HttpEntity<>(requestBody(prompt, maxTokens, false), headers);
+
+        ResponseEntity<Map> response;
+        try {
+            response = restTemplate.exchange(
+                    groqUrl,
+                    HttpMethod.POST,
+                    request,
+                    Map.class
+            );
+        } catch (HttpClientErrorException.TooManyRequests e) {
+            throw rateLimited(e);
+        }
+
+        Map<String, Object> responseBody = response.getBody();
+
+        if (responseBody == null) {
+            throw new RuntimeException("Empty response from Groq API");
+        }
+
+        recordUsage(objectMapper.valueToTree(responseBody.get("usage")));
+
+        // Parse: response.choices[0].message.content
+        List<Map<String, Object>> choices =
+                (List<Map<String, Object>>) responseBody.get("choices");
+
+        if (choices == null || choices.isEmpty()) {
+            throw new RuntimeException("No choices in Groq response: " + responseBody);
+        }
+
+        Map<String, Object> messageResponse =
+                (Map<String, Object>) choices.get(0).get("message");
+
+        String text = (String) messageResponse.get("content");
+
+        if (text == null || text.isBlank()) {
+            throw new RuntimeException("Empty content in Groq response");
+        }
+
+        return text.trim();
+    }
+
+    @Override
+    public String stream(String prompt, int maxTokens, Consumer<String> onToken) {
+
+        acquireRateLimit(prompt, maxTokens);
+
+        Map<String, Object> body = requestBody(prompt, maxTokens, true);
+
+        try {
+            return restTemplate.execute(
+                    groqUrl,
+                    HttpMethod.POST,
+                    request -> {
+                        request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                        request.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+                        request.getHeaders().setBearerAuth(groqApiKey);
+                        objectMapper.writeValue(request.getBody(), body);
+                    },
+                    response -> readStream(response.getBody(), onToken)
+            );
+        } catch (HttpClientErrorException.TooManyRequests e) {
+            throw rateLimited(e);
+        }
+    }
+
+    /** Parses "data: {...}" lines until "data: [DONE]"; relays choices[0].delta.content. */
+    private String readStream(InputStream body, Consumer<String> onToken) throws IOException {
+        StringBuilder text = new StringBuilder();
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.startsWith("data:")) continue;
+
+                String data = line.substring(5).trim();
+                if ("[DONE]".equals(data)) break;
+
+                JsonNode chunk = objectMapper.readTree(data);
+                // Usage arrives once, on the final chunk
+                recordUsage(chunk.has("x_groq") ? chunk.path("x_groq").path("usage") : chunk.path("usage"));
+
+                JsonNode delta = chunk.path("choices").path(0).path("delta").path("content");
+                if (delta.isTextual() && !delta.asText().isEmpty()) {
+                    text.append(delta.asText());
+                    onToken.accept(delta.asText());
+                }
+            }
+        }
+
+        if (text.isEmpty()) {
+            throw new RuntimeException("Empty content in Groq stream");
+        }
+        return text.toString().trim();
+    }
+
+    // ─────────────────────────────────────────────
+    // Helpers
+    // ─────────────────────────────────────────────
+
+    private void acquireRateLimit(String prompt, int maxTokens) {
+        try {
+            rateLimiter.acquire(GroqRateLimiter.estimateTokens(prompt) + maxTokens);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for Groq rate limit");
+        }
+    }
+
+    private void recordUsage(JsonNode usage) {
+        if (usage == null || !usage.isObject()) return;
+        countTokens("prompt", usage.path("prompt_tokens").asLong());
+        countTokens("completion", usage.path("completion_tokens").asLong());
+    }
+
+    private void countTokens(String type, long tokens) {
+        if (tokens <= 0) return;
+        Counter.builder("llm.tokens")
+                .description("Tokens billed by the LLM provider")
+                .baseUnit("tokens")
+                .tag("provider", name())
+                .tag("type", type)
+                .register(meterRegistry)
+                .increment(tokens);
+    }
+
+    private Map<String, Object> requestBody(String prompt, int maxTokens, boolean stream) {
+        Map<String, Object> message = Map.of(
+                "role",    "user",
+                "content", prompt
+        );
+
+        return Map.of(
+                "model",       groqModel,
+                "messages",    List.of(message),
+                "max_tokens",  maxTokens,
+                "temperature", 0.3,
+                "stream",      stream
+        );
+    }
+
+    private LlmRateLimitException rateLimited(HttpClientErrorException e) {
+        Duration retryAfter = parseRetryAfter(e.getResponseHeaders());
+        rateLimiter.backOff(retryAfter);
+        return new LlmRateLimitException("Groq rate limit exceeded", retryAfter);
+    }
+
+    private Duration parseRetryAfter(HttpHeaders headers) {
+        try {
+            String value = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+            if (value != null) {
+                return Duration.ofMillis((long) (Double.parseDouble(value) * 1000));
+            }
+        } catch (NumberFormatException ignored) {
+            // HTTP-date form — fall through to default
+        }
+        return DEFAULT_RETRY_AFTER;
+    }
+}
@@ -0,0 +1,323 @@
+package com.Tkmind.fireflies_proxy.service.llm;
+
+import com.Tkmind.fireflies_proxy.service.LlmRateLimitException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Entry point for LLM calls. Routes to the configured primary provider and,
+ * when a secondary is configured, hedges:
+ *
+ *   - primary has not answered after its observed p95 latency
+ *     (clamped to [min-delay, max-delay]) → fire the secondary too,
+ *     take whichever succeeds first;
+ *   - primary fails outright → fall through to the secondary.
+ *
+ * Streams are not hedged (tokens may already be on the wire); they only fall
+ * back if the primary fails before its first token.
+ *
+ * Each hedged call runs as a {@link FutureTask} on the hedge executor, so the
+ * loser is cancelled by interrupting its thread rather than left to finish.
+ * Results carry the model that actually answered ({@link Completion}).
+ *
+ * Meters: llm.provider.latency{provider,outcome}, llm.hedges{winner}. A
+ * loser that fails because it was cancelled is recorded as outcome
+ * "cancelled", not "failure" — hedging must not inflate the failure rate.
+ *
+ * Config:
+ *   llm.provider.primary=groq
+ *   llm.provider.secondary=        (empty = no hedging)
+ *   llm.hedge.min-delay=2s, llm.hedge.max-delay=30s, llm.hedge.min-samples=20
+ */
+@Component
+@Slf4j
+public class HedgingLlmClient {
+
+    private final Map<String, LlmProvider> providers;
+    private final MeterRegistry            meterRegistry;
+    private final Executor                 llmHedgeExecutor;
+
+    @Value("${llm.provider.primary:groq}")
+    private String primaryName;
+
+    @Value("${llm.provider.secondary:}")
+    private String secondaryName;
+
+    @Value("${llm.hedge.min-delay:2s}")
+    private Duration minHedgeDelay;
+
+    @Value("${llm.hedge.max-delay:30s}")
+    private Duration maxHedgeDelay;
+
+    @Value("${llm.hedge.min-samples:20}")
+    private long minSamples;
+
+    private LlmProvider primary;
+    private LlmProvider secondary;
+
+    public HedgingLlmClient(List<LlmProvider> providers,
+                            MeterRegistry meterRegistry,
+                            @Qualifier("llmHedgeExecutor") Executor llmHedgeExecutor) {
+        this.providers        = providers.stream()
+                .collect(Collectors.toMap(LlmProvider::name, Function.identity()));
+        this.meterRegistry    = meterRegistry;
+        this.llmHedgeExecutor = llmHedgeExecutor;
+    }
+
+    @PostConstruct
+    void init() {
+        primary = provider(primaryName);
+        if (secondaryName != null && !secondaryName.isBlank() && !secondaryName.equals(primaryName)) {
+            secondary = provider(secondaryName);
+        }
+        log.info("LLM provider: {} ({}){}", primary.name(), primary.model(),
+                secondary != null ? ", hedging to " + secondary.name() : "");
+    }
+
+    private LlmProvider provider(String name) {
+        LlmProvider p = providers.get(name);
+        if (p == null) {
+            throw new IllegalStateException("Unknown LLM provider '" + name
+                    + "' — available: " + providers.keySet());
+        }
+        return p;
+    }
+
+    public boolean isConfigured() {
+        return primary.isConfigured();
+    }
+
+    /** A completion and the model that produced it (part of the summary cache key). */
+    public record Completion(String text, String model) {
+    }
+
+    /** Model of the primary provider. */
+    public String model() {
+        return primary.model();
+    }
+
+    /** Models that may answer a call: the primary's first, then the hedge's. */
+    public List<String> models() {
+        return hedging() ? List.of(primary.model(), secondary.model()) : List.of(primary.model());
+    }
+
+    // ─────────────────────────────────────────────
+    // Completion (hedged)
+    // ─────────────────────────────────────────────
+
+    public Completion complete(String prompt, int maxTokens) {
+        if (!hedging()) {
+            return timed(primary, () -> primary.complete(prompt, maxTokens));
+        }
+
+        Attempt first = start(primary, prompt, maxTokens);
+
+        Duration delay = hedgeDelay();
+        try {
+            return first.result().get(delay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.debug("{} slower than {}ms — hedging to {}", primary.name(), delay.toMillis(), secondary.name());
+        } catch (ExecutionException e) {
+            log.warn("{} failed ({}) — falling back to {}", primary.name(),
+                    e.getCause().getMessage(), secondary.name());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            first.cancel();
+            throw new RuntimeException("Interrupted while waiting for LLM");
+        }
+
+        Attempt second = start(secondary, prompt, maxTokens);
+
+        return firstSuccess(first, second);
+    }
+
+    /** One provider call in flight; {@link #cancel} interrupts the thread running it. */
+    private record Attempt(FutureTask<Completion> task, CompletableFuture<Completion> result) {
+
+        void cancel() {
+            task.cancel(true);
+        }
+    }
+
+    private Attempt start(LlmProvider provider, String prompt, int maxTokens) {
+        CompletableFuture<Completion> result = new CompletableFuture<>();
+        AtomicReference<FutureTask<Completion>> self = new AtomicReference<>();
+        FutureTask<Completion> task = new FutureTask<>(() -> timed(provider,
+                () -> provider.complete(prompt, maxTokens), () -> self.get().isCancelled())) {
+            @Override
+            protected void done() {
+                if (isCancelled()) {
+                    result.cancel(false);
+                    return;
+                }
+                try {
+                    result.complete(get());
+                } catch (ExecutionException e) {
+                    result.completeExceptionally(e.getCause());
+                } catch (InterruptedException e) {
+                    result.completeExceptionally(e);   // not reached: done() runs once the task is finished
+                }
+            }
+        };
+        self.set(task);
+        llmHedgeExecutor.execute(task);
+        return new Attempt(task, result);
+    }
+
+    private Completion firstSuccess(Attempt firstAttempt, Attempt secondAttempt) {
+        CompletableFuture<Completion> first  = firstAttempt.result();
+        CompletableFuture<Completion> second = secondAttempt.result();
+        CompletableFuture<Completion> winner = new CompletableFuture<>();
+        AtomicReference<Throwable> firstError = new AtomicReference<>();
+
+        first.whenComplete((result, error) -> {
+            if (error == null) {
+                if (winner.complete(result)) hedgeWon(primary);
+            } else {
+                firstError.set(unwrap(error));
+                if (second.isCompletedExceptionally()) winner.completeExceptionally(unwrap(error));
+            }
+        });
+        second.whenComplete((result, error) -> {
+            if (error == null) {
+                if (winner.complete(result)) hedgeWon(secondary);
+            } else if (first.isCompletedExceptionally()) {
+                // Both failed — report the primary's error (keeps 429 → backoff semantics)
+                Throwable primaryError = firstError.get();
+                winner.completeExceptionally(primaryError != null ? primaryError : unwrap(error));
+            }
+        });
+
+        try {
+            return winner.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        } finally {
+            firstAttempt.cancel();
+            secondAttempt.cancel();
+        }
+    }
+
+    private boolean hedging() {
+        return secondary != null && secondary.isConfigured();
+    }
+
+    /** p95 of the primary's recent successful calls, clamped; max-delay until warmed up. */
+    Duration hedgeDelay() {
+        Timer timer = successTimer(primary);
+        if (timer.count() < minSamples) return maxHedgeDelay;
+
+        for (ValueAtPercentile p : timer.takeSnapshot().percentileValues()) {
+            if (p.percentile() == 0.95) {
+                long millis = (long) p.value(TimeUnit.MILLISECONDS);
+                return Duration.ofMillis(Math.clamp(millis,
+                        minHedgeDelay.toMillis(), maxHedgeDelay.toMillis()));
+            }
+        }
+        return maxHedgeDelay;
+    }
+
+    // ─────────────────────────────────────────────
+    // Streaming (fallback only)
+    // ─────────────────────────────────────────────
+
+    public Completion stream(String prompt, int maxTokens, Consumer<String> onToken) {
+        boolean[] started = {false};
+        Consumer<String> relay = token -> {
+            started[0] = true;
+            onToken.accept(token);
+        };
+
+        try {
+            return timed(primary, () -> primary.stream(prompt, maxTokens, relay));
+        } catch (RuntimeException e) {
+            if (started[0] || !hedging()) throw e;
+            log.warn("{} stream failed ({}) — falling back to {}", primary.name(),
+                    e.getMessage(), secondary.name());
+            return timed(secondary, () -> secondary.stream(prompt, maxTokens, onToken));
+        }
+    }
+
+    // ─────────────────────────────────────────────
+    // Metrics
+    // ─────────────────────────────────────────────
+
+    private Completion timed(LlmProvider provider, Supplier<String> call) {
+        return timed(provider, call, () -> false);
+    }
+
+    private Completion timed(LlmProvider provider, Supplier<String> call, BooleanSupplier cancelled) {
+        long start = System.nanoTime();
+        String outcome = "failure";
+        try {
+            String result = call.get();
+            outcome = "success";
+            return new Completion(result, provider.model());
+        } catch (LlmRateLimitException e) {
+            outcome = "rate_limited";
+            throw e;
+        } catch (RuntimeException e) {
+            // cancel(true) marks the task cancelled before it interrupts the call
+            if (cancelled.getAsBoolean()) outcome = "cancelled";
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if ("success".equals(outcome)) {
+                successTimer(provider).record(elapsed, TimeUnit.NANOSECONDS);
+            } else {
+                Timer.builder("llm.provider.latency")
+                        .tag("provider", provider.name())
+                        .tag("outcome", outcome)
+                        .register(meterRegistry)
+                        .record(elapsed, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private Timer successTimer(LlmProvider provider) {
+        return Timer.builder("llm.provider.latency")
+                .description("LLM call latency per provider and outcome")
+                .tag("provider", provider.name())
+                .tag("outcome", "success")
+                .publishPercentiles(0.95)
+                .distributionStatisticExpiry(Duration.ofMinutes(5))
+                .register(meterRegistry);
+    }
+
+    private void hedgeWon(LlmProvider winner) {
+        Counter.builder("llm.hedges")
+                .description("Hedged LLM calls by which provider answered first")
+                .tag("winner", winner.name())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static Throwable unwrap(Throwable t) {
+        return t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+    }
+}
@@ -0,0 +1,26 @@
+package com.Tkmind.fireflies_proxy.service.llm;
+
+import java.util.function.Consumer;
+
+/**
+ * One chat-completion backend. Implementations own their transport, auth and
+ * provider-side rate limiting; {@link HedgingLlmClient} picks between them.
+ */
+public interface LlmProvider {
+
+    /** Short id used in config ({@code llm.provider.primary}) and meter tags. */
+    String name();
+
+    String model();
+
+    /** False when required credentials are missing — callers skip the LLM. */
+    boolean isConfigured();
+
+    /**
+     * @throws com.Tkmind.fireflies_proxy.service.LlmRateLimitException on 429
+     */
+    String complete(String prompt, int maxTokens);
+
+    /** Streams content deltas to {@code onToken}; returns the full text. */
+    String stream(String prompt, int maxTokens, Consumer<String> onToken);
+}
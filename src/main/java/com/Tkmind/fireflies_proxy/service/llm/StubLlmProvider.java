@@ -0,0 +1,102 @@
+package com.Tkmind.fireflies_proxy.service.llm;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Local, deterministic provider for tests, benchmarks and offline runs —
+ * select with {@code llm.provider.primary=stub}. The same prompt always
+ * yields the same summary; {@code llm.stub.latency} simulates response time.
+ */
+@Component
+public class StubLlmProvider implements LlmProvider {
+
+    @Value("${llm.stub.latency:0ms}")
+    private Duration latency;
+
+    @Override
+    public String name() {
+        return "stub";
+    }
+
+    @Override
+    public String model() {
+        return "stub-1";
+    }
+
+    @Override
+    public boolean isConfigured() {
+        return true;
+    }
+
+    @Override
+    public String complete(String prompt, int maxTokens) {
+        sleep(latency);
+        return render(prompt);
+    }
+
+    @Override
+    public String stream(String prompt, int maxTokens, Consumer<String> onToken) {
+        String text  = render(prompt);
+        // Groq-style deltas: each word carries the space before it (" the")
+        String[] words = text.split("(?= )");
+        for (String word : words) {
+            sleep(latency.dividedBy(Math.max(words.length, 1)));
+            onToken.accept(word);
+        }
+        return text;
+    }
+
+    private String render(String prompt) {
+        String title = "Meeting";
+        Set<String> speakers = new LinkedHashSet<>();
+        int words = 0;
+
+        for (String line : prompt.split("\n")) {
+            if (line.startsWith("Meeting Title: ")) {
+                title = line.substring("Meeting Title: ".length()).trim();
+                continue;
+            }
+            int close = line.startsWith("[") ? line.indexOf("] ") : -1;
+            int colon = close > 0 ? line.indexOf(": ", close) : -1;
+            if (colon > 0) {
+                speakers.add(line.substring(close + 2, colon));
+                words += line.substring(colon + 2).split("\\s+").length;
+            }
+        }
+
+        return """
+                ## Overview
+                Stub summary of "%s": %d speaker(s), %d transcript words (prompt hash %08x).
+
+                ## Key Discussion Points
+                - %s
+
+                ## Decisions Made
+                None identified
+
+                ## Action Items
+                None identified
+
+                ## Keywords
+                stub, %s""".formatted(title, speakers.size(), words, prompt.hashCode(),
+                speakers.isEmpty() ? "No speaker lines found" : "Speakers: " + String.join(", ", speakers),
+                title.toLowerCase(Locale.ROOT));
+    }
+
+    private static void sleep(Duration d) {
+        if (d.isZero() || d.isNegative()) return;
+        try {
+            Thread.sleep(d.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+-- ============================================================
+-- V10__readiness_events.sql  –  cross-node transcript readiness relay
+-- ============================================================
+-- Only used with readiness.bridge.jdbc.enabled=true. Each node tails the
+-- table by id and wakes its own SSE / long-poll clients; rows older than
+-- readiness.bridge.jdbc.retention are deleted.
+
+CREATE TABLE IF NOT EXISTS readiness_events (
+    id              BIGINT AUTO_INCREMENT PRIMARY KEY,
+    node_id         VARCHAR(36) NOT NULL,
+    user_id         BIGINT      NOT NULL,
+    meeting_id      BIGINT      NOT NULL,
+    transcript_id   BIGINT      NULL,
+    stage           VARCHAR(20) NOT NULL,
+    summary_status  VARCHAR(20) NULL,
+    created_at      TIMESTAMP   NOT NULL
+);
+
+CREATE INDEX idx_readiness_events_created_at
+    ON readiness_events (created_at);
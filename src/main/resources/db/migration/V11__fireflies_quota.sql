@@ -0,0 +1,16 @@
+-- ============================================================
+-- V11__fireflies_quota.sql  –  Fireflies quota shared by all replicas
+-- ============================================================
+-- Only used with fireflies.cluster.quota=jdbc. One token bucket per API key
+-- (quota_key); times are epoch milliseconds. refilled_at = 0 makes the first
+-- acquire start from a full bucket.
+
+CREATE TABLE IF NOT EXISTS fireflies_quota (
+    quota_key     VARCHAR(50)  NOT NULL PRIMARY KEY,
+    tokens        DOUBLE       NOT NULL,
+    refilled_at   BIGINT       NOT NULL,
+    paused_until  BIGINT       NOT NULL
+);
+
+INSERT INTO fireflies_quota (quota_key, tokens, refilled_at, paused_until)
+VALUES ('fireflies', 0, 0, 0);
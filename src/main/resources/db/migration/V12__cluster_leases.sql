@@ -0,0 +1,21 @@
+-- ============================================================
+-- V12__cluster_leases.sql  –  node membership and named leases
+-- ============================================================
+-- All times are the database clock (CURRENT_TIMESTAMP), so node clock skew
+-- does not matter. A node that stops heartbeating drops out of the shard
+-- count after cluster.node-timeout; its leases lapse after cluster.lease-ttl.
+
+CREATE TABLE IF NOT EXISTS cluster_nodes (
+    node_id       VARCHAR(36)  NOT NULL PRIMARY KEY,
+    started_at    TIMESTAMP    NOT NULL,
+    heartbeat_at  TIMESTAMP    NOT NULL
+);
+
+-- One row per lease name ("leader", "summary-rebuild", ...); a lease is
+-- free when expires_at has passed, whoever owner_id still names.
+CREATE TABLE IF NOT EXISTS cluster_leases (
+    name          VARCHAR(100) NOT NULL PRIMARY KEY,
+    owner_id      VARCHAR(36)  NOT NULL,
+    acquired_at   TIMESTAMP    NOT NULL,
+    expires_at    TIMESTAMP    NOT NULL
+);
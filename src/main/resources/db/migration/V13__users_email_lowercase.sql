@@ -0,0 +1,11 @@
+-- ============================================================
+-- V13__users_email_lowercase.sql  –  store emails normalized
+-- ============================================================
+-- The natural-id cache matches emails exactly, so rows written before
+-- User.normalizeEmail are brought to the same trimmed lower-case form.
+-- The unique index already compares case-insensitively (MySQL default
+-- collation), so this cannot create duplicates — and, for the same reason,
+-- a WHERE email <> LOWER(email) filter would match nothing.
+
+UPDATE users
+SET email = LOWER(TRIM(email));
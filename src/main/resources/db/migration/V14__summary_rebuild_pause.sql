@@ -0,0 +1,7 @@
+-- ============================================================
+-- V14__summary_rebuild_pause.sql  –  cluster-wide pause request
+-- ============================================================
+-- Set by whichever replica receives the pause call; the node running the
+-- job reads it between batches and stops at its checkpoint.
+
+ALTER TABLE summary_rebuild_jobs ADD COLUMN pause_requested BOOLEAN NOT NULL DEFAULT FALSE;
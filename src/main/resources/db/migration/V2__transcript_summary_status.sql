@@ -0,0 +1,16 @@
+-- ============================================================
+-- V2__transcript_summary_status.sql  –  async AI summary state
+-- ============================================================
+
+ALTER TABLE transcripts
+    ADD COLUMN summary_status VARCHAR(20) NOT NULL DEFAULT 'PENDING';
+
+ALTER TABLE transcripts
+    ADD COLUMN summary_requested_at TIMESTAMP NULL;
+
+-- Existing rows were summarized inline; blank ones failed back then
+UPDATE transcripts
+SET summary_status = CASE
+                         WHEN summary IS NULL OR summary = '' THEN 'FAILED'
+                         ELSE 'READY'
+    END;
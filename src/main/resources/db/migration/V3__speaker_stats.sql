@@ -0,0 +1,28 @@
+-- ============================================================
+-- V3__speaker_stats.sql  –  per-speaker meeting analytics
+-- ============================================================
+-- One row per (transcript, speaker), computed once at ingest time. The
+-- unique index makes a second writer of the same transcript (a backfill
+-- racing another node) fail instead of duplicating rows.
+
+CREATE TABLE IF NOT EXISTS speaker_stats (
+                                             id                     BIGINT AUTO_INCREMENT PRIMARY KEY,
+                                             transcript_id          BIGINT NOT NULL,
+                                             meeting_id             BIGINT NOT NULL,
+                                             speaker_name           VARCHAR(255) NOT NULL,
+    sentence_count         INT NOT NULL,
+    word_count             INT NOT NULL,
+    talk_time_sec          DOUBLE NOT NULL,
+    talk_share             DOUBLE NOT NULL,
+    words_per_minute       DOUBLE NOT NULL,
+    interruptions          INT NOT NULL,
+    longest_monologue_sec  DOUBLE NOT NULL,
+    CONSTRAINT fk_speaker_stats_transcript
+    FOREIGN KEY (transcript_id) REFERENCES transcripts (id) ON DELETE CASCADE
+    );
+
+CREATE INDEX idx_speaker_stats_meeting_id
+    ON speaker_stats (meeting_id);
+
+CREATE UNIQUE INDEX ux_speaker_stats_transcript_speaker
+    ON speaker_stats (transcript_id, speaker_name);
@@ -0,0 +1,16 @@
+-- ============================================================
+-- V4__summary_cache.sql  –  content-addressed AI summary cache
+-- ============================================================
+-- cache_key = SHA-256(normalized transcript, prompt version, model).
+-- FAILED rows are negative entries and stop counting after expires_at.
+
+CREATE TABLE IF NOT EXISTS summary_cache (
+                                             cache_key       CHAR(64) PRIMARY KEY,
+                                             prompt_version  VARCHAR(20)  NOT NULL,
+    model           VARCHAR(100) NOT NULL,
+    status          VARCHAR(20)  NOT NULL,
+    summary         TEXT,
+    error           VARCHAR(500),
+    created_at      TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    expires_at      TIMESTAMP NULL
+    );
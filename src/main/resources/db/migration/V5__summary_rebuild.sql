@@ -0,0 +1,22 @@
+-- ============================================================
+-- V5__summary_rebuild.sql  –  prompt-version stamp + bulk re-summarization
+-- ============================================================
+-- summary_prompt_version = "<prompt version>/<model>" that produced the AI
+-- summary. NULL (all pre-existing rows) counts as stale.
+
+ALTER TABLE transcripts ADD COLUMN summary_prompt_version VARCHAR(128) NULL;
+
+-- One row per admin-triggered run; last_transcript_id is the keyset checkpoint.
+CREATE TABLE IF NOT EXISTS summary_rebuild_jobs (
+                                                    id                  BIGINT AUTO_INCREMENT PRIMARY KEY,
+                                                    target_version      VARCHAR(128) NOT NULL,
+    status              VARCHAR(20)  NOT NULL,
+    last_transcript_id  BIGINT       NOT NULL DEFAULT 0,
+    processed           BIGINT       NOT NULL DEFAULT 0,
+    failed              BIGINT       NOT NULL DEFAULT 0,
+    rows_per_second     DOUBLE,
+    error               VARCHAR(500),
+    started_at          TIMESTAMP NULL,
+    updated_at          TIMESTAMP NULL,
+    finished_at         TIMESTAMP NULL
+    );
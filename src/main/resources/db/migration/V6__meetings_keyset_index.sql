@@ -0,0 +1,11 @@
+-- ============================================================
+-- V6__meetings_keyset_index.sql  –  keyset pagination of GET /meetings
+-- ============================================================
+-- Pages are read as WHERE user_id = ? AND (scheduled_date, id) < (?, ?)
+-- ORDER BY scheduled_date DESC, id DESC — a range scan of this index.
+-- It also serves the user_id foreign key, so the single-column index goes.
+
+CREATE INDEX idx_meetings_user_scheduled_id
+    ON meetings (user_id, scheduled_date, id);
+
+DROP INDEX idx_meetings_user_id ON meetings;
@@ -0,0 +1,11 @@
+-- ============================================================
+-- V7__meetings_auto_launch_indexes.sql  –  auto-launch scheduler scans
+-- ============================================================
+-- Startup / horizon load: status = 'SCHEDULED' AND scheduled_date BETWEEN ? AND ?
+-- Incremental reload:     updated_at > ? ORDER BY updated_at, id
+
+CREATE INDEX idx_meetings_status_scheduled
+    ON meetings (status, scheduled_date);
+
+CREATE INDEX idx_meetings_updated_at
+    ON meetings (updated_at, id);
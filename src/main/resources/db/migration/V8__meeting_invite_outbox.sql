@@ -0,0 +1,38 @@
+-- ============================================================
+-- V8__meeting_invite_outbox.sql  –  asynchronous Fireflies bot invites
+-- ============================================================
+-- invite_status is what clients poll: NONE, PENDING, INVITED, FAILED.
+-- Meetings invited before this migration already carry a fireflies id.
+
+ALTER TABLE meetings
+    ADD COLUMN invite_status VARCHAR(20) NOT NULL DEFAULT 'NONE';
+
+ALTER TABLE meetings
+    ADD COLUMN invite_error VARCHAR(500) NULL;
+
+UPDATE meetings
+SET invite_status = 'INVITED'
+WHERE fireflies_meeting_id IS NOT NULL;
+
+-- One row per meeting, written in the same transaction as the meeting.
+-- next_attempt_at doubles as the lease of a PROCESSING row: a node that dies
+-- mid-call leaves the row to be picked up again once it passes.
+CREATE TABLE IF NOT EXISTS meeting_invite_outbox (
+                                                     id               BIGINT AUTO_INCREMENT PRIMARY KEY,
+                                                     meeting_id       BIGINT      NOT NULL,
+                                                     status           VARCHAR(20) NOT NULL,
+    attempts         INT         NOT NULL DEFAULT 0,
+    next_attempt_at  TIMESTAMP   NOT NULL,
+    last_error       VARCHAR(500),
+    created_at       TIMESTAMP NULL,
+    updated_at       TIMESTAMP NULL,
+    CONSTRAINT fk_invite_outbox_meeting
+    FOREIGN KEY (meeting_id) REFERENCES meetings (id) ON DELETE CASCADE
+    );
+
+CREATE UNIQUE INDEX ux_invite_outbox_meeting_id
+    ON meeting_invite_outbox (meeting_id);
+
+-- Dispatcher poll: status IN ('PENDING', 'PROCESSING') AND next_attempt_at <= ?
+CREATE INDEX idx_invite_outbox_due
+    ON meeting_invite_outbox (status, next_attempt_at);
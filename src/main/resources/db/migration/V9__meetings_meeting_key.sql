@@ -0,0 +1,11 @@
+-- ============================================================
+-- V9__meetings_meeting_key.sql  –  canonical meeting URL key
+-- ============================================================
+-- meeting_key = MeetingUrlKey.of(meeting_url), e.g. "zoom:81234567890".
+-- Existing rows are filled in by the application at startup (the
+-- normalization lives in Java, not SQL).
+
+ALTER TABLE meetings ADD COLUMN meeting_key VARCHAR(255) NULL;
+
+CREATE INDEX idx_meetings_meeting_key
+    ON meetings (meeting_key, id);
@@ -0,0 +1,37 @@
+package com.Tkmind.fireflies_proxy.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "management.server.port=0")
+@ActiveProfiles("test")
+@AutoConfigureObservability(tracing = false)   // registers the Prometheus endpoint
+class SecurityConfigTest {
+
+    @LocalServerPort     int serverPort;
+    @LocalManagementPort int managementPort;
+
+    @Test
+    void metricsAreOnlyServedOnTheManagementPort() {
+        assertThat(status(managementPort, "/actuator/prometheus")).isEqualTo(200);
+        assertThat(status(serverPort, "/actuator/prometheus")).isEqualTo(403);
+    }
+
+    @Test
+    void healthIsServedOnTheManagementPort() {
+        assertThat(status(managementPort, "/actuator/health")).isIn(200, 503);
+    }
+
+    private static int status(int port, String path) {
+        return RestClient.create("http://127.0.0.1:" + port).get().uri(path)
+                .exchange((request, response) -> response.getStatusCode().value());
+    }
+}
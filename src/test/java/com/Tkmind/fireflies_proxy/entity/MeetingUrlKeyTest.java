@@ -0,0 +1,58 @@
+package com.Tkmind.fireflies_proxy.entity;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MeetingUrlKeyTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "https://us02web.zoom.us/j/81234567890?pwd=abc,   zoom:81234567890",
+            "https://zoom.us/j/81234567890,                   zoom:81234567890",
+            "HTTPS://Zoom.US/J/81234567890/,                  zoom:81234567890",
+            "us02web.zoom.us/wc/join/81234567890,             zoom:81234567890",
+            "https://company.zoom.com/s/812345678,            zoom:812345678",
+            "https://zoom.us/my/Alice.Smith,                  zoom:my:alice.smith",
+            "https://meet.google.com/ABC-defg-hij?authuser=1, meet:abcdefghij",
+            "https://meet.google.com/abcdefghij/,             meet:abcdefghij",
+            "https://teams.microsoft.com/l/meetup-join/19%3ameeting_X%40thread.v2/0?context=%7b%7d, teams:19:meeting_X@thread.v2",
+            "https://teams.live.com/meet/9876543210,          teams:9876543210",
+            "https://www.Example.com/Room/42/?ref=mail,       url:example.com/room/42",
+            "https://meet.google.com/lookup/abc,              url:meet.google.com/lookup/abc",
+            "https://zoom.us/webinar/register,                url:zoom.us/webinar/register",
+    })
+    void normalizesToTheMeetingIdentity(String url, String key) {
+        assertThat(MeetingUrlKey.of(url)).isEqualTo(key);
+    }
+
+    @Test
+    void teamsThreadIdsKeepTheirCase() {
+        assertThat(MeetingUrlKey.of("https://teams.microsoft.com/l/meetup-join/19%3aMeeting_AbC%40thread.v2/0"))
+                .isNotEqualTo(MeetingUrlKey.of("https://teams.microsoft.com/l/meetup-join/19%3ameeting_abc%40thread.v2/0"));
+    }
+
+    @Test
+    void plusInAPathIsNotASpace() {
+        assertThat(MeetingUrlKey.of("https://example.com/a+b")).isEqualTo("url:example.com/a+b");
+    }
+
+    @Test
+    void longKeysAreHashed() {
+        String key = MeetingUrlKey.of("https://example.com/" + "x".repeat(300));
+
+        assertThat(key).startsWith("sha256:").hasSize("sha256:".length() + 64);
+        assertThat(MeetingUrlKey.of("https://EXAMPLE.com/" + "x".repeat(300) + "?utm_source=mail")).isEqualTo(key);
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"   ", "https://exa mple.com/x", "https:///no-host"})
+    void blankOrUnparseableUrlsHaveNoKey(String url) {
+        assertThat(MeetingUrlKey.of(url)).isNull();
+    }
+}
@@ -0,0 +1,34 @@
+package com.Tkmind.fireflies_proxy.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserTest {
+
+    @Test
+    void normalizesEmailTrimmedAndLowerCased() {
+        assertThat(User.normalizeEmail("  Alice@Example.COM ")).isEqualTo("alice@example.com");
+        assertThat(User.normalizeEmail(null)).isNull();
+    }
+
+    @Test
+    void normalizationDoesNotDependOnTheDefaultLocale() {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            assertThat(User.normalizeEmail("INFO@EXAMPLE.COM")).isEqualTo("info@example.com");
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    @Test
+    void setterStoresTheNormalizedEmail() {
+        User user = new User();
+        user.setEmail(" Bob@Example.com");
+        assertThat(user.getEmail()).isEqualTo("bob@example.com");
+    }
+}
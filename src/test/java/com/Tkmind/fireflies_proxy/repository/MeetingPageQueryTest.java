@@ -0,0 +1,92 @@
+package com.Tkmind.fireflies_proxy.repository;
+
+import com.Tkmind.fireflies_proxy.entity.Meeting;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MeetingPageQueryTest {
+
+    private static final LocalDateTime AT = LocalDateTime.of(2026, 3, 14, 9, 30, 15);
+
+    @Test
+    void withoutLimitOrCursorTheListIsUnpaged() {
+        MeetingPageQuery query = MeetingPageQuery.of(null, null, null, null, null);
+
+        assertThat(query.paged()).isFalse();
+        assertThat(query.limit()).isEqualTo(MeetingPageQuery.UNPAGED);
+    }
+
+    @Test
+    void aCursorAloneUsesTheDefaultPageSize() {
+        MeetingPageQuery query = MeetingPageQuery.of(null, null, null, MeetingPageQuery.cursorOf(AT, 7L), null);
+
+        assertThat(query.paged()).isTrue();
+        assertThat(query.limit()).isEqualTo(MeetingPageQuery.DEFAULT_LIMIT);
+    }
+
+    @Test
+    void cursorRoundTrips() {
+        String cursor = MeetingPageQuery.cursorOf(AT, 42L);
+
+        MeetingPageQuery query = MeetingPageQuery.of(null, null, null, cursor, 10);
+
+        assertThat(query.afterScheduledDate()).isEqualTo(AT);
+        assertThat(query.afterId()).isEqualTo(42L);
+        assertThat(cursor).doesNotContain("=", "+", "/");
+    }
+
+    @Test
+    void cursorKeepsSubSecondPrecision() {
+        LocalDateTime precise = AT.withNano(123_456_000);
+
+        assertThat(MeetingPageQuery.of(null, null, null, MeetingPageQuery.cursorOf(precise, 1L), 10)
+                .afterScheduledDate()).isEqualTo(precise);
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        for (String bad : new String[]{"not base64!", encode("no-separator"), encode("yesterday|1"),
+                                       encode(AT + "|abc"), encode("|")}) {
+            assertThatThrownBy(() -> MeetingPageQuery.of(null, null, null, bad, 10))
+                    .as(bad)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid cursor");
+        }
+    }
+
+    @Test
+    void limitMustBeWithinBounds() {
+        assertThatThrownBy(() -> MeetingPageQuery.of(null, null, null, null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MeetingPageQuery.of(null, null, null, null, MeetingPageQuery.MAX_LIMIT + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(MeetingPageQuery.of(null, null, null, null, MeetingPageQuery.MAX_LIMIT).limit())
+                .isEqualTo(MeetingPageQuery.MAX_LIMIT);
+    }
+
+    @Test
+    void statusesAreParsedCaseInsensitively() {
+        MeetingPageQuery query = MeetingPageQuery.of("scheduled, Completed,", null, null, null, null);
+
+        assertThat(query.statuses())
+                .containsExactlyInAnyOrder(Meeting.MeetingStatus.SCHEDULED, Meeting.MeetingStatus.COMPLETED);
+        assertThatThrownBy(() -> MeetingPageQuery.of("SOMEDAY", null, null, null, null))
+                .hasMessageContaining("SOMEDAY");
+    }
+
+    @Test
+    void fromMustBeBeforeTo() {
+        assertThatThrownBy(() -> MeetingPageQuery.of(null, AT, AT, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
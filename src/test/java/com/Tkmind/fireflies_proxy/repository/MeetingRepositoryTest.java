@@ -0,0 +1,70 @@
+package com.Tkmind.fireflies_proxy.repository;
+
+import com.Tkmind.fireflies_proxy.entity.Meeting;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class MeetingRepositoryTest {
+
+    @Autowired MeetingRepository meetingRepository;
+    @Autowired JdbcTemplate      jdbcTemplate;
+
+    private long userId;
+
+    @BeforeEach
+    void owner() {
+        jdbcTemplate.update("INSERT INTO users (email) VALUES ('owner@example.com')");
+        userId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM users", Long.class);
+    }
+
+    @Test
+    void fieldsPageCarriesTheCursorColumnsAlongsideTheRequestedOnes() {
+        LocalDateTime date = LocalDateTime.of(2026, 3, 1, 10, 0);
+        long older = meeting("Older", date);
+        long newer = meeting("Newer", date.plusDays(1));
+
+        List<MeetingFieldsRow> rows = meetingRepository.findFieldsPageByUserId(userId,
+                MeetingPageQuery.of(null, null, null, null, 1), Set.of("title", "status"));
+
+        // limit + 1 rows, newest first
+        assertThat(rows).extracting(MeetingFieldsRow::id).containsExactly(newer, older);
+        MeetingFieldsRow first = rows.getFirst();
+        assertThat(first.title()).isEqualTo("Newer");
+        assertThat(first.status()).isEqualTo(Meeting.MeetingStatus.SCHEDULED);
+        assertThat(first.scheduledDate()).isEqualTo(date.plusDays(1));
+        assertThat(first.meetingUrl()).isNull();
+        assertThat(first.inviteStatus()).isNull();
+    }
+
+    @Test
+    void fieldsByIdAreScopedToTheOwner() {
+        long id = meeting("Sync", LocalDateTime.of(2026, 3, 1, 10, 0));
+
+        MeetingFieldsRow row = meetingRepository.findFieldsByIdAndUserId(id, userId, Set.of("title")).orElseThrow();
+
+        assertThat(row.title()).isEqualTo("Sync");
+        assertThat(row.id()).isNull();
+        assertThat(meetingRepository.findFieldsByIdAndUserId(id, userId + 1, Set.of("title"))).isEmpty();
+    }
+
+    private long meeting(String title, LocalDateTime scheduledDate) {
+        jdbcTemplate.update("""
+                INSERT INTO meetings (user_id, title, scheduled_date, meeting_url, status)
+                VALUES (?, ?, ?, 'https://meet.example.com/a', 'SCHEDULED')""", userId, title, scheduledDate);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM meetings", Long.class);
+    }
+}
@@ -0,0 +1,120 @@
+package com.Tkmind.fireflies_proxy.repository;
+
+import com.Tkmind.fireflies_proxy.entity.Transcript;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class TranscriptRepositoryTest {
+
+    @Autowired TranscriptRepository transcriptRepository;
+    @Autowired JdbcTemplate         jdbcTemplate;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    private long userId;
+
+    @BeforeEach
+    void owner() {
+        jdbcTemplate.update("INSERT INTO users (email) VALUES ('owner@example.com')");
+        userId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM users", Long.class);
+    }
+
+    @Test
+    void rebuiltSummaryIsWrittenOnlyWhileTheVersionIsUnchanged() {
+        long untouched  = transcript("1/old-model");
+        long neverLlm   = transcript(null);
+        long superseded = transcript("1/old-model");
+        long failed     = transcript("1/old-model");
+
+        List<StaleSummaryRow> batch = transcriptRepository.findStaleSummaries(0L, "2/new-model",
+                Limit.of(10));
+        // Written by a summary job after the batch was read
+        jdbcTemplate.update("UPDATE transcripts SET summary = 'fresh', summary_prompt_version = '2/new-model' WHERE id = ?",
+                superseded);
+
+        RebuiltSummary rebuilt = new RebuiltSummary("rebuilt", "2/new-model");
+        int updated = transcriptRepository.updateRebuiltSummaries(batch,
+                Map.of(untouched, rebuilt, neverLlm, new RebuiltSummary("rebuilt", "2/hedge-model"), superseded, rebuilt));
+
+        assertThat(updated).isEqualTo(2);
+        assertThat(summary(untouched)).isEqualTo("rebuilt");
+        assertThat(summary(neverLlm)).isEqualTo("rebuilt");
+        assertThat(jdbcTemplate.queryForObject("SELECT summary_prompt_version FROM transcripts WHERE id = ?",
+                String.class, neverLlm)).isEqualTo("2/hedge-model");
+        assertThat(summary(superseded)).isEqualTo("fresh");
+        assertThat(summary(failed)).isEqualTo("original");
+    }
+
+    @Test
+    void fullReadFetchesMeetingAndLazyColumnsInOneStatement() {
+        long id = transcript("1/model");
+        long meetingId = jdbcTemplate.queryForObject("SELECT meeting_id FROM transcripts WHERE id = ?", Long.class, id);
+        entityManagerFactory.getCache().evictAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Transcript transcript = transcriptRepository.findFullByMeetingIdAndUserId(meetingId, userId).orElseThrow();
+
+        assertThat(transcript.getMeeting().getTitle()).isEqualTo("Sync");
+        assertThat(transcript.getContent()).isEqualTo("Alice: hi");
+        assertThat(transcript.getSpeakerLabels()).isNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void fullReadIsEmptyForAnotherUser() {
+        long id = transcript("1/model");
+        long meetingId = jdbcTemplate.queryForObject("SELECT meeting_id FROM transcripts WHERE id = ?", Long.class, id);
+
+        assertThat(transcriptRepository.findFullByMeetingIdAndUserId(meetingId, userId + 1)).isEmpty();
+    }
+
+    @Test
+    void fieldsProjectionFillsOnlyTheRequestedComponents() {
+        long id = transcript("1/model");
+        long meetingId = jdbcTemplate.queryForObject("SELECT meeting_id FROM transcripts WHERE id = ?", Long.class, id);
+
+        TranscriptFieldsRow row = transcriptRepository
+                .findFieldsByMeetingIdAndUserId(meetingId, userId, Set.of("summary", "summaryStatus", "meetingId"))
+                .orElseThrow();
+
+        assertThat(row.summary()).isEqualTo("original");
+        assertThat(row.summaryStatus()).isEqualTo(Transcript.SummaryStatus.READY);
+        assertThat(row.meetingId()).isEqualTo(meetingId);
+        assertThat(row.content()).isNull();
+        assertThat(row.id()).isNull();
+        assertThat(transcriptRepository.findFieldsByMeetingIdAndUserId(meetingId, userId + 1, Set.of("summary")))
+                .isEmpty();
+    }
+
+    private long transcript(String version) {
+        jdbcTemplate.update("INSERT INTO meetings (user_id, title, scheduled_date) VALUES (?, 'Sync', CURRENT_TIMESTAMP)",
+                userId);
+        long meetingId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM meetings", Long.class);
+        jdbcTemplate.update("""
+                INSERT INTO transcripts (meeting_id, content, summary, summary_status, summary_prompt_version)
+                VALUES (?, 'Alice: hi', 'original', 'READY', ?)""", meetingId, version);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM transcripts", Long.class);
+    }
+
+    private String summary(long id) {
+        return jdbcTemplate.queryForObject("SELECT summary FROM transcripts WHERE id = ?", String.class, id);
+    }
+}
@@ -0,0 +1,75 @@
+package com.Tkmind.fireflies_proxy.security;
+
+import com.Tkmind.fireflies_proxy.entity.User;
+import com.Tkmind.fireflies_proxy.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CurrentUserServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    @Test
+    void knownEmailIsLookedUpOnce() {
+        when(userRepository.findByEmail("alice@example.com")).thenReturn(Optional.of(user(1L, "alice@example.com")));
+        CurrentUserService service = service(Duration.ofMinutes(1));
+
+        assertThat(service.resolve("Alice@Example.com")).isEqualTo(new CurrentUser(1L, "alice@example.com"));
+        assertThat(service.resolve("alice@example.com").id()).isEqualTo(1L);
+
+        verify(userRepository, times(1)).findByEmail("alice@example.com");
+    }
+
+    @Test
+    void unknownEmailIsCachedNegativelyUntilRegistered() {
+        when(userRepository.findByEmail("bob@example.com")).thenReturn(Optional.empty());
+        CurrentUserService service = service(Duration.ofMinutes(1));
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> service.resolve("bob@example.com"))
+                    .isInstanceOf(EntityNotFoundException.class);
+        }
+        verify(userRepository, times(1)).findByEmail("bob@example.com");
+
+        service.registered(user(2L, "bob@example.com"));
+
+        assertThat(service.resolve("bob@example.com").id()).isEqualTo(2L);
+    }
+
+    @Test
+    void negativeEntryExpiresSoAUserRegisteredElsewhereIsFound() throws InterruptedException {
+        when(userRepository.findByEmail("carol@example.com"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(user(3L, "carol@example.com")));
+        CurrentUserService service = service(Duration.ofMillis(50));
+
+        assertThatThrownBy(() -> service.resolve("carol@example.com"))
+                .isInstanceOf(EntityNotFoundException.class);
+        Thread.sleep(100);
+
+        assertThat(service.resolve("carol@example.com").id()).isEqualTo(3L);
+    }
+
+    private CurrentUserService service(Duration negativeTtl) {
+        return new CurrentUserService(userRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(30),
+                100, negativeTtl);
+    }
+
+    private static User user(Long id, String email) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        return user;
+    }
+}
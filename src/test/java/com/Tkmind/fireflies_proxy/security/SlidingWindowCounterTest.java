@@ -0,0 +1,106 @@
+package com.Tkmind.fireflies_proxy.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowCounterTest {
+
+    private static final long WINDOW = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void grantsUpToTheLimitWithinAWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(10, WINDOW, 0);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(counter.tryAcquire(1, i)).isZero();
+        }
+        assertThat(counter.tryAcquire(1, 10)).isPositive();
+    }
+
+    @Test
+    void previousWindowCountsByItsUnelapsedShare() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(10, WINDOW, 0);
+        assertThat(counter.tryAcquire(10, 0)).isZero();
+
+        // Halfway through the next window half of the previous 10 still count
+        long halfway = WINDOW + WINDOW / 2;
+        assertThat(counter.tryAcquire(5, halfway)).isZero();
+        assertThat(counter.tryAcquire(1, halfway)).isPositive();
+    }
+
+    @Test
+    void windowsOlderThanThePreviousOneAreForgotten() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(10, WINDOW, 0);
+        assertThat(counter.tryAcquire(10, 0)).isZero();
+
+        assertThat(counter.tryAcquire(10, 2 * WINDOW)).isZero();
+    }
+
+    @Test
+    void waitIsLongEnoughToFit() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(10, WINDOW, 0);
+        assertThat(counter.tryAcquire(10, WINDOW / 4)).isZero();
+
+        long now  = WINDOW / 2;
+        long wait = counter.tryAcquire(3, now);
+
+        assertThat(wait).isGreaterThan(WINDOW / 2);   // not before the next window starts
+        assertThat(counter.tryAcquire(3, now + wait - WINDOW / 100)).isPositive();
+        assertThat(counter.tryAcquire(3, now + wait)).isZero();
+    }
+
+    @Test
+    void waitInsideTheWindowForThePreviousShareToDecay() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(10, WINDOW, 0);
+        assertThat(counter.tryAcquire(10, 0)).isZero();
+
+        long now  = WINDOW;   // previous = 10, full weight
+        long wait = counter.tryAcquire(4, now);
+
+        assertThat(wait).isBetween(1L, WINDOW);
+        assertThat(counter.tryAcquire(4, now + wait)).isZero();
+    }
+
+    @Test
+    void morePermitsThanTheLimitNeverFit() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(10, WINDOW, 0);
+
+        assertThat(counter.tryAcquire(11, 0)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheLimit() throws Exception {
+        SlidingWindowCounter counter = new SlidingWindowCounter(100, WINDOW, 0);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> granted = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                granted.add(pool.submit(() -> {
+                    start.await();
+                    int mine = 0;
+                    for (int i = 0; i < 50; i++) {
+                        if (counter.tryAcquire(1, 10) == 0) mine++;
+                    }
+                    return mine;
+                }));
+            }
+            start.countDown();
+
+            int total = 0;
+            for (Future<Integer> f : granted) total += f.get(5, TimeUnit.SECONDS);
+            assertThat(total).isEqualTo(100);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Two nodes sharing the real cluster_leases table (Flyway on H2); the heartbeat thread is never started. */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)   // each node writes in its own transaction
+class ClusterLeaseServiceTest {
+
+    private static final String LEASE = "summary-rebuild";
+
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    private ClusterLeaseService nodeA;
+    private ClusterLeaseService nodeB;
+
+    @BeforeEach
+    void nodes() {
+        nodeA = node();
+        nodeB = node();
+    }
+
+    @AfterEach
+    void clear() {
+        jdbcTemplate.update("DELETE FROM cluster_leases");
+        jdbcTemplate.update("DELETE FROM cluster_nodes");
+    }
+
+    @Test
+    void onlyOneNodeHoldsALease() {
+        assertThat(nodeA.tryAcquire(LEASE)).isTrue();
+        assertThat(nodeB.tryAcquire(LEASE)).isFalse();
+
+        assertThat(nodeA.holds(LEASE)).isTrue();
+        assertThat(nodeB.holds(LEASE)).isFalse();
+        assertThat(owner()).isEqualTo(nodeA.nodeId());
+    }
+
+    @Test
+    void holderRenewsItsOwnLease() {
+        nodeA.tryAcquire(LEASE);
+
+        assertThat(nodeA.tryAcquire(LEASE)).isTrue();
+        assertThat(owner()).isEqualTo(nodeA.nodeId());
+    }
+
+    @Test
+    void expiredLeaseIsTakenOver() {
+        nodeA.tryAcquire(LEASE);
+        jdbcTemplate.update("UPDATE cluster_leases SET expires_at = TIMESTAMPADD(SECOND, -1, CURRENT_TIMESTAMP)");
+
+        assertThat(nodeB.tryAcquire(LEASE)).isTrue();
+        assertThat(owner()).isEqualTo(nodeB.nodeId());
+        // The old holder's renewal no longer matches
+        assertThat(nodeA.tryAcquire(LEASE)).isFalse();
+        assertThat(nodeA.holds(LEASE)).isFalse();
+    }
+
+    @Test
+    void releasedLeaseIsFreeForOthers() {
+        nodeA.tryAcquire(LEASE);
+        nodeA.release(LEASE);
+
+        assertThat(nodeA.holds(LEASE)).isFalse();
+        assertThat(nodeB.tryAcquire(LEASE)).isTrue();
+    }
+
+    @Test
+    void releaseByANonHolderLeavesTheLeaseAlone() {
+        nodeA.tryAcquire(LEASE);
+        nodeB.release(LEASE);
+
+        assertThat(owner()).isEqualTo(nodeA.nodeId());
+    }
+
+    @Test
+    void leaseIsTrustedOnlyUntilAHeartbeatBeforeItExpires() {
+        nodeA.tryAcquire(LEASE);
+
+        renewedAgo(nodeA, Duration.ofSeconds(9));
+        assertThat(nodeA.holds(LEASE)).isTrue();
+
+        // 15s TTL - 5s heartbeat: another node may take over in 4s, so stop trusting it now
+        renewedAgo(nodeA, Duration.ofSeconds(11));
+        assertThat(nodeA.holds(LEASE)).isFalse();
+    }
+
+    @Test
+    void heartbeatWithoutMarginFallsBackToHalfTheTtl() {
+        ReflectionTestUtils.setField(nodeA, "heartbeatInterval", Duration.ofSeconds(15));
+        nodeA.tryAcquire(LEASE);
+
+        renewedAgo(nodeA, Duration.ofSeconds(7));
+        assertThat(nodeA.holds(LEASE)).isTrue();
+
+        renewedAgo(nodeA, Duration.ofSeconds(8));
+        assertThat(nodeA.holds(LEASE)).isFalse();
+    }
+
+    @Test
+    void heartbeatRenewsHeldLeasesAndElectsOneLeader() {
+        nodeA.tryAcquire(LEASE);
+        renewedAgo(nodeA, Duration.ofSeconds(11));
+
+        nodeA.heartbeat();
+        nodeB.heartbeat();
+
+        assertThat(nodeA.holds(LEASE)).isTrue();
+        assertThat(nodeA.isLeader()).isTrue();
+        assertThat(nodeB.isLeader()).isFalse();
+        assertThat(nodeB.liveNodes()).containsExactlyInAnyOrder(nodeA.nodeId(), nodeB.nodeId());
+    }
+
+    private ClusterLeaseService node() {
+        ClusterLeaseService node = new ClusterLeaseService(jdbcTemplate, event -> { });
+        ReflectionTestUtils.setField(node, "heartbeatInterval", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(node, "nodeTimeout", Duration.ofSeconds(20));
+        ReflectionTestUtils.setField(node, "leaseTtl", Duration.ofSeconds(15));
+        return node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void renewedAgo(ClusterLeaseService node, Duration ago) {
+        Map<String, Long> held = (Map<String, Long>) ReflectionTestUtils.getField(node, "held");
+        held.put(LEASE, System.nanoTime() - ago.toNanos());
+    }
+
+    private String owner() {
+        return jdbcTemplate.queryForObject("SELECT owner_id FROM cluster_leases WHERE name = ?", String.class, LEASE);
+    }
+}
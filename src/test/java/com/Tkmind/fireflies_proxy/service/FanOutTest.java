@@ -0,0 +1,127 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FanOutTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void joinWaitsForEveryFork() {
+        try (FanOut scope = new FanOut(executor)) {
+            Supplier<String> a = scope.fork(() -> {
+                Thread.sleep(50);
+                return "a";
+            });
+            Supplier<Integer> b = scope.fork(() -> 2);
+
+            scope.join();
+
+            assertThat(a.get()).isEqualTo("a");
+            assertThat(b.get()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void firstFailureIsRethrownAndInterruptsTheOthers() throws Exception {
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        AtomicBoolean  interrupted = new AtomicBoolean();
+        long start = System.nanoTime();
+
+        try (FanOut scope = new FanOut(executor)) {
+            scope.fork(() -> {
+                slowStarted.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                    throw e;
+                }
+                return "slow";
+            });
+            assertThat(slowStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            scope.fork(() -> {
+                throw new IllegalStateException("boom");
+            });
+
+            assertThatThrownBy(scope::join).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+        }
+
+        assertThat(interrupted).isTrue();
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @Test
+    void checkedFailureIsWrapped() {
+        try (FanOut scope = new FanOut(executor)) {
+            scope.fork(() -> {
+                throw new IOException("disk");
+            });
+
+            assertThatThrownBy(scope::join).isInstanceOf(CompletionException.class)
+                    .hasCauseInstanceOf(IOException.class);
+        }
+    }
+
+    @Test
+    void closeWaitsForForksToExit() {
+        AtomicBoolean exited = new AtomicBoolean();
+        CountDownLatch started = new CountDownLatch(1);
+
+        try (FanOut scope = new FanOut(executor)) {
+            scope.fork(() -> {
+                started.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } finally {
+                    exited.set(true);
+                }
+                return null;
+            });
+            started.await(5, TimeUnit.SECONDS);
+            // no join — leaving the block must still not leave the fork running
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        assertThat(exited).isTrue();
+    }
+
+    @Test
+    void rejectedForkFailsTheScope() {
+        try (FanOut scope = new FanOut(task -> {
+            throw new RejectedExecutionException("saturated");
+        })) {
+            scope.fork(() -> "never");
+
+            assertThatThrownBy(scope::join).isInstanceOf(RejectedExecutionException.class);
+        }
+    }
+
+    @Test
+    void forkAfterCloseIsRejected() {
+        FanOut scope = new FanOut(executor);
+        scope.close();
+
+        assertThatThrownBy(() -> scope.fork(() -> "late")).isInstanceOf(IllegalStateException.class);
+    }
+}
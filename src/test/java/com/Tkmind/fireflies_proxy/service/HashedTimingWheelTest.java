@@ -0,0 +1,157 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedTimingWheelTest {
+
+    private static final Duration TICK = Duration.ofMillis(10);
+
+    private final BlockingQueue<Long> fired = new LinkedBlockingQueue<>();
+    private HashedTimingWheel<Long> wheel;
+
+    @AfterEach
+    void stop() {
+        if (wheel != null) wheel.stop();
+    }
+
+    @Test
+    void firesAfterTheDelay() throws InterruptedException {
+        wheel = new HashedTimingWheel<>("test-wheel", TICK, 8, fired::add, Runnable::run);
+        long start = System.nanoTime();
+
+        wheel.schedule(1L, Duration.ofMillis(100));
+
+        assertThat(fired.poll(2, TimeUnit.SECONDS)).isEqualTo(1L);
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(90));
+        assertThat(wheel.contains(1L)).isFalse();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void deadlinesBeyondOneRevolutionWaitTheirRounds() throws InterruptedException {
+        // 8 buckets × 10 ms = 80 ms per revolution
+        wheel = new HashedTimingWheel<>("test-wheel", TICK, 8, fired::add, Runnable::run);
+        long start = System.nanoTime();
+
+        wheel.schedule(1L, Duration.ofMillis(250));
+
+        assertThat(fired.poll(2, TimeUnit.SECONDS)).isEqualTo(1L);
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(240));
+    }
+
+    @Test
+    void firesInDeadlineOrder() throws InterruptedException {
+        wheel = new HashedTimingWheel<>("test-wheel", TICK, 16, fired::add, Runnable::run);
+
+        wheel.schedule(3L, Duration.ofMillis(150));
+        wheel.schedule(1L, Duration.ofMillis(30));
+        wheel.schedule(2L, Duration.ofMillis(90));
+
+        assertThat(List.of(poll(), poll(), poll())).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void cancelledKeyNeverFires() throws InterruptedException {
+        wheel = new HashedTimingWheel<>("test-wheel", TICK, 8, fired::add, Runnable::run);
+
+        wheel.schedule(1L, Duration.ofMillis(50));
+        assertThat(wheel.cancel(1L)).isTrue();
+        assertThat(wheel.cancel(1L)).isFalse();
+
+        assertThat(fired.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void rescheduleReplacesTheEarlierDeadline() throws InterruptedException {
+        wheel = new HashedTimingWheel<>("test-wheel", TICK, 8, fired::add, Runnable::run);
+        long start = System.nanoTime();
+
+        wheel.schedule(1L, Duration.ofMillis(30));
+        wheel.schedule(1L, Duration.ofMillis(200));
+
+        assertThat(fired.poll(2, TimeUnit.SECONDS)).isEqualTo(1L);
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(190));
+        assertThat(fired.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void zeroDelayFiresOnTheNextTick() throws InterruptedException {
+        wheel = new HashedTimingWheel<>("test-wheel", TICK, 8, fired::add, Runnable::run);
+
+        wheel.schedule(1L, Duration.ZERO);
+        wheel.schedule(2L, Duration.ofMillis(-500));
+
+        assertThat(List.of(poll(), poll())).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void manyTimeoutsAllFire() throws InterruptedException {
+        wheel = new HashedTimingWheel<>("test-wheel", TICK, 64, fired::add, Runnable::run);
+
+        for (long id = 0; id < 10_000; id++) {
+            wheel.schedule(id, Duration.ofMillis(id % 300));
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(fired.poll(2, TimeUnit.SECONDS)).isNotNull();
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void keyRejectedByASaturatedExecutorIsRetried() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        Executor rejectsFirst = task -> {
+            if (attempts.incrementAndGet() == 1) throw new RejectedExecutionException("queue full");
+            task.run();
+        };
+        wheel = new HashedTimingWheel<>("test-wheel", TICK, 8, fired::add, rejectsFirst);
+
+        wheel.schedule(1L, Duration.ofMillis(20));
+
+        assertThat(fired.poll(2, TimeUnit.SECONDS)).isEqualTo(1L);
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+
+    @Test
+    void retryAfterRejectionYieldsToANewerSchedule() throws InterruptedException {
+        List<Long> dispatched = new CopyOnWriteArrayList<>();
+        AtomicInteger attempts = new AtomicInteger();
+        Executor rejectsFirst = task -> {
+            if (attempts.incrementAndGet() == 1) {
+                wheel.schedule(1L, Duration.ofMillis(150));   // the owner rescheduled it meanwhile
+                throw new RejectedExecutionException("queue full");
+            }
+            task.run();
+        };
+        wheel = new HashedTimingWheel<>("test-wheel", TICK, 8, id -> {
+            dispatched.add(id);
+            fired.add(id);
+        }, rejectsFirst);
+        long start = System.nanoTime();
+
+        wheel.schedule(1L, Duration.ofMillis(20));
+
+        assertThat(fired.poll(2, TimeUnit.SECONDS)).isEqualTo(1L);
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(140));
+        assertThat(fired.poll(100, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(dispatched).containsExactly(1L);
+    }
+
+    private Long poll() throws InterruptedException {
+        return fired.poll(2, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,78 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+/** Against the real fireflies_quota row (Flyway on H2). */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JdbcFirefliesQuotaStoreTest {
+
+    @Autowired DataSourceProperties       dataSourceProperties;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired JdbcTemplate               jdbcTemplate;
+
+    private JdbcFirefliesQuotaStore store;
+
+    @BeforeEach
+    void store() {
+        store = new JdbcFirefliesQuotaStore(dataSourceProperties, 2, 3);
+    }
+
+    @AfterEach
+    void reset() {
+        store.close();
+        jdbcTemplate.update("UPDATE fireflies_quota SET tokens = 0, refilled_at = 0, paused_until = 0");
+    }
+
+    @Test
+    void startsFullThenAsksToWait() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(store.tryAcquire()).isZero();
+        }
+
+        // 3 per minute → the next permit is up to 20s away
+        assertThat(store.tryAcquire()).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(20));
+    }
+
+    @Test
+    void pauseEmptiesTheBucketForEveryone() {
+        assertThat(store.tryAcquire()).isZero();
+        store.pauseFor(Duration.ofMinutes(1));
+
+        assertThat(store.pausedFor()).isGreaterThan(Duration.ofSeconds(55));
+        assertThat(store.tryAcquire()).isGreaterThan(Duration.ofSeconds(55));
+        // Refilled only from the pause on, not back to full
+        assertThat(jdbcTemplate.queryForObject("SELECT tokens FROM fireflies_quota", Double.class)).isLessThan(0.1);
+    }
+
+    @Test
+    void permitIsCommittedOutsideTheCallersTransaction() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            assertThat(store.tryAcquire()).isZero();
+            status.setRollbackOnly();
+        });
+
+        // Taken on the store's own connection — the caller's rollback does not hand it back
+        assertThat(jdbcTemplate.queryForObject("SELECT tokens FROM fireflies_quota", Double.class))
+                .isCloseTo(2.0, offset(0.01));
+    }
+}
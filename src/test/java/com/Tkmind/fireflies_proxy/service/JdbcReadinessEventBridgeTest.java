@@ -0,0 +1,112 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.Tkmind.fireflies_proxy.event.TranscriptReadinessEvent;
+import com.Tkmind.fireflies_proxy.repository.ReadinessEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/** Tailing readiness_events (Flyway on H2); rows are inserted with explicit ids to play out commit order. */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JdbcReadinessEventBridgeTest {
+
+    private static final String OTHER_NODE = "other-node";
+
+    @Autowired ReadinessEventRepository repository;
+    @Autowired JdbcTemplate             jdbcTemplate;
+
+    private final TranscriptReadinessService readinessService    = mock(TranscriptReadinessService.class);
+    private final ClusterLeaseService        clusterLeaseService = mock(ClusterLeaseService.class);
+
+    private JdbcReadinessEventBridge bridge;
+
+    @BeforeEach
+    void bridge() {
+        when(clusterLeaseService.nodeId()).thenReturn("this-node");
+        bridge = new JdbcReadinessEventBridge(repository, readinessService, clusterLeaseService);
+        ReflectionTestUtils.setField(bridge, "retention", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(bridge, "lateCommitWindow", Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void clear() {
+        jdbcTemplate.update("DELETE FROM readiness_events");
+    }
+
+    @Test
+    void deliversOtherNodesEventsOnce() {
+        event(1, OTHER_NODE, 101);
+        event(2, "this-node", 102);
+
+        bridge.poll();
+        bridge.poll();
+
+        verify(readinessService).deliver(any());
+        assertThat(deliveredMeetingId()).isEqualTo(101);
+    }
+
+    @Test
+    void rowCommittedBelowTheLastSeenIdIsStillDelivered() {
+        event(1, OTHER_NODE, 101);
+        event(3, OTHER_NODE, 103);   // id 2 is still uncommitted
+        bridge.poll();
+        clearInvocations(readinessService);
+
+        event(2, OTHER_NODE, 102);
+        bridge.poll();
+
+        assertThat(deliveredMeetingId()).isEqualTo(102);
+        clearInvocations(readinessService);
+        bridge.poll();
+        verify(readinessService, never()).deliver(any());
+    }
+
+    @Test
+    void gapsAreGivenUpAfterTheLateCommitWindow() {
+        ReflectionTestUtils.setField(bridge, "lateCommitWindow", Duration.ZERO);
+        event(1, OTHER_NODE, 101);
+        event(3, OTHER_NODE, 103);
+        bridge.poll();
+        clearInvocations(readinessService);
+
+        event(2, OTHER_NODE, 102);
+        bridge.poll();
+
+        verify(readinessService, never()).deliver(any());
+    }
+
+    private long deliveredMeetingId() {
+        ArgumentCaptor<TranscriptReadinessEvent> event = ArgumentCaptor.forClass(TranscriptReadinessEvent.class);
+        verify(readinessService, atLeastOnce()).deliver(event.capture());
+        return event.getValue().meetingId();
+    }
+
+    private void event(long id, String node, long meetingId) {
+        jdbcTemplate.update("""
+                INSERT INTO readiness_events (id, node_id, user_id, meeting_id, stage, created_at)
+                VALUES (?, ?, 1, ?, 'TRANSCRIPT', CURRENT_TIMESTAMP)""", id, node, meetingId);
+    }
+}
@@ -0,0 +1,74 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LlmSummaryServiceTest {
+
+    // chunk() is pure — no LLM client or executor needed
+    private final LlmSummaryService service = new LlmSummaryService(null, Runnable::run);
+
+    @Test
+    void shortTranscriptIsOneChunk() {
+        String text = "[00:01] Alice: hello\n[00:02] Bob: hi";
+
+        assertThat(service.chunk(text, 100)).containsExactly(text);
+    }
+
+    @Test
+    void chunksStayWithinBudgetAndKeepEveryLine() {
+        String text = lines(200, i -> "[00:%02d] Speaker%d: sentence number %d".formatted(i % 60, i % 3, i));
+
+        List<String> chunks = service.chunk(text, 100);   // 400 characters
+
+        assertThat(chunks).hasSizeGreaterThan(1);
+        assertThat(chunks).allSatisfy(c -> assertThat(c.length()).isLessThanOrEqualTo(400));
+        assertThat(String.join("", chunks).strip()).isEqualTo(text);
+    }
+
+    @Test
+    void closesANearlyFullChunkAtTheNextSpeakerChange() {
+        // 20 lines of Alice fill the chunk past 80%, Bob starts the next one
+        String alice = lines(20, i -> "[00:%02d] Alice: %s".formatted(i, "x".repeat(20)));
+        String text  = alice + "\n[00:30] Bob: " + "y".repeat(20) + "\n" + lines(20, i -> "[00:40] Bob: more");
+
+        List<String> chunks = service.chunk(text, 200);   // 800 characters, soft limit 640
+
+        assertThat(chunks.get(0)).doesNotContain("Bob:");
+        assertThat(chunks.get(1)).startsWith("[00:30] Bob:");
+    }
+
+    @Test
+    void hardSplitsALineLongerThanTheBudget() {
+        String text = "a".repeat(1_000);
+
+        List<String> chunks = service.chunk(text, 100);
+
+        assertThat(chunks).allSatisfy(c -> assertThat(c.length()).isLessThanOrEqualTo(400));
+        assertThat(String.join("", chunks).strip()).isEqualTo(text);
+    }
+
+    @Test
+    void speakerOfParsesTimestampedAndPlainLines() {
+        assertThat(LlmSummaryService.speakerOf("[01:23] Alice: text")).isEqualTo("Alice");
+        assertThat(LlmSummaryService.speakerOf("Bob: text")).isEqualTo("Bob");
+    }
+
+    @Test
+    void speakerOfIsNullWithoutASpeakerPrefix() {
+        assertThat(LlmSummaryService.speakerOf("just a sentence")).isNull();
+        assertThat(LlmSummaryService.speakerOf("[01:23 Alice: unterminated timestamp")).isNull();
+        assertThat(LlmSummaryService.speakerOf("[01:23] no speaker here")).isNull();
+        assertThat(LlmSummaryService.speakerOf(": leading colon")).isNull();
+    }
+
+    private static String lines(int count, IntFunction<String> line) {
+        return IntStream.range(0, count).mapToObj(line).collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,209 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.Tkmind.fireflies_proxy.repository.ClaimedInviteRow;
+import com.Tkmind.fireflies_proxy.repository.MeetingInviteOutboxRepository;
+import com.Tkmind.fireflies_proxy.repository.MeetingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/** Claim / settle cycle against the real outbox table (Flyway on H2); Fireflies and its limiter are mocked. */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)   // settles in its own transactions
+class MeetingInviteDispatcherTest {
+
+    @Autowired MeetingInviteOutboxRepository outboxRepository;
+    @Autowired MeetingRepository             meetingRepository;
+    @Autowired PlatformTransactionManager    transactionManager;
+    @Autowired JdbcTemplate                  jdbcTemplate;
+
+    private final FirefliesApiService  firefliesApiService = mock(FirefliesApiService.class);
+    private final FirefliesRateLimiter rateLimiter         = mock(FirefliesRateLimiter.class);
+
+    private MeetingInviteDispatcher dispatcher;
+    private long userId;
+
+    @BeforeEach
+    void dispatcher() {
+        dispatcher = new MeetingInviteDispatcher(outboxRepository, meetingRepository, firefliesApiService,
+                rateLimiter, new TransactionTemplate(transactionManager), event -> { }, Runnable::run,
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 50);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "baseBackoff", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(dispatcher, "maxBackoff", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(dispatcher, "lease", Duration.ofMinutes(2));
+
+        jdbcTemplate.update("INSERT INTO users (email) VALUES ('owner@example.com')");
+        userId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM users", Long.class);
+    }
+
+    @AfterEach
+    void clear() {
+        jdbcTemplate.update("DELETE FROM meeting_invite_outbox");
+        jdbcTemplate.update("DELETE FROM meetings");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void claimsOnlyAsManyRowsAsThereArePermits() {
+        long first  = queuedMeeting("https://meet.example.com/a");
+        long second = queuedMeeting("https://meet.example.com/b");
+        long third  = queuedMeeting("https://meet.example.com/c");
+        when(rateLimiter.availableNow()).thenReturn(2);
+        when(rateLimiter.tryAcquire()).thenReturn(true);
+        invitesSucceed();
+
+        dispatcher.poll();
+
+        verify(firefliesApiService, times(2)).addBotToMeetingAsync(anyString(), anyString());
+        assertThat(List.of(inviteStatus(first), inviteStatus(second), inviteStatus(third)))
+                .containsExactlyInAnyOrder("INVITED", "INVITED", "PENDING");
+        assertThat(jdbcTemplate.queryForMap("SELECT status, attempts FROM meeting_invite_outbox"))
+                .containsEntry("STATUS", "PENDING").containsEntry("ATTEMPTS", 0);
+    }
+
+    @Test
+    void nothingIsClaimedWithoutPermits() {
+        long meetingId = queuedMeeting("https://meet.example.com/a");
+        when(rateLimiter.availableNow()).thenReturn(0);
+
+        dispatcher.poll();
+
+        verify(firefliesApiService, never()).addBotToMeetingAsync(anyString(), anyString());
+        assertThat(outbox(meetingId)).containsEntry("STATUS", "PENDING").containsEntry("ATTEMPTS", 0);
+    }
+
+    @Test
+    void rowsWhosePermitWasTakenMeanwhileAreHandedBack() {
+        long first  = queuedMeeting("https://meet.example.com/a");
+        long second = queuedMeeting("https://meet.example.com/b");
+        when(rateLimiter.availableNow()).thenReturn(2);
+        when(rateLimiter.tryAcquire()).thenReturn(true, false);
+        invitesSucceed();
+
+        dispatcher.poll();
+
+        verify(firefliesApiService, times(1)).addBotToMeetingAsync(anyString(), anyString());
+        // Rows due at the same instant are claimed in either order
+        assertThat(List.of(inviteStatus(first), inviteStatus(second))).containsExactlyInAnyOrder("INVITED", "PENDING");
+        long handedBack = inviteStatus(first).equals("PENDING") ? first : second;
+        assertThat(outbox(handedBack)).containsEntry("STATUS", "PENDING").containsEntry("ATTEMPTS", 0);
+    }
+
+    @Test
+    void rowsSettledWithoutACallSpendNoPermit() {
+        long invited = queuedMeeting("https://meet.example.com/a");
+        jdbcTemplate.update("UPDATE meetings SET fireflies_meeting_id = 'ff-1' WHERE id = ?", invited);
+        long noUrl = queuedMeeting(null);
+        when(rateLimiter.availableNow()).thenReturn(2);
+
+        dispatcher.poll();
+
+        verify(rateLimiter, never()).tryAcquire();
+        verify(firefliesApiService, never()).addBotToMeetingAsync(anyString(), anyString());
+        assertThat(inviteStatus(invited)).isEqualTo("INVITED");
+        assertThat(inviteStatus(noUrl)).isEqualTo("FAILED");
+    }
+
+    @Test
+    void failedInviteIsRescheduledWithBackoff() {
+        long meetingId = queuedMeeting("https://meet.example.com/a");
+        when(rateLimiter.availableNow()).thenReturn(1);
+        when(rateLimiter.tryAcquire()).thenReturn(true);
+        when(firefliesApiService.addBotToMeetingAsync(anyString(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Fireflies down")));
+
+        dispatcher.poll();
+
+        Map<String, Object> row = outbox(meetingId);
+        assertThat(row).containsEntry("STATUS", "PENDING").containsEntry("ATTEMPTS", 1)
+                .containsEntry("LAST_ERROR", "Fireflies down");
+        assertThat(((Timestamp) row.get("NEXT_ATTEMPT_AT")).toLocalDateTime())
+                .isAfter(LocalDateTime.now().plusSeconds(25));
+        assertThat(inviteStatus(meetingId)).isEqualTo("PENDING");
+    }
+
+    @Test
+    void settlingWritesAreFencedOnTheClaim() {
+        long meetingId = queuedMeeting("https://meet.example.com/a");
+        LocalDateTime now = LocalDateTime.now();
+        ClaimedInviteRow stale = outboxRepository.claimDue(now, now.minusSeconds(1), 10).getFirst();
+        // The lease ran out and another node claimed the row again
+        ClaimedInviteRow current = outboxRepository.claimDue(now, now.plusMinutes(2), 10).getFirst();
+        assertThat(current.attempt()).isEqualTo(stale.attempt() + 1);
+
+        assertThat(outboxRepository.deleteClaimed(stale)).isFalse();
+        assertThat(outboxRepository.reschedule(stale, now.plusMinutes(5), "late")).isFalse();
+        assertThat(outboxRepository.markFailed(stale, "late")).isFalse();
+        assertThat(outbox(meetingId)).containsEntry("STATUS", "PROCESSING").containsEntry("ATTEMPTS", 2);
+
+        assertThat(outboxRepository.reschedule(current, now.plusMinutes(5), "retry")).isTrue();
+        assertThat(outbox(meetingId)).containsEntry("STATUS", "PENDING").containsEntry("LAST_ERROR", "retry");
+    }
+
+    @Test
+    void unclaimUndoesTheAttempt() {
+        long meetingId = queuedMeeting("https://meet.example.com/a");
+        LocalDateTime now = LocalDateTime.now();
+        List<ClaimedInviteRow> claimed = outboxRepository.claimDue(now, now.plusMinutes(2), 10);
+
+        outboxRepository.unclaim(claimed, now);
+
+        assertThat(outbox(meetingId)).containsEntry("STATUS", "PENDING").containsEntry("ATTEMPTS", 0);
+        assertThat(outboxRepository.claimDue(now.plusSeconds(1), now.plusMinutes(2), 10)).hasSize(1);
+    }
+
+    private void invitesSucceed() {
+        when(firefliesApiService.addBotToMeetingAsync(anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(Map.of("data",
+                        Map.of("addToLiveMeeting", Map.of("success", true, "message", "ok")))));
+    }
+
+    private long queuedMeeting(String url) {
+        jdbcTemplate.update("""
+                INSERT INTO meetings (user_id, title, meeting_url, scheduled_date, invite_status)
+                VALUES (?, 'Sync', ?, CURRENT_TIMESTAMP, 'PENDING')""", userId, url);
+        long meetingId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM meetings", Long.class);
+        outboxRepository.insertPending(List.of(meetingId));
+        return meetingId;
+    }
+
+    private String inviteStatus(long meetingId) {
+        return jdbcTemplate.queryForObject("SELECT invite_status FROM meetings WHERE id = ?", String.class, meetingId);
+    }
+
+    private Map<String, Object> outbox(long meetingId) {
+        return jdbcTemplate.queryForMap("""
+                SELECT status, attempts, next_attempt_at, last_error
+                FROM meeting_invite_outbox WHERE meeting_id = ?""", meetingId);
+    }
+}
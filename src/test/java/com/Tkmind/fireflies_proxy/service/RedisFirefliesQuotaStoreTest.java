@@ -0,0 +1,51 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/** The scripts themselves need a Redis server; this covers what the store makes of their replies. */
+class RedisFirefliesQuotaStoreTest {
+
+    private final StringRedisTemplate      redis = mock(StringRedisTemplate.class);
+    private final RedisFirefliesQuotaStore store = new RedisFirefliesQuotaStore(redis, "test:quota", 50);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void acquireRunsOnTheBucketKeyWithCapacityAndPeriod() {
+        when(redis.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(0L);
+
+        assertThat(store.tryAcquire()).isZero();
+        verify(redis).execute(any(RedisScript.class), eq(List.of("test:quota")), eq("50"), eq("60000"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void negativeRemainingPauseIsNone() {
+        when(redis.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(-1500L);
+
+        assertThat(store.pausedFor()).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void unreachableRedisThrowsSoTheLimiterFallsBack() {
+        when(redis.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThatThrownBy(store::tryAcquire).isInstanceOf(RedisConnectionFailureException.class);
+    }
+}
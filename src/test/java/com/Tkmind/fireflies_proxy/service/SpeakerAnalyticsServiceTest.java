@@ -0,0 +1,117 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.Tkmind.fireflies_proxy.repository.MeetingRepository;
+import com.Tkmind.fireflies_proxy.repository.SpeakerStatsRepository;
+import com.Tkmind.fireflies_proxy.repository.TranscriptRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Startup backfill against the real tables (Flyway on H2), under a real lease. */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)   // backfills in its own transactions
+class SpeakerAnalyticsServiceTest {
+
+    private static final String LABELS = """
+            [{"speaker_name":"Alice","text":"hello there","start_time":0,"end_time":2},
+             {"speaker_name":"Bob","text":"hi","start_time":2,"end_time":3}]""";
+
+    @Autowired SpeakerStatsRepository     speakerStatsRepository;
+    @Autowired TranscriptRepository       transcriptRepository;
+    @Autowired MeetingRepository          meetingRepository;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired JdbcTemplate               jdbcTemplate;
+
+    private ClusterLeaseService     leases;
+    private SpeakerAnalyticsService service;
+    private long userId;
+
+    @BeforeEach
+    void service() {
+        leases = lease();
+        service = new SpeakerAnalyticsService(speakerStatsRepository, transcriptRepository, meetingRepository,
+                new ObjectMapper(), new TransactionTemplate(transactionManager), leases);
+
+        jdbcTemplate.update("INSERT INTO users (email) VALUES ('owner@example.com')");
+        userId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM users", Long.class);
+    }
+
+    @AfterEach
+    void clear() {
+        service.stop();
+        jdbcTemplate.update("DELETE FROM speaker_stats");
+        jdbcTemplate.update("DELETE FROM transcripts");
+        jdbcTemplate.update("DELETE FROM meetings");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM cluster_leases");
+    }
+
+    @Test
+    void fillsTranscriptsWithoutRowsAndReleasesTheLease() {
+        long transcriptId = transcript(LABELS);
+
+        service.backfillSpeakerStats();
+
+        assertThat(statsRows(transcriptId)).isEqualTo(2);
+        assertThat(leases.holds("speaker-stats-backfill")).isFalse();
+    }
+
+    @Test
+    void skipsTheScanWhileAnotherNodeHoldsTheLease() {
+        long transcriptId = transcript(LABELS);
+        lease().tryAcquire("speaker-stats-backfill");
+
+        service.backfillSpeakerStats();
+
+        assertThat(statsRows(transcriptId)).isZero();
+    }
+
+    @Test
+    void rerunLeavesExistingRowsAlone() {
+        long transcriptId = transcript(LABELS);
+        service.backfillSpeakerStats();
+
+        service.backfillSpeakerStats();
+
+        assertThat(statsRows(transcriptId)).isEqualTo(2);
+    }
+
+    private ClusterLeaseService lease() {
+        ClusterLeaseService node = new ClusterLeaseService(jdbcTemplate, event -> { });
+        ReflectionTestUtils.setField(node, "heartbeatInterval", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(node, "leaseTtl", Duration.ofSeconds(15));
+        return node;
+    }
+
+    private long transcript(String speakerLabels) {
+        jdbcTemplate.update("INSERT INTO meetings (user_id, title, scheduled_date) VALUES (?, 'Sync', CURRENT_TIMESTAMP)",
+                userId);
+        long meetingId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM meetings", Long.class);
+        // FORMAT JSON: H2 otherwise stores the bound string as a JSON string value
+        jdbcTemplate.update("INSERT INTO transcripts (meeting_id, content, speaker_labels) VALUES (?, 'x', ? FORMAT JSON)",
+                meetingId, speakerLabels);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM transcripts", Long.class);
+    }
+
+    private int statsRows(long transcriptId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM speaker_stats WHERE transcript_id = ?",
+                Integer.class, transcriptId);
+    }
+}
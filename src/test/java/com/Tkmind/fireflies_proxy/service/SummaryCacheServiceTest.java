@@ -0,0 +1,209 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.Tkmind.fireflies_proxy.entity.SummaryCacheEntry;
+import com.Tkmind.fireflies_proxy.repository.SummaryCacheRepository;
+import com.Tkmind.fireflies_proxy.service.llm.HedgingLlmClient.Completion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/** Against the real summary_cache table (Flyway on H2); only the LLM is mocked. */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(SummaryCacheService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)   // callers on other threads must see the rows
+class SummaryCacheServiceTest {
+
+    @Autowired SummaryCacheService    summaryCacheService;
+    @Autowired SummaryCacheRepository summaryCacheRepository;
+
+    @MockitoBean LlmSummaryService llmSummaryService;
+
+    @BeforeEach
+    void model() {
+        when(llmSummaryService.getModel()).thenReturn("test-model");
+        when(llmSummaryService.models()).thenReturn(List.of("test-model", "hedge-model"));
+    }
+
+    @AfterEach
+    void clear() {
+        summaryCacheRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentCallersShareOneLlmCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(llmSummaryService.summarizeOrThrow(anyString(), anyString())).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new Completion("shared summary", "test-model");
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Completion>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> summaryCacheService.summarize("same content", "Standup")));
+            }
+            Thread.sleep(200);   // let every caller reach the in-flight map
+            release.countDown();
+
+            for (Future<Completion> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(new Completion("shared summary", "test-model"));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        verify(llmSummaryService, times(1)).summarizeOrThrow(anyString(), anyString());
+    }
+
+    @Test
+    void readySummaryIsServedFromTheTable() {
+        when(llmSummaryService.summarizeOrThrow(anyString(), anyString())).thenReturn(new Completion("first", "test-model"));
+
+        assertThat(summaryCacheService.summarize("Alice: hi\nBob: hello", "Sync")).isEqualTo(new Completion("first", "test-model"));
+        // whitespace-only differences hit the same row
+        assertThat(summaryCacheService.summarize("Alice: hi  \r\n\r\nBob: hello\n", "Sync")).isEqualTo(new Completion("first", "test-model"));
+        assertThat(summaryCacheService.getCached("Alice: hi\nBob: hello")).isEqualTo(new Completion("first", "test-model"));
+
+        verify(llmSummaryService, times(1)).summarizeOrThrow(anyString(), anyString());
+        assertThat(summaryCacheRepository.findAll())
+                .singleElement()
+                .extracting(SummaryCacheEntry::getStatus)
+                .isEqualTo(SummaryCacheEntry.Status.READY);
+    }
+
+    @Test
+    void failureIsCachedNegativelyUntilTheTtl() {
+        when(llmSummaryService.summarizeOrThrow(anyString(), anyString()))
+                .thenThrow(new IllegalStateException("provider down"));
+
+        assertThatThrownBy(() -> summaryCacheService.summarize("content", "Retro"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(summaryCacheService.summarize("content", "Retro")).isNull();
+
+        verify(llmSummaryService, times(1)).summarizeOrThrow(anyString(), anyString());
+        assertThat(summaryCacheService.getCached("content")).isNull();
+    }
+
+    @Test
+    void rateLimitIsNotCached() {
+        when(llmSummaryService.summarizeOrThrow(anyString(), anyString()))
+                .thenThrow(new LlmRateLimitException("429", Duration.ofSeconds(1)))
+                .thenReturn(new Completion("after backoff", "test-model"));
+
+        assertThatThrownBy(() -> summaryCacheService.summarize("content", "Retro"))
+                .isInstanceOf(LlmRateLimitException.class);
+        assertThat(summaryCacheService.summarize("content", "Retro")).isEqualTo(new Completion("after backoff", "test-model"));
+    }
+
+    @Test
+    void streamJoinsAJobAlreadyGeneratingTheSameSummary() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(llmSummaryService.summarizeOrThrow(anyString(), anyString())).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new Completion("from the job", "test-model");
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<Completion> job = pool.submit(() -> summaryCacheService.summarize("content", "Planning"));
+            Thread.sleep(200);
+
+            List<String> tokens = new CopyOnWriteArrayList<>();
+            Future<Completion> stream = pool.submit(() ->
+                    summaryCacheService.stream("content", "Planning", tokens::add, p -> { }));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertThat(stream.get(5, TimeUnit.SECONDS)).isEqualTo(new Completion("from the job", "test-model"));
+            assertThat(job.get(5, TimeUnit.SECONDS)).isEqualTo(new Completion("from the job", "test-model"));
+            assertThat(tokens).isEmpty();
+        } finally {
+            pool.shutdownNow();
+        }
+        verify(llmSummaryService, never()).streamSummary(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    void streamOnAMissStoresTheResult() {
+        when(llmSummaryService.streamSummary(anyString(), anyString(), any(), any())).thenAnswer(inv -> {
+            Consumer<String> onToken = inv.getArgument(2);
+            onToken.accept("streamed ");
+            onToken.accept("summary");
+            return new Completion("streamed summary", "test-model");
+        });
+        List<String> tokens = new ArrayList<>();
+
+        assertThat(summaryCacheService.stream("content", "Planning", tokens::add, p -> { }))
+                .isEqualTo(new Completion("streamed summary", "test-model"));
+
+        assertThat(tokens).containsExactly("streamed ", "summary");
+        assertThat(summaryCacheService.getCached("content")).isEqualTo(new Completion("streamed summary", "test-model"));
+    }
+
+    @Test
+    void streamHonoursTheNegativeCache() {
+        when(llmSummaryService.summarizeOrThrow(anyString(), anyString()))
+                .thenThrow(new IllegalStateException("provider down"));
+        assertThatThrownBy(() -> summaryCacheService.summarize("content", "Retro"))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(summaryCacheService.stream("content", "Retro", t -> { }, p -> { })).isNull();
+        verify(llmSummaryService, never()).streamSummary(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    void hedgedSummaryIsStoredUnderTheModelThatWroteIt() {
+        when(llmSummaryService.summarizeOrThrow(anyString(), anyString()))
+                .thenReturn(new Completion("from the hedge", "hedge-model"));
+
+        assertThat(summaryCacheService.summarize("content", "Retro")).isEqualTo(new Completion("from the hedge", "hedge-model"));
+
+        SummaryCacheEntry entry = summaryCacheRepository.findAll().getFirst();
+        assertThat(entry.getModel()).isEqualTo("hedge-model");
+        assertThat(entry.getCacheKey()).isEqualTo(summaryCacheService.cacheKey("content", "hedge-model"));
+        // still served while the hedge model is configured …
+        assertThat(summaryCacheService.summarize("content", "Retro")).isEqualTo(new Completion("from the hedge", "hedge-model"));
+        verify(llmSummaryService, times(1)).summarizeOrThrow(anyString(), anyString());
+
+        // … and missed once it is not
+        when(llmSummaryService.models()).thenReturn(List.of("test-model"));
+        assertThat(summaryCacheService.getCached("content")).isNull();
+    }
+
+    @Test
+    void modelIsPartOfTheKey() {
+        assertThat(summaryCacheService.cacheKey("content", "test-model"))
+                .isEqualTo(summaryCacheService.cacheKey("content"))
+                .isNotEqualTo(summaryCacheService.cacheKey("content", "other-model"));
+    }
+}
@@ -0,0 +1,139 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.Tkmind.fireflies_proxy.config.ExecutionMode;
+import com.Tkmind.fireflies_proxy.entity.SummaryRebuildJob;
+import com.Tkmind.fireflies_proxy.repository.SummaryRebuildJobRepository;
+import com.Tkmind.fireflies_proxy.repository.TranscriptRepository;
+import com.Tkmind.fireflies_proxy.service.llm.HedgingLlmClient.Completion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/** Two rebuild services on one database, standing in for two replicas. */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)   // the run commits on its own thread
+class SummaryRebuildServiceTest {
+
+    @Autowired TranscriptRepository        transcriptRepository;
+    @Autowired SummaryRebuildJobRepository jobRepository;
+    @Autowired PlatformTransactionManager  transactionManager;
+    @Autowired JdbcTemplate                jdbcTemplate;
+
+    private final SummaryCacheService summaryCacheService = mock(SummaryCacheService.class);
+    private final LlmSummaryService   llmSummaryService   = mock(LlmSummaryService.class);
+
+    private SummaryRebuildService owner;
+    private SummaryRebuildService replica;
+
+    @BeforeEach
+    void nodes() {
+        when(llmSummaryService.isConfigured()).thenReturn(true);
+        when(llmSummaryService.summaryVersion()).thenReturn("2/test-model");
+        owner   = node();
+        replica = node();
+
+        jdbcTemplate.update("INSERT INTO users (email) VALUES ('owner@example.com')");
+        long userId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM users", Long.class);
+        for (int i = 0; i < 3; i++) {
+            jdbcTemplate.update("INSERT INTO meetings (user_id, title, scheduled_date) VALUES (?, 'Sync', CURRENT_TIMESTAMP)",
+                    userId);
+            jdbcTemplate.update("INSERT INTO transcripts (meeting_id, content) VALUES ((SELECT MAX(id) FROM meetings), 'x')");
+        }
+    }
+
+    @AfterEach
+    void clear() {
+        owner.stop();
+        replica.stop();
+        jdbcTemplate.update("DELETE FROM summary_rebuild_jobs");
+        jdbcTemplate.update("DELETE FROM transcripts");
+        jdbcTemplate.update("DELETE FROM meetings");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM cluster_leases");
+    }
+
+    @Test
+    void pauseOnAReplicaStopsTheRunAfterItsBatch() throws Exception {
+        CountDownLatch summarizing = new CountDownLatch(1);
+        CountDownLatch release     = new CountDownLatch(1);
+        when(summaryCacheService.summarize(anyString(), anyString())).thenAnswer(call -> {
+            summarizing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new Completion("rebuilt", "test-model");
+        });
+
+        Long jobId = owner.start().getJobId();
+        assertThat(summarizing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(replica.pause(jobId).isPauseRequested()).isTrue();
+        release.countDown();
+
+        SummaryRebuildJob job = awaitStatus(jobId, SummaryRebuildJob.Status.PAUSED);
+        assertThat(job.getLastTranscriptId()).isEqualTo(firstTranscriptId());
+        assertThat(job.getProcessed()).isEqualTo(1);
+    }
+
+    @Test
+    void resumeClearsThePauseRequest() throws Exception {
+        when(summaryCacheService.summarize(anyString(), anyString()))
+                .thenReturn(new Completion("rebuilt", "test-model"));
+        Long jobId = jobRepository.save(SummaryRebuildJob.builder().targetVersion("2/test-model")
+                .status(SummaryRebuildJob.Status.PAUSED).build()).getId();
+        jobRepository.updatePauseRequested(jobId, true);
+
+        assertThat(replica.start().getJobId()).isEqualTo(jobId);
+
+        SummaryRebuildJob job = awaitStatus(jobId, SummaryRebuildJob.Status.COMPLETED);
+        assertThat(job.getProcessed()).isEqualTo(3);
+        assertThat(job.isPauseRequested()).isFalse();
+    }
+
+    private SummaryRebuildService node() {
+        ClusterLeaseService leases = new ClusterLeaseService(jdbcTemplate, event -> { });
+        ReflectionTestUtils.setField(leases, "heartbeatInterval", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(leases, "leaseTtl", Duration.ofSeconds(15));
+
+        SummaryRebuildService node = new SummaryRebuildService(transcriptRepository, jobRepository,
+                summaryCacheService, llmSummaryService, new TransactionTemplate(transactionManager),
+                new ExecutionMode(false), leases);
+        ReflectionTestUtils.setField(node, "batchSize", 1);
+        ReflectionTestUtils.setField(node, "concurrency", 1);
+        return node;
+    }
+
+    private SummaryRebuildJob awaitStatus(Long jobId, SummaryRebuildJob.Status status) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        SummaryRebuildJob job = jobRepository.findById(jobId).orElseThrow();
+        while (job.getStatus() != status && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            job = jobRepository.findById(jobId).orElseThrow();
+        }
+        assertThat(job.getStatus()).isEqualTo(status);
+        return job;
+    }
+
+    private long firstTranscriptId() {
+        return jdbcTemplate.queryForObject("SELECT MIN(id) FROM transcripts", Long.class);
+    }
+}
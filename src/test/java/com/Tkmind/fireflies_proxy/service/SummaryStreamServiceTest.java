@@ -0,0 +1,150 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.Tkmind.fireflies_proxy.controller.TranscriptController;
+import com.Tkmind.fireflies_proxy.entity.Meeting;
+import com.Tkmind.fireflies_proxy.entity.Transcript;
+import com.Tkmind.fireflies_proxy.repository.MeetingRepository;
+import com.Tkmind.fireflies_proxy.repository.TranscriptRepository;
+import com.Tkmind.fireflies_proxy.security.CurrentUser;
+import com.Tkmind.fireflies_proxy.security.UserQuotaService;
+import com.Tkmind.fireflies_proxy.service.llm.HedgingLlmClient.Completion;
+import com.Tkmind.fireflies_proxy.service.llm.StubLlmProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/** The summary stream as an EventSource reads it off the wire. */
+class SummaryStreamServiceTest {
+
+    private static final CurrentUser USER = new CurrentUser(1L, "owner@example.com");
+
+    private final TranscriptRepository transcriptRepository = mock(TranscriptRepository.class);
+    private final SummaryCacheService  summaryCacheService  = mock(SummaryCacheService.class);
+    private final StubLlmProvider      stub                 = new StubLlmProvider();
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void mvc() {
+        ReflectionTestUtils.setField(stub, "latency", Duration.ZERO);
+
+        SummaryStreamService service = new SummaryStreamService(transcriptRepository, mock(MeetingRepository.class),
+                summaryCacheService, mock(SummaryWorker.class),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), Runnable::run,
+                mock(UserQuotaService.class));
+        TranscriptController controller = new TranscriptController(mock(TranscriptService.class),
+                mock(SpeakerAnalyticsService.class), service, mock(TranscriptReadinessService.class));
+
+        mvc = MockMvcBuilders.standaloneSetup(controller)
+                .setCustomArgumentResolvers(new HandlerMethodArgumentResolver() {
+                    @Override
+                    public boolean supportsParameter(MethodParameter parameter) {
+                        return parameter.getParameterType() == CurrentUser.class;
+                    }
+
+                    @Override
+                    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+                        return USER;
+                    }
+                })
+                .build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamedTokensKeepTheirLeadingSpaces() throws Exception {
+        transcript(Transcript.SummaryStatus.PENDING, null);
+        String prompt = "Meeting Title: Planning\n[00:00] Alice: we ship on friday\n[00:05] Bob: agreed";
+        when(summaryCacheService.stream(anyString(), anyString(), any(), any())).thenAnswer(call ->
+                new Completion(stub.stream(prompt, 500, call.getArgument(2, Consumer.class)), stub.model()));
+
+        List<Event> events = read();
+
+        StringBuilder streamed = new StringBuilder();
+        ObjectMapper json = new ObjectMapper();
+        for (Event event : events) {
+            if (event.name().equals("token")) {
+                streamed.append(json.readValue(event.data(), Map.class).get("t"));
+            }
+        }
+        assertThat(streamed.toString()).isEqualTo(stub.complete(prompt, 500)).contains("Stub summary of", "\n## Key");
+        assertThat(events.getLast()).isEqualTo(new Event("done", "READY"));
+    }
+
+    @Test
+    void storedSummaryArrivesWithItsIndentation() throws Exception {
+        String summary = "## Action Items\n  - Alice: ship it\n";
+        transcript(Transcript.SummaryStatus.READY, summary);
+
+        assertThat(read()).containsExactly(
+                new Event("status", "READY"),
+                new Event("summary", summary),
+                new Event("done", "READY"));
+    }
+
+    private void transcript(Transcript.SummaryStatus status, String summary) {
+        Meeting meeting = Meeting.builder().id(7L).title("Planning").build();
+        Transcript transcript = Transcript.builder().id(3L).meeting(meeting).content("Alice: we ship on friday")
+                .summary(summary).summaryStatus(status).build();
+        when(transcriptRepository.findFullByMeetingIdAndUserId(anyLong(), anyLong()))
+                .thenReturn(Optional.of(transcript));
+    }
+
+    private record Event(String name, String data) {
+    }
+
+    /** Event-stream parsing as the HTML spec has it: one leading space stripped per field value. */
+    private List<Event> read() throws Exception {
+        MvcResult result = mvc.perform(get("/meetings/7/transcript/summary/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = result.getResponse().getContentAsString();
+
+        List<Event> events = new ArrayList<>();
+        String name = "message";
+        List<String> data = new ArrayList<>();
+        for (String line : body.split("\n", -1)) {
+            if (line.isEmpty()) {
+                if (!data.isEmpty()) events.add(new Event(name, String.join("\n", data)));
+                name = "message";
+                data = new ArrayList<>();
+                continue;
+            }
+            int colon = line.indexOf(':');
+            String field = colon < 0 ? line : line.substring(0, colon);
+            String value = colon < 0 ? "" : line.substring(colon + 1);
+            if (value.startsWith(" ")) value = value.substring(1);
+            if (field.equals("event")) name = value;
+            if (field.equals("data"))  data.add(value);
+        }
+        return events;
+    }
+}
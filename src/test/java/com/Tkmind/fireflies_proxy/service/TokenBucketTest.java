@@ -0,0 +1,88 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTest {
+
+    @Test
+    void startsFullAndRefusesOnceDrained() {
+        TokenBucket bucket = new TokenBucket(3, Duration.ofHours(1));
+
+        assertThat(bucket.tryAcquire(1)).isTrue();
+        assertThat(bucket.tryAcquire(2)).isTrue();
+        assertThat(bucket.tryAcquire(1)).isFalse();
+    }
+
+    @Test
+    void oversizedRequestIsClampedToCapacity() {
+        TokenBucket bucket = new TokenBucket(5, Duration.ofHours(1));
+
+        assertThat(bucket.tryAcquire(50)).isTrue();
+        assertThat(bucket.available()).isLessThan(1);
+    }
+
+    @Test
+    void delayCoversTheMissingPermits() {
+        TokenBucket bucket = new TokenBucket(10, Duration.ofSeconds(10));   // 1 permit / s
+        assertThat(bucket.tryAcquire(10)).isTrue();
+
+        long waitNanos = bucket.tryAcquireOrDelay(2);
+
+        assertThat(waitNanos).isBetween(TimeUnit.MILLISECONDS.toNanos(1_500),
+                                        TimeUnit.MILLISECONDS.toNanos(2_000));
+    }
+
+    @Test
+    void delayIsNeverBelowFiveMillis() {
+        TokenBucket bucket = new TokenBucket(100, Duration.ofMillis(400));   // 1 permit / 4 ms
+        bucket.tryAcquire(100);
+
+        assertThat(bucket.tryAcquireOrDelay(1)).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(5));
+    }
+
+    @Test
+    void pauseEmptiesTheBucketAndBlocksUntilItEnds() {
+        TokenBucket bucket = new TokenBucket(10, Duration.ofMillis(10));
+
+        bucket.pauseFor(Duration.ofMinutes(1));
+
+        assertThat(bucket.tryAcquire(1)).isFalse();
+        assertThat(bucket.pausedFor()).isGreaterThan(Duration.ofSeconds(50));
+        assertThat(bucket.tryAcquireOrDelay(1)).isGreaterThan(TimeUnit.SECONDS.toNanos(50));
+    }
+
+    @Test
+    void releaseReturnsPermitsUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(4, Duration.ofHours(1));
+        bucket.tryAcquire(4);
+
+        bucket.release(2);
+        assertThat(bucket.tryAcquire(2)).isTrue();
+
+        bucket.release(100);
+        assertThat(bucket.available()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void acquireWaitsForRefill() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(10, Duration.ofMillis(200));   // 1 permit / 20 ms
+        bucket.tryAcquire(10);
+
+        long start = System.nanoTime();
+        bucket.acquire(5);
+
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(80));
+    }
+
+    @Test
+    void rejectsNonPositiveCapacity() {
+        assertThatThrownBy(() -> new TokenBucket(0, Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
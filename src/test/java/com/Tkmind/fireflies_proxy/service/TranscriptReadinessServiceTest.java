@@ -0,0 +1,75 @@
+package com.Tkmind.fireflies_proxy.service;
+
+import com.Tkmind.fireflies_proxy.security.CurrentUser;
+import com.Tkmind.fireflies_proxy.security.QuotaExceededException;
+import com.Tkmind.fireflies_proxy.security.UserQuotaService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class TranscriptReadinessServiceTest {
+
+    private static final CurrentUser ALICE = new CurrentUser(1L, "alice@example.com");
+
+    @SuppressWarnings("unchecked")
+    private final TranscriptReadinessService service = new TranscriptReadinessService(
+            mock(TranscriptService.class), mock(ObjectProvider.class));
+
+    TranscriptReadinessServiceTest() {
+        ReflectionTestUtils.setField(service, "streamTimeout", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(service, "heartbeatInterval", Duration.ofSeconds(25));
+        ReflectionTestUtils.setField(service, "maxStreamsPerUser", 3);
+    }
+
+    @Test
+    void streamsOverTheCapAreRefusedWithRetryAfter() {
+        for (int i = 0; i < 3; i++) service.subscribe(ALICE);
+
+        assertThatThrownBy(() -> service.subscribe(ALICE))
+                .isInstanceOfSatisfying(QuotaExceededException.class, e -> {
+                    assertThat(e.getQuota()).isEqualTo(UserQuotaService.Quota.STREAMS);
+                    assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(25));
+                });
+        service.subscribe(new CurrentUser(2L, "bob@example.com"));
+    }
+
+    @Test
+    void concurrentSubscribesCannotOvershootTheCap() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> attempts = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                attempts.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        service.subscribe(ALICE);
+                        return true;
+                    } catch (QuotaExceededException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int opened = 0;
+            for (Future<Boolean> f : attempts) if (f.get(5, TimeUnit.SECONDS)) opened++;
+            assertThat(opened).isEqualTo(3);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
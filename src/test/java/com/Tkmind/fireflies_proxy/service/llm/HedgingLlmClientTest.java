@@ -0,0 +1,224 @@
+package com.Tkmind.fireflies_proxy.service.llm;
+
+import com.Tkmind.fireflies_proxy.service.LlmRateLimitException;
+import com.Tkmind.fireflies_proxy.service.llm.HedgingLlmClient.Completion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HedgingLlmClientTest {
+
+    private final ExecutorService   executor = Executors.newCachedThreadPool();
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void withoutSecondaryCallsThePrimaryOnly() {
+        FakeProvider primary = FakeProvider.answering("primary", "p-1", "from primary");
+
+        Completion result = client(primary, null).complete("prompt", 10);
+
+        assertThat(result).isEqualTo(new Completion("from primary", "p-1"));
+    }
+
+    @Test
+    void fastPrimaryIsNotHedged() {
+        FakeProvider primary   = FakeProvider.answering("primary", "p-1", "from primary");
+        FakeProvider secondary = FakeProvider.answering("secondary", "s-1", "from secondary");
+
+        assertThat(client(primary, secondary).complete("prompt", 10).text()).isEqualTo("from primary");
+        assertThat(secondary.calls).isZero();
+    }
+
+    @Test
+    void slowPrimaryIsHedgedAndTheLoserInterrupted() throws InterruptedException {
+        FakeProvider primary   = FakeProvider.hanging("primary", "p-1");
+        FakeProvider secondary = FakeProvider.answering("secondary", "s-1", "from secondary");
+
+        Completion result = client(primary, secondary).complete("prompt", 10);
+
+        assertThat(result).isEqualTo(new Completion("from secondary", "s-1"));
+        assertThat(primary.interrupted.await(2, TimeUnit.SECONDS)).isTrue();
+        // counted by the winner's completion callback, just after the caller is released
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (meters.counter("llm.hedges", "winner", "secondary").count() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(meters.counter("llm.hedges", "winner", "secondary").count()).isEqualTo(1);
+    }
+
+    @Test
+    void cancelledLoserIsNotCountedAsAFailure() throws InterruptedException {
+        FakeProvider primary   = FakeProvider.hanging("primary", "p-1");
+        FakeProvider secondary = FakeProvider.answering("secondary", "s-1", "from secondary");
+
+        client(primary, secondary).complete("prompt", 10);
+
+        // recorded on the loser's thread once the interrupt unwinds it
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (meters.find("llm.provider.latency").tag("outcome", "cancelled").timer() == null
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(meters.find("llm.provider.latency").tags("provider", "primary", "outcome", "cancelled")
+                .timer().count()).isEqualTo(1);
+        assertThat(meters.find("llm.provider.latency").tag("outcome", "failure").timer()).isNull();
+    }
+
+    @Test
+    void failingPrimaryFallsBackToTheSecondary() {
+        FakeProvider primary   = FakeProvider.failing("primary", "p-1", new IllegalStateException("boom"));
+        FakeProvider secondary = FakeProvider.answering("secondary", "s-1", "from secondary");
+
+        assertThat(client(primary, secondary).complete("prompt", 10).model()).isEqualTo("s-1");
+    }
+
+    @Test
+    void whenBothFailThePrimaryErrorWins() {
+        FakeProvider primary   = FakeProvider.failing("primary", "p-1",
+                new LlmRateLimitException("429", Duration.ofSeconds(3)));
+        FakeProvider secondary = FakeProvider.failing("secondary", "s-1", new IllegalStateException("down"));
+
+        assertThatThrownBy(() -> client(primary, secondary).complete("prompt", 10))
+                .isInstanceOf(LlmRateLimitException.class);
+    }
+
+    @Test
+    void streamFallsBackOnlyBeforeTheFirstToken() {
+        FakeProvider secondary = FakeProvider.answering("secondary", "s-1", "from secondary");
+
+        FakeProvider failsEarly = FakeProvider.failing("primary", "p-1", new IllegalStateException("early"));
+        assertThat(client(failsEarly, secondary).stream("prompt", 10, t -> { }).model()).isEqualTo("s-1");
+
+        FakeProvider failsMidStream = new FakeProvider("primary", "p-1") {
+            @Override
+            public String stream(String prompt, int maxTokens, Consumer<String> onToken) {
+                onToken.accept("partial");
+                throw new IllegalStateException("mid-stream");
+            }
+        };
+        List<String> tokens = new ArrayList<>();
+        assertThatThrownBy(() -> client(failsMidStream, secondary).stream("prompt", 10, tokens::add))
+                .hasMessage("mid-stream");
+        assertThat(tokens).containsExactly("partial");
+    }
+
+    @Test
+    void modelsListsTheHedgeOnlyWhenItIsConfigured() {
+        FakeProvider primary = FakeProvider.answering("primary", "p-1", "x");
+
+        assertThat(client(primary, FakeProvider.answering("secondary", "s-1", "y")).models())
+                .containsExactly("p-1", "s-1");
+        assertThat(client(primary, null).models()).containsExactly("p-1");
+    }
+
+    private HedgingLlmClient client(FakeProvider primary, FakeProvider secondary) {
+        List<LlmProvider> providers = new ArrayList<>(List.of(primary));
+        if (secondary != null) providers.add(secondary);
+
+        HedgingLlmClient client = new HedgingLlmClient(providers, meters, executor);
+        ReflectionTestUtils.setField(client, "primaryName", primary.name());
+        ReflectionTestUtils.setField(client, "secondaryName", secondary != null ? secondary.name() : "");
+        ReflectionTestUtils.setField(client, "minHedgeDelay", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(client, "maxHedgeDelay", Duration.ofMillis(100));
+        ReflectionTestUtils.setField(client, "minSamples", 20L);
+        client.init();
+        return client;
+    }
+
+    private static class FakeProvider implements LlmProvider {
+
+        private final String name;
+        private final String model;
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        volatile int calls;
+
+        FakeProvider(String name, String model) {
+            this.name  = name;
+            this.model = model;
+        }
+
+        static FakeProvider answering(String name, String model, String text) {
+            return new FakeProvider(name, model) {
+                @Override
+                String answer() {
+                    return text;
+                }
+            };
+        }
+
+        static FakeProvider failing(String name, String model, RuntimeException error) {
+            return new FakeProvider(name, model) {
+                @Override
+                String answer() {
+                    throw error;
+                }
+            };
+        }
+
+        /** Blocks until interrupted — a provider call that is only stopped by cancellation. */
+        static FakeProvider hanging(String name, String model) {
+            return new FakeProvider(name, model) {
+                @Override
+                String answer() {
+                    try {
+                        Thread.sleep(Long.MAX_VALUE);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                    }
+                    throw new IllegalStateException("cancelled");
+                }
+            };
+        }
+
+        String answer() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public String model() {
+            return model;
+        }
+
+        @Override
+        public boolean isConfigured() {
+            return true;
+        }
+
+        @Override
+        public String complete(String prompt, int maxTokens) {
+            calls++;
+            return answer();
+        }
+
+        @Override
+        public String stream(String prompt, int maxTokens, Consumer<String> onToken) {
+            calls++;
+            String text = answer();
+            onToken.accept(text);
+            return text;
+        }
+    }
+}